@@ -80,6 +80,7 @@ public class GenFeatureItemProvider
       addSuppressedUnsetVisibilityPropertyDescriptor(object);
       addGetPropertyDescriptor(object);
       addPropertyEditorFactoryPropertyDescriptor(object);
+      addPrimitiveListPropertyDescriptor(object);
     }
     return itemPropertyDescriptors;
   }
@@ -498,6 +499,30 @@ public class GenFeatureItemProvider
       });
   }
 
+  /**
+   * This adds a property descriptor for the Primitive List feature.
+   * <!-- begin-user-doc -->
+   * <!-- end-user-doc -->
+   * @since 2.41
+   * @generated
+   */
+  protected void addPrimitiveListPropertyDescriptor(Object object)
+  {
+    itemPropertyDescriptors.add
+      (createItemPropertyDescriptor
+        (((ComposeableAdapterFactory)adapterFactory).getRootAdapterFactory(),
+         getResourceLocator(),
+         getString("_UI_GenFeature_primitiveList_feature"),
+         getString("_UI_GenFeature_primitiveList_description"),
+         GenModelPackage.Literals.GEN_FEATURE__PRIMITIVE_LIST,
+         true,
+         false,
+         false,
+         ItemPropertyDescriptor.BOOLEAN_VALUE_IMAGE,
+         getString("_UI_ModelPropertyCategory"),
+         null));
+  }
+
   /**
    */
   @Override
@@ -628,6 +653,7 @@ public class GenFeatureItemProvider
       case GenModelPackage.GEN_FEATURE__SUPPRESSED_UNSET_VISIBILITY:
       case GenModelPackage.GEN_FEATURE__GET:
       case GenModelPackage.GEN_FEATURE__PROPERTY_EDITOR_FACTORY:
+      case GenModelPackage.GEN_FEATURE__PRIMITIVE_LIST:
         fireNotifyChanged(new ViewerNotification(notification, notification.getNotifier(), false, true));
         return;
     }
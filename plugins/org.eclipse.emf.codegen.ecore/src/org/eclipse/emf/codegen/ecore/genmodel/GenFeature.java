@@ -42,6 +42,7 @@ import org.eclipse.emf.ecore.EStructuralFeature;
  *   <li>{@link org.eclipse.emf.codegen.ecore.genmodel.GenFeature#isSuppressedIsSetVisibility <em>Suppressed Is Set Visibility</em>}</li>
  *   <li>{@link org.eclipse.emf.codegen.ecore.genmodel.GenFeature#isSuppressedUnsetVisibility <em>Suppressed Unset Visibility</em>}</li>
  *   <li>{@link org.eclipse.emf.codegen.ecore.genmodel.GenFeature#getPropertyEditorFactory <em>Property Editor Factory</em>}</li>
+ *   <li>{@link org.eclipse.emf.codegen.ecore.genmodel.GenFeature#isPrimitiveList <em>Primitive List</em>}</li>
  * </ul>
  *
  * @see org.eclipse.emf.codegen.ecore.genmodel.GenModelPackage#getGenFeature()
@@ -495,6 +496,33 @@ public interface GenFeature extends GenTypedElement
    */
   void setPropertyEditorFactory(String value);
 
+  /**
+   * Returns the value of the '<em><b>Primitive List</b></em>' attribute.
+   * <!-- begin-user-doc -->
+   * <!-- end-user-doc -->
+   * <!-- begin-model-doc -->
+   * Whether the values of a many-valued attribute of type int, long, or double are held in a primitive array rather than in a list of boxed values.
+   * @since 2.41
+   * <!-- end-model-doc -->
+   * @return the value of the '<em>Primitive List</em>' attribute.
+   * @see #setPrimitiveList(boolean)
+   * @see org.eclipse.emf.codegen.ecore.genmodel.GenModelPackage#getGenFeature_PrimitiveList()
+   * @model
+   * @generated
+   */
+  boolean isPrimitiveList();
+
+  /**
+   * Sets the value of the '{@link org.eclipse.emf.codegen.ecore.genmodel.GenFeature#isPrimitiveList <em>Primitive List</em>}' attribute.
+   * <!-- begin-user-doc -->
+   * <!-- end-user-doc -->
+   * @param value the new value of the '<em>Primitive List</em>' attribute.
+   * @see #isPrimitiveList()
+   * @since 2.41
+   * @generated
+   */
+  void setPrimitiveList(boolean value);
+
   void initialize(EStructuralFeature eFeature);
 
   //
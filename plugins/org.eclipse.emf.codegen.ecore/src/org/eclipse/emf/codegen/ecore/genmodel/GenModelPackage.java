@@ -1740,6 +1740,16 @@ public interface GenModelPackage extends EPackage
    */
   int GEN_FEATURE__PROPERTY_EDITOR_FACTORY = GEN_TYPED_ELEMENT_FEATURE_COUNT + 16;
 
+  /**
+   * The feature id for the '<em><b>Primitive List</b></em>' attribute.
+   * <!-- begin-user-doc -->
+   * <!-- end-user-doc -->
+   * @since 2.41
+   * @generated
+   * @ordered
+   */
+  int GEN_FEATURE__PRIMITIVE_LIST = GEN_TYPED_ELEMENT_FEATURE_COUNT + 17;
+
   /**
    * The number of structural features of the '<em>Gen Feature</em>' class.
    * <!-- begin-user-doc -->
@@ -1747,7 +1757,7 @@ public interface GenModelPackage extends EPackage
    * @generated
    * @ordered
    */
-  int GEN_FEATURE_FEATURE_COUNT = GEN_TYPED_ELEMENT_FEATURE_COUNT + 17;
+  int GEN_FEATURE_FEATURE_COUNT = GEN_TYPED_ELEMENT_FEATURE_COUNT + 18;
 
   /**
    * The meta object id for the '{@link org.eclipse.emf.codegen.ecore.genmodel.impl.GenDataTypeImpl <em>Gen Data Type</em>}' class.
@@ -4181,6 +4191,18 @@ public interface GenModelPackage extends EPackage
    */
   EAttribute getGenFeature_PropertyEditorFactory();
 
+  /**
+   * Returns the meta object for the attribute '{@link org.eclipse.emf.codegen.ecore.genmodel.GenFeature#isPrimitiveList <em>Primitive List</em>}'.
+   * <!-- begin-user-doc -->
+   * <!-- end-user-doc -->
+   * @return the meta object for the attribute '<em>Primitive List</em>'.
+   * @see org.eclipse.emf.codegen.ecore.genmodel.GenFeature#isPrimitiveList()
+   * @see #getGenFeature()
+   * @since 2.41
+   * @generated
+   */
+  EAttribute getGenFeature_PrimitiveList();
+
   /**
    * Returns the meta object for class '{@link org.eclipse.emf.codegen.ecore.genmodel.GenBase <em>Gen Base</em>}'.
    * <!-- begin-user-doc -->
@@ -6069,6 +6091,15 @@ public interface GenModelPackage extends EPackage
      */
     EAttribute GEN_FEATURE__PROPERTY_EDITOR_FACTORY = eINSTANCE.getGenFeature_PropertyEditorFactory();
 
+    /**
+     * The meta object literal for the '<em><b>Primitive List</b></em>' attribute feature.
+     * <!-- begin-user-doc -->
+     * <!-- end-user-doc -->
+     * @since 2.41
+     * @generated
+     */
+    EAttribute GEN_FEATURE__PRIMITIVE_LIST = eINSTANCE.getGenFeature_PrimitiveList();
+
     /**
      * The meta object literal for the '{@link org.eclipse.emf.codegen.ecore.genmodel.impl.GenBaseImpl <em>Gen Base</em>}' class.
      * <!-- begin-user-doc -->
@@ -3261,6 +3261,18 @@ public class GenClassImpl extends GenClassifierImpl implements GenClass
     return mixedFeature != null ? findGenFeature(mixedFeature) : null;
   }
 
+  /**
+   * The list type that holds the values of a many-valued attribute in a primitive array, for each supported primitive type.
+   * It's used only for features that specify {@link GenFeature#isPrimitiveList()}.
+   */
+  private static final Map<String, String> PRIMITIVE_LIST_TYPES = new HashMap<String, String>();
+  static
+  {
+    PRIMITIVE_LIST_TYPES.put("int", "org.eclipse.emf.ecore.util.EDataTypeIntEList");
+    PRIMITIVE_LIST_TYPES.put("long", "org.eclipse.emf.ecore.util.EDataTypeLongEList");
+    PRIMITIVE_LIST_TYPES.put("double", "org.eclipse.emf.ecore.util.EDataTypeDoubleEList");
+  }
+
   public String getListConstructor(GenFeature genFeature)
   {
     StringBuffer sb = new StringBuffer();
@@ -3451,6 +3463,23 @@ public class GenClassImpl extends GenClassifierImpl implements GenClass
           sb.append(")");
         }
       }
+      else if (isJava5 &&
+                 genFeature.isPrimitiveList() &&
+                 getGenModel().getRuntimeVersion().getValue() >= GenRuntimeVersion.EMF238_VALUE &&
+                 isPrimitiveType(eGenericType.getERawType()) &&
+                 PRIMITIVE_LIST_TYPES.containsKey(eGenericType.getERawType().getInstanceClassName()))
+      { //primitive data type
+        sb.append(getGenModel().getImportedName(PRIMITIVE_LIST_TYPES.get(eGenericType.getERawType().getInstanceClassName())));
+        sb.append(unsettable);
+        if (genFeature.isUnique())
+        {
+          sb.append(".Unique");
+        }
+        sb.append("(this, ");
+        sb.append(getQualifiedFeatureID(genFeature));
+        sb.append(offsetCorrectionField);
+        sb.append(")");
+      }
       else
       { //data type
         if (genFeature.isUnique())
@@ -0,0 +1,975 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.common.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A map that compares its keys by identity, like an {@link java.util.IdentityHashMap identity hash map},
+ * and iterates over its entries in insertion order, like a {@link java.util.LinkedHashMap linked hash map}.
+ * <p>
+ * The keys and values are held in two arrays in insertion order
+ * and are indexed by an open addressing hash table of <code>int</code>s,
+ * so, unlike a hash map, no entry object is allocated for each mapping.
+ * Removing a mapping leaves a gap in the arrays that's reclaimed when the map grows.
+ * </p>
+ * <p>
+ * Like a hash map, it permits <code>null</code> keys and values, and it isn't thread safe.
+ * </p>
+ * @since 2.41
+ */
+public class LinkedIdentityHashMap<K, V> extends AbstractMap<K, V> implements Cloneable, Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The key used to represent the <code>null</code> key.
+   */
+  private static final Object NULL_KEY = new Object();
+
+  /**
+   * The key used to represent a removed entry.
+   */
+  private static final Object REMOVED_KEY = new Object();
+
+  /**
+   * The table slot value that represents a removed entry.
+   */
+  private static final int REMOVED_SLOT = -1;
+
+  private static final int MINIMUM_CAPACITY = 8;
+
+  private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+  /**
+   * The keys in insertion order, with {@link #REMOVED_KEY} for each removed entry.
+   */
+  private transient Object[] keys;
+
+  /**
+   * The values corresponding to the {@link #keys}.
+   */
+  private transient Object[] values;
+
+  /**
+   * The open addressing hash table, with twice as many slots as there are {@link #keys},
+   * each of which is either 0 if empty, {@link #REMOVED_SLOT} if removed, or the index of an entry plus one.
+   */
+  private transient int[] table;
+
+  /**
+   * The number of entries in the arrays, including the removed ones.
+   */
+  private transient int entryCount;
+
+  private transient int size;
+
+  private transient int modificationCount;
+
+  private transient Set<K> keySetView;
+
+  private transient Collection<V> valuesView;
+
+  private transient Set<Map.Entry<K, V>> entrySetView;
+
+  /**
+   * Creates an empty instance.
+   */
+  public LinkedIdentityHashMap()
+  {
+    this(MINIMUM_CAPACITY);
+  }
+
+  /**
+   * Creates an empty instance that can hold the expected number of mappings without growing.
+   * @param expectedSize the expected number of mappings.
+   */
+  public LinkedIdentityHashMap(int expectedSize)
+  {
+    if (expectedSize < 0)
+    {
+      throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+    }
+    allocate(Math.max(expectedSize, MINIMUM_CAPACITY));
+  }
+
+  /**
+   * Creates an instance with the mappings of the map.
+   * @param map the mappings to copy.
+   */
+  public LinkedIdentityHashMap(Map<? extends K, ? extends V> map)
+  {
+    this(map.size());
+    putAll(map);
+  }
+
+  private void allocate(int capacity)
+  {
+    int tableSize = Integer.highestOneBit(Math.min(capacity, MAXIMUM_CAPACITY) * 2 - 1) << 1;
+    keys = new Object [tableSize / 2];
+    values = new Object [tableSize / 2];
+    table = new int [tableSize];
+  }
+
+  /**
+   * Ensures that the map can hold the expected number of mappings without growing.
+   * @param expectedSize the expected number of mappings.
+   */
+  public void ensureCapacity(int expectedSize)
+  {
+    if (expectedSize > keys.length)
+    {
+      rehash(expectedSize);
+    }
+  }
+
+  private static Object maskNull(Object key)
+  {
+    return key == null ? NULL_KEY : key;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K> K unmaskNull(Object key)
+  {
+    return key == NULL_KEY ? null : (K)key;
+  }
+
+  private static int hash(Object key)
+  {
+    int hashCode = System.identityHashCode(key);
+    return hashCode ^ hashCode >>> 16;
+  }
+
+  /**
+   * Returns the slot of the table for the masked key, or -1 if it isn't in the map.
+   */
+  private int slot(Object maskedKey)
+  {
+    int[] table = this.table;
+    Object[] keys = this.keys;
+    int mask = table.length - 1;
+    for (int slot = hash(maskedKey) & mask; ; slot = slot + 1 & mask)
+    {
+      int entry = table[slot];
+      if (entry == 0)
+      {
+        return -1;
+      }
+      else if (entry > 0 && keys[entry - 1] == maskedKey)
+      {
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the entry for the masked key, or -1 if it isn't in the map.
+   */
+  private int index(Object maskedKey)
+  {
+    int slot = slot(maskedKey);
+    return slot == -1 ? -1 : table[slot] - 1;
+  }
+
+  /**
+   * Adds an entry for a masked key that isn't in the map.
+   */
+  private void add(Object maskedKey, Object value)
+  {
+    if (entryCount == keys.length)
+    {
+      // Grow only if the removed entries don't account for at least a quarter of the entries.
+      //
+      rehash(size >= entryCount - entryCount / 4 ? keys.length * 2 : keys.length);
+    }
+
+    int[] table = this.table;
+    int mask = table.length - 1;
+    int slot = hash(maskedKey) & mask;
+    while (table[slot] > 0)
+    {
+      slot = slot + 1 & mask;
+    }
+    keys[entryCount] = maskedKey;
+    values[entryCount] = value;
+    table[slot] = ++entryCount;
+    ++size;
+    ++modificationCount;
+  }
+
+  /**
+   * Reallocates the arrays and the table for the capacity, discarding the removed entries.
+   */
+  private void rehash(int capacity)
+  {
+    if (capacity > MAXIMUM_CAPACITY && size >= MAXIMUM_CAPACITY)
+    {
+      throw new IllegalStateException("Capacity exceeded");
+    }
+    Object[] oldKeys = keys;
+    Object[] oldValues = values;
+    int oldEntryCount = entryCount;
+    allocate(capacity);
+    int[] table = this.table;
+    int mask = table.length - 1;
+    int index = 0;
+    for (int i = 0; i < oldEntryCount; ++i)
+    {
+      Object key = oldKeys[i];
+      if (key != REMOVED_KEY)
+      {
+        keys[index] = key;
+        values[index] = oldValues[i];
+        int slot = hash(key) & mask;
+        while (table[slot] != 0)
+        {
+          slot = slot + 1 & mask;
+        }
+        table[slot] = ++index;
+      }
+    }
+    entryCount = index;
+  }
+
+  /**
+   * Removes the entry referenced by the slot of the table.
+   */
+  private void removeSlot(int slot)
+  {
+    int index = table[slot] - 1;
+    table[slot] = REMOVED_SLOT;
+    keys[index] = REMOVED_KEY;
+    values[index] = null;
+    --size;
+    ++modificationCount;
+  }
+
+  @Override
+  public int size()
+  {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty()
+  {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return slot(maskNull(key)) != -1;
+  }
+
+  @Override
+  public boolean containsValue(Object value)
+  {
+    Object[] keys = this.keys;
+    Object[] values = this.values;
+    for (int i = 0, entryCount = this.entryCount; i < entryCount; ++i)
+    {
+      if (keys[i] != REMOVED_KEY && equal(value, values[i]))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean equal(Object value, Object otherValue)
+  {
+    return value == null ? otherValue == null : value.equals(otherValue);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V get(Object key)
+  {
+    int index = index(maskNull(key));
+    return index == -1 ? null : (V)values[index];
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public V getOrDefault(Object key, V defaultValue)
+  {
+    int index = index(maskNull(key));
+    return index == -1 ? defaultValue : (V)values[index];
+  }
+
+  @Override
+  public V put(K key, V value)
+  {
+    Object maskedKey = maskNull(key);
+    int index = index(maskedKey);
+    if (index == -1)
+    {
+      add(maskedKey, value);
+      return null;
+    }
+    else
+    {
+      @SuppressWarnings("unchecked") V result = (V)values[index];
+      values[index] = value;
+      return result;
+    }
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> map)
+  {
+    ensureCapacity(size + map.size());
+    for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+    {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  public V remove(Object key)
+  {
+    int slot = slot(maskNull(key));
+    if (slot == -1)
+    {
+      return null;
+    }
+    else
+    {
+      @SuppressWarnings("unchecked") V result = (V)values[table[slot] - 1];
+      removeSlot(slot);
+      return result;
+    }
+  }
+
+  @Override
+  public void clear()
+  {
+    if (entryCount > 0)
+    {
+      Arrays.fill(keys, 0, entryCount, null);
+      Arrays.fill(values, 0, entryCount, null);
+      Arrays.fill(table, 0);
+      entryCount = 0;
+      size = 0;
+    }
+    ++modificationCount;
+  }
+
+  @Override
+  public V putIfAbsent(K key, V value)
+  {
+    Object maskedKey = maskNull(key);
+    int index = index(maskedKey);
+    if (index == -1)
+    {
+      add(maskedKey, value);
+      return null;
+    }
+    else
+    {
+      @SuppressWarnings("unchecked") V result = (V)values[index];
+      if (result == null)
+      {
+        values[index] = value;
+      }
+      return result;
+    }
+  }
+
+  @Override
+  public boolean remove(Object key, Object value)
+  {
+    int slot = slot(maskNull(key));
+    if (slot != -1 && equal(value, values[table[slot] - 1]))
+    {
+      removeSlot(slot);
+      return true;
+    }
+    else
+    {
+      return false;
+    }
+  }
+
+  @Override
+  public boolean replace(K key, V oldValue, V newValue)
+  {
+    int index = index(maskNull(key));
+    if (index != -1 && equal(oldValue, values[index]))
+    {
+      values[index] = newValue;
+      return true;
+    }
+    else
+    {
+      return false;
+    }
+  }
+
+  @Override
+  public V replace(K key, V value)
+  {
+    int index = index(maskNull(key));
+    if (index == -1)
+    {
+      return null;
+    }
+    else
+    {
+      @SuppressWarnings("unchecked") V result = (V)values[index];
+      values[index] = value;
+      return result;
+    }
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction)
+  {
+    Object maskedKey = maskNull(key);
+    int index = index(maskedKey);
+    if (index != -1 && values[index] != null)
+    {
+      @SuppressWarnings("unchecked") V result = (V)values[index];
+      return result;
+    }
+
+    int expectedModificationCount = modificationCount;
+    V result = mappingFunction.apply(key);
+    if (modificationCount != expectedModificationCount)
+    {
+      throw new ConcurrentModificationException();
+    }
+    if (result != null)
+    {
+      if (index == -1)
+      {
+        add(maskedKey, result);
+      }
+      else
+      {
+        values[index] = result;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+  {
+    int slot = slot(maskNull(key));
+    if (slot == -1 || values[table[slot] - 1] == null)
+    {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked") V oldValue = (V)values[table[slot] - 1];
+    int expectedModificationCount = modificationCount;
+    V result = remappingFunction.apply(key, oldValue);
+    if (modificationCount != expectedModificationCount)
+    {
+      throw new ConcurrentModificationException();
+    }
+    if (result == null)
+    {
+      removeSlot(slot);
+    }
+    else
+    {
+      values[table[slot] - 1] = result;
+    }
+    return result;
+  }
+
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+  {
+    Object maskedKey = maskNull(key);
+    int slot = slot(maskedKey);
+    @SuppressWarnings("unchecked") V oldValue = slot == -1 ? null : (V)values[table[slot] - 1];
+    int expectedModificationCount = modificationCount;
+    V result = remappingFunction.apply(key, oldValue);
+    if (modificationCount != expectedModificationCount)
+    {
+      throw new ConcurrentModificationException();
+    }
+    if (slot == -1)
+    {
+      if (result != null)
+      {
+        add(maskedKey, result);
+      }
+    }
+    else if (result == null)
+    {
+      removeSlot(slot);
+    }
+    else
+    {
+      values[table[slot] - 1] = result;
+    }
+    return result;
+  }
+
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction)
+  {
+    if (value == null)
+    {
+      throw new NullPointerException();
+    }
+
+    Object maskedKey = maskNull(key);
+    int slot = slot(maskedKey);
+    if (slot == -1)
+    {
+      add(maskedKey, value);
+      return value;
+    }
+
+    int index = table[slot] - 1;
+    @SuppressWarnings("unchecked") V oldValue = (V)values[index];
+    if (oldValue == null)
+    {
+      values[index] = value;
+      return value;
+    }
+
+    int expectedModificationCount = modificationCount;
+    V result = remappingFunction.apply(oldValue, value);
+    if (modificationCount != expectedModificationCount)
+    {
+      throw new ConcurrentModificationException();
+    }
+    if (result == null)
+    {
+      removeSlot(slot);
+    }
+    else
+    {
+      values[index] = result;
+    }
+    return result;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action)
+  {
+    int expectedModificationCount = modificationCount;
+    for (int i = 0; i < entryCount; ++i)
+    {
+      Object key = keys[i];
+      if (key != REMOVED_KEY)
+      {
+        @SuppressWarnings("unchecked") V value = (V)values[i];
+        action.accept(LinkedIdentityHashMap.<K>unmaskNull(key), value);
+      }
+      if (modificationCount != expectedModificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function)
+  {
+    int expectedModificationCount = modificationCount;
+    for (int i = 0; i < entryCount; ++i)
+    {
+      Object key = keys[i];
+      if (key != REMOVED_KEY)
+      {
+        @SuppressWarnings("unchecked") V value = (V)values[i];
+        values[i] = function.apply(LinkedIdentityHashMap.<K>unmaskNull(key), value);
+      }
+      if (modificationCount != expectedModificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * An iterator over the entries in insertion order.
+   */
+  private abstract class EntryIterator<T> implements Iterator<T>
+  {
+    private int index;
+
+    private int lastIndex = -1;
+
+    private int expectedModificationCount = modificationCount;
+
+    public boolean hasNext()
+    {
+      while (index < entryCount && keys[index] == REMOVED_KEY)
+      {
+        ++index;
+      }
+      return index < entryCount;
+    }
+
+    public T next()
+    {
+      if (modificationCount != expectedModificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+      lastIndex = index++;
+      return get(lastIndex);
+    }
+
+    protected abstract T get(int index);
+
+    public void remove()
+    {
+      if (lastIndex == -1)
+      {
+        throw new IllegalStateException();
+      }
+      if (modificationCount != expectedModificationCount)
+      {
+        throw new ConcurrentModificationException();
+      }
+      removeSlot(slot(keys[lastIndex]));
+      lastIndex = -1;
+      expectedModificationCount = modificationCount;
+    }
+  }
+
+  /**
+   * A view of the entry at an index; if the map has been rehashed since the entry was created, it's looked up by key.
+   */
+  private final class Entry implements Map.Entry<K, V>
+  {
+    private final Object maskedKey;
+
+    private int index;
+
+    Entry(int index)
+    {
+      this.index = index;
+      this.maskedKey = keys[index];
+    }
+
+    private int index()
+    {
+      if (index >= entryCount || keys[index] != maskedKey)
+      {
+        index = LinkedIdentityHashMap.this.index(maskedKey);
+        if (index == -1)
+        {
+          throw new IllegalStateException("The entry has been removed");
+        }
+      }
+      return index;
+    }
+
+    public K getKey()
+    {
+      return unmaskNull(maskedKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getValue()
+    {
+      return (V)values[index()];
+    }
+
+    public V setValue(V value)
+    {
+      int index = index();
+      @SuppressWarnings("unchecked") V result = (V)values[index];
+      values[index] = value;
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+      if (object instanceof Map.Entry<?, ?>)
+      {
+        Map.Entry<?, ?> entry = (Map.Entry<?, ?>)object;
+        return maskedKey == maskNull(entry.getKey()) && equal(getValue(), entry.getValue());
+      }
+      else
+      {
+        return false;
+      }
+    }
+
+    @Override
+    public int hashCode()
+    {
+      Object value = getValue();
+      return System.identityHashCode(getKey()) ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString()
+    {
+      return getKey() + "=" + getValue();
+    }
+  }
+
+  @Override
+  public Set<K> keySet()
+  {
+    if (keySetView == null)
+    {
+      keySetView =
+        new AbstractSet<K>()
+        {
+          @Override
+          public Iterator<K> iterator()
+          {
+            return
+              new EntryIterator<K>()
+              {
+                @Override
+                protected K get(int index)
+                {
+                  return unmaskNull(keys[index]);
+                }
+              };
+          }
+
+          @Override
+          public int size()
+          {
+            return size;
+          }
+
+          @Override
+          public boolean contains(Object object)
+          {
+            return containsKey(object);
+          }
+
+          @Override
+          public boolean remove(Object object)
+          {
+            int slot = slot(maskNull(object));
+            if (slot == -1)
+            {
+              return false;
+            }
+            else
+            {
+              removeSlot(slot);
+              return true;
+            }
+          }
+
+          @Override
+          public void clear()
+          {
+            LinkedIdentityHashMap.this.clear();
+          }
+        };
+    }
+    return keySetView;
+  }
+
+  @Override
+  public Collection<V> values()
+  {
+    if (valuesView == null)
+    {
+      valuesView =
+        new AbstractCollection<V>()
+        {
+          @Override
+          public Iterator<V> iterator()
+          {
+            return
+              new EntryIterator<V>()
+              {
+                @SuppressWarnings("unchecked")
+                @Override
+                protected V get(int index)
+                {
+                  return (V)LinkedIdentityHashMap.this.values[index];
+                }
+              };
+          }
+
+          @Override
+          public int size()
+          {
+            return size;
+          }
+
+          @Override
+          public boolean contains(Object object)
+          {
+            return containsValue(object);
+          }
+
+          @Override
+          public void clear()
+          {
+            LinkedIdentityHashMap.this.clear();
+          }
+        };
+    }
+    return valuesView;
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet()
+  {
+    if (entrySetView == null)
+    {
+      entrySetView =
+        new AbstractSet<Map.Entry<K, V>>()
+        {
+          @Override
+          public Iterator<Map.Entry<K, V>> iterator()
+          {
+            return
+              new EntryIterator<Map.Entry<K, V>>()
+              {
+                @Override
+                protected Map.Entry<K, V> get(int index)
+                {
+                  return new Entry(index);
+                }
+              };
+          }
+
+          @Override
+          public int size()
+          {
+            return size;
+          }
+
+          @Override
+          public boolean contains(Object object)
+          {
+            if (object instanceof Map.Entry<?, ?>)
+            {
+              Map.Entry<?, ?> entry = (Map.Entry<?, ?>)object;
+              int index = index(maskNull(entry.getKey()));
+              return index != -1 && equal(entry.getValue(), LinkedIdentityHashMap.this.values[index]);
+            }
+            else
+            {
+              return false;
+            }
+          }
+
+          @Override
+          public boolean remove(Object object)
+          {
+            if (object instanceof Map.Entry<?, ?>)
+            {
+              Map.Entry<?, ?> entry = (Map.Entry<?, ?>)object;
+              return LinkedIdentityHashMap.this.remove(entry.getKey(), entry.getValue());
+            }
+            else
+            {
+              return false;
+            }
+          }
+
+          @Override
+          public void clear()
+          {
+            LinkedIdentityHashMap.this.clear();
+          }
+        };
+    }
+    return entrySetView;
+  }
+
+  /**
+   * Returns a shallow copy of this map, with a capacity for just its mappings.
+   */
+  @Override
+  public Object clone()
+  {
+    LinkedIdentityHashMap<K, V> result;
+    try
+    {
+      @SuppressWarnings("unchecked")
+      LinkedIdentityHashMap<K, V> clone = (LinkedIdentityHashMap<K, V>)super.clone();
+      result = clone;
+    }
+    catch (CloneNotSupportedException exception)
+    {
+      throw new InternalError();
+    }
+
+    result.allocate(Math.max(size, MINIMUM_CAPACITY));
+    result.entryCount = 0;
+    result.size = 0;
+    for (int i = 0; i < entryCount; ++i)
+    {
+      Object key = keys[i];
+      if (key != REMOVED_KEY)
+      {
+        result.add(key, values[i]);
+      }
+    }
+    result.modificationCount = 0;
+    result.keySetView = null;
+    result.valuesView = null;
+    result.entrySetView = null;
+    return result;
+  }
+
+  private void writeObject(ObjectOutputStream objectOutputStream) throws IOException
+  {
+    objectOutputStream.defaultWriteObject();
+    objectOutputStream.writeInt(size);
+    for (int i = 0; i < entryCount; ++i)
+    {
+      Object key = keys[i];
+      if (key != REMOVED_KEY)
+      {
+        objectOutputStream.writeObject(unmaskNull(key));
+        objectOutputStream.writeObject(values[i]);
+      }
+    }
+  }
+
+  private void readObject(ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException
+  {
+    objectInputStream.defaultReadObject();
+    int size = objectInputStream.readInt();
+    allocate(Math.max(size, MINIMUM_CAPACITY));
+    for (int i = 0; i < size; ++i)
+    {
+      @SuppressWarnings("unchecked") K key = (K)objectInputStream.readObject();
+      @SuppressWarnings("unchecked") V value = (V)objectInputStream.readObject();
+      put(key, value);
+    }
+  }
+}
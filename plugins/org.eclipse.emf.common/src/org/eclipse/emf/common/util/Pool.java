@@ -13,6 +13,7 @@ import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -470,6 +471,36 @@ public class Pool<E> extends WeakInterningHashSet<E>
 
   protected final AccessUnit.Queue<E> primaryAccessUnits;
 
+  /**
+   * The number of {@link #stripes} guarding the addition of entries; it must be a power of two.
+   * @since 2.41
+   */
+  protected static final int STRIPE_COUNT = 64;
+
+  /**
+   * The monitors guarding the addition of entries by {@link #addEntry(boolean, Object, AccessUnit) non-exclusive} access.
+   * Such an addition holds only the shared {@link #readLock read lock}, which excludes rehashing and cleanup,
+   * along with the monitor of the stripe that corresponds to the index of the entry in the {@link #entries table},
+   * so that threads adding entries at different indices don't contend with each other.
+   * @since 2.41
+   */
+  protected final Object[] stripes = new Object[STRIPE_COUNT];
+
+  {
+    for (int i = 0; i < STRIPE_COUNT; ++i)
+    {
+      stripes[i] = new Object();
+    }
+  }
+
+  /**
+   * The number of entries added while holding only the shared {@link #readLock read lock}
+   * that are not yet reflected in the {@link #size}.
+   * These are {@link #updateSize() folded} into the size by any operation that holds the {@link #writeLock write lock} and needs the size to be accurate.
+   * @since 2.41
+   */
+  protected final AtomicInteger additionCount = new AtomicInteger();
+
   /**
    * Creates an instance with a capacity of 1031.
    */
@@ -537,6 +568,7 @@ public class Pool<E> extends WeakInterningHashSet<E>
         pool.writeLock.lock();
         try
         {
+          pool.updateSize();
           if (pool.entries == oldEntries && pool.capacityIndex == expectedCapacityIndex)
           {
             int newCapacity = PRIME_CAPACITIES[pool.capacityIndex + 1];
@@ -622,9 +654,26 @@ public class Pool<E> extends WeakInterningHashSet<E>
     }
   }
 
+  /**
+   * Folds the {@link #additionCount} into the {@link #size}.
+   * The {@link #writeLock} must be held, so that no entries are being added and no other thread is reading the size.
+   * @since 2.41
+   */
+  protected void updateSize()
+  {
+    int count = additionCount.getAndSet(0);
+    if (count != 0)
+    {
+      size += count;
+      modCount += count;
+    }
+  }
+
   @Override
   protected boolean ensureCapacity()
   {
+    updateSize();
+
     // If the current size is more the threshold..
     //
     if (size > threshold)
@@ -680,6 +729,7 @@ public class Pool<E> extends WeakInterningHashSet<E>
       pool.writeLock.lock();
       try
       {
+        pool.updateSize();
         clear(pool);
       }
       finally
@@ -703,6 +753,9 @@ public class Pool<E> extends WeakInterningHashSet<E>
   /**
    * Returns this pool's {@link ReadWriteLock#readLock() read lock}.
    * This should be used only for thread-safe {@link #iterator() iteration} in which {@link Iterator#remove() remove} is not called.
+   * Note that holding this lock excludes rehashing and cleanup, but not the addition of new entries,
+   * so an iteration may or may not yield values added concurrently;
+   * use the {@link #getWriteLock() write lock} to exclude all modifications.
    */
   public Lock getReadLock()
   {
@@ -788,56 +841,112 @@ public class Pool<E> extends WeakInterningHashSet<E>
    * since the time when the pool was {@link #access(boolean, AccessUnit) accessed} without holding any locks.
    * The access unit is used to {@link AccessUnit#rematches(Object, Entry) determine} whether an entry was already added.
    * This returns either the value added, or the value that was already added by another thread.
-   * The <code>isExlusive</code> argument controls whether the write lock needs to be acquired (<code>false</code>) or is already acquired (<code>true</code>).
+   * The <code>isExlusive</code> argument controls whether the write lock is already acquired (<code>true</code>)
+   * or whether the entry is to be added while holding only the shared read lock and the monitor of the entry's {@link #stripes stripe} (<code>false</code>).
    */
   protected final E addEntry(boolean isExclusive, E internalizedValue, AccessUnit<E> accessUnit)
   {
-    // Acquire exclusive update access.
-    //
     if (!isExclusive)
     {
-      writeLock.lock();
+      return addStripedEntry(internalizedValue, accessUnit);
+    }
+
+    // The caller holds the write lock,
+    // but we need to double check whether or not another thread has added the value since we originally checked while holding the shared read lock or no lock at all.
+    //
+    int hashCode = accessUnit.hashCode;
+    int index = index(hashCode, entries.length);
+    for (Entry<E> entry = entries[index]; entry != null; entry = entry.next)
+    {
+      if (hashCode == entry.hashCode)
+      {
+        // Check if the value matches
+        //
+        E entryValue = entry.get();
+        if (entryValue != null && accessUnit.rematches(entryValue, entry))
+        {
+          // The value was added by another thread so return that interned result instead.
+          //
+          return entryValue;
+        }
+      }
     }
+
+    // Create an entry and add it because we know for sure that no other thread has added an entry for this value since we originally checked.
+    // Record the fact that we created an entry.
+    //
+    addEntry(index, accessUnit.createdEntry = newEntry(internalizedValue, hashCode));
+
+    // Return the value we added.
+    //
+    return internalizedValue;
+  }
+
+  /**
+   * Adds an entry to the pool while holding the shared {@link #readLock read lock},
+   * which prevents rehashing and cleanup,
+   * and the monitor of the {@link #stripes stripe} for the entry's index,
+   * which prevents other threads from concurrently adding an entry at that same index.
+   * The {@link #writeLock write lock} is acquired only if the pool needs to {@link #ensureCapacity() grow}.
+   */
+  private E addStripedEntry(E internalizedValue, AccessUnit<E> accessUnit)
+  {
+    boolean isGrowthNeeded;
+    readLock.lock();
     try
     {
-      // We need to double check whether or not another thread has added the value since we originally checked while holding the shared read lock or no lock at all.
+      // While holding the read lock, the entries will not be rehashed.
       //
+      Entry<E>[] entries = this.entries;
       int hashCode = accessUnit.hashCode;
       int index = index(hashCode, entries.length);
-      for (Entry<E> entry = entries[index]; entry != null; entry = entry.next)
+      synchronized (stripes[index & (STRIPE_COUNT - 1)])
       {
-        if (hashCode == entry.hashCode)
+        // We need to double check whether or not another thread has added the value since we originally checked while holding no lock at all.
+        //
+        for (Entry<E> entry = entries[index]; entry != null; entry = entry.next)
         {
-          // Check if the value matches
-          //
-          E entryValue = entry.get();
-          if (entryValue != null && accessUnit.rematches(entryValue, entry))
+          if (hashCode == entry.hashCode)
           {
-            // The value was added by another thread so return that interned result instead.
-            //
-            return entryValue;
+            E entryValue = entry.get();
+            if (entryValue != null && accessUnit.rematches(entryValue, entry))
+            {
+              // The value was added by another thread so return that interned result instead.
+              //
+              return entryValue;
+            }
           }
         }
-      }
 
-      // Create an entry and add it because we know for sure that no other thread has added an entry for this value since we originally checked.
-      // Record the fact that we created an entry.
-      //
-      addEntry(index, accessUnit.createdEntry = newEntry(internalizedValue, hashCode));
+        // Create an entry and put it at the head of the collision chain.
+        // Record the fact that we created an entry.
+        //
+        putEntry(index, accessUnit.createdEntry = newEntry(internalizedValue, hashCode));
+      }
 
-      // Return the value we added.
-      //
-      return internalizedValue;
+      isGrowthNeeded = size + additionCount.incrementAndGet() > threshold;
     }
     finally
     {
-      // Release the write lock.
-      //
-      if (!isExclusive)
+      readLock.unlock();
+    }
+
+    // Ensure the capacity while holding the exclusive write lock.
+    //
+    if (isGrowthNeeded)
+    {
+      writeLock.lock();
+      try
+      {
+        ensureCapacity();
+      }
+      finally
       {
         writeLock.unlock();
       }
     }
+
+    return internalizedValue;
   }
 
   /**
@@ -872,6 +981,7 @@ public class Pool<E> extends WeakInterningHashSet<E>
    */
   protected void doCleanup()
   {
+    updateSize();
     super.cleanup();
   }
 
@@ -892,6 +1002,7 @@ public class Pool<E> extends WeakInterningHashSet<E>
 
       // Grow the capacity.
       //
+      updateSize();
       super.grow(minimumCapacity);
     }
     finally
@@ -1065,6 +1176,26 @@ public class Pool<E> extends WeakInterningHashSet<E>
     }
   }
 
+  /**
+   * Specialized to include the entries added while holding only the shared {@link #readLock read lock}.
+   * @since 2.41
+   */
+  @Override
+  public int size()
+  {
+    return super.size() + additionCount.get();
+  }
+
+  /**
+   * Specialized to account for the entries added while holding only the shared {@link #readLock read lock},
+   * which are folded into the {@link #size} only while holding the {@link #writeLock write lock}.
+   */
+  @Override
+  boolean hasUncountedEntries()
+  {
+    return additionCount.get() != 0;
+  }
+
   /**
    * Callers of the iterator must ensure that they hold the shared {@link #readLock read lock} for the lifetime of the iterator's usage.
    * {@link Iterator#remove() Remove} is not supported.
@@ -688,6 +688,14 @@ public class WeakInterningHashSet<E>  extends AbstractSet<E> implements Internin
     }
   }
 
+  /**
+   * Returns whether entries have been added that aren't yet counted in the {@link #size}.
+   */
+  boolean hasUncountedEntries()
+  {
+    return false;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -738,7 +746,7 @@ public class WeakInterningHashSet<E>  extends AbstractSet<E> implements Internin
         {
           // Set up the initial next entry...
           //
-          if (size > 0)
+          if (size > 0 || hasUncountedEntries())
           {
             if (containsNull)
             {
@@ -0,0 +1,447 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.change.util;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.ChangeFactory;
+import org.eclipse.emf.ecore.change.ChangeKind;
+import org.eclipse.emf.ecore.change.ChangePackage;
+import org.eclipse.emf.ecore.change.FeatureChange;
+import org.eclipse.emf.ecore.change.FeatureMapEntry;
+import org.eclipse.emf.ecore.change.ListChange;
+import org.eclipse.emf.ecore.change.ResourceChange;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+
+/**
+ * A compact binary serialization of a {@link ChangeDescription}, suitable for replicating and journaling changes.
+ * <p>
+ * The serialization uses the conventions of the {@link BinaryResourceImpl binary resource} format:
+ * it starts with the same signature, version, and style,
+ * and uses the same tables of packages, classes, objects, URIs, and strings.
+ * Each {@link FeatureChange feature change}, {@link ListChange list change}, {@link FeatureMapEntry feature map entry}, and {@link ResourceChange resource change}
+ * is written as a fixed sequence of values rather than as a generic object,
+ * and the feature of a feature change is written as its ID in the class of the changed object.
+ * The objects {@link ChangeDescription#getObjectsToAttach() contained} by the change description are written in full,
+ * while any other object, i.e., an object of the changed model, is written as a reference,
+ * i.e., as the URI of its resource and its {@link Resource#getURIFragment(EObject) URI fragment}, which is its ID if the resource uses IDs,
+ * or as its proxy URI if it's a proxy.
+ * An object that is neither contained by the change description nor in a resource is written in full.
+ * </p>
+ * <p>
+ * When {@link #load(InputStream, ResourceSet, Map) loading}, references are resolved against a resource set holding the model to which the changes apply,
+ * or are left as proxies if there is no resource set.
+ * </p>
+ * @since 2.17
+ */
+public final class BinaryChangeDescriptionIO
+{
+  /**
+   * The version of the layout of a change description that follows the signature, version, and style of the binary format.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  private BinaryChangeDescriptionIO()
+  {
+    super();
+  }
+
+  /**
+   * Saves the change description to the output stream.
+   * The options are those of {@link BinaryResourceImpl}, e.g., {@link BinaryResourceImpl#OPTION_STYLE_DATA_CONVERTER}.
+   * @param changeDescription the change description to save.
+   * @param outputStream the stream to which to save.
+   * @param options the save options, or <code>null</code>.
+   * @throws IOException if there is a problem writing to the stream.
+   */
+  public static void save(ChangeDescription changeDescription, OutputStream outputStream, Map<?, ?> options) throws IOException
+  {
+    ChangeDescriptionOutputStream changeDescriptionOutputStream = new ChangeDescriptionOutputStream(outputStream, options);
+    changeDescriptionOutputStream.saveChangeDescription(changeDescription);
+    changeDescriptionOutputStream.flush();
+  }
+
+  /**
+   * Loads a change description from the input stream, resolving its references to objects in the resource set.
+   * @param inputStream the stream from which to load.
+   * @param resourceSet the resource set in which to resolve references, or <code>null</code> to leave them as proxies.
+   * @param options the load options, or <code>null</code>.
+   * @return the loaded change description.
+   * @throws IOException if there is a problem reading from the stream or the stream doesn't contain a change description.
+   */
+  public static ChangeDescription load(InputStream inputStream, ResourceSet resourceSet, Map<?, ?> options) throws IOException
+  {
+    ChangeDescriptionInputStream changeDescriptionInputStream = new ChangeDescriptionInputStream(inputStream, resourceSet, options);
+    return changeDescriptionInputStream.loadChangeDescription();
+  }
+
+  /**
+   * A binary output stream that saves change descriptions.
+   */
+  public static class ChangeDescriptionOutputStream extends BinaryResourceImpl.EObjectOutputStream
+  {
+    /**
+     * The change description being saved.
+     */
+    protected ChangeDescription changeDescription;
+
+    public ChangeDescriptionOutputStream(OutputStream outputStream, Map<?, ?> options) throws IOException
+    {
+      super(outputStream, options, Version.VERSION_1_1);
+    }
+
+    public void saveChangeDescription(ChangeDescription changeDescription) throws IOException
+    {
+      this.changeDescription = changeDescription;
+      writeCompressedInt(FORMAT_VERSION);
+
+      // Save the contained objects first so that any reference to them is saved as a reference to the contained object.
+      //
+      @SuppressWarnings("unchecked")
+      List<InternalEObject> objectsToAttach = (List<InternalEObject>)(List<?>)changeDescription.getObjectsToAttach();
+      writeCompressedInt(objectsToAttach.size());
+      for (InternalEObject eObject : objectsToAttach)
+      {
+        saveEObject(eObject, Check.CONTAINER);
+      }
+
+      EList<Map.Entry<EObject, EList<FeatureChange>>> objectChanges = changeDescription.getObjectChanges();
+      writeCompressedInt(objectChanges.size());
+      for (Map.Entry<EObject, EList<FeatureChange>> entry : objectChanges)
+      {
+        EObject eObject = entry.getKey();
+        saveEObject((InternalEObject)eObject, Check.RESOURCE);
+        EList<FeatureChange> featureChanges = entry.getValue();
+        writeCompressedInt(featureChanges.size());
+        for (FeatureChange featureChange : featureChanges)
+        {
+          saveFeatureChange(eObject.eClass(), featureChange);
+        }
+      }
+
+      EList<ResourceChange> resourceChanges = changeDescription.getResourceChanges();
+      writeCompressedInt(resourceChanges.size());
+      for (ResourceChange resourceChange : resourceChanges)
+      {
+        saveResourceChange(resourceChange);
+      }
+    }
+
+    protected void saveFeatureChange(EClass eClass, FeatureChange featureChange) throws IOException
+    {
+      EStructuralFeature feature = featureChange.getFeature();
+      int featureID = feature == null ? -1 : eClass.getFeatureID(feature);
+      writeCompressedInt(featureID + 1);
+      if (featureID == -1)
+      {
+        writeString(featureChange.getFeatureName());
+      }
+      writeBoolean(featureChange.isSet());
+      writeString(featureChange.getDataValue());
+      saveEObject((InternalEObject)featureChange.getReferenceValue(), Check.RESOURCE);
+      saveListChanges(featureChange.getListChanges());
+    }
+
+    protected void saveListChanges(EList<ListChange> listChanges) throws IOException
+    {
+      writeCompressedInt(listChanges.size());
+      for (ListChange listChange : listChanges)
+      {
+        saveListChange(listChange);
+      }
+    }
+
+    protected void saveListChange(ListChange listChange) throws IOException
+    {
+      writeCompressedInt(listChange.getKind().getValue());
+      writeCompressedInt(listChange.getIndex());
+      writeCompressedInt(listChange.getMoveToIndex());
+
+      // The feature is only saved if it's explicitly set rather than derived from the containing feature change.
+      //
+      EStructuralFeature feature = listChange.eIsSet(ChangePackage.Literals.LIST_CHANGE__FEATURE) ? listChange.getFeature() : null;
+      saveEObject((InternalEObject)feature, Check.RESOURCE);
+
+      EList<String> dataValues = listChange.getDataValues();
+      writeCompressedInt(dataValues.size());
+      for (String dataValue : dataValues)
+      {
+        writeString(dataValue);
+      }
+
+      saveReferences(listChange.getReferenceValues());
+
+      EList<FeatureMapEntry> featureMapEntryValues = listChange.getFeatureMapEntryValues();
+      writeCompressedInt(featureMapEntryValues.size());
+      for (FeatureMapEntry featureMapEntry : featureMapEntryValues)
+      {
+        saveEObject((InternalEObject)featureMapEntry.getFeature(), Check.RESOURCE);
+        writeString(featureMapEntry.getDataValue());
+        saveEObject((InternalEObject)featureMapEntry.getReferenceValue(), Check.RESOURCE);
+      }
+    }
+
+    protected void saveResourceChange(ResourceChange resourceChange) throws IOException
+    {
+      writeString(resourceChange.getResourceURI());
+      saveListChanges(resourceChange.getListChanges());
+    }
+
+    protected void saveReferences(List<? extends EObject> eObjects) throws IOException
+    {
+      writeCompressedInt(eObjects.size());
+      for (EObject eObject : eObjects)
+      {
+        saveEObject((InternalEObject)eObject, Check.RESOURCE);
+      }
+    }
+
+    /**
+     * Saves an object contained by the change description in full, and any other object in a resource, or any proxy, as a reference.
+     */
+    @Override
+    public void saveEObject(InternalEObject internalEObject, Check check) throws IOException
+    {
+      if (internalEObject != null && !eObjectIDMap.containsKey(internalEObject))
+      {
+        if (EcoreUtil.isAncestor(changeDescription, internalEObject))
+        {
+          super.saveEObject(internalEObject, check == Check.CONTAINER ? check : Check.NOTHING);
+          return;
+        }
+
+        URI uri = getReferenceURI(internalEObject);
+        if (uri != null)
+        {
+          int id = eObjectIDMap.size();
+          writeCompressedInt(id);
+          eObjectIDMap.put(internalEObject, id);
+          writeEClass(internalEObject.eClass());
+          writeCompressedInt(-1);
+          writeURI(uri);
+          if ((style & STYLE_PROXY_ATTRIBUTES) != 0)
+          {
+            writeCompressedInt(0);
+          }
+          return;
+        }
+      }
+      super.saveEObject(internalEObject, check);
+    }
+
+    /**
+     * Returns the URI used to reference an object that isn't contained by the change description,
+     * or <code>null</code> if the object is to be saved in full.
+     */
+    protected URI getReferenceURI(InternalEObject internalEObject)
+    {
+      if (internalEObject.eIsProxy())
+      {
+        return internalEObject.eProxyURI();
+      }
+      else
+      {
+        Resource resource = internalEObject.eResource();
+        return resource == null ? null : resource.getURI().appendFragment(resource.getURIFragment(internalEObject));
+      }
+    }
+  }
+
+  /**
+   * A binary input stream that loads change descriptions.
+   */
+  public static class ChangeDescriptionInputStream extends BinaryResourceImpl.EObjectInputStream
+  {
+    /**
+     * The object to which each loaded proxy resolved.
+     */
+    protected Map<EObject, EObject> resolvedProxies = new IdentityHashMap<EObject, EObject>();
+
+    public ChangeDescriptionInputStream(InputStream inputStream, ResourceSet resourceSet, Map<?, ?> options) throws IOException
+    {
+      super(inputStream, options);
+      this.resourceSet = resourceSet;
+    }
+
+    public ChangeDescription loadChangeDescription() throws IOException
+    {
+      int formatVersion = readCompressedInt();
+      if (formatVersion != FORMAT_VERSION)
+      {
+        throw new IOException("Unsupported change description format version " + formatVersion);
+      }
+
+      ChangeDescription changeDescription = ChangeFactory.eINSTANCE.createChangeDescription();
+      EList<EObject> objectsToAttach = changeDescription.getObjectsToAttach();
+      for (int i = readCompressedInt(); i > 0; --i)
+      {
+        objectsToAttach.add(loadEObject());
+      }
+
+      EList<Map.Entry<EObject, EList<FeatureChange>>> objectChanges = changeDescription.getObjectChanges();
+      for (int i = readCompressedInt(); i > 0; --i)
+      {
+        EObject eObject = loadEObject();
+        Map.Entry<EObject, EList<FeatureChange>> entry = ChangeFactory.eINSTANCE.createEObjectToChangesMapEntry(eObject);
+        objectChanges.add(entry);
+        EList<FeatureChange> featureChanges = entry.getValue();
+        for (int j = readCompressedInt(); j > 0; --j)
+        {
+          featureChanges.add(loadFeatureChange(eObject.eClass()));
+        }
+      }
+
+      EList<ResourceChange> resourceChanges = changeDescription.getResourceChanges();
+      for (int i = readCompressedInt(); i > 0; --i)
+      {
+        resourceChanges.add(loadResourceChange());
+      }
+
+      return changeDescription;
+    }
+
+    protected FeatureChange loadFeatureChange(EClass eClass) throws IOException
+    {
+      FeatureChange featureChange = ChangeFactory.eINSTANCE.createFeatureChange();
+      int featureID = readCompressedInt() - 1;
+      if (featureID == -1)
+      {
+        featureChange.setFeatureName(readString());
+      }
+      else
+      {
+        featureChange.setFeature(eClass.getEStructuralFeature(featureID));
+      }
+      featureChange.setSet(readBoolean());
+      String dataValue = readString();
+      if (dataValue != null)
+      {
+        featureChange.setDataValue(dataValue);
+      }
+      EObject referenceValue = loadEObject();
+      if (referenceValue != null)
+      {
+        featureChange.setReferenceValue(referenceValue);
+      }
+      loadListChanges(featureChange.getListChanges());
+      return featureChange;
+    }
+
+    protected void loadListChanges(EList<ListChange> listChanges) throws IOException
+    {
+      for (int i = readCompressedInt(); i > 0; --i)
+      {
+        listChanges.add(loadListChange());
+      }
+    }
+
+    protected ListChange loadListChange() throws IOException
+    {
+      ListChange listChange = ChangeFactory.eINSTANCE.createListChange();
+      listChange.setKind(ChangeKind.get(readCompressedInt()));
+      listChange.setIndex(readCompressedInt());
+      listChange.setMoveToIndex(readCompressedInt());
+
+      EObject feature = loadEObject();
+      if (feature != null)
+      {
+        listChange.setFeature((EStructuralFeature)feature);
+      }
+
+      EList<String> dataValues = listChange.getDataValues();
+      for (int i = readCompressedInt(); i > 0; --i)
+      {
+        dataValues.add(readString());
+      }
+
+      loadReferences(listChange.getReferenceValues());
+
+      EList<FeatureMapEntry> featureMapEntryValues = listChange.getFeatureMapEntryValues();
+      for (int i = readCompressedInt(); i > 0; --i)
+      {
+        FeatureMapEntry featureMapEntry = ChangeFactory.eINSTANCE.createFeatureMapEntry();
+        featureMapEntry.setFeature((EStructuralFeature)loadEObject());
+        String dataValue = readString();
+        if (dataValue != null)
+        {
+          featureMapEntry.setDataValue(dataValue);
+        }
+        EObject referenceValue = loadEObject();
+        if (referenceValue != null)
+        {
+          featureMapEntry.setReferenceValue(referenceValue);
+        }
+        featureMapEntryValues.add(featureMapEntry);
+      }
+      return listChange;
+    }
+
+    protected ResourceChange loadResourceChange() throws IOException
+    {
+      ResourceChange resourceChange = ChangeFactory.eINSTANCE.createResourceChange();
+      String resourceURI = readString();
+      Resource resource = resourceURI == null || resourceSet == null ? null : resourceSet.getResource(URI.createURI(resourceURI), false);
+      if (resource != null)
+      {
+        resourceChange.setResource(resource);
+      }
+      else
+      {
+        resourceChange.setResourceURI(resourceURI);
+      }
+      loadListChanges(resourceChange.getListChanges());
+      return resourceChange;
+    }
+
+    protected void loadReferences(List<EObject> eObjects) throws IOException
+    {
+      for (int i = readCompressedInt(); i > 0; --i)
+      {
+        eObjects.add(loadEObject());
+      }
+    }
+
+    /**
+     * Loads an object, resolving a reference to an object of the model in the resource set.
+     */
+    @Override
+    public InternalEObject loadEObject() throws IOException
+    {
+      InternalEObject result = super.loadEObject();
+      if (result != null && result.eIsProxy() && resourceSet != null)
+      {
+        EObject resolvedEObject = resolvedProxies.get(result);
+        if (resolvedEObject == null)
+        {
+          resolvedEObject = EcoreUtil.resolve(result, resourceSet);
+          resolvedProxies.put(result, resolvedEObject);
+        }
+        result = (InternalEObject)resolvedEObject;
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,942 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.change.util;
+
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.ResourceChange;
+import org.eclipse.emf.ecore.resource.ContentHandler;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+
+/**
+ * A write-ahead journal of the changes to the resources of a resource set,
+ * so that the changes are durable without saving the resources after each change.
+ * <p>
+ * Changes are made in {@link #beginTransaction() transactions}, recorded by a {@link ChangeRecorder change recorder}.
+ * When a transaction is {@link #commit() committed},
+ * the changes that it made are appended to the journal file, in the form of {@link BinaryChangeDescriptionIO binary change descriptions}
+ * preceded by the URIs of the resources to which they refer,
+ * and the journal file is forced to the storage device,
+ * so the cost of a commit is proportional to the size of the changes, not to the size of the resources.
+ * When the journal is {@link #recover() opened},
+ * the changes of all committed transactions are replayed onto the resources, as last saved,
+ * and any partially written transaction at the end of the journal file is discarded.
+ * Before the changes are replayed, the resources to which they refer are loaded and their proxies are resolved,
+ * so that the proxies are resolved against the state in which the resources were saved.
+ * The journal is {@link #compact(ExecutorService) compacted} in the background
+ * by replaying the journaled changes onto the resources in a separate resource set,
+ * saving them, and removing the replayed changes from the journal.
+ * </p>
+ * <p>
+ * A checkpoint file next to the journal file records the last transaction included in the saved resources.
+ * A compaction saves each resource to a temporary file next to it,
+ * then records the pending renames in the checkpoint file before renaming the temporary files,
+ * so that recovery after a crash at any point either completes or ignores the compaction.
+ * </p>
+ * <p>
+ * All changes to the resources must be made in transactions,
+ * and the resources must be saved only by compaction,
+ * because the journaled changes refer to objects by URI fragment
+ * and are only valid for the state produced by the preceding changes.
+ * Similarly, a proxy in a resource to which no journaled change refers is resolved against the current state of the resources,
+ * so cross document references should use IDs rather than fragment paths.
+ * Compaction only supports resources with {@link URI#isFile() file URIs}.
+ * </p>
+ * @since 2.17
+ */
+public class ChangeJournal
+{
+  private static final int JOURNAL_SIGNATURE = 0x454D464A;
+
+  private static final int CHECKPOINT_SIGNATURE = 0x454D4643;
+
+  private static final int VERSION = 1;
+
+  /**
+   * The size of the signature and version at the start of the journal file.
+   */
+  private static final int HEADER_SIZE = 8;
+
+  /**
+   * The size of the sequence number and length before the change description of each record,
+   * and of the checksum after it.
+   */
+  private static final int RECORD_OVERHEAD = 8 + 4 + 4;
+
+  private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  /**
+   * The resource set whose changes are journaled.
+   */
+  protected final ResourceSet resourceSet;
+
+  /**
+   * The path of the journal file.
+   */
+  protected final Path journalPath;
+
+  /**
+   * The path of the checkpoint file.
+   */
+  protected final Path checkpointPath;
+
+  /**
+   * The options used to save resources during compaction.
+   */
+  protected final Map<Object, Object> saveOptions = new HashMap<Object, Object>();
+
+  /**
+   * Guards the journal file, the sequence numbers, and the compaction.
+   */
+  private final Object lock = new Object();
+
+  private FileChannel channel;
+
+  private long sequence;
+
+  private long checkpointSequence;
+
+  private JournalChangeRecorder changeRecorder;
+
+  private Future<Long> compaction;
+
+  /**
+   * Creates a journal for the resource set, stored in the given file.
+   * The journal must be {@link #recover() opened} before the first transaction.
+   */
+  public ChangeJournal(ResourceSet resourceSet, Path journalPath)
+  {
+    this.resourceSet = resourceSet;
+    this.journalPath = journalPath;
+    this.checkpointPath = journalPath.resolveSibling(journalPath.getFileName() + CHECKPOINT_SUFFIX);
+  }
+
+  /**
+   * Returns the resource set whose changes are journaled.
+   */
+  public ResourceSet getResourceSet()
+  {
+    return resourceSet;
+  }
+
+  /**
+   * Returns the options used to save resources during compaction.
+   */
+  public Map<Object, Object> getSaveOptions()
+  {
+    return saveOptions;
+  }
+
+  /**
+   * Returns the sequence number of the last committed transaction.
+   */
+  public long getSequence()
+  {
+    synchronized (lock)
+    {
+      return sequence;
+    }
+  }
+
+  /**
+   * Returns the sequence number of the last transaction included in the saved resources.
+   */
+  public long getCheckpointSequence()
+  {
+    synchronized (lock)
+    {
+      return checkpointSequence;
+    }
+  }
+
+  /**
+   * Opens the journal:
+   * completes an interrupted compaction,
+   * replays the changes of the transactions committed since the last compaction onto the resources of the resource set,
+   * demand loading them as needed,
+   * and discards any partially written transaction.
+   * @return the number of replayed transactions.
+   * @throws IOException if there is a problem reading the journal or replaying its changes.
+   */
+  public int recover() throws IOException
+  {
+    synchronized (lock)
+    {
+      if (channel != null)
+      {
+        throw new IllegalStateException("The journal is already open");
+      }
+
+      Checkpoint checkpoint = readCheckpoint();
+      if (!checkpoint.renames.isEmpty())
+      {
+        completeRenames(checkpoint.renames);
+        writeCheckpoint(checkpoint.sequence, Collections.<Path[]>emptyList());
+      }
+      checkpointSequence = checkpoint.sequence;
+      sequence = checkpoint.sequence;
+
+      channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      try
+      {
+        if (channel.size() < HEADER_SIZE)
+        {
+          writeHeader(channel);
+          return 0;
+        }
+
+        List<Record> records = new ArrayList<Record>();
+        channel.position(0);
+        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        readHeader(inputStream);
+        long position = HEADER_SIZE;
+        for (Record record = readRecord(inputStream, channel.size() - position); record != null; record = readRecord(inputStream, channel.size() - position))
+        {
+          if (record.sequence > sequence + records.size())
+          {
+            if (record.sequence != sequence + records.size() + 1)
+            {
+              throw new IOException("The journal '" + journalPath + "' is missing the transaction " + (sequence + records.size() + 1));
+            }
+            records.add(record);
+          }
+          position += RECORD_OVERHEAD + record.bytes.length;
+        }
+
+        loadResources(records, resourceSet);
+        for (Record record : records)
+        {
+          replay(record.bytes, resourceSet);
+          sequence = record.sequence;
+        }
+
+        // Discard a partially written record.
+        //
+        if (position < channel.size())
+        {
+          channel.truncate(position);
+          channel.force(true);
+        }
+        return records.size();
+      }
+      catch (IOException exception)
+      {
+        channel.close();
+        channel = null;
+        throw exception;
+      }
+    }
+  }
+
+  /**
+   * Returns whether a transaction is in progress.
+   */
+  public boolean isInTransaction()
+  {
+    return changeRecorder != null && changeRecorder.isRecording();
+  }
+
+  /**
+   * Begins recording the changes to the resource set.
+   */
+  public void beginTransaction()
+  {
+    if (channel == null)
+    {
+      throw new IllegalStateException("The journal isn't open");
+    }
+    if (isInTransaction())
+    {
+      throw new IllegalStateException("A transaction is already in progress");
+    }
+
+    if (changeRecorder == null)
+    {
+      changeRecorder = new JournalChangeRecorder();
+      changeRecorder.beginRecording(Collections.singleton(resourceSet));
+    }
+    else
+    {
+      changeRecorder.resume(Collections.singleton(resourceSet));
+    }
+  }
+
+  /**
+   * Ends the transaction and appends its changes to the journal, forcing them to the storage device.
+   * @return a change description that reverses the changes of the transaction.
+   * @throws IOException if there is a problem writing to the journal.
+   */
+  public ChangeDescription commit() throws IOException
+  {
+    if (!isInTransaction())
+    {
+      throw new IllegalStateException("No transaction is in progress");
+    }
+
+    ChangeDescription changeDescription = changeRecorder.endRecording();
+    if (changeDescription.getObjectChanges().isEmpty() && changeDescription.getResourceChanges().isEmpty())
+    {
+      return changeDescription;
+    }
+
+    // The recorded change description reverses the changes.
+    // Apply it to return to the state of the previous commit, in which the journaled change must refer to the objects,
+    // and to turn it into the change description of the changes, which is saved before applying it again.
+    // The round trip isn't a change to the model, so the objects and resources that it changes don't deliver notifications.
+    //
+    List<Notifier> notifiers = getDeliveringNotifiers(changeDescription);
+    for (Notifier notifier : notifiers)
+    {
+      notifier.eSetDeliver(false);
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try
+    {
+      changeDescription.applyAndReverse();
+      try
+      {
+        Set<URI> resourceURIs = getResourceURIs(changeDescription);
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(resourceURIs.size());
+        for (URI uri : resourceURIs)
+        {
+          dataOutputStream.writeUTF(uri.toString());
+        }
+        dataOutputStream.flush();
+        BinaryChangeDescriptionIO.save(changeDescription, outputStream, null);
+      }
+      finally
+      {
+        changeDescription.applyAndReverse();
+      }
+    }
+    finally
+    {
+      for (Notifier notifier : notifiers)
+      {
+        notifier.eSetDeliver(true);
+      }
+    }
+
+    synchronized (lock)
+    {
+      append(sequence + 1, outputStream.toByteArray());
+      ++sequence;
+    }
+    return changeDescription;
+  }
+
+  /**
+   * Returns the change description, and the objects and resources that applying it changes, that deliver notifications.
+   */
+  private static List<Notifier> getDeliveringNotifiers(ChangeDescription changeDescription)
+  {
+    Set<Notifier> notifiers = new LinkedHashSet<Notifier>();
+    notifiers.add(changeDescription);
+    notifiers.addAll(changeDescription.getObjectChanges().keySet());
+    notifiers.addAll(changeDescription.getObjectsToAttach());
+    notifiers.addAll(changeDescription.getObjectsToDetach());
+    for (ResourceChange resourceChange : changeDescription.getResourceChanges())
+    {
+      Resource resource = resourceChange.getResource();
+      if (resource != null)
+      {
+        notifiers.add(resource);
+      }
+    }
+
+    List<Notifier> result = new ArrayList<Notifier>(notifiers.size());
+    for (Notifier notifier : notifiers)
+    {
+      if (notifier.eDeliver())
+      {
+        result.add(notifier);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Ends the transaction and reverses its changes.
+   */
+  public void rollback()
+  {
+    if (!isInTransaction())
+    {
+      throw new IllegalStateException("No transaction is in progress");
+    }
+    changeRecorder.endRecording().apply();
+  }
+
+  /**
+   * Compacts the journal in the background:
+   * replays the changes of the transactions committed so far onto the resources as last saved in a {@link #createCompactionResourceSet() separate resource set},
+   * saves the changed resources,
+   * and removes the replayed changes from the journal.
+   * Transactions can be committed while the compaction is in progress.
+   * If a compaction is already in progress, it's returned instead.
+   * @param executorService the executor service that runs the compaction.
+   * @return the future result of the compaction, i.e., the sequence number of the last transaction included in the saved resources.
+   */
+  public Future<Long> compact(ExecutorService executorService)
+  {
+    synchronized (lock)
+    {
+      if (channel == null)
+      {
+        throw new IllegalStateException("The journal isn't open");
+      }
+
+      if (compaction != null && !compaction.isDone())
+      {
+        return compaction;
+      }
+
+      final long startSequence = checkpointSequence;
+      final long endSequence = sequence;
+      final long end;
+      try
+      {
+        end = channel.size();
+      }
+      catch (IOException exception)
+      {
+        throw new IllegalStateException(exception);
+      }
+
+      Future<Long> result =
+        executorService.submit
+          (new Callable<Long>()
+           {
+             public Long call() throws Exception
+             {
+               compact(startSequence, endSequence, end);
+               return endSequence;
+             }
+           });
+      compaction = result;
+      return result;
+    }
+  }
+
+  /**
+   * Replays the records up to the given position of the journal file onto a separate resource set,
+   * saves the changed resources, and removes the records from the journal.
+   */
+  protected void compact(long startSequence, long endSequence, long end) throws IOException
+  {
+    if (endSequence == startSequence)
+    {
+      return;
+    }
+
+    ResourceSet compactionResourceSet = createCompactionResourceSet();
+
+    // Track the modification of the resources so that only the changed resources are saved.
+    //
+    compactionResourceSet.eAdapters().add
+      (new AdapterImpl()
+       {
+         @Override
+         public void notifyChanged(Notification notification)
+         {
+           if (notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES &&
+                 notification.getEventType() == Notification.ADD)
+           {
+             ((Resource)notification.getNewValue()).setTrackingModification(true);
+           }
+         }
+       });
+
+    List<Record> records = new ArrayList<Record>();
+    FileChannel readChannel = FileChannel.open(journalPath, StandardOpenOption.READ);
+    try
+    {
+      DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Channels.newInputStream(readChannel)));
+      readHeader(inputStream);
+      for (long position = HEADER_SIZE; position < end; )
+      {
+        Record record = readRecord(inputStream, end - position);
+        if (record == null)
+        {
+          throw new IOException("The journal '" + journalPath + "' is truncated");
+        }
+        if (record.sequence > startSequence)
+        {
+          records.add(record);
+        }
+        position += RECORD_OVERHEAD + record.bytes.length;
+      }
+    }
+    finally
+    {
+      readChannel.close();
+    }
+
+    loadResources(records, compactionResourceSet);
+    for (Record record : records)
+    {
+      replay(record.bytes, compactionResourceSet);
+    }
+
+    List<Path[]> renames = new ArrayList<Path[]>();
+    for (Resource resource : compactionResourceSet.getResources())
+    {
+      if (resource.isModified())
+      {
+        URI uri = resource.getURI();
+        if (!uri.isFile())
+        {
+          throw new IOException("The resource '" + uri + "' can't be compacted because it's not a file");
+        }
+        Path path = Paths.get(uri.toFileString());
+        Path temporaryPath = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        FileOutputStream outputStream = new FileOutputStream(temporaryPath.toFile());
+        try
+        {
+          resource.save(outputStream, saveOptions);
+          outputStream.getFD().sync();
+        }
+        finally
+        {
+          outputStream.close();
+        }
+        renames.add(new Path [] { temporaryPath, path });
+      }
+    }
+
+    synchronized (lock)
+    {
+      writeCheckpoint(endSequence, renames);
+      completeRenames(renames);
+      checkpointSequence = endSequence;
+
+      // Replace the journal with one that contains only the records appended since the compaction began.
+      //
+      Path temporaryJournalPath = journalPath.resolveSibling(journalPath.getFileName() + TEMPORARY_SUFFIX);
+      FileChannel temporaryChannel =
+        FileChannel.open(temporaryJournalPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      try
+      {
+        writeHeader(temporaryChannel);
+        for (long position = end, size = channel.size(); position < size; )
+        {
+          position += channel.transferTo(position, size - position, temporaryChannel);
+        }
+        temporaryChannel.force(true);
+      }
+      finally
+      {
+        temporaryChannel.close();
+      }
+      channel.close();
+      channel = null;
+      move(temporaryJournalPath, journalPath);
+      channel = FileChannel.open(journalPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+      writeCheckpoint(endSequence, Collections.<Path[]>emptyList());
+    }
+  }
+
+  /**
+   * Creates the resource set in which the journaled changes are replayed during compaction,
+   * configured like the {@link #getResourceSet() resource set} whose changes are journaled.
+   */
+  protected ResourceSet createCompactionResourceSet()
+  {
+    ResourceSet result = new ResourceSetImpl();
+    result.setPackageRegistry(resourceSet.getPackageRegistry());
+    result.setResourceFactoryRegistry(resourceSet.getResourceFactoryRegistry());
+    result.setURIConverter(resourceSet.getURIConverter());
+    result.getLoadOptions().putAll(resourceSet.getLoadOptions());
+    return result;
+  }
+
+  /**
+   * Loads the change description of a record and applies it to the resource set.
+   */
+  protected void replay(byte[] bytes, ResourceSet resourceSet) throws IOException
+  {
+    ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
+    readResourceURIs(new DataInputStream(inputStream));
+    ChangeDescription changeDescription = BinaryChangeDescriptionIO.load(inputStream, resourceSet, null);
+    for (EObject eObject : changeDescription.getObjectChanges().keySet())
+    {
+      if (eObject.eIsProxy())
+      {
+        throw new IOException("The changed object '" + ((InternalEObject)eObject).eProxyURI() + "' can't be resolved");
+      }
+    }
+    for (ResourceChange resourceChange : changeDescription.getResourceChanges())
+    {
+      if (resourceChange.getResource() == null)
+      {
+        // A resource that isn't in the resource set is loaded, or created if it doesn't exist yet.
+        //
+        URI uri = URI.createURI(resourceChange.getResourceURI());
+        resourceChange.setResource
+          (resourceSet.getURIConverter().exists(uri, resourceSet.getLoadOptions()) ?
+             resourceSet.getResource(uri, true) :
+             resourceSet.createResource(uri, ContentHandler.UNSPECIFIED_CONTENT_TYPE));
+      }
+    }
+    changeDescription.apply();
+  }
+
+  /**
+   * Loads the existing resources to which the records refer and resolves all proxies of the resource set,
+   * before any of the changes are replayed.
+   */
+  private static void loadResources(List<Record> records, ResourceSet resourceSet) throws IOException
+  {
+    if (records.isEmpty())
+    {
+      return;
+    }
+
+    Set<URI> resourceURIs = new LinkedHashSet<URI>();
+    for (Record record : records)
+    {
+      resourceURIs.addAll(readResourceURIs(new DataInputStream(new ByteArrayInputStream(record.bytes))));
+    }
+    for (URI uri : resourceURIs)
+    {
+      if (resourceSet.getResource(uri, false) == null && resourceSet.getURIConverter().exists(uri, resourceSet.getLoadOptions()))
+      {
+        resourceSet.getResource(uri, true);
+      }
+    }
+    EcoreUtil.resolveAll(resourceSet);
+  }
+
+  /**
+   * Returns the URIs of the resources of the changed and referenced objects and of the changed resources.
+   */
+  private static Set<URI> getResourceURIs(ChangeDescription changeDescription)
+  {
+    Set<URI> result = new LinkedHashSet<URI>();
+    for (Iterator<EObject> i = changeDescription.eAllContents(); i.hasNext(); )
+    {
+      for (EObject eObject : i.next().eCrossReferences())
+      {
+        Resource resource = eObject.eResource();
+        if (resource != null && resource.getURI() != null)
+        {
+          result.add(resource.getURI());
+        }
+      }
+    }
+    for (ResourceChange resourceChange : changeDescription.getResourceChanges())
+    {
+      Resource resource = resourceChange.getResource();
+      if (resource != null && resource.getURI() != null)
+      {
+        result.add(resource.getURI());
+      }
+    }
+    return result;
+  }
+
+  private static List<URI> readResourceURIs(DataInputStream inputStream) throws IOException
+  {
+    int count = inputStream.readInt();
+    if (count < 0)
+    {
+      throw new IOException("The journal record is corrupt");
+    }
+    List<URI> result = new ArrayList<URI>();
+    for (int i = 0; i < count; ++i)
+    {
+      result.add(URI.createURI(inputStream.readUTF()));
+    }
+    return result;
+  }
+
+  /**
+   * Waits for a compaction in progress, ends any transaction without recording it, and closes the journal file.
+   */
+  public void close() throws IOException
+  {
+    Future<?> compaction;
+    synchronized (lock)
+    {
+      compaction = this.compaction;
+    }
+    if (compaction != null)
+    {
+      try
+      {
+        compaction.get();
+      }
+      catch (Exception exception)
+      {
+        // The journal is still valid if the compaction failed.
+      }
+    }
+
+    if (changeRecorder != null)
+    {
+      changeRecorder.dispose();
+      changeRecorder = null;
+    }
+
+    synchronized (lock)
+    {
+      if (channel != null)
+      {
+        channel.close();
+        channel = null;
+      }
+    }
+  }
+
+  private void append(long sequence, byte[] bytes) throws IOException
+  {
+    ByteBuffer buffer = ByteBuffer.allocate(RECORD_OVERHEAD + bytes.length);
+    buffer.putLong(sequence);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), 0, buffer.position());
+    buffer.putInt((int)crc.getValue());
+    buffer.flip();
+
+    long position = channel.size();
+    while (buffer.hasRemaining())
+    {
+      position += channel.write(buffer, position);
+    }
+    channel.force(false);
+  }
+
+  /**
+   * Reads a record from the given number of remaining bytes,
+   * returning <code>null</code> at the end of the journal or for a partially written record.
+   */
+  private static Record readRecord(DataInputStream inputStream, long remaining) throws IOException
+  {
+    if (remaining < RECORD_OVERHEAD)
+    {
+      return null;
+    }
+    try
+    {
+      long sequence = inputStream.readLong();
+      int length = inputStream.readInt();
+      if (length < 0 || length > remaining - RECORD_OVERHEAD)
+      {
+        return null;
+      }
+      byte[] bytes = new byte [length];
+      inputStream.readFully(bytes);
+      int checksum = inputStream.readInt();
+
+      CRC32 crc = new CRC32();
+      ByteBuffer header = ByteBuffer.allocate(12);
+      header.putLong(sequence);
+      header.putInt(length);
+      crc.update(header.array(), 0, 12);
+      crc.update(bytes, 0, length);
+      return (int)crc.getValue() == checksum ? new Record(sequence, bytes) : null;
+    }
+    catch (EOFException exception)
+    {
+      return null;
+    }
+  }
+
+  private static void writeHeader(FileChannel channel) throws IOException
+  {
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+    buffer.putInt(JOURNAL_SIGNATURE);
+    buffer.putInt(VERSION);
+    buffer.flip();
+    channel.truncate(0);
+    while (buffer.hasRemaining())
+    {
+      channel.write(buffer, buffer.position());
+    }
+    channel.force(true);
+  }
+
+  private void readHeader(DataInputStream inputStream) throws IOException
+  {
+    if (inputStream.readInt() != JOURNAL_SIGNATURE || inputStream.readInt() != VERSION)
+    {
+      throw new IOException("The file '" + journalPath + "' isn't a journal");
+    }
+  }
+
+  private Checkpoint readCheckpoint() throws IOException
+  {
+    Checkpoint checkpoint = new Checkpoint();
+    if (Files.exists(checkpointPath))
+    {
+      DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointPath)));
+      try
+      {
+        if (inputStream.readInt() != CHECKPOINT_SIGNATURE || inputStream.readInt() != VERSION)
+        {
+          throw new IOException("The file '" + checkpointPath + "' isn't a journal checkpoint");
+        }
+        checkpoint.sequence = inputStream.readLong();
+        for (int i = inputStream.readInt(); i > 0; --i)
+        {
+          checkpoint.renames.add(new Path [] { Paths.get(inputStream.readUTF()), Paths.get(inputStream.readUTF()) });
+        }
+      }
+      finally
+      {
+        inputStream.close();
+      }
+    }
+    return checkpoint;
+  }
+
+  /**
+   * Atomically replaces the checkpoint file.
+   */
+  private void writeCheckpoint(long sequence, List<Path[]> renames) throws IOException
+  {
+    Path temporaryCheckpointPath = checkpointPath.resolveSibling(checkpointPath.getFileName() + TEMPORARY_SUFFIX);
+    FileOutputStream fileOutputStream = new FileOutputStream(temporaryCheckpointPath.toFile());
+    try
+    {
+      DataOutputStream outputStream = new DataOutputStream(fileOutputStream);
+      outputStream.writeInt(CHECKPOINT_SIGNATURE);
+      outputStream.writeInt(VERSION);
+      outputStream.writeLong(sequence);
+      outputStream.writeInt(renames.size());
+      for (Path[] rename : renames)
+      {
+        outputStream.writeUTF(rename[0].toString());
+        outputStream.writeUTF(rename[1].toString());
+      }
+      outputStream.flush();
+      fileOutputStream.getFD().sync();
+    }
+    finally
+    {
+      fileOutputStream.close();
+    }
+    move(temporaryCheckpointPath, checkpointPath);
+  }
+
+  /**
+   * Renames each temporary file that still exists to its target.
+   */
+  private static void completeRenames(List<Path[]> renames) throws IOException
+  {
+    for (Path[] rename : renames)
+    {
+      if (Files.exists(rename[0]))
+      {
+        move(rename[0], rename[1]);
+      }
+    }
+  }
+
+  private static void move(Path source, Path target) throws IOException
+  {
+    try
+    {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    catch (AtomicMoveNotSupportedException exception)
+    {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * A record of the journal, i.e., the sequence number of a transaction and its saved change description.
+   */
+  private static final class Record
+  {
+    final long sequence;
+
+    final byte[] bytes;
+
+    Record(long sequence, byte[] bytes)
+    {
+      this.sequence = sequence;
+      this.bytes = bytes;
+    }
+  }
+
+  /**
+   * The contents of the checkpoint file.
+   */
+  private static final class Checkpoint
+  {
+    long sequence;
+
+    final List<Path[]> renames = new ArrayList<Path[]>();
+  }
+
+  /**
+   * A change recorder that stays attached to the resource set between transactions.
+   */
+  private static final class JournalChangeRecorder extends ChangeRecorder
+  {
+    /**
+     * Begins recording the next transaction,
+     * treating the objects attached during the previous transactions as original objects.
+     */
+    void resume(Collection<?> rootObjects)
+    {
+      originalTargetObjects.clear();
+      originalTargetObjects.addAll(targetObjects);
+      beginRecording(rootObjects);
+    }
+  }
+}
@@ -10,6 +10,9 @@
  */
 package org.eclipse.emf.ecore.change.util;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.change.ChangeFactory;
@@ -62,6 +65,23 @@ public class ListDifferenceAnalyzer
     //
     int[] newListSources  = new int [newListSize];
 
+    // If the values can be indexed by their hash codes,
+    // chain together the indices of the equal values of the new list in increasing order,
+    // so that the first unmatched index of a value equal to an old value is found directly rather than by scanning the new list.
+    //
+    Map<Object, Integer> firstIndices = null;
+    int[] nextIndices = null;
+    if (useHashIndex())
+    {
+      firstIndices = new HashMap<Object, Integer>();
+      nextIndices = new int [newListSize];
+      for (int j = newListSize; --j >= 0; )
+      {
+        Integer nextIndex = firstIndices.put(newList.get(j), j);
+        nextIndices[j] = nextIndex == null ? -1 : nextIndex;
+      }
+    }
+
     // Iterate over the old list.
     // We'll remove unmatched items as we proceed.
     // Also keep track of which entry in the sources at which to start,
@@ -77,49 +97,75 @@ public class ListDifferenceAnalyzer
       //
       boolean remove = true;
 
-      // Keep track when all slots in the new list have been consumed.
-      //
-      boolean allSlotsMatched = true;
-
-      // Look for a match for the old value in the new list.
+      // If the new list is indexed...
       //
-      LOOP:
-      for (int j = start; j < newListSize; ++j)
+      if (firstIndices != null)
+      {
+        // The first unmatched index of an equal value is the match, and the next index of an equal value is the next candidate.
+        //
+        Integer firstIndex = firstIndices.get(oldValue);
+        if (firstIndex != null)
+        {
+          int j = firstIndex;
+          newListSources[j] = i + 1;
+          int nextIndex = nextIndices[j];
+          if (nextIndex == -1)
+          {
+            firstIndices.remove(oldValue);
+          }
+          else
+          {
+            firstIndices.put(oldValue, nextIndex);
+          }
+          remove = false;
+        }
+      }
+      else
       {
-        // If the tracked entry is uninitialized...
+        // Keep track when all slots in the new list have been consumed.
+        //
+        boolean allSlotsMatched = true;
+
+        // Look for a match for the old value in the new list.
         //
-        int source = newListSources[j];
-        if (source == 0)
+        LOOP:
+        for (int j = start; j < newListSize; ++j)
         {
-          // Get the new value at the index and compare it to the old value.
+          // If the tracked entry is uninitialized...
           //
-          Object newValue = newList.get(j);
-          if (equal(oldValue, newValue))
+          int source = newListSources[j];
+          if (source == 0)
           {
-            // If they're equal, indicate that the new value at the index j matches the old value at index i.
+            // Get the new value at the index and compare it to the old value.
             //
-            newListSources[j] = i + 1;
+            Object newValue = newList.get(j);
+            if (equal(oldValue, newValue))
+            {
+              // If they're equal, indicate that the new value at the index j matches the old value at index i.
+              //
+              newListSources[j] = i + 1;
 
-            // If this index was the start, increment the start.
+              // If this index was the start, increment the start.
+              //
+              if (start == j)
+              {
+                ++start;
+              }
+
+              // The value is matched so don't remove it when exiting the loop.
+              //
+              remove = false;
+              break LOOP;
+            }
+            // If all slots might be matched, but we just hit one that wasn't...
             //
-            if (start == j)
+            else if (allSlotsMatched)
             {
-              ++start;
+              // Make that the starting slot and make sure no subsequent slot is marked as the starting slot.
+              //
+              start = j;
+              allSlotsMatched = false;
             }
-
-            // The value is matched so don't remove it when exiting the loop.
-            //
-            remove = false;
-            break LOOP;
-          }
-          // If all slots might be matched, but we just hit one that wasn't...
-          //
-          else if (allSlotsMatched)
-          {
-            // Make that the starting slot and make sure no subsequent slot is marked as the starting slot.
-            //
-            start = j;
-            allSlotsMatched = false;
           }
         }
       }
@@ -169,41 +215,20 @@ public class ListDifferenceAnalyzer
       }
     }
 
+    // Maintain the targets in a balanced tree in list order,
+    // so that the value that needs to be moved the farthest, and the best intermediate target index, are found without scanning the targets.
+    //
+    TargetTree targetTree = new TargetTree(oldListTargets, oldListSize);
+
     // Loop until the termination condition is reached...
     //
     for (;;)
     {
       // The index of the value to be moved.
-      // We're looking for the one that needs to be moved the farthest.
-      //
-      int index = -1;
-
-      // The distance of the value at the index needs to be moved.
+      // We're looking for the first one that needs to be moved the farthest.
       //
-      int farthest = 0;
-
-      // Iterate over the old list targets.
-      //
-      for (int i = 0; i < oldListSize; ++i)
-      {
-        // Determine the distance between the index and where it should be and ensure it's positive.
-        //
-        int distance = oldListTargets[i] - i;
-        if (distance < 0)
-        {
-          distance = -distance;
-        }
+      int index = targetTree.getFarthest();
 
-        // If the object at this index needs to be moved farther than the one we've determined so far...
-        //
-        if (distance > farthest)
-        {
-          // Record this index and the distance.
-          //
-          index = i;
-          farthest = distance;
-        }
-      }
       // If no object needs to be moved.
       //
       if (index == -1)
@@ -216,7 +241,7 @@ public class ListDifferenceAnalyzer
       {
         // Keep track of the absolutely correct final target index.
         //
-        int actualTargetIndex = oldListTargets[index];
+        int actualTargetIndex = targetTree.getTarget(index);
 
         // Look for an index that might be a better intermediate...
         //
@@ -226,27 +251,18 @@ public class ListDifferenceAnalyzer
           // In this case, the value ends up before the index.
           // So look to see if the value currently at the target index is before the value we're about to put before it.
           //
-          if (oldListTargets[targetIndex] < actualTargetIndex)
+          if (targetTree.getTarget(targetIndex) < actualTargetIndex)
           {
-            do
-            {
-              // If so, move it after instead and check again...
-              //
-              ++targetIndex;
-            }
-            while (oldListTargets[targetIndex] < actualTargetIndex);
+            // If so, move it after instead, i.e., before the first value that's not before it.
+            //
+            targetIndex = targetTree.findFirst(targetIndex, actualTargetIndex);
           }
           else
           {
-            // Otherwise, check that it wouldn't be better to put the value before the previous target index
+            // Otherwise, check that it wouldn't be better to put the value after the last preceding value that's before it,
             // because the value we're about to put after it should be before.
             //
-            while (targetIndex > 0 && oldListTargets[targetIndex - 1] > actualTargetIndex)
-            {
-              // If so, move it before instead and check again.
-              //
-              --targetIndex;
-            }
+            targetIndex = targetTree.findLast(targetIndex - 1, actualTargetIndex) + 1;
           }
         }
         else
@@ -254,27 +270,19 @@ public class ListDifferenceAnalyzer
           // In this case, the value ends up after the index.
           // So look to see if the value currently at the target index is after the value we're about to put after it.
           //
-          if (oldListTargets[targetIndex] > actualTargetIndex)
+          if (targetTree.getTarget(targetIndex) > actualTargetIndex)
           {
-            do
-            {
-              // If so, move it before instead and check again...
-              //
-              --targetIndex;
-            }
-            while (oldListTargets[targetIndex] > actualTargetIndex);
+            // If so, move it before instead, i.e., after the last value that's not after it.
+            //
+            targetIndex = targetTree.findLast(targetIndex, actualTargetIndex);
           }
           else
           {
-            // Otherwise, check that it wouldn't be better to put the value after the following target index
+            // Otherwise, check that it wouldn't be better to put the value before the first following value that's after it,
             // because the value we're about to put before it should be after.
             //
-            while (targetIndex + 1 < oldListSize && oldListTargets[targetIndex + 1] < actualTargetIndex)
-            {
-              // If so, move it after instead and check again.
-              //
-              ++targetIndex;
-            }
+            int followingIndex = targetTree.findFirst(targetIndex + 1, actualTargetIndex);
+            targetIndex = followingIndex == -1 ? oldListSize - 1 : followingIndex - 1;
           }
         }
 
@@ -282,17 +290,9 @@ public class ListDifferenceAnalyzer
         //
         createMoveListChange(oldList, listChanges, oldList.get(index), index, targetIndex);
 
-        // Update the old list targets array to reflect the move.
+        // Update the target tree to reflect the move.
         //
-        if (targetIndex < index)
-        {
-          System.arraycopy(oldListTargets, targetIndex, oldListTargets, targetIndex + 1, index - targetIndex);
-        }
-        else
-        {
-          System.arraycopy(oldListTargets, index + 1, oldListTargets, index, targetIndex - index);
-        }
-        oldListTargets[targetIndex] = actualTargetIndex;
+        targetTree.move(index, targetIndex);
       }
     }
 
@@ -324,6 +324,44 @@ public class ListDifferenceAnalyzer
     return oldValue == null ? newValue == null : oldValue == newValue || oldValue.equals(newValue);
   }
 
+  /**
+   * Used by {@link #createListChanges(EList, EList, EList)} to decide whether the values of the new list can be indexed by their {@link Object#hashCode() hash codes},
+   * i.e., whether {@link #equal(Object, Object)} is consistent with {@link Object#equals(Object)},
+   * rather than compared with each old value.
+   * This implementation returns <code>true</code> if this class doesn't override {@link #equal(Object, Object)};
+   * a class that overrides it consistently with {@link Object#hashCode()} may override this to return <code>true</code>.
+   * @since 2.17
+   */
+  protected boolean useHashIndex()
+  {
+    return DEFAULT_EQUAL.get(getClass());
+  }
+
+  /**
+   * Records for each class whether it uses the default implementation of {@link #equal(Object, Object)}.
+   */
+  private static final ClassValue<Boolean> DEFAULT_EQUAL =
+    new ClassValue<Boolean>()
+    {
+      @Override
+      protected Boolean computeValue(Class<?> type)
+      {
+        for (Class<?> theClass = type; theClass != ListDifferenceAnalyzer.class; theClass = theClass.getSuperclass())
+        {
+          try
+          {
+            theClass.getDeclaredMethod("equal", Object.class, Object.class);
+            return Boolean.FALSE;
+          }
+          catch (NoSuchMethodException exception)
+          {
+            // Look in the superclass.
+          }
+        }
+        return Boolean.TRUE;
+      }
+    };
+
   /**
    * Convenience method added to allow subclasses to modify the default implementation
    * for the scenario in which an element was added to the monitored list.
@@ -371,4 +409,287 @@ public class ListDifferenceAnalyzer
     listChanges.add(listChange);
     return listChange;
   }
+
+  /**
+   * A balanced tree of the target indices of the values of a list, in list order,
+   * that finds the value that needs to be moved the farthest, finds targets relative to a given target,
+   * and moves a value, each in logarithmic time.
+   * It's a treap whose nodes are identified by the initial index of their value.
+   * Each node records aggregates of its subtree,
+   * where the distances of the values are relative to the first index of the subtree, so they needn't be updated when values move.
+   */
+  private static final class TargetTree
+  {
+    private final int[] targets;
+    private final int[] left;
+    private final int[] right;
+    private final int[] priorities;
+    private final int[] sizes;
+    private final int[] minTargets;
+    private final int[] maxTargets;
+    private final int[] minDistances;
+    private final int[] maxDistances;
+    private int root = -1;
+
+    TargetTree(int[] targets, int size)
+    {
+      this.targets = targets;
+      left = new int [size];
+      right = new int [size];
+      priorities = new int [size];
+      sizes = new int [size];
+      minTargets = new int [size];
+      maxTargets = new int [size];
+      minDistances = new int [size];
+      maxDistances = new int [size];
+
+      // The priorities only balance the tree, so a fixed pseudo random sequence is used.
+      //
+      int seed = 0x2545F491;
+      for (int i = 0; i < size; ++i)
+      {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        left[i] = -1;
+        right[i] = -1;
+        priorities[i] = seed;
+        update(i);
+        root = merge(root, i);
+      }
+    }
+
+    /**
+     * Returns the target of the value at the index.
+     */
+    int getTarget(int index)
+    {
+      int node = root;
+      for (;;)
+      {
+        int leftSize = size(left[node]);
+        if (index < leftSize)
+        {
+          node = left[node];
+        }
+        else if (index == leftSize)
+        {
+          return targets[node];
+        }
+        else
+        {
+          index -= leftSize + 1;
+          node = right[node];
+        }
+      }
+    }
+
+    /**
+     * Returns the first index of the values whose distance from their target is the greatest, or -1 if all the values are at their target.
+     */
+    int getFarthest()
+    {
+      if (root == -1)
+      {
+        return -1;
+      }
+      int maxDistance = maxDistances[root];
+      int farthest = Math.max(maxDistance, -minDistances[root]);
+      if (farthest <= 0)
+      {
+        return -1;
+      }
+      int result = Integer.MAX_VALUE;
+      if (maxDistance == farthest)
+      {
+        result = findDistance(farthest, false);
+      }
+      if (-minDistances[root] == farthest)
+      {
+        result = Math.min(result, findDistance(-farthest, true));
+      }
+      return result;
+    }
+
+    /**
+     * Returns the first index of the values whose distance is the given extreme distance, which must exist.
+     */
+    private int findDistance(int distance, boolean minimum)
+    {
+      int[] distances = minimum ? minDistances : maxDistances;
+      int node = root;
+      int start = 0;
+      for (;;)
+      {
+        int leftNode = left[node];
+        int leftSize = size(leftNode);
+        if (leftNode != -1 && distances[leftNode] - start == distance)
+        {
+          node = leftNode;
+        }
+        else if (targets[node] - start - leftSize == distance)
+        {
+          return start + leftSize;
+        }
+        else
+        {
+          start += leftSize + 1;
+          node = right[node];
+        }
+      }
+    }
+
+    /**
+     * Returns the first index at or after the given index whose target is at least the given target, or -1 if there isn't one.
+     */
+    int findFirst(int index, int target)
+    {
+      return findFirst(root, 0, index, target);
+    }
+
+    private int findFirst(int node, int start, int index, int target)
+    {
+      if (node == -1 || maxTargets[node] < target || start + sizes[node] <= index)
+      {
+        return -1;
+      }
+      int result = findFirst(left[node], start, index, target);
+      if (result == -1)
+      {
+        int nodeIndex = start + size(left[node]);
+        result = nodeIndex >= index && targets[node] >= target ? nodeIndex : findFirst(right[node], nodeIndex + 1, index, target);
+      }
+      return result;
+    }
+
+    /**
+     * Returns the last index at or before the given index whose target is at most the given target, or -1 if there isn't one.
+     */
+    int findLast(int index, int target)
+    {
+      return findLast(root, 0, index, target);
+    }
+
+    private int findLast(int node, int start, int index, int target)
+    {
+      if (node == -1 || minTargets[node] > target || start > index)
+      {
+        return -1;
+      }
+      int nodeIndex = start + size(left[node]);
+      int result = findLast(right[node], nodeIndex + 1, index, target);
+      if (result == -1)
+      {
+        result = nodeIndex <= index && targets[node] <= target ? nodeIndex : findLast(left[node], start, index, target);
+      }
+      return result;
+    }
+
+    /**
+     * Moves the value at the index to the target index.
+     */
+    void move(int index, int targetIndex)
+    {
+      int[] parts = new int [2];
+      split(root, index, parts);
+      int before = parts[0];
+      split(parts[1], 1, parts);
+      int node = parts[0];
+      split(merge(before, parts[1]), targetIndex, parts);
+      root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    private int size(int node)
+    {
+      return node == -1 ? 0 : sizes[node];
+    }
+
+    private void update(int node)
+    {
+      int target = targets[node];
+      int leftNode = left[node];
+      int rightNode = right[node];
+      int leftSize = size(leftNode);
+      int minTarget = target;
+      int maxTarget = target;
+      int minDistance = target - leftSize;
+      int maxDistance = minDistance;
+      if (leftNode != -1)
+      {
+        minTarget = Math.min(minTarget, minTargets[leftNode]);
+        maxTarget = Math.max(maxTarget, maxTargets[leftNode]);
+        minDistance = Math.min(minDistance, minDistances[leftNode]);
+        maxDistance = Math.max(maxDistance, maxDistances[leftNode]);
+      }
+      if (rightNode != -1)
+      {
+        minTarget = Math.min(minTarget, minTargets[rightNode]);
+        maxTarget = Math.max(maxTarget, maxTargets[rightNode]);
+        minDistance = Math.min(minDistance, minDistances[rightNode] - leftSize - 1);
+        maxDistance = Math.max(maxDistance, maxDistances[rightNode] - leftSize - 1);
+      }
+      sizes[node] = leftSize + 1 + size(rightNode);
+      minTargets[node] = minTarget;
+      maxTargets[node] = maxTarget;
+      minDistances[node] = minDistance;
+      maxDistances[node] = maxDistance;
+    }
+
+    /**
+     * Splits the tree into the first count values and the remaining values.
+     */
+    private void split(int node, int count, int[] parts)
+    {
+      if (node == -1)
+      {
+        parts[0] = -1;
+        parts[1] = -1;
+      }
+      else
+      {
+        int leftSize = size(left[node]);
+        if (count <= leftSize)
+        {
+          split(left[node], count, parts);
+          left[node] = parts[1];
+          update(node);
+          parts[1] = node;
+        }
+        else
+        {
+          split(right[node], count - leftSize - 1, parts);
+          right[node] = parts[0];
+          update(node);
+          parts[0] = node;
+        }
+      }
+    }
+
+    /**
+     * Merges two trees, the first of whose values precede those of the second.
+     */
+    private int merge(int first, int second)
+    {
+      if (first == -1)
+      {
+        return second;
+      }
+      else if (second == -1)
+      {
+        return first;
+      }
+      else if (priorities[first] > priorities[second])
+      {
+        right[first] = merge(right[first], second);
+        update(first);
+        return first;
+      }
+      else
+      {
+        left[second] = merge(first, left[second]);
+        update(second);
+        return second;
+      }
+    }
+  }
 }
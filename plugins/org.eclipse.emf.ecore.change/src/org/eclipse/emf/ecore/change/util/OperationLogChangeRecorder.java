@@ -0,0 +1,519 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.change.util;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.FeatureChange;
+import org.eclipse.emf.ecore.change.ResourceChange;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+
+/**
+ * A change recorder that defers building the {@link ChangeDescription change description} until it's needed.
+ * <p>
+ * A {@link ChangeRecorder} creates a {@link FeatureChange feature change} holding a copy of the old value
+ * the first time each feature of each object changes.
+ * This recorder instead appends each notification to an operation log,
+ * i.e., a few parallel arrays of the notifier, the feature, the event type, the position, and the old value,
+ * so recording a change does no more than store a few values in arrays that are reused for the whole recording.
+ * When the changes are {@link #summarize() summarized} or the recording {@link #endRecording() ends},
+ * the old value of each changed feature is reconstructed by undoing the logged notifications for that feature,
+ * in reverse order, on a copy of its current value,
+ * and the log is emptied.
+ * The result is the same change description a {@link ChangeRecorder} would produce,
+ * provided that the logged notifications describe all the changes,
+ * i.e., that the recorded objects aren't changed while {@link Notifier#eDeliver() delivery} is disabled.
+ * </p>
+ * @since 2.17
+ */
+public class OperationLogChangeRecorder extends ChangeRecorder
+{
+  /**
+   * The flag in the {@link #kinds kind} of a record indicating that the feature was set before the change.
+   */
+  private static final int WAS_SET = 0x100;
+
+  /**
+   * The flag in the {@link #kinds kind} of a record indicating that it's only used to reconstruct the old value,
+   * i.e., that it's a change to the contents of a resource while it's being loaded.
+   */
+  private static final int UNDO_ONLY = 0x200;
+
+  private static final int EVENT_TYPE_MASK = 0xFF;
+
+  /**
+   * The number of records in the log.
+   */
+  protected int size;
+
+  /**
+   * The notifier of each record.
+   */
+  protected Object[] notifiers;
+
+  /**
+   * The feature of each record, or <code>null</code> for the contents of a resource.
+   */
+  protected EStructuralFeature[] features;
+
+  /**
+   * The event type of each record, combined with flags.
+   */
+  protected int[] kinds;
+
+  /**
+   * The position of each record.
+   */
+  protected int[] positions;
+
+  /**
+   * The old value of each record.
+   */
+  protected Object[] oldValues;
+
+  /**
+   * The new value of each record, recorded only for a {@link Notification#REMOVE_MANY} and {@link Notification#ADD_MANY}.
+   */
+  protected Object[] newValues;
+
+  /**
+   * Whether the log is being {@link #flushLog() flushed}.
+   */
+  private boolean flushing;
+
+  public OperationLogChangeRecorder()
+  {
+    super();
+  }
+
+  public OperationLogChangeRecorder(EObject rootObject)
+  {
+    super(rootObject);
+  }
+
+  public OperationLogChangeRecorder(Resource resource)
+  {
+    super(resource);
+  }
+
+  public OperationLogChangeRecorder(ResourceSet resourceSet)
+  {
+    super(resourceSet);
+  }
+
+  public OperationLogChangeRecorder(Collection<?> rootObjects)
+  {
+    super(rootObjects);
+  }
+
+  @Override
+  public void dispose()
+  {
+    clearLog();
+    super.dispose();
+  }
+
+  @Override
+  protected void consolidateChanges()
+  {
+    flushLog();
+    super.consolidateChanges();
+  }
+
+  @Override
+  public void notifyChanged(Notification notification)
+  {
+    Object notifier = notification.getNotifier();
+    if (notifier instanceof Resource &&
+          notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS &&
+          ((Resource.Internal)notifier).isLoading())
+    {
+      // A change to the contents of a resource while it's being loaded isn't a change to be recorded,
+      // but it's needed to reconstruct the contents before a recorded change that precedes the loading.
+      //
+      if (isRecording() && !flushing)
+      {
+        log(notifier, null, notification, UNDO_ONLY);
+      }
+    }
+    else
+    {
+      super.notifyChanged(notification);
+    }
+  }
+
+  @Override
+  protected void handleFeature(EStructuralFeature feature, EReference containment, Notification notification, EObject eObject)
+  {
+    if (!flushing && shouldRecord(feature, containment, notification, eObject))
+    {
+      log(eObject, feature, notification, 0);
+    }
+
+    if (containment != null)
+    {
+      switch (notification.getEventType())
+      {
+        case Notification.RESOLVE:
+        case Notification.SET:
+        case Notification.UNSET:
+        {
+          Object newValue = notification.getNewValue();
+          if (newValue != null && newValue != Boolean.TRUE && newValue != Boolean.FALSE)
+          {
+            addAdapter((Notifier)newValue);
+          }
+          break;
+        }
+        case Notification.ADD:
+        {
+          addAdapter((Notifier)notification.getNewValue());
+          break;
+        }
+        case Notification.ADD_MANY:
+        {
+          @SuppressWarnings("unchecked") Collection<Notifier> newValues = (Collection<Notifier>)notification.getNewValue();
+          for (Notifier newValue : newValues)
+          {
+            addAdapter(newValue);
+          }
+          break;
+        }
+      }
+    }
+  }
+
+  @Override
+  protected void handleResource(Notification notification)
+  {
+    if (isRecording() && !flushing)
+    {
+      log(notification.getNotifier(), null, notification, 0);
+    }
+
+    switch (notification.getEventType())
+    {
+      case Notification.SET:
+      case Notification.UNSET:
+      case Notification.ADD:
+      {
+        Notifier newValue = (Notifier)notification.getNewValue();
+        if (newValue != null)
+        {
+          addAdapter(newValue);
+        }
+        break;
+      }
+      case Notification.ADD_MANY:
+      {
+        @SuppressWarnings("unchecked") Collection<Notifier> newValues = (Collection<Notifier>)notification.getNewValue();
+        for (Notifier newValue : newValues)
+        {
+          addAdapter(newValue);
+        }
+        break;
+      }
+    }
+  }
+
+  /**
+   * Appends a record of the notification to the log.
+   */
+  protected void log(Object notifier, EStructuralFeature feature, Notification notification, int flags)
+  {
+    if (notifiers == null)
+    {
+      notifiers = new Object [16];
+      features = new EStructuralFeature [16];
+      kinds = new int [16];
+      positions = new int [16];
+      oldValues = new Object [16];
+      newValues = new Object [16];
+    }
+    else if (size == notifiers.length)
+    {
+      int capacity = size * 2;
+      Object[] newNotifiers = new Object [capacity];
+      System.arraycopy(notifiers, 0, newNotifiers, 0, size);
+      notifiers = newNotifiers;
+      EStructuralFeature[] newFeatures = new EStructuralFeature [capacity];
+      System.arraycopy(features, 0, newFeatures, 0, size);
+      features = newFeatures;
+      int[] newKinds = new int [capacity];
+      System.arraycopy(kinds, 0, newKinds, 0, size);
+      kinds = newKinds;
+      int[] newPositions = new int [capacity];
+      System.arraycopy(positions, 0, newPositions, 0, size);
+      positions = newPositions;
+      Object[] newOldValues = new Object [capacity];
+      System.arraycopy(oldValues, 0, newOldValues, 0, size);
+      oldValues = newOldValues;
+      Object[] newNewValues = new Object [capacity];
+      System.arraycopy(newValues, 0, newNewValues, 0, size);
+      newValues = newNewValues;
+    }
+
+    int eventType = notification.getEventType();
+    notifiers[size] = notifier;
+    features[size] = feature;
+    kinds[size] = eventType | flags | (notification.wasSet() ? WAS_SET : 0);
+    positions[size] = notification.getPosition();
+    oldValues[size] = notification.getOldValue();
+    if (eventType == Notification.ADD_MANY || eventType == Notification.REMOVE_MANY)
+    {
+      newValues[size] = notification.getNewValue();
+    }
+    ++size;
+  }
+
+  /**
+   * Removes all records from the log, retaining the arrays for reuse.
+   */
+  protected void clearLog()
+  {
+    if (notifiers != null)
+    {
+      Arrays.fill(notifiers, 0, size, null);
+      Arrays.fill(features, 0, size, null);
+      Arrays.fill(oldValues, 0, size, null);
+      Arrays.fill(newValues, 0, size, null);
+    }
+    size = 0;
+  }
+
+  /**
+   * Creates a feature change or resource change for each feature or resource changed by the logged notifications
+   * that doesn't already have a change in the change description,
+   * and empties the log.
+   */
+  protected void flushLog()
+  {
+    if (size == 0)
+    {
+      return;
+    }
+
+    flushing = true;
+    try
+    {
+      // Determine the record of the first change to each feature of each object and to the contents of each resource.
+      // A feature or resource that already has a change in the change description is left as is.
+      //
+      Map<Object, LoggedChange> loggedChanges = new IdentityHashMap<Object, LoggedChange>();
+      List<LoggedChange> newChanges = new ArrayList<LoggedChange>();
+      LoggedChange[] recordChanges = new LoggedChange [size];
+      for (int i = 0; i < size; ++i)
+      {
+        Object notifier = notifiers[i];
+        EStructuralFeature feature = features[i];
+        LoggedChange head = loggedChanges.get(notifier);
+        LoggedChange loggedChange = head;
+        while (loggedChange != null && loggedChange.feature != feature)
+        {
+          loggedChange = loggedChange.next;
+        }
+
+        if (loggedChange == null)
+        {
+          if ((kinds[i] & UNDO_ONLY) != 0)
+          {
+            continue;
+          }
+
+          loggedChange = new LoggedChange(notifier, feature, i);
+          loggedChange.next = head;
+          loggedChanges.put(notifier, loggedChange);
+          if (feature == null ?
+                getResourceChange((Resource)notifier) == null :
+                getFeatureChange(getFeatureChanges((EObject)notifier), feature) == null)
+          {
+            newChanges.add(loggedChange);
+          }
+          else
+          {
+            loggedChange.isRecorded = true;
+          }
+        }
+
+        if (!loggedChange.isRecorded)
+        {
+          recordChanges[i] = loggedChange;
+        }
+      }
+
+      // Undo the changes in reverse order to reconstruct the value before the first change.
+      //
+      for (int i = size; --i >= 0; )
+      {
+        LoggedChange loggedChange = recordChanges[i];
+        if (loggedChange != null)
+        {
+          EStructuralFeature feature = loggedChange.feature;
+          if (feature == null || feature.isMany())
+          {
+            if (loggedChange.value == null)
+            {
+              loggedChange.value =
+                new BasicEList<Object>
+                  (feature == null ?
+                     ((Resource)loggedChange.notifier).getContents() :
+                     (Collection<?>)((EObject)loggedChange.notifier).eGet(feature));
+            }
+            @SuppressWarnings("unchecked") EList<Object> value = (EList<Object>)loggedChange.value;
+            undo(i, value);
+          }
+          else if (i == loggedChange.first)
+          {
+            loggedChange.value = oldValues[i];
+          }
+        }
+      }
+
+      for (LoggedChange loggedChange : newChanges)
+      {
+        boolean wasSet = (kinds[loggedChange.first] & WAS_SET) != 0;
+        if (loggedChange.feature == null)
+        {
+          @SuppressWarnings("unchecked") EList<Object> value = (EList<Object>)loggedChange.value;
+          getResourceChanges().add(createResourceChange((Resource)loggedChange.notifier, value));
+        }
+        else
+        {
+          EObject eObject = (EObject)loggedChange.notifier;
+          FeatureChange change = createFeatureChange(eObject, loggedChange.feature, loggedChange.value, wasSet);
+          ((InternalEList<FeatureChange>)getFeatureChanges(eObject)).addUnique(change);
+        }
+      }
+    }
+    finally
+    {
+      flushing = false;
+      clearLog();
+    }
+  }
+
+  /**
+   * Undoes the change of the record to the list value,
+   * i.e., changes the list value to what it was before the change.
+   */
+  protected void undo(int record, EList<Object> value)
+  {
+    int position = positions[record];
+    Object oldValue = oldValues[record];
+    switch (kinds[record] & EVENT_TYPE_MASK)
+    {
+      case Notification.SET:
+      case Notification.UNSET:
+      {
+        if (position != Notification.NO_INDEX)
+        {
+          value.set(position, oldValue);
+        }
+        break;
+      }
+      case Notification.ADD:
+      {
+        value.remove(position);
+        break;
+      }
+      case Notification.ADD_MANY:
+      {
+        for (int i = ((Collection<?>)newValues[record]).size(); --i >= 0;)
+        {
+          value.remove(position);
+        }
+        break;
+      }
+      case Notification.REMOVE:
+      {
+        // If there's no position, the list is being cleared.
+        //
+        value.add(position == Notification.NO_INDEX ? 0 : position, oldValue);
+        break;
+      }
+      case Notification.REMOVE_MANY:
+      {
+        @SuppressWarnings("unchecked") List<Object> removedValues = (List<Object>)oldValue;
+        int[] removedPositions = (int[])newValues[record];
+        if (removedPositions == null)
+        {
+          value.addAll(removedValues);
+        }
+        else
+        {
+          for (int i = 0; i < removedPositions.length; ++i)
+          {
+            value.add(removedPositions[i], removedValues.get(i));
+          }
+        }
+        break;
+      }
+      case Notification.MOVE:
+      {
+        int oldPosition = (Integer)oldValue;
+        value.move(oldPosition, position);
+        break;
+      }
+    }
+  }
+
+  /**
+   * The logged changes to one feature of an object, or to the contents of a resource.
+   */
+  private static final class LoggedChange
+  {
+    final Object notifier;
+
+    final EStructuralFeature feature;
+
+    /**
+     * The index of the first record of a change.
+     */
+    final int first;
+
+    /**
+     * Whether the change description already has a change for this feature.
+     */
+    boolean isRecorded;
+
+    /**
+     * The value before the first change.
+     */
+    Object value;
+
+    /**
+     * The logged changes to another feature of the same object.
+     */
+    LoggedChange next;
+
+    LoggedChange(Object notifier, EStructuralFeature feature, int first)
+    {
+      this.notifier = notifier;
+      this.feature = feature;
+      this.first = first;
+    }
+  }
+}
@@ -568,6 +568,73 @@ public interface XMLResource extends Resource
    */
   String OPTION_RESOLVE_ENTITIES = "RESOLVED_ENTITIES";
 
+  /**
+   * A save option that specifies whether to write the document to the output stream while it's being serialized,
+   * rather than to render it completely in memory first,
+   * so that the memory needed to save a resource doesn't grow with the size of its document.
+   * Because the namespace declarations and the <code>xsi:schemaLocation</code> are written at the start of the document,
+   * they must be known up front:
+   * either the namespaces of the packages specified by {@link #OPTION_SAVE_NAMESPACE_PACKAGES} are declared,
+   * or a first pass over the contents serializes them, without retaining the result, to determine the namespaces that are used.
+   * A {@link #OPTION_USE_FILE_BUFFER file buffer} isn't used,
+   * and the document isn't streamed if there is a {@link #OPTION_RESOURCE_ENTITY_HANDLER resource entity handler},
+   * because the entities are declared at the start of the document too.
+   * The default value is false.
+   * @since 2.38
+   */
+  String OPTION_STREAM_SAVE = "STREAM_SAVE";
+
+  /**
+   * A save option that specifies the collection of {@link EPackage packages} whose namespaces a {@link #OPTION_STREAM_SAVE streaming save} declares,
+   * so that no first pass is needed to determine them.
+   * It must include the packages of all the classes whose instances are saved
+   * and those of any namespace qualified features;
+   * the save fails if it needs a namespace that isn't declared.
+   * The <code>xsi</code> namespace is always declared.
+   * @since 2.38
+   */
+  String OPTION_SAVE_NAMESPACE_PACKAGES = "SAVE_NAMESPACE_PACKAGES";
+
+  /**
+   * A load option that specifies whether to parse a document read from an InputStream with an {@link org.eclipse.emf.ecore.xmi.impl.XMLByteParser XMLByteParser},
+   * which tokenizes the bytes of the document directly rather than using a SAX parser.
+   * The whole document is read into memory first.
+   * The option only applies to documents that the byte parser {@link org.eclipse.emf.ecore.xmi.impl.XMLByteParser#isSupported() supports},
+   * and not when {@link #OPTION_PARSER_FEATURES parser features} or {@link #OPTION_PARSER_PROPERTIES parser properties} are specified;
+   * otherwise the SAX parser is used as usual.
+   * The default value is false.
+   * @since 2.38
+   */
+  String OPTION_USE_BYTE_PARSER = "USE_BYTE_PARSER";
+
+  /**
+   * A load option that specifies the number of parts in which to load a document read from an InputStream,
+   * either as an {@link Integer}, or as {@link Boolean#TRUE} for the number of {@link Runtime#availableProcessors() available processors},
+   * in which case the parts are loaded by the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool},
+   * or as the {@link java.util.concurrent.Executor} that loads the parts,
+   * in which case the number of parts is the {@link java.util.concurrent.ForkJoinPool#getParallelism() parallelism} of a fork join pool,
+   * or else the number of available processors.
+   * The calling thread also loads any part that the executor hasn't yet started.
+   * The child elements of the document's root element are split into contiguous parts of roughly equal size,
+   * each part is {@link #OPTION_USE_BYTE_PARSER parsed} concurrently into a separate resource,
+   * with the resolution of its references {@link #OPTION_DEFER_IDREF_RESOLUTION deferred},
+   * and the parts are then combined, in order, into the resource being loaded and the deferred references are resolved.
+   * The result is the same as for a sequential load.
+   * <p>
+   * The packages of the namespaces declared by the root element must be registered
+   * and the parts are loaded with a registry that delegates to the resource set's package registry;
+   * the metadata of the packages is fully initialized before the parts are loaded.
+   * The document is loaded sequentially if it has fewer than two children of the root element,
+   * if it's not supported by the byte parser, if it specifies schema locations,
+   * or if {@link #OPTION_EXTENDED_META_DATA extended metadata}, {@link #OPTION_RECORD_UNKNOWN_FEATURE unknown feature recording},
+   * an {@link #OPTION_XML_MAP XML map}, {@link #OPTION_XML_OPTIONS XML options}, a {@link #OPTION_RESOURCE_ENTITY_HANDLER resource entity handler},
+   * {@link #OPTION_PARSER_FEATURES parser features}, or {@link #OPTION_PARSER_PROPERTIES parser properties} are specified.
+   * It's also loaded sequentially, from the bytes already read, if loading any part fails; the failure is logged.
+   * The default value is 1, i.e., a sequential load.
+   * @since 2.38
+   */
+  String OPTION_PARALLEL_LOAD = "PARALLEL_LOAD";
+
   String HREF = "href";
   String NIL = "nil";
   String TYPE = "type";
@@ -11,6 +11,9 @@
 package org.eclipse.emf.ecore.xmi.impl;
 
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -123,6 +126,49 @@ public class XMISaveImpl extends XMLSaveImpl
     }
   }
 
+  /**
+   * Writes the objects yielded by the iterator as children of an <code>xmi:XMI</code> element,
+   * which is written up front because the number of objects isn't known in advance,
+   * and declares the namespaces used by each object on its own element.
+   * @since 2.38
+   */
+  @Override
+  protected void writeTopObjectsIncrementally(Iterator<? extends EObject> contents, Writer writer) throws IOException
+  {
+    doc.startElement(XMI_TAG_NS);
+    doc.addAttribute(XMI_VER_NS, xmlResource == null ? XMIResource.VERSION_VALUE : ((XMIResource)xmlResource).getXMIVersion());
+    doc.addAttribute(XMI_XMLNS, xmiURI);
+    doc.flush(writer, flushThreshold);
+
+    while (contents.hasNext())
+    {
+      EObject top = contents.next();
+      EClass eClass = top.eClass();
+      Object mark;
+      if (extendedMetaData == null || featureTable.getDocumentRoot(eClass.getEPackage()) != eClass)
+      {
+        doc.startElement(helper.getQName(eClass));
+        mark = doc.mark();
+        root = top;
+        saveElementID(top);
+      }
+      else
+      {
+        doc.startElement(null);
+        mark = null;
+        root = top;
+        saveFeatures(top);
+        doc.addLine();
+      }
+
+      doc.resetToMark(mark);
+      super.addNamespaceDeclarations();
+      doc.flush(writer, flushThreshold);
+    }
+
+    doc.endElement();
+  }
+
   @Override
   protected void saveTypeAttribute(EClass eClass)
   {
@@ -0,0 +1,1372 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.xmi.impl;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.ext.Locator2;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import org.eclipse.emf.ecore.util.ExtendedMetaData;
+
+
+/**
+ * A parser that tokenizes the bytes of an XML document directly and reports the document to a SAX handler,
+ * just as a non-validating SAX parser would, but without the overhead of a general purpose parser.
+ * It supports the XML that resources write,
+ * i.e., documents {@link #isSupported() encoded} in UTF-8, US-ASCII, or ISO-8859-1 without a document type declaration,
+ * and hence without any entities other than the predefined ones and character references.
+ * Each distinct element and attribute name is decoded only once, into a {@link String} that's shared by all its occurrences,
+ * and attribute values and text are decoded directly from the bytes of the buffer.
+ * Comments and CDATA sections are reported to the lexical handler, if there is one.
+ * @see XMLLoadImpl#load(org.eclipse.emf.ecore.xmi.XMLResource, ByteBuffer, java.util.Map)
+ * @since 2.38
+ */
+public class XMLByteParser implements Locator2
+{
+  /**
+   * The encoding kind of a document in UTF-8, or in its US-ASCII subset.
+   */
+  protected static final int UTF_8 = 0;
+
+  /**
+   * The encoding kind of a document in ISO-8859-1.
+   */
+  protected static final int ISO_8859_1 = 1;
+
+  /**
+   * An interned name, along with its prefix and local name.
+   */
+  protected static final class Symbol
+  {
+    protected final byte[] bytes;
+    protected final int hashCode;
+    protected final String name;
+    protected final String prefix;
+    protected final String localName;
+
+    protected Symbol(byte[] bytes, int hashCode, String name)
+    {
+      this.bytes = bytes;
+      this.hashCode = hashCode;
+      this.name = name;
+      int index = name.indexOf(':');
+      if (index == -1)
+      {
+        prefix = "";
+        localName = name;
+      }
+      else
+      {
+        prefix = name.substring(0, index);
+        localName = name.substring(index + 1);
+      }
+    }
+  }
+
+  protected ByteBuffer buffer;
+  protected byte[] array;
+  protected int arrayOffset;
+  protected int position;
+  protected int limit;
+
+  protected boolean namespaceAware;
+  protected boolean isPrepared;
+  protected boolean isSupported;
+  protected int encodingKind = UTF_8;
+  protected String encoding;
+  protected String xmlVersion;
+  protected String publicId;
+  protected String systemId;
+  protected String rootName;
+
+  protected DefaultHandler handler;
+  protected LexicalHandler lexicalHandler;
+  protected AttributesImpl attributes = new AttributesImpl();
+
+  /**
+   * The decoded characters of the current attribute value or text.
+   */
+  protected char[] chars = new char[256];
+  protected int charCount;
+
+  private Symbol[] symbols = new Symbol[256];
+  private int symbolCount;
+
+  private Symbol[] attributeSymbols = new Symbol[16];
+
+  private Symbol[] elementSymbols = new Symbol[32];
+  private String[] elementURIs = new String[32];
+  private int[] elementNamespaceCounts = new int[32];
+  private int depth;
+
+  private String[] namespacePrefixes = new String[8];
+  private String[] namespaceURIs = new String[8];
+  private int namespaceCount;
+
+  private int lineNumber = 1;
+  private int lineStart;
+  private int lineCountPosition;
+
+  /**
+   * The buffers of the ranges {@link #append(ByteBuffer, int, int, int, int) appended} to the document,
+   * and, for each, its start, its end, the number of the line on which it starts, and the start of that line.
+   */
+  private ByteBuffer[] rangeBuffers;
+  private int[] ranges;
+  private int rangeCount;
+  private int rangeIndex;
+
+  /**
+   * Creates a parser for the remaining bytes of the buffer.
+   * A namespace aware parser reports the namespace of each element and attribute and reports each namespace declaration as a prefix mapping,
+   * just as a namespace aware SAX parser does;
+   * otherwise, the namespace declarations are reported as attributes.
+   */
+  public XMLByteParser(ByteBuffer buffer, boolean namespaceAware)
+  {
+    this.buffer = buffer;
+    this.namespaceAware = namespaceAware;
+    if (buffer.hasArray())
+    {
+      array = buffer.array();
+      arrayOffset = buffer.arrayOffset();
+    }
+    position = buffer.position();
+    limit = buffer.limit();
+    lineStart = lineCountPosition = position;
+  }
+
+  /**
+   * Appends the given range of the bytes of the buffer to the document,
+   * to be parsed once the bytes before it have been parsed,
+   * where the range starts on the line with the given number, and that line starts at the given index, which may precede the range.
+   * Each range must start and end between markup,
+   * so the document can be parsed from parts of a larger document without copying them.
+   */
+  void append(ByteBuffer buffer, int start, int end, int lineNumber, int lineStart)
+  {
+    if (rangeBuffers == null)
+    {
+      rangeBuffers = new ByteBuffer[4];
+      ranges = new int[16];
+    }
+    else if (rangeCount == rangeBuffers.length)
+    {
+      ByteBuffer[] newRangeBuffers = new ByteBuffer[2 * rangeCount];
+      System.arraycopy(rangeBuffers, 0, newRangeBuffers, 0, rangeCount);
+      rangeBuffers = newRangeBuffers;
+      int[] newRanges = new int[8 * rangeCount];
+      System.arraycopy(ranges, 0, newRanges, 0, 4 * rangeCount);
+      ranges = newRanges;
+    }
+    rangeBuffers[rangeCount] = buffer;
+    int index = 4 * rangeCount++;
+    ranges[index] = start;
+    ranges[index + 1] = end;
+    ranges[index + 2] = lineNumber;
+    ranges[index + 3] = lineStart;
+  }
+
+  /**
+   * Continues with the next {@link #append(ByteBuffer, int, int, int, int) appended} range, if there is one.
+   */
+  private boolean nextRange()
+  {
+    if (rangeIndex == rangeCount)
+    {
+      return false;
+    }
+
+    buffer = rangeBuffers[rangeIndex];
+    if (buffer.hasArray())
+    {
+      array = buffer.array();
+      arrayOffset = buffer.arrayOffset();
+    }
+    else
+    {
+      array = null;
+      arrayOffset = 0;
+    }
+    int index = 4 * rangeIndex++;
+    position = lineCountPosition = ranges[index];
+    limit = ranges[index + 1];
+    lineNumber = ranges[index + 2];
+    lineStart = ranges[index + 3];
+    return true;
+  }
+
+  public void setPublicId(String publicId)
+  {
+    this.publicId = publicId;
+  }
+
+  public void setSystemId(String systemId)
+  {
+    this.systemId = systemId;
+  }
+
+  /**
+   * Returns whether this parser supports the document,
+   * i.e., whether it's encoded in UTF-8, US-ASCII, or ISO-8859-1 and has no document type declaration.
+   * Nothing is reported to a handler.
+   */
+  public boolean isSupported()
+  {
+    if (!isPrepared)
+    {
+      isPrepared = true;
+      isSupported = prepare();
+    }
+    return isSupported;
+  }
+
+  /**
+   * Reads the byte order mark and the XML declaration, if present, and checks the prolog for a document type declaration.
+   */
+  private boolean prepare()
+  {
+    if (position + 2 < limit && get(position) == (byte)0xEF && get(position + 1) == (byte)0xBB && get(position + 2) == (byte)0xBF)
+    {
+      position += 3;
+    }
+    else if (position < limit && (get(position) == 0 || get(position) == (byte)0xFE || get(position) == (byte)0xFF))
+    {
+      // A document in UTF-16 or UTF-32 isn't supported.
+      //
+      return false;
+    }
+
+    if (startsWith(position, "<?xml") && position + 5 < limit && isWhitespace(get(position + 5)))
+    {
+      int end = indexOf(position, "?>");
+      if (end == -1)
+      {
+        return false;
+      }
+      xmlVersion = getPseudoAttribute(position + 5, end, "version");
+      encoding = getPseudoAttribute(position + 5, end, "encoding");
+      if (encoding != null)
+      {
+        String normalizedEncoding = encoding.toUpperCase(Locale.ENGLISH).replace('_', '-');
+        if ("ISO-8859-1".equals(normalizedEncoding) || "ISO8859-1".equals(normalizedEncoding) || "LATIN1".equals(normalizedEncoding))
+        {
+          encodingKind = ISO_8859_1;
+        }
+        else if (!"UTF-8".equals(normalizedEncoding) && !"UTF8".equals(normalizedEncoding) &&
+                   !"US-ASCII".equals(normalizedEncoding) && !"ASCII".equals(normalizedEncoding))
+        {
+          return false;
+        }
+      }
+      position = end + 2;
+    }
+    if (encoding == null)
+    {
+      encoding = "UTF-8";
+    }
+
+    // Look past comments and processing instructions for a document type declaration.
+    //
+    for (int i = position; i < limit; )
+    {
+      byte b = get(i);
+      if (isWhitespace(b))
+      {
+        ++i;
+      }
+      else if (startsWith(i, "<!--"))
+      {
+        i = indexOf(i + 4, "-->");
+        if (i == -1)
+        {
+          return false;
+        }
+        i += 3;
+      }
+      else if (startsWith(i, "<?"))
+      {
+        i = indexOf(i + 2, "?>");
+        if (i == -1)
+        {
+          return false;
+        }
+        i += 2;
+      }
+      else
+      {
+        return !startsWith(i, "<!");
+      }
+    }
+    return true;
+  }
+
+  private String getPseudoAttribute(int start, int end, String name)
+  {
+    for (int i = start; i < end; ++i)
+    {
+      if (startsWith(i, name) && isWhitespace(get(i - 1)))
+      {
+        int j = i + name.length();
+        while (j < end && isWhitespace(get(j)))
+        {
+          ++j;
+        }
+        if (j < end && get(j) == '=')
+        {
+          ++j;
+          while (j < end && isWhitespace(get(j)))
+          {
+            ++j;
+          }
+          if (j < end)
+          {
+            byte quote = get(j);
+            if (quote == '"' || quote == '\'')
+            {
+              for (int k = j + 1; k < end; ++k)
+              {
+                if (get(k) == quote)
+                {
+                  return new String(getBytes(j + 1, k - j - 1), StandardCharsets.ISO_8859_1);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Parses the document, reporting it to the handler, and to the lexical handler, if not <code>null</code>.
+   * A well-formedness error is reported to the handler as a {@link DefaultHandler#fatalError(SAXParseException) fatal error} and is thrown.
+   */
+  public void parse(DefaultHandler handler, LexicalHandler lexicalHandler) throws SAXException
+  {
+    this.handler = handler;
+    this.lexicalHandler = lexicalHandler;
+    try
+    {
+      if (!isSupported())
+      {
+        fatalError("The document's encoding or document type declaration is not supported");
+      }
+
+      handler.setDocumentLocator(this);
+      handler.startDocument();
+      boolean isRootSeen = false;
+      while (position < limit || nextRange())
+      {
+        byte b = get(position);
+        if (b == '<')
+        {
+          byte next = position + 1 < limit ? get(position + 1) : 0;
+          if (next == '/')
+          {
+            parseEndTag();
+          }
+          else if (next == '?')
+          {
+            parseProcessingInstruction();
+          }
+          else if (next == '!')
+          {
+            if (startsWith(position, "<!--"))
+            {
+              parseComment();
+            }
+            else if (depth > 0 && startsWith(position, "<![CDATA["))
+            {
+              parseCDATA();
+            }
+            else
+            {
+              fatalError("The markup in the document is not supported");
+            }
+          }
+          else
+          {
+            if (depth == 0)
+            {
+              if (isRootSeen)
+              {
+                fatalError("The markup in the document following the root element must be well-formed");
+              }
+              isRootSeen = true;
+            }
+            parseStartTag();
+          }
+        }
+        else if (depth == 0)
+        {
+          if (!isWhitespace(b))
+          {
+            fatalError("Content is not allowed outside of the root element");
+          }
+          ++position;
+        }
+        else
+        {
+          parseText();
+        }
+      }
+
+      if (!isRootSeen)
+      {
+        fatalError("Premature end of file");
+      }
+      if (depth > 0)
+      {
+        fatalError("The element type \"" + elementSymbols[depth - 1].name + "\" must be terminated by the matching end-tag");
+      }
+      handler.endDocument();
+    }
+    finally
+    {
+      this.handler = null;
+      this.lexicalHandler = null;
+    }
+  }
+
+  /**
+   * Scans the structure of the document, without reporting anything to a handler,
+   * and returns the offset of the root element's start tag,
+   * the offset of its content, i.e., just past that start tag,
+   * the offset of each of its child elements,
+   * and the offset of its end tag, in that order;
+   * the root element's {@link #getRootName() name} and {@link #getRootAttributes() attributes} are recorded.
+   * Returns <code>null</code> if the document isn't {@link #isSupported() supported}, the root element is empty,
+   * or the document isn't well-formed enough to tell.
+   * Namespace declarations are included in the attributes, regardless of whether the parser is namespace aware.
+   * The parser can't be used to {@link #parse(DefaultHandler, LexicalHandler) parse} the document afterwards.
+   */
+  public int[] scanRootContent() throws SAXException
+  {
+    if (!isSupported())
+    {
+      return null;
+    }
+
+    namespaceAware = false;
+    handler = new DefaultHandler();
+    try
+    {
+      int rootStart = -1;
+      while (rootStart == -1)
+      {
+        skipWhitespace();
+        if (startsWith(position, "<!--"))
+        {
+          parseComment();
+        }
+        else if (startsWith(position, "<?"))
+        {
+          parseProcessingInstruction();
+        }
+        else if (position < limit && get(position) == '<')
+        {
+          rootStart = position;
+        }
+        else
+        {
+          return null;
+        }
+      }
+      parseStartTag();
+      if (depth == 0)
+      {
+        return null;
+      }
+      rootName = elementSymbols[0].name;
+
+      int[] result = new int[16];
+      int count = 0;
+      result[count++] = rootStart;
+      result[count++] = position;
+      for (int level = 1; position < limit; )
+      {
+        byte b = get(position);
+        if (b != '<')
+        {
+          ++position;
+        }
+        else if (startsWith(position, "</"))
+        {
+          if (--level == 0)
+          {
+            if (count == result.length)
+            {
+              int[] newResult = new int[2 * count];
+              System.arraycopy(result, 0, newResult, 0, count);
+              result = newResult;
+            }
+            result[count++] = position;
+            int[] finalResult = new int[count];
+            System.arraycopy(result, 0, finalResult, 0, count);
+            return finalResult;
+          }
+          position = skipPast(position + 2, ">");
+        }
+        else if (startsWith(position, "<!--"))
+        {
+          position = skipPast(position + 4, "-->");
+        }
+        else if (startsWith(position, "<![CDATA["))
+        {
+          position = skipPast(position + 9, "]]>");
+        }
+        else if (startsWith(position, "<?"))
+        {
+          position = skipPast(position + 2, "?>");
+        }
+        else
+        {
+          if (level == 1)
+          {
+            if (count == result.length)
+            {
+              int[] newResult = new int[2 * count];
+              System.arraycopy(result, 0, newResult, 0, count);
+              result = newResult;
+            }
+            result[count++] = position;
+          }
+
+          // Skip to the end of the start tag, which might appear in an attribute value.
+          //
+          byte quote = 0;
+          for (++position; position < limit; ++position)
+          {
+            b = get(position);
+            if (quote != 0)
+            {
+              if (b == quote)
+              {
+                quote = 0;
+              }
+            }
+            else if (b == '"' || b == '\'')
+            {
+              quote = b;
+            }
+            else if (b == '>')
+            {
+              break;
+            }
+          }
+          if (position >= limit)
+          {
+            return null;
+          }
+          if (get(position - 1) != '/')
+          {
+            ++level;
+          }
+          ++position;
+        }
+      }
+      return null;
+    }
+    finally
+    {
+      handler = null;
+    }
+  }
+
+  private int skipPast(int index, String string)
+  {
+    int result = indexOf(index, string);
+    return result == -1 ? limit : result + string.length();
+  }
+
+  /**
+   * Returns the qualified name of the root element, as {@link #scanRootContent() scanned}.
+   */
+  public String getRootName()
+  {
+    return rootName;
+  }
+
+  /**
+   * Returns the attributes of the root element, as {@link #scanRootContent() scanned}.
+   */
+  public Attributes getRootAttributes()
+  {
+    return attributes;
+  }
+
+  protected void parseStartTag() throws SAXException
+  {
+    ++position;
+    Symbol symbol = scanName();
+    if (symbol == null)
+    {
+      fatalError("The markup in the document preceding the root element must be well-formed");
+    }
+
+    attributes.clear();
+    int startNamespaceCount = namespaceCount;
+    boolean isEmpty = false;
+    for (;;)
+    {
+      boolean isWhitespaceSkipped = skipWhitespace();
+      if (position >= limit)
+      {
+        fatalError("XML document structures must start and end within the same entity");
+      }
+      byte b = get(position);
+      if (b == '>')
+      {
+        ++position;
+        break;
+      }
+      else if (b == '/')
+      {
+        if (position + 1 >= limit || get(position + 1) != '>')
+        {
+          fatalError("Element type \"" + symbol.name + "\" must be followed by either attribute specifications, \">\" or \"/>\"");
+        }
+        position += 2;
+        isEmpty = true;
+        break;
+      }
+      else if (!isWhitespaceSkipped)
+      {
+        fatalError("Element type \"" + symbol.name + "\" must be followed by either attribute specifications, \">\" or \"/>\"");
+      }
+
+      Symbol attributeSymbol = scanName();
+      if (attributeSymbol == null)
+      {
+        fatalError("Element type \"" + symbol.name + "\" must be followed by either attribute specifications, \">\" or \"/>\"");
+      }
+      skipWhitespace();
+      if (position >= limit || get(position) != '=')
+      {
+        fatalError("Attribute name \"" + attributeSymbol.name + "\" associated with an element type \"" + symbol.name + "\" must be followed by the ' = ' character");
+      }
+      ++position;
+      skipWhitespace();
+      byte quote = position < limit ? get(position) : 0;
+      if (quote != '"' && quote != '\'')
+      {
+        fatalError("Open quote is expected for attribute \"" + attributeSymbol.name + "\" associated with an element type \"" + symbol.name + "\"");
+      }
+      ++position;
+      String value = scanAttributeValue(quote);
+
+      String attributeName = attributeSymbol.name;
+      for (int i = 0, length = attributes.getLength(); i < length; ++i)
+      {
+        if (attributes.getQName(i) == attributeName)
+        {
+          fatalError("Attribute \"" + attributeName + "\" was already specified for element \"" + symbol.name + "\"");
+        }
+      }
+
+      if (namespaceAware && (attributeSymbol.prefix.length() == 0 ? ExtendedMetaData.XMLNS_PREFIX.equals(attributeName) : ExtendedMetaData.XMLNS_PREFIX.equals(attributeSymbol.prefix)))
+      {
+        addNamespace(attributeSymbol.prefix.length() == 0 ? "" : attributeSymbol.localName, value);
+      }
+      else
+      {
+        addAttribute(attributeSymbol, value);
+      }
+    }
+
+    String uri = "";
+    String localName = "";
+    if (namespaceAware)
+    {
+      for (int i = startNamespaceCount; i < namespaceCount; ++i)
+      {
+        handler.startPrefixMapping(namespacePrefixes[i], namespaceURIs[i]);
+      }
+      for (int i = 0, length = attributes.getLength(); i < length; ++i)
+      {
+        Symbol attributeSymbol = attributeSymbols[i];
+        if (attributeSymbol.prefix.length() != 0)
+        {
+          attributes.setURI(i, getNamespaceURI(attributeSymbol.prefix, attributeSymbol.name));
+        }
+        attributes.setLocalName(i, attributeSymbol.localName);
+      }
+      uri = getNamespaceURI(symbol.prefix, symbol.name);
+      localName = symbol.localName;
+    }
+
+    if (depth == elementSymbols.length)
+    {
+      Symbol[] newElementSymbols = new Symbol[2 * depth];
+      System.arraycopy(elementSymbols, 0, newElementSymbols, 0, depth);
+      elementSymbols = newElementSymbols;
+      String[] newElementURIs = new String[2 * depth];
+      System.arraycopy(elementURIs, 0, newElementURIs, 0, depth);
+      elementURIs = newElementURIs;
+      int[] newElementNamespaceCounts = new int[2 * depth];
+      System.arraycopy(elementNamespaceCounts, 0, newElementNamespaceCounts, 0, depth);
+      elementNamespaceCounts = newElementNamespaceCounts;
+    }
+    elementSymbols[depth] = symbol;
+    elementURIs[depth] = uri;
+    elementNamespaceCounts[depth] = startNamespaceCount;
+    ++depth;
+
+    handler.startElement(uri, localName, symbol.name, attributes);
+    if (isEmpty)
+    {
+      endElement();
+    }
+  }
+
+  protected void parseEndTag() throws SAXException
+  {
+    position += 2;
+    Symbol symbol = scanName();
+    skipWhitespace();
+    if (position >= limit || get(position) != '>')
+    {
+      fatalError("The end-tag for element type \"" + (symbol == null ? "" : symbol.name) + "\" must end with a '>' delimiter");
+    }
+    ++position;
+    if (depth == 0 || elementSymbols[depth - 1] != symbol)
+    {
+      fatalError
+        (depth == 0 ?
+           "The markup in the document following the root element must be well-formed" :
+           "The element type \"" + elementSymbols[depth - 1].name + "\" must be terminated by the matching end-tag \"</" + elementSymbols[depth - 1].name + ">\"");
+    }
+    endElement();
+  }
+
+  private void endElement() throws SAXException
+  {
+    --depth;
+    Symbol symbol = elementSymbols[depth];
+    if (namespaceAware)
+    {
+      handler.endElement(elementURIs[depth], symbol.localName, symbol.name);
+      int startNamespaceCount = elementNamespaceCounts[depth];
+      while (namespaceCount > startNamespaceCount)
+      {
+        handler.endPrefixMapping(namespacePrefixes[--namespaceCount]);
+      }
+    }
+    else
+    {
+      handler.endElement("", "", symbol.name);
+    }
+    elementSymbols[depth] = null;
+  }
+
+  private void addAttribute(Symbol symbol, String value)
+  {
+    int index = attributes.getLength();
+    if (index == attributeSymbols.length)
+    {
+      Symbol[] newAttributeSymbols = new Symbol[2 * index];
+      System.arraycopy(attributeSymbols, 0, newAttributeSymbols, 0, index);
+      attributeSymbols = newAttributeSymbols;
+    }
+    attributeSymbols[index] = symbol;
+    attributes.addAttribute("", "", symbol.name, "CDATA", value);
+  }
+
+  private void addNamespace(String prefix, String uri)
+  {
+    if (namespaceCount == namespacePrefixes.length)
+    {
+      String[] newNamespacePrefixes = new String[2 * namespaceCount];
+      System.arraycopy(namespacePrefixes, 0, newNamespacePrefixes, 0, namespaceCount);
+      namespacePrefixes = newNamespacePrefixes;
+      String[] newNamespaceURIs = new String[2 * namespaceCount];
+      System.arraycopy(namespaceURIs, 0, newNamespaceURIs, 0, namespaceCount);
+      namespaceURIs = newNamespaceURIs;
+    }
+    namespacePrefixes[namespaceCount] = prefix;
+    namespaceURIs[namespaceCount] = uri;
+    ++namespaceCount;
+  }
+
+  private String getNamespaceURI(String prefix, String name) throws SAXException
+  {
+    for (int i = namespaceCount; --i >= 0; )
+    {
+      if (namespacePrefixes[i].equals(prefix))
+      {
+        return namespaceURIs[i];
+      }
+    }
+    if (prefix.length() == 0)
+    {
+      return "";
+    }
+    if ("xml".equals(prefix))
+    {
+      return ExtendedMetaData.XML_URI;
+    }
+    fatalError("The prefix \"" + prefix + "\" for \"" + name + "\" is not bound");
+    return null;
+  }
+
+  protected void parseText() throws SAXException
+  {
+    charCount = 0;
+    while (position < limit)
+    {
+      byte b = get(position);
+      if (b == '<')
+      {
+        break;
+      }
+      else if (b == '&')
+      {
+        parseReference();
+      }
+      else if (b == '\r')
+      {
+        appendChar('\n');
+        if (++position < limit && get(position) == '\n')
+        {
+          ++position;
+        }
+      }
+      else if (b >= 0)
+      {
+        appendChar((char)b);
+        ++position;
+      }
+      else
+      {
+        decode(b);
+      }
+    }
+    handler.characters(chars, 0, charCount);
+  }
+
+  protected void parseCDATA() throws SAXException
+  {
+    int start = position + 9;
+    int end = indexOf(start, "]]>");
+    if (end == -1)
+    {
+      fatalError("The CDATA section must end with \"]]>\"");
+    }
+    decode(start, end);
+    position = end + 3;
+    if (lexicalHandler != null)
+    {
+      lexicalHandler.startCDATA();
+    }
+    handler.characters(chars, 0, charCount);
+    if (lexicalHandler != null)
+    {
+      lexicalHandler.endCDATA();
+    }
+  }
+
+  protected void parseComment() throws SAXException
+  {
+    int start = position + 4;
+    int end = indexOf(start, "-->");
+    if (end == -1)
+    {
+      fatalError("The comment must end with \"-->\"");
+    }
+    position = end + 3;
+    if (lexicalHandler != null)
+    {
+      decode(start, end);
+      lexicalHandler.comment(chars, 0, charCount);
+    }
+  }
+
+  protected void parseProcessingInstruction() throws SAXException
+  {
+    position += 2;
+    Symbol target = scanName();
+    if (target == null)
+    {
+      fatalError("The processing instruction must begin with the name of the target");
+    }
+    int end = indexOf(position, "?>");
+    if (end == -1)
+    {
+      fatalError("The processing instruction must end with \"?>\"");
+    }
+    skipWhitespace();
+    decode(position, end);
+    position = end + 2;
+    if ("xml".equalsIgnoreCase(target.name))
+    {
+      fatalError("The processing instruction target matching \"[xX][mM][lL]\" is not allowed");
+    }
+    handler.processingInstruction(target.name, new String(chars, 0, charCount));
+  }
+
+  /**
+   * Decodes the entity reference or character reference at the current position into the characters.
+   */
+  protected void parseReference() throws SAXException
+  {
+    int start = ++position;
+    while (position < limit && get(position) != ';')
+    {
+      if (position - start > 16)
+      {
+        fatalError("The entity reference must end with the ';' delimiter");
+      }
+      ++position;
+    }
+    if (position >= limit)
+    {
+      fatalError("The entity reference must end with the ';' delimiter");
+    }
+    int end = position++;
+    int length = end - start;
+    if (length > 1 && get(start) == '#')
+    {
+      int codePoint = 0;
+      boolean isHex = get(start + 1) == 'x';
+      for (int i = isHex ? start + 2 : start + 1; i < end; ++i)
+      {
+        int digit = Character.digit(get(i), isHex ? 16 : 10);
+        if (digit == -1 || codePoint > Character.MAX_CODE_POINT)
+        {
+          fatalError("The character reference is not valid");
+        }
+        codePoint = codePoint * (isHex ? 16 : 10) + digit;
+      }
+      if (codePoint == 0 || codePoint > Character.MAX_CODE_POINT || isHex && length == 2)
+      {
+        fatalError("The character reference is not valid");
+      }
+      appendCodePoint(codePoint);
+    }
+    else if (length == 2 && get(start) == 'l' && get(start + 1) == 't')
+    {
+      appendChar('<');
+    }
+    else if (length == 2 && get(start) == 'g' && get(start + 1) == 't')
+    {
+      appendChar('>');
+    }
+    else if (length == 3 && startsWith(start, "amp"))
+    {
+      appendChar('&');
+    }
+    else if (length == 4 && startsWith(start, "quot"))
+    {
+      appendChar('"');
+    }
+    else if (length == 4 && startsWith(start, "apos"))
+    {
+      appendChar('\'');
+    }
+    else
+    {
+      fatalError("The entity \"" + new String(getBytes(start, length), StandardCharsets.ISO_8859_1) + "\" was referenced, but not declared");
+    }
+  }
+
+  /**
+   * Scans an attribute value up to the closing quote and returns it, normalized as an attribute value of type CDATA.
+   */
+  protected String scanAttributeValue(byte quote) throws SAXException
+  {
+    // Most values are plain ASCII that can be converted directly.
+    //
+    int start = position;
+    for (; position < limit; ++position)
+    {
+      byte b = get(position);
+      if (b == quote)
+      {
+        int length = position++ - start;
+        return
+          array == null ?
+            new String(getBytes(start, length), StandardCharsets.ISO_8859_1) :
+            new String(array, arrayOffset + start, length, StandardCharsets.ISO_8859_1);
+      }
+      else if (b < ' ' || b == '&' || b == '<')
+      {
+        break;
+      }
+    }
+
+    charCount = 0;
+    for (int i = start; i < position; ++i)
+    {
+      appendChar((char)get(i));
+    }
+    while (position < limit)
+    {
+      byte b = get(position);
+      if (b == quote)
+      {
+        ++position;
+        return new String(chars, 0, charCount);
+      }
+      else if (b == '&')
+      {
+        parseReference();
+      }
+      else if (b == '<')
+      {
+        fatalError("The value of an attribute must not contain the '<' character");
+      }
+      else if (b == '\r')
+      {
+        appendChar(' ');
+        if (++position < limit && get(position) == '\n')
+        {
+          ++position;
+        }
+      }
+      else if (b == '\n' || b == '\t')
+      {
+        appendChar(' ');
+        ++position;
+      }
+      else if (b >= 0)
+      {
+        appendChar((char)b);
+        ++position;
+      }
+      else
+      {
+        decode(b);
+      }
+    }
+    fatalError("XML document structures must start and end within the same entity");
+    return null;
+  }
+
+  /**
+   * Scans a name at the current position and returns its interned symbol, or <code>null</code> if there is no name.
+   */
+  protected Symbol scanName()
+  {
+    int start = position;
+    int hashCode = 0;
+    for (; position < limit; ++position)
+    {
+      byte b = get(position);
+      if (b <= ' ' && b >= 0 || b == '>' || b == '/' || b == '=' || b == '?' || b == '<' || b == '"' || b == '\'' || b == '&' || b == ';')
+      {
+        break;
+      }
+      hashCode = 31 * hashCode + b;
+    }
+    int length = position - start;
+    if (length == 0)
+    {
+      return null;
+    }
+
+    int mask = symbols.length - 1;
+    for (int index = hashCode & mask; ; index = (index + 1) & mask)
+    {
+      Symbol symbol = symbols[index];
+      if (symbol == null)
+      {
+        byte[] bytes = getBytes(start, length);
+        symbol = new Symbol(bytes, hashCode, new String(bytes, encodingKind == ISO_8859_1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8));
+        symbols[index] = symbol;
+        if (++symbolCount > symbols.length / 2)
+        {
+          growSymbols();
+        }
+        return symbol;
+      }
+      else if (symbol.hashCode == hashCode && symbol.bytes.length == length && matches(start, symbol.bytes))
+      {
+        return symbol;
+      }
+    }
+  }
+
+  private void growSymbols()
+  {
+    Symbol[] newSymbols = new Symbol[2 * symbols.length];
+    int mask = newSymbols.length - 1;
+    for (Symbol symbol : symbols)
+    {
+      if (symbol != null)
+      {
+        int index = symbol.hashCode & mask;
+        while (newSymbols[index] != null)
+        {
+          index = (index + 1) & mask;
+        }
+        newSymbols[index] = symbol;
+      }
+    }
+    symbols = newSymbols;
+  }
+
+  /**
+   * Decodes the bytes from the start up to the end into the characters, normalizing the line ends.
+   */
+  private void decode(int start, int end) throws SAXException
+  {
+    charCount = 0;
+    int savedPosition = position;
+    position = start;
+    while (position < end)
+    {
+      byte b = get(position);
+      if (b == '\r')
+      {
+        appendChar('\n');
+        if (++position < end && get(position) == '\n')
+        {
+          ++position;
+        }
+      }
+      else if (b >= 0)
+      {
+        appendChar((char)b);
+        ++position;
+      }
+      else
+      {
+        decode(b);
+      }
+    }
+    position = savedPosition;
+  }
+
+  /**
+   * Decodes the character whose first byte, which isn't ASCII, is at the current position.
+   */
+  private void decode(byte b) throws SAXException
+  {
+    if (encodingKind == ISO_8859_1)
+    {
+      appendChar((char)(b & 0xFF));
+      ++position;
+      return;
+    }
+
+    int codePoint;
+    int count;
+    if ((b & 0xE0) == 0xC0)
+    {
+      codePoint = b & 0x1F;
+      count = 1;
+    }
+    else if ((b & 0xF0) == 0xE0)
+    {
+      codePoint = b & 0x0F;
+      count = 2;
+    }
+    else if ((b & 0xF8) == 0xF0)
+    {
+      codePoint = b & 0x07;
+      count = 3;
+    }
+    else
+    {
+      fatalError("Invalid byte 1 of UTF-8 sequence");
+      return;
+    }
+    if (position + count >= limit)
+    {
+      fatalError("Invalid UTF-8 sequence");
+    }
+    for (int i = 1; i <= count; ++i)
+    {
+      byte continuation = get(position + i);
+      if ((continuation & 0xC0) != 0x80)
+      {
+        fatalError("Invalid byte " + (i + 1) + " of " + (count + 1) + "-byte UTF-8 sequence");
+      }
+      codePoint = codePoint << 6 | continuation & 0x3F;
+    }
+    position += count + 1;
+    appendCodePoint(codePoint);
+  }
+
+  private void appendCodePoint(int codePoint)
+  {
+    if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT)
+    {
+      appendChar((char)codePoint);
+    }
+    else
+    {
+      appendChar(Character.highSurrogate(codePoint));
+      appendChar(Character.lowSurrogate(codePoint));
+    }
+  }
+
+  private void appendChar(char c)
+  {
+    if (charCount == chars.length)
+    {
+      char[] newChars = new char[2 * charCount];
+      System.arraycopy(chars, 0, newChars, 0, charCount);
+      chars = newChars;
+    }
+    chars[charCount++] = c;
+  }
+
+  private boolean skipWhitespace()
+  {
+    int start = position;
+    while (position < limit && isWhitespace(get(position)))
+    {
+      ++position;
+    }
+    return position != start;
+  }
+
+  private static boolean isWhitespace(byte b)
+  {
+    return b == ' ' || b == '\n' || b == '\t' || b == '\r';
+  }
+
+  private byte get(int index)
+  {
+    return array == null ? buffer.get(index) : array[arrayOffset + index];
+  }
+
+  private byte[] getBytes(int start, int length)
+  {
+    byte[] result = new byte[length];
+    if (array == null)
+    {
+      for (int i = 0; i < length; ++i)
+      {
+        result[i] = buffer.get(start + i);
+      }
+    }
+    else
+    {
+      System.arraycopy(array, arrayOffset + start, result, 0, length);
+    }
+    return result;
+  }
+
+  private boolean matches(int start, byte[] bytes)
+  {
+    for (int i = 0; i < bytes.length; ++i)
+    {
+      if (get(start + i) != bytes[i])
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the bytes at the index are the given characters, each of which is in the range of a byte.
+   */
+  private boolean startsWith(int index, String string)
+  {
+    int length = string.length();
+    if (index + length > limit)
+    {
+      return false;
+    }
+    for (int i = 0; i < length; ++i)
+    {
+      if (get(index + i) != (byte)string.charAt(i))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int indexOf(int index, String string)
+  {
+    for (int i = index, end = limit - string.length(); i <= end; ++i)
+    {
+      if (startsWith(i, string))
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  protected void fatalError(String message) throws SAXException
+  {
+    SAXParseException exception = new SAXParseException(message, this);
+    if (handler != null)
+    {
+      handler.fatalError(exception);
+    }
+    throw exception;
+  }
+
+  /**
+   * Counts the lines up to the current position;
+   * it's done only on demand, and only for the bytes since the last time.
+   */
+  private void countLines()
+  {
+    int end = Math.min(position, limit);
+    for (int i = lineCountPosition; i < end; ++i)
+    {
+      if (get(i) == '\n')
+      {
+        ++lineNumber;
+        lineStart = i + 1;
+      }
+    }
+    lineCountPosition = end;
+  }
+
+  public String getPublicId()
+  {
+    return publicId;
+  }
+
+  public String getSystemId()
+  {
+    return systemId;
+  }
+
+  public int getLineNumber()
+  {
+    countLines();
+    return lineNumber;
+  }
+
+  public int getColumnNumber()
+  {
+    countLines();
+    return position - lineStart + 1;
+  }
+
+  public String getXMLVersion()
+  {
+    return xmlVersion == null ? "1.0" : xmlVersion;
+  }
+
+  public String getEncoding()
+  {
+    return encoding;
+  }
+}
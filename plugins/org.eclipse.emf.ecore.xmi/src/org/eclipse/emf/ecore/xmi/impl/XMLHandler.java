@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -42,6 +43,7 @@ import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
 import org.eclipse.emf.ecore.resource.ContentHandler;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
@@ -223,6 +225,24 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     }
   }
 
+  /**
+   * The internal option whose value is the {@link ParallelLoadPart} of a document that's being loaded in parts.
+   * @see XMLLoadImpl#loadInParallel(java.nio.ByteBuffer, int, java.util.concurrent.Executor)
+   */
+  static final String OPTION_PARALLEL_LOAD_PART = "PARALLEL_LOAD_PART";
+
+  /**
+   * The context of one part of a document that's being loaded concurrently with the document's other parts.
+   * The forward references of the part are handled only once all the parts have been combined.
+   * @see #handleParallelLoadForwardReferences(XMLResource, EObject, EObject)
+   */
+  static final class ParallelLoadPart
+  {
+    XMLByteParser parser;
+    EPackage.Registry packageRegistry;
+    XMLHandler handler;
+  }
+
   protected static class ManyReference implements XMLHelper.ManyReference
   {
     private EObject object;
@@ -351,6 +371,31 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
    */
   protected boolean resolveEntities;
 
+  /**
+   * The containment depth of the objects that are {@link #getStreamedObjects() streamed}, or -1 if the document is loaded as a whole.
+   * @see #setStreamingDepth(int)
+   * @since 2.38
+   */
+  protected int streamingDepth = -1;
+
+  /**
+   * The completely loaded objects at the {@link #streamingDepth streaming depth} that have not yet been consumed.
+   * @since 2.38
+   */
+  protected List<EObject> streamedObjects;
+
+  /**
+   * The number of released root objects.
+   */
+  private int releasedRootCount;
+
+  /**
+   * The number of released children of each container, by the name of the containing feature.
+   */
+  private Map<EObject, Map<String, Integer>> releasedChildCounts;
+
+  private ParallelLoadPart parallelLoadPart;
+
   public XMLHandler(XMLResource xmlResource, XMLHelper helper, Map<?, ?> options)
   {
     this.xmlResource = xmlResource;
@@ -371,6 +416,14 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     packageRegistry = resourceSet == null ? EPackage.Registry.INSTANCE : resourceSet.getPackageRegistry();
     resourceURI  = xmlResource.getURI();
     extent       = (InternalEList<EObject>)xmlResource.getContents();
+    parallelLoadPart = (ParallelLoadPart)options.get(OPTION_PARALLEL_LOAD_PART);
+    if (parallelLoadPart != null)
+    {
+      // Packages found by this part must not be registered in a registry that's shared with the other parts.
+      //
+      parallelLoadPart.handler = this;
+      packageRegistry = new EPackageRegistryImpl(parallelLoadPart.packageRegistry);
+    }
     if (Boolean.TRUE.equals(options.get(XMLResource.OPTION_DEFER_ATTACHMENT)))
     {
       deferredExtent = new ArrayList<EObject>();
@@ -664,6 +717,10 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     documentRoot = null;
     usedNullNamespacePackage = false;
     isNamespaceAware = false;
+    streamingDepth = -1;
+    streamedObjects = null;
+    releasedRootCount = 0;
+    releasedChildCounts = null;
   }
 
   //
@@ -1267,6 +1324,344 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     }
   }
 
+  /**
+   * Handles the forward references of this part of a document that's been loaded in parts,
+   * once all the parts have been combined into the given resource;
+   * the references held by the given root object of this part are redirected to the given combined root object, which they extend.
+   */
+  void handleParallelLoadForwardReferences(XMLResource resource, EObject partRoot, EObject root)
+  {
+    xmlResource = resource;
+    if (partRoot != null && partRoot != root)
+    {
+      for (ListIterator<SingleReference> i = forwardSingleReferences.listIterator(); i.hasNext(); )
+      {
+        SingleReference ref = i.next();
+        if (ref.getObject() == partRoot)
+        {
+          EStructuralFeature feature = ref.getFeature();
+          i.set(new SingleReference(root, feature, ref.getValue(), feature.isMany() ? -1 : ref.getPosition(), ref.getLineNumber(), ref.getColumnNumber()));
+        }
+      }
+
+      for (Iterator<ManyReference> i = forwardManyReferences.iterator(); i.hasNext(); )
+      {
+        ManyReference ref = i.next();
+        if (ref.getObject() == partRoot)
+        {
+          i.remove();
+          for (Object value : ref.getValues())
+          {
+            forwardSingleReferences.add(new SingleReference(root, ref.getFeature(), value, -1, ref.getLineNumber(), ref.getColumnNumber()));
+          }
+        }
+      }
+    }
+    handleForwardReferences(true);
+  }
+
+  /**
+   * Sets the containment depth of the objects to stream, i.e., 0 for the root objects of the resource, 1 for their children, and so on,
+   * or -1 to load the document as a whole, which is the default.
+   * When streaming, each object at that depth is added to the {@link #getStreamedObjects() streamed objects} as soon as its element ends;
+   * the forward references within its containment tree are handled at that point,
+   * with references to objects that are not yet loaded, or that have been {@link #releaseStreamedObject(EObject) released}, represented as proxies.
+   * References to objects with a non-transient bidirectional reference are recorded from both ends,
+   * so an object whose other end has been released, or is not yet loaded, holds a proxy.
+   * @since 2.38
+   */
+  public void setStreamingDepth(int streamingDepth)
+  {
+    this.streamingDepth = streamingDepth;
+    streamedObjects = streamingDepth < 0 ? null : new ArrayList<EObject>();
+    releasedRootCount = 0;
+    releasedChildCounts = streamingDepth <= 0 ? null : new HashMap<EObject, Map<String, Integer>>();
+  }
+
+  /**
+   * Returns the completely loaded objects that have been streamed but not yet consumed;
+   * the consumer is expected to remove the objects it takes from this list.
+   * @see #setStreamingDepth(int)
+   * @since 2.38
+   */
+  public List<EObject> getStreamedObjects()
+  {
+    return streamedObjects;
+  }
+
+  /**
+   * Returns whether the given object, whose element has just ended, is at the {@link #streamingDepth streaming depth}.
+   * @since 2.38
+   */
+  protected boolean isStreamedObject(EObject eObject)
+  {
+    if (eObject.eIsProxy())
+    {
+      return false;
+    }
+
+    int depth = 0;
+    InternalEObject root = (InternalEObject)eObject;
+    for (InternalEObject container = root.eInternalContainer(); container != null; container = container.eInternalContainer())
+    {
+      if (++depth > streamingDepth)
+      {
+        return false;
+      }
+      root = container;
+    }
+
+    return
+      depth == streamingDepth &&
+        (deferredExtent == null ?
+           root.eDirectResource() == xmlResource :
+           !deferredExtent.isEmpty() && deferredExtent.get(deferredExtent.size() - 1) == root);
+  }
+
+  /**
+   * Handles the forward references within the containment tree of the given completely loaded object
+   * and adds it to the {@link #getStreamedObjects() streamed objects}.
+   * @since 2.38
+   */
+  protected void handleStreamedObject(EObject eObject)
+  {
+    handleStreamedReferences(eObject);
+
+    if (!sameDocumentProxies.isEmpty())
+    {
+      // The proxies held by this tree won't be resolved locally, so they needn't be revisited.
+      //
+      for (Iterator<InternalEObject> i = sameDocumentProxies.iterator(); i.hasNext(); )
+      {
+        InternalEObject proxy = i.next();
+        for (EReference eReference : proxy.eClass().getEAllReferences())
+        {
+          if (eReference.getEOpposite() != null && proxy.eIsSet(eReference))
+          {
+            EObject proxyHolder = (EObject)(eReference.isMany() ? ((List<?>)proxy.eGet(eReference)).get(0) : proxy.eGet(eReference));
+            if (EcoreUtil.isAncestor(eObject, proxyHolder))
+            {
+              i.remove();
+            }
+            break;
+          }
+        }
+      }
+    }
+
+    if (disableNotify)
+    {
+      eObject.eSetDeliver(true);
+      for (Iterator<EObject> i = EcoreUtil.getAllContents(eObject, false); i.hasNext(); )
+      {
+        i.next().eSetDeliver(true);
+      }
+    }
+
+    streamedObjects.add(eObject);
+  }
+
+  /**
+   * Sets the forward references held by objects in the containment tree of the given object, or all forward references if the object is <code>null</code>,
+   * to the referenced object if it's loaded, or to a proxy otherwise.
+   * @since 2.38
+   */
+  protected void handleStreamedReferences(EObject eObject)
+  {
+    for (Iterator<SingleReference> i = forwardSingleReferences.iterator(); i.hasNext(); )
+    {
+      SingleReference ref = i.next();
+      if (eObject == null || EcoreUtil.isAncestor(eObject, ref.getObject()))
+      {
+        i.remove();
+        setStreamedReferenceValue(ref.getObject(), (EReference)ref.getFeature(), (String)ref.getValue(), ref.getPosition(), ref.getLineNumber(), ref.getColumnNumber());
+      }
+    }
+
+    for (Iterator<ManyReference> i = forwardManyReferences.iterator(); i.hasNext(); )
+    {
+      ManyReference ref = i.next();
+      if (eObject == null || EcoreUtil.isAncestor(eObject, ref.getObject()))
+      {
+        i.remove();
+        Object[] values = ref.getValues();
+        int[] positions = ref.getPositions();
+        for (int j = 0; j < values.length; ++j)
+        {
+          setStreamedReferenceValue(ref.getObject(), (EReference)ref.getFeature(), (String)values[j], positions[j], ref.getLineNumber(), ref.getColumnNumber());
+        }
+      }
+    }
+  }
+
+  private void setStreamedReferenceValue(EObject object, EReference eReference, String id, int position, int lineNumber, int columnNumber)
+  {
+    EObject value = null;
+    try
+    {
+      value = getStreamedEObject(id);
+    }
+    catch (RuntimeException exception)
+    {
+      // Ignore exceptions and create a proxy.
+    }
+
+    if (value == null)
+    {
+      EClass eClass = eReference.getEReferenceType();
+      if (eClass.isAbstract() || eClass.isInterface())
+      {
+        error(new UnresolvedReferenceException(object, eReference, id, getLocation(), lineNumber, columnNumber));
+        return;
+      }
+      InternalEObject proxy = (InternalEObject)eClass.getEPackage().getEFactoryInstance().create(eClass);
+      URI uri = xmlResource.getURI();
+      proxy.eSetProxyURI(uri == null ? URI.createURI("#" + id) : uri.appendFragment(id));
+      value = proxy;
+    }
+    else if (eReference.isMany() ? ((InternalEList<?>)object.eGet(eReference)).basicContains(value) : object.eGet(eReference, false) == value)
+    {
+      // The other end of a bidirectional reference has already set it.
+      //
+      return;
+    }
+
+    if (eReference.isMany() && position > ((List<?>)object.eGet(eReference)).size())
+    {
+      position = -1;
+    }
+    setFeatureValue(object, eReference, value, position);
+  }
+
+  /**
+   * Returns the loaded object denoted by the given URI fragment, or <code>null</code>, if it's not loaded or has been released.
+   * The positions in a path fragment at the {@link #streamingDepth streaming depth} account for the objects that have been released before it,
+   * and a path fragment that doesn't use positions at that depth isn't resolved.
+   * @since 2.38
+   */
+  protected EObject getStreamedEObject(String uriFragment)
+  {
+    if (!uriFragment.startsWith("/"))
+    {
+      return xmlResource.getEObject(uriFragment);
+    }
+
+    String[] segments = uriFragment.substring(1).split("/", -1);
+    if (segments.length <= streamingDepth)
+    {
+      return xmlResource.getEObject(uriFragment);
+    }
+
+    String segment = segments[streamingDepth];
+    if (streamingDepth == 0)
+    {
+      int index;
+      try
+      {
+        index = segment.length() == 0 ? 0 : Integer.parseInt(segment);
+      }
+      catch (NumberFormatException exception)
+      {
+        return null;
+      }
+      index -= releasedRootCount;
+      if (index < 0)
+      {
+        return null;
+      }
+      segments[0] = index == 0 ? "" : Integer.toString(index);
+    }
+    else
+    {
+      if (!segment.startsWith("@"))
+      {
+        return null;
+      }
+      int dotIndex = segment.lastIndexOf('.');
+      String featureName = dotIndex == -1 ? segment.substring(1) : segment.substring(1, dotIndex);
+      StringBuilder containerFragment = new StringBuilder();
+      for (int i = 0; i < streamingDepth; ++i)
+      {
+        containerFragment.append('/').append(segments[i]);
+      }
+      EObject container = xmlResource.getEObject(containerFragment.toString());
+      Map<String, Integer> counts = container == null ? null : releasedChildCounts.get(container);
+      Integer count = counts == null ? null : counts.get(featureName);
+      if (count != null)
+      {
+        if (dotIndex == -1)
+        {
+          return null;
+        }
+        int index;
+        try
+        {
+          index = Integer.parseInt(segment.substring(dotIndex + 1)) - count;
+        }
+        catch (NumberFormatException exception)
+        {
+          return null;
+        }
+        if (index < 0)
+        {
+          return null;
+        }
+        segments[streamingDepth] = "@" + featureName + "." + index;
+      }
+    }
+
+    StringBuilder fragment = new StringBuilder();
+    for (String adjustedSegment : segments)
+    {
+      fragment.append('/').append(adjustedSegment);
+    }
+    return xmlResource.getEObject(fragment.toString());
+  }
+
+  /**
+   * Releases a streamed object once it has been consumed,
+   * i.e., removes it from its container or from the resource, along with all the IDs and extensions recorded for its containment tree.
+   * @since 2.38
+   */
+  public void releaseStreamedObject(EObject eObject)
+  {
+    if (eObjectToExtensionMap != null && !eObjectToExtensionMap.isEmpty())
+    {
+      eObjectToExtensionMap.remove(eObject);
+      for (Iterator<EObject> i = EcoreUtil.getAllProperContents(eObject, false); i.hasNext(); )
+      {
+        eObjectToExtensionMap.remove(i.next());
+      }
+    }
+
+    EObject container = eObject.eContainer();
+    if (container == null)
+    {
+      ++releasedRootCount;
+    }
+    else
+    {
+      Map<String, Integer> counts = releasedChildCounts.get(container);
+      if (counts == null)
+      {
+        counts = new HashMap<String, Integer>();
+        releasedChildCounts.put(container, counts);
+      }
+      String featureName = eObject.eContainingFeature().getName();
+      Integer count = counts.get(featureName);
+      counts.put(featureName, count == null ? 1 : count + 1);
+    }
+
+    if (deferredExtent != null && container == null)
+    {
+      deferredExtent.remove(eObject);
+    }
+    else
+    {
+      EcoreUtil.remove(eObject);
+    }
+  }
+
   /**
    * Check if the values of the forward references have been set (they may
    * have been set due to a bi-directional reference being set).  If not,
@@ -1289,7 +1684,14 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     }
     helper.recordPrefixToURIMapping();
     helper.popContext();
-    handleForwardReferences(true);
+    if (streamingDepth >= 0)
+    {
+      handleStreamedReferences(null);
+    }
+    if (parallelLoadPart == null)
+    {
+      handleForwardReferences(true);
+    }
 
     if (disableNotify)
     {
@@ -1584,14 +1986,15 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
     Object type = types.pop();
     if (type == OBJECT_TYPE)
     {
+      EObject object;
       if (text == null)
       {
-        objects.pop();
+        object = objects.popEObject();
         mixedTargets.pop();
       }
       else
       {
-        EObject object = objects.popEObject();
+        object = objects.popEObject();
         if (mixedTargets.peek() != null &&
               (object.eContainer() != null ||
                  suppressDocumentRoot ||
@@ -1611,6 +2014,11 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
           text = null;
         }
       }
+
+      if (streamingDepth >= 0 && object != null && isStreamedObject(object))
+      {
+        handleStreamedObject(object);
+      }
     }
     else if (isIDREF)
     {
@@ -2873,12 +3281,15 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
           isFirstID = false;
         }
 
-        if (mustAddOrNotOppositeIsMany)
+        if (mustAddOrNotOppositeIsMany || streamingDepth >= 0)
         {
-          EObject resolvedEObject = xmlResource.getEObject(id);
+          EObject resolvedEObject = streamingDepth >= 0 ? getStreamedEObject(id) : xmlResource.getEObject(id);
           if (resolvedEObject != null)
           {
-            setFeatureValue(object, eReference, resolvedEObject);
+            if (mustAddOrNotOppositeIsMany)
+            {
+              setFeatureValue(object, eReference, resolvedEObject);
+            }
             qName = null;
             ++position;
             continue;
@@ -2886,7 +3297,10 @@ public abstract class XMLHandler extends DefaultHandler implements XMLDefaultHan
         }
       }
 
-      if (mustAdd)
+      // When streaming, the other end of a bidirectional reference might have been released already,
+      // so record the reference even if the other end would normally set it.
+      //
+      if (mustAdd || streamingDepth >= 0)
       {
         if (size == capacity)
           growArrays();
@@ -12,16 +12,39 @@ package org.eclipse.emf.ecore.xmi.impl;
 
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.CDATASection;
 import org.w3c.dom.Comment;
@@ -35,17 +58,33 @@ import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.ext.Locator2;
 import org.xml.sax.helpers.AttributesImpl;
 import org.xml.sax.helpers.DefaultHandler;
 
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.util.ExtendedMetaData;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.XMIPlugin;
+import org.eclipse.emf.ecore.xmi.XMIResource;
 import org.eclipse.emf.ecore.xmi.XMLDefaultHandler;
 import org.eclipse.emf.ecore.xmi.XMLHelper;
 import org.eclipse.emf.ecore.xmi.XMLLoad;
 import org.eclipse.emf.ecore.xmi.XMLParserPool;
 import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xml.type.AnyType;
 
 
 /**
@@ -62,6 +101,12 @@ public class XMLLoadImpl implements XMLLoad
   protected Map<?, ?> options;
   protected boolean namespaceAware;
 
+  /**
+   * Whether the document {@link #loadInParallel(ByteBuffer, int, Executor) loaded in parts} has an <code>xmi:XMI</code> root element,
+   * so that each part contributes root objects, rather than contributing to the contents of a single root object.
+   */
+  private boolean isXMIParallelLoad;
+
   public XMLLoadImpl(XMLHelper helper)
   {
     this.helper = helper;
@@ -89,6 +134,17 @@ public class XMLLoadImpl implements XMLLoad
    */
   public void load(XMLResource resource, InputStream inputStream, Map<?, ?> options) throws IOException
   {
+    XMLHandler.ParallelLoadPart parallelLoadPart = (XMLHandler.ParallelLoadPart)options.get(XMLHandler.OPTION_PARALLEL_LOAD_PART);
+    if (parallelLoadPart != null && parallelLoadPart.parser.isSupported())
+    {
+      // A part of a document loaded in parallel is parsed from its ranges of the whole document's bytes, not from the stream.
+      //
+      this.resource = resource;
+      this.options = options;
+      parse(parallelLoadPart.parser);
+      return;
+    }
+
     if (inputStream instanceof URIConverter.Readable)
     {
       URIConverter.Readable readable = (URIConverter.Readable)inputStream;
@@ -105,6 +161,31 @@ public class XMLLoadImpl implements XMLLoad
       load(resource, inputSource, options);
       return;
     }
+
+    if (options.get(XMLResource.OPTION_PARSER_FEATURES) == null && options.get(XMLResource.OPTION_PARSER_PROPERTIES) == null)
+    {
+      Object parallelLoad = options.get(XMLResource.OPTION_PARALLEL_LOAD);
+      Executor executor = parallelLoad instanceof Executor ? (Executor)parallelLoad : ForkJoinPool.commonPool();
+      int parallelism =
+        parallelLoad instanceof ForkJoinPool ?
+          ((ForkJoinPool)parallelLoad).getParallelism() :
+          Boolean.TRUE.equals(parallelLoad) || parallelLoad instanceof Executor ?
+            Runtime.getRuntime().availableProcessors() :
+            parallelLoad instanceof Integer ? (Integer)parallelLoad : 1;
+      if (parallelism > 1)
+      {
+        this.resource = resource;
+        this.options = options;
+        loadInParallel(readBytes(inputStream), parallelism, executor);
+        return;
+      }
+
+      if (Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_BYTE_PARSER)))
+      {
+        load(resource, readBytes(inputStream), options);
+        return;
+      }
+    }
     
     this.resource = resource;
     is = inputStream;
@@ -284,6 +365,597 @@ public class XMLLoadImpl implements XMLLoad
     }
   }
 
+  /**
+   * Parses the remaining bytes of the buffer, which may be a memory mapped file, with an {@link #makeByteParser(ByteBuffer) XMLByteParser}.
+   * A document that the byte parser doesn't {@link XMLByteParser#isSupported() support} is parsed with a SAX parser as usual.
+   * @see XMLResource#OPTION_USE_BYTE_PARSER
+   * @since 2.38
+   */
+  public void load(XMLResource resource, ByteBuffer buffer, Map<?, ?> options) throws IOException
+  {
+    this.resource = resource;
+    this.options = options;
+    XMLByteParser parser = makeByteParser(buffer);
+    if (!parser.isSupported())
+    {
+      Map<Object, Object> saxOptions = new HashMap<Object, Object>(options);
+      saxOptions.remove(XMLResource.OPTION_USE_BYTE_PARSER);
+      InputStream inputStream;
+      if (buffer.hasArray())
+      {
+        inputStream = new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      }
+      else
+      {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        inputStream = new ByteArrayInputStream(bytes);
+      }
+      load(resource, inputStream, saxOptions);
+      return;
+    }
+
+    parse(parser);
+  }
+
+  /**
+   * Parses the document with the {@link XMLByteParser#isSupported() supporting} byte parser.
+   */
+  private void parse(XMLByteParser parser) throws IOException
+  {
+    if (resource.getURI() != null)
+    {
+      String resourceURI = resource.getURI().toString();
+      parser.setPublicId(resourceURI);
+      parser.setSystemId(resourceURI);
+    }
+
+    // Just as when the SAX parser is used.
+    //
+    if (!Boolean.FALSE.equals(options.get(XMLResource.OPTION_USE_DEPRECATED_METHODS)))
+    {
+      resource.setEncoding(parser.getEncoding());
+    }
+
+    XMLParserPool pool = (XMLParserPool)options.get(XMLResource.OPTION_USE_PARSER_POOL);
+    DefaultHandler handler = pool == null ? makeDefaultHandler() : (DefaultHandler)pool.getDefaultHandler(resource, this, helper, options);
+    try
+    {
+      parser.parse(handler, Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_LEXICAL_HANDLER)) ? (LexicalHandler)handler : null);
+
+      if (pool != null)
+      {
+        pool.releaseDefaultHandler((XMLDefaultHandler)handler, options);
+      }
+
+      helper = null;
+      handleErrors();
+    }
+    catch (SAXException exception)
+    {
+      if (exception.getException() != null)
+      {
+        throw new Resource.IOWrappedException(exception.getException());
+      }
+      else
+      {
+        throw new Resource.IOWrappedException(exception);
+      }
+    }
+  }
+
+  /**
+   * Loads the document in the buffer by splitting the child elements of its root element into, at most, the given number of contiguous parts,
+   * loading each part concurrently into a separate resource, and combining the parts, in order, into the {@link #resource resource};
+   * the document is {@link #load(XMLResource, ByteBuffer, Map) loaded sequentially} instead when that isn't possible.
+   * The parts are loaded by the executor, and by the calling thread, which loads any part the executor hasn't yet started.
+   * @see XMLResource#OPTION_PARALLEL_LOAD
+   * @since 2.38
+   */
+  protected void loadInParallel(ByteBuffer buffer, int parallelism, Executor executor) throws IOException
+  {
+    List<XMLHandler.ParallelLoadPart> parts = loadParts(buffer, parallelism, executor);
+    if (parts == null || !combineParts(parts))
+    {
+      Map<Object, Object> sequentialOptions = new HashMap<Object, Object>(options);
+      sequentialOptions.remove(XMLResource.OPTION_PARALLEL_LOAD);
+      sequentialOptions.put(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE);
+      load(resource, buffer, sequentialOptions);
+    }
+    else
+    {
+      helper = null;
+      handleErrors();
+    }
+  }
+
+  /**
+   * Returns the successfully loaded parts of the document in the buffer, or <code>null</code> if it can't be, or wasn't, loaded in parts.
+   */
+  private List<XMLHandler.ParallelLoadPart> loadParts(ByteBuffer buffer, int parallelism, Executor executor) throws IOException
+  {
+    URI uri = resource.getURI();
+    Object extendedMetaDataOption = options.get(XMLResource.OPTION_EXTENDED_META_DATA);
+    if (uri == null ||
+          extendedMetaDataOption != null && !Boolean.FALSE.equals(extendedMetaDataOption) ||
+          Boolean.TRUE.equals(options.get(XMLResource.OPTION_RECORD_UNKNOWN_FEATURE)) ||
+          Boolean.FALSE.equals(options.get(XMLResource.OPTION_USE_DEPRECATED_METHODS)) ||
+          options.get(XMLResource.OPTION_XML_MAP) != null ||
+          options.get(XMLResource.OPTION_XML_OPTIONS) != null ||
+          options.get(XMLResource.OPTION_RESOURCE_ENTITY_HANDLER) != null)
+    {
+      return null;
+    }
+
+    XMLByteParser parser = new XMLByteParser(buffer.duplicate(), false);
+    int[] offsets;
+    try
+    {
+      offsets = parser.scanRootContent();
+    }
+    catch (SAXException exception)
+    {
+      offsets = null;
+    }
+    int childCount = offsets == null ? 0 : offsets.length - 3;
+    if (childCount < 2)
+    {
+      return null;
+    }
+
+    // Each part but the first is given a copy of the root element's start tag with only its namespace declarations and its type and version attributes.
+    // The packages of the namespaces must be registered.
+    //
+    ResourceSet resourceSet = resource.getResourceSet();
+    EPackage.Registry packageRegistry = resourceSet == null ? EPackage.Registry.INSTANCE : resourceSet.getPackageRegistry();
+    String rootName = parser.getRootName();
+    int rootIndex = rootName.indexOf(':');
+    String rootPrefix = rootIndex == -1 ? "" : rootName.substring(0, rootIndex);
+    boolean isXMI = false;
+    List<EPackage> ePackages = new ArrayList<EPackage>();
+    StringBuilder rootStartTag = new StringBuilder("<").append(rootName);
+    Attributes attributes = parser.getRootAttributes();
+    for (int i = 0, length = attributes.getLength(); i < length; ++i)
+    {
+      String name = attributes.getQName(i);
+      String value = attributes.getValue(i);
+      int index = name.indexOf(':');
+      String prefix = index == -1 ? "" : name.substring(0, index);
+      String localName = name.substring(index + 1);
+      if (ExtendedMetaData.XMLNS_PREFIX.equals(name) || ExtendedMetaData.XMLNS_PREFIX.equals(prefix))
+      {
+        if (XMLContentHandlerImpl.isXMINamespace(value))
+        {
+          isXMI |=
+            resource instanceof XMIResource &&
+              XMIResource.XMI_TAG_NAME.equals(rootName.substring(rootIndex + 1)) &&
+              (index == -1 ? rootIndex == -1 : localName.equals(rootPrefix));
+        }
+        else if (!XMLResource.XSI_URI.equals(value))
+        {
+          EPackage ePackage = packageRegistry.getEPackage(value);
+          if (ePackage == null)
+          {
+            return null;
+          }
+          ePackages.add(ePackage);
+        }
+      }
+      else if (XMLResource.SCHEMA_LOCATION.equals(localName) || XMLResource.NO_NAMESPACE_SCHEMA_LOCATION.equals(localName))
+      {
+        return null;
+      }
+      else if (index == -1 || !XMLResource.TYPE.equals(localName) && !XMIResource.VERSION_NAME.equals(localName))
+      {
+        continue;
+      }
+      rootStartTag.append(' ').append(name).append("=\"");
+      for (int j = 0, valueLength = value.length(); j < valueLength; )
+      {
+        int codePoint = value.codePointAt(j);
+        if (codePoint == '&')
+        {
+          rootStartTag.append("&amp;");
+        }
+        else if (codePoint == '<')
+        {
+          rootStartTag.append("&lt;");
+        }
+        else if (codePoint == '"')
+        {
+          rootStartTag.append("&quot;");
+        }
+        else if (codePoint < 0x20 || codePoint > 0x7E)
+        {
+          rootStartTag.append("&#").append(codePoint).append(';');
+        }
+        else
+        {
+          rootStartTag.append((char)codePoint);
+        }
+        j += Character.charCount(codePoint);
+      }
+      rootStartTag.append('"');
+    }
+    rootStartTag.append('>');
+    byte[] rootStartTagBytes = rootStartTag.toString().getBytes(parser.encodingKind == XMLByteParser.ISO_8859_1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+
+    Resource.Factory factory = (resourceSet == null ? Resource.Factory.Registry.INSTANCE : resourceSet.getResourceFactoryRegistry()).getFactory(uri);
+    int partCount = Math.min(parallelism, childCount);
+    List<XMLResource> partResources = new ArrayList<XMLResource>(partCount);
+    for (int i = 0; i < partCount; ++i)
+    {
+      Resource partResource = factory == null ? null : factory.createResource(uri);
+      if (partResource == null || partResource.getClass() != resource.getClass())
+      {
+        if (resource.getClass() == XMIResourceImpl.class)
+        {
+          partResource = new XMIResourceImpl(uri);
+        }
+        else if (resource.getClass() == XMLResourceImpl.class)
+        {
+          partResource = new XMLResourceImpl(uri);
+        }
+        else
+        {
+          return null;
+        }
+      }
+      partResources.add((XMLResource)partResource);
+    }
+
+    initializeMetadata(ePackages);
+
+    // Split the children into parts of roughly the same number of bytes, each with at least one child.
+    //
+    int contentStart = offsets[1];
+    int contentEnd = offsets[offsets.length - 1];
+    int[] partStarts = new int[partCount + 1];
+    partStarts[0] = contentStart;
+    for (int i = 1, child = 1; i < partCount; ++i)
+    {
+      long target = contentStart + (long)(contentEnd - contentStart) * i / partCount;
+      while (child < childCount - partCount + i && offsets[2 + child] < target)
+      {
+        ++child;
+      }
+      partStarts[i] = offsets[2 + child++];
+    }
+    partStarts[partCount] = contentEnd;
+
+    int start = buffer.position();
+    int limit = buffer.limit();
+    int rootStart = offsets[0];
+
+    // Each part after the first starts with a copy of the prolog and of the filtered root start tag.
+    //
+    byte[] headerBytes = new byte[rootStart - start + rootStartTagBytes.length];
+    ByteBuffer prolog = buffer.duplicate();
+    prolog.limit(rootStart);
+    prolog.get(headerBytes, 0, rootStart - start);
+    System.arraycopy(rootStartTagBytes, 0, headerBytes, rootStart - start, rootStartTagBytes.length);
+
+    // Record the line number, and the start of that line, for the start of each part and for the end of the content,
+    // so that each line number is the same as in the whole document.
+    //
+    int[] lineNumbers = new int[partCount + 1];
+    int[] lineStarts = new int[partCount + 1];
+    for (int i = 1, lineNumber = 1, lineStart = start, counted = start; i <= partCount; ++i)
+    {
+      int end = i == partCount ? contentEnd : partStarts[i];
+      for (; counted < end; ++counted)
+      {
+        if (buffer.get(counted) == '\n')
+        {
+          ++lineNumber;
+          lineStart = counted + 1;
+        }
+      }
+      lineNumbers[i] = lineNumber;
+      lineStarts[i] = lineStart;
+    }
+
+    Map<Object, Object> partOptions = new HashMap<Object, Object>(options);
+    partOptions.remove(XMLResource.OPTION_PARALLEL_LOAD);
+    partOptions.remove(XMLResource.OPTION_USE_PARSER_POOL);
+    partOptions.remove(XMLResource.OPTION_RESOURCE_HANDLER);
+    partOptions.remove(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP);
+    partOptions.remove(Resource.OPTION_ZIP);
+    partOptions.put(XMLResource.OPTION_DEFER_IDREF_RESOLUTION, Boolean.TRUE);
+    partOptions.put(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE);
+
+    List<XMLHandler.ParallelLoadPart> parts = new ArrayList<XMLHandler.ParallelLoadPart>(partCount);
+    List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>(partCount);
+    for (int i = 0; i < partCount; ++i)
+    {
+      // Each part is parsed from ranges of the shared buffer, followed by the end of the content.
+      //
+      XMLByteParser partParser;
+      if (i == 0)
+      {
+        ByteBuffer firstPart = buffer.duplicate();
+        firstPart.limit(partStarts[1]);
+        partParser = new XMLByteParser(firstPart, false);
+      }
+      else
+      {
+        partParser = new XMLByteParser(ByteBuffer.wrap(headerBytes), false);
+        partParser.append(buffer, partStarts[i], partStarts[i + 1], lineNumbers[i], lineStarts[i]);
+      }
+      partParser.append(buffer, contentEnd, limit, lineNumbers[partCount], lineStarts[partCount]);
+
+      XMLHandler.ParallelLoadPart part = new XMLHandler.ParallelLoadPart();
+      part.parser = partParser;
+      part.packageRegistry = packageRegistry;
+      parts.add(part);
+      final Map<Object, Object> finalPartOptions = new HashMap<Object, Object>(partOptions);
+      finalPartOptions.put(XMLHandler.OPTION_PARALLEL_LOAD_PART, part);
+      final XMLResource partResource = partResources.get(i);
+      tasks.add
+        (new FutureTask<Void>
+          (new Callable<Void>()
+           {
+             public Void call() throws Exception
+             {
+               partResource.load(new ByteArrayInputStream(new byte[0]), finalPartOptions);
+               return null;
+             }
+           }));
+    }
+
+    // The calling thread loads the first part, and then any part the executor hasn't yet started,
+    // so the load completes even if the executor is busy, or if it's the executor of the calling thread.
+    //
+    for (int i = 1; i < partCount; ++i)
+    {
+      try
+      {
+        executor.execute(tasks.get(i));
+      }
+      catch (RejectedExecutionException exception)
+      {
+        break;
+      }
+    }
+    try
+    {
+      for (FutureTask<Void> task : tasks)
+      {
+        task.run();
+      }
+      for (FutureTask<Void> task : tasks)
+      {
+        task.get();
+      }
+    }
+    catch (ExecutionException exception)
+    {
+      XMIPlugin.INSTANCE.log(exception.getCause());
+      return null;
+    }
+    catch (InterruptedException exception)
+    {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+
+    for (XMLHandler.ParallelLoadPart part : parts)
+    {
+      if (part.handler == null)
+      {
+        return null;
+      }
+    }
+    isXMIParallelLoad = isXMI;
+    return parts;
+  }
+
+  /**
+   * Combines the loaded parts into the resource and resolves their references,
+   * or returns <code>false</code> without changing the resource if they can't be combined.
+   */
+  private boolean combineParts(List<XMLHandler.ParallelLoadPart> parts)
+  {
+    int partCount = parts.size();
+    XMLResource[] partResources = new XMLResource[partCount];
+    EObject[] partRoots = new EObject[partCount];
+    List<EObject> roots = new ArrayList<EObject>();
+    for (int i = 0; i < partCount; ++i)
+    {
+      partResources[i] = parts.get(i).handler.xmlResource;
+      EList<EObject> partContents = partResources[i].getContents();
+      if (isXMIParallelLoad)
+      {
+        roots.addAll(partContents);
+      }
+      else if (partContents.size() != 1 || i > 0 && partContents.get(0).eClass() != partRoots[0].eClass())
+      {
+        return false;
+      }
+      else
+      {
+        partRoots[i] = partContents.get(0);
+      }
+    }
+    EObject root = partRoots[0];
+    if (root != null)
+    {
+      roots.add(root);
+    }
+
+    XMLResource partResource = partResources[0];
+    resource.setEncoding(partResource.getEncoding());
+    resource.setXMLVersion(partResource.getXMLVersion());
+    if (resource instanceof XMIResource)
+    {
+      ((XMIResource)resource).setXMIVersion(((XMIResource)partResource).getXMIVersion());
+    }
+
+    // Record the IDs and extensions before the objects are detached from the parts.
+    //
+    Map<EObject, AnyType> eObjectToExtensionMap = resource.getEObjectToExtensionMap();
+    for (int i = 0; i < partCount; ++i)
+    {
+      partResource = partResources[i];
+      EObject partRoot = partRoots[i];
+      for (TreeIterator<EObject> j = partResource.getAllContents(); j.hasNext(); )
+      {
+        EObject eObject = j.next();
+        if (eObject != partRoot || i == 0)
+        {
+          String id = partResource.getID(eObject);
+          if (id != null)
+          {
+            resource.setID(eObject, id);
+          }
+        }
+      }
+      for (Map.Entry<EObject, AnyType> entry : partResource.getEObjectToExtensionMap().entrySet())
+      {
+        EObject eObject = entry.getKey();
+        eObjectToExtensionMap.put(eObject == partRoot ? root : eObject, entry.getValue());
+      }
+      resource.getWarnings().addAll(partResource.getWarnings());
+      partResource.getContents().clear();
+    }
+
+    @SuppressWarnings("unchecked") InternalEList<EObject> contents = (InternalEList<EObject>)resource.getContents();
+    contents.addAllUnique(roots);
+
+    // Each part's copy of the root object contributes its features to the actual root object.
+    //
+    for (int i = 1; i < partCount && root != null; ++i)
+    {
+      EObject partRoot = partRoots[i];
+      for (EStructuralFeature eStructuralFeature : partRoot.eClass().getEAllStructuralFeatures())
+      {
+        if (eStructuralFeature.isChangeable() && !eStructuralFeature.isDerived() && partRoot.eIsSet(eStructuralFeature))
+        {
+          if (eStructuralFeature.isMany())
+          {
+            @SuppressWarnings("unchecked") InternalEList<Object> partValues = (InternalEList<Object>)partRoot.eGet(eStructuralFeature, false);
+            Object[] values = partValues.basicToArray();
+            partValues.clear();
+            @SuppressWarnings("unchecked") InternalEList<Object> rootValues = (InternalEList<Object>)root.eGet(eStructuralFeature, false);
+            rootValues.addAllUnique(Arrays.asList(values));
+          }
+          else
+          {
+            root.eSet(eStructuralFeature, partRoot.eGet(eStructuralFeature, false));
+          }
+        }
+      }
+    }
+
+    for (int i = 0; i < partCount; ++i)
+    {
+      parts.get(i).handler.handleParallelLoadForwardReferences(resource, partRoots[i], root);
+    }
+    return true;
+  }
+
+  /**
+   * Fully initializes the metadata of the classes of the given packages, and of all the packages they reference,
+   * so that it's safe for the parts of a document to use it concurrently.
+   */
+  private static void initializeMetadata(List<EPackage> ePackages)
+  {
+    List<EPackage> packages = new ArrayList<EPackage>(ePackages);
+    Set<EPackage> visitedPackages = new HashSet<EPackage>(ePackages);
+    for (int i = 0; i < packages.size(); ++i)
+    {
+      EPackage ePackage = packages.get(i);
+      ePackage.getEFactoryInstance();
+      for (EClassifier eClassifier : ePackage.getEClassifiers())
+      {
+        ePackage.getEClassifier(eClassifier.getName());
+        eClassifier.getInstanceClass();
+        eClassifier.getDefaultValue();
+        if (eClassifier instanceof EClass)
+        {
+          EClass eClass = (EClass)eClassifier;
+          eClass.getEAllAttributes();
+          eClass.getEAllReferences();
+          eClass.getEAllContainments();
+          eClass.getEIDAttribute();
+          for (EClass eSuperType : eClass.getEAllSuperTypes())
+          {
+            EPackage otherEPackage = eSuperType.getEPackage();
+            if (otherEPackage != null && visitedPackages.add(otherEPackage))
+            {
+              packages.add(otherEPackage);
+            }
+          }
+          for (EStructuralFeature eStructuralFeature : eClass.getEAllStructuralFeatures())
+          {
+            eClass.getEStructuralFeature(eStructuralFeature.getName());
+            eClass.getFeatureID(eStructuralFeature);
+            ((EStructuralFeature.Internal)eStructuralFeature).getSettingDelegate();
+            eStructuralFeature.getDefaultValue();
+            if (eStructuralFeature instanceof EReference)
+            {
+              ((EReference)eStructuralFeature).getEOpposite();
+            }
+            EClassifier eType = eStructuralFeature.getEType();
+            EPackage otherEPackage = eType == null ? null : eType.getEPackage();
+            if (otherEPackage != null && visitedPackages.add(otherEPackage))
+            {
+              packages.add(otherEPackage);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates the parser for the bytes of a document.
+   * It's namespace aware only if there is a {@link XMLResource#OPTION_USE_PARSER_POOL parser pool},
+   * just as the SAX parsers are.
+   * @since 2.38
+   */
+  protected XMLByteParser makeByteParser(ByteBuffer buffer)
+  {
+    return new XMLByteParser(buffer, options.get(XMLResource.OPTION_USE_PARSER_POOL) != null);
+  }
+
+  /**
+   * Reads the whole input stream into a buffer.
+   * @since 2.38
+   */
+  protected ByteBuffer readBytes(InputStream inputStream) throws IOException
+  {
+    if (inputStream instanceof FileInputStream)
+    {
+      FileChannel channel = ((FileInputStream)inputStream).getChannel();
+      long size = channel.size() - channel.position();
+      if (size < Integer.MAX_VALUE)
+      {
+        ByteBuffer buffer = ByteBuffer.allocate((int)size);
+        while (buffer.hasRemaining() && channel.read(buffer) != -1)
+        {
+          // Keep reading.
+        }
+        buffer.flip();
+        return buffer;
+      }
+    }
+
+    byte[] bytes = new byte[Math.max(inputStream.available(), 8192)];
+    int length = 0;
+    for (int count; (count = inputStream.read(bytes, length, bytes.length - length)) != -1; )
+    {
+      length += count;
+      if (length == bytes.length)
+      {
+        byte[] newBytes = new byte[2 * length];
+        System.arraycopy(bytes, 0, newBytes, 0, length);
+        bytes = newBytes;
+      }
+    }
+    return ByteBuffer.wrap(bytes, 0, length);
+  }
+
   /**
    * Make either a validating or non-validating parser;
    * throw an if one could not be made.
@@ -418,6 +1090,246 @@ public class XMLLoadImpl implements XMLLoad
     handleErrors();
   }
   
+  /**
+   * Returns an iterator that loads the document incrementally,
+   * yielding each object at the given containment depth, i.e., 0 for the root objects, 1 for their children, and so on, as soon as it's completely loaded.
+   * The document is pulled from the input stream only as the iterator advances
+   * and each yielded object is {@link XMLHandler#releaseStreamedObject(EObject) released} from the resource when the iterator next advances,
+   * so only the objects above the given depth and the objects being consumed are retained in memory.
+   * References to objects that aren't loaded when the referencing object is yielded are represented as proxies.
+   * Problems are recorded in the resource's {@link Resource#getErrors() errors};
+   * a failure to read the document is thrown as a {@link WrappedException} wrapping a {@link Resource.IOWrappedException}.
+   * The {@link XMLResource#OPTION_USE_PARSER_POOL parser pool} is not used.
+   * @since 2.38
+   */
+  public Iterator<EObject> loadIncrementally(XMLResource resource, InputStream inputStream, Map<?, ?> options, int depth) throws IOException
+  {
+    this.resource = resource;
+    this.options = options;
+    is = inputStream;
+
+    XMLHandler handler = (XMLHandler)makeDefaultHandler();
+    handler.setStreamingDepth(depth);
+    try
+    {
+      XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+      xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+      XMLStreamReader xmlStreamReader;
+      if (inputStream instanceof URIConverter.Readable)
+      {
+        URIConverter.Readable readable = (URIConverter.Readable)inputStream;
+        resource.setEncoding(readable.getEncoding());
+        xmlStreamReader = xmlInputFactory.createXMLStreamReader(readable.asReader());
+      }
+      else if (resource.getURI() != null)
+      {
+        xmlStreamReader = xmlInputFactory.createXMLStreamReader(resource.getURI().toString(), inputStream);
+      }
+      else
+      {
+        xmlStreamReader = xmlInputFactory.createXMLStreamReader(inputStream);
+      }
+      helper = null;
+      return new StreamingIterator(xmlStreamReader, handler, Boolean.TRUE.equals(options.get(XMLResource.OPTION_USE_LEXICAL_HANDLER)));
+    }
+    catch (XMLStreamException exception)
+    {
+      throw new Resource.IOWrappedException(exception);
+    }
+  }
+
+  /**
+   * Drives an {@link XMLHandler} from the events pulled from an {@link XMLStreamReader},
+   * reporting them as a SAX parser that isn't namespace aware would,
+   * and yields the objects that the handler {@link XMLHandler#getStreamedObjects() streams}.
+   * @since 2.38
+   */
+  protected static class StreamingIterator implements Iterator<EObject>, Locator2
+  {
+    protected XMLStreamReader xmlStreamReader;
+    protected XMLHandler handler;
+    protected LexicalHandler lexicalHandler;
+    protected AttributesImpl attributes = new AttributesImpl();
+    protected String xmlVersion;
+    protected String encoding;
+    protected boolean isStarted;
+    protected boolean isDone;
+    protected EObject current;
+
+    public StreamingIterator(XMLStreamReader xmlStreamReader, XMLHandler handler, boolean useLexicalHandler)
+    {
+      this.xmlStreamReader = xmlStreamReader;
+      this.handler = handler;
+      if (useLexicalHandler)
+      {
+        lexicalHandler = handler;
+      }
+    }
+
+    public boolean hasNext()
+    {
+      if (current != null)
+      {
+        handler.releaseStreamedObject(current);
+        current = null;
+      }
+
+      List<EObject> streamedObjects = handler.getStreamedObjects();
+      try
+      {
+        while (streamedObjects.isEmpty() && !isDone)
+        {
+          processEvent();
+        }
+      }
+      catch (XMLStreamException exception)
+      {
+        isDone = true;
+        throw new WrappedException(new Resource.IOWrappedException(exception));
+      }
+      catch (SAXException exception)
+      {
+        isDone = true;
+        throw new WrappedException(new Resource.IOWrappedException(exception.getException() == null ? exception : exception.getException()));
+      }
+      return !streamedObjects.isEmpty();
+    }
+
+    public EObject next()
+    {
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+      return current = handler.getStreamedObjects().remove(0);
+    }
+
+    public void remove()
+    {
+      throw new UnsupportedOperationException();
+    }
+
+    protected void processEvent() throws XMLStreamException, SAXException
+    {
+      if (!isStarted)
+      {
+        isStarted = true;
+        xmlVersion = xmlStreamReader.getVersion();
+        encoding = xmlStreamReader.getCharacterEncodingScheme();
+        if (encoding == null)
+        {
+          encoding = xmlStreamReader.getEncoding();
+        }
+        handler.setDocumentLocator(this);
+        handler.startDocument();
+        return;
+      }
+
+      switch (xmlStreamReader.next())
+      {
+        case XMLStreamConstants.START_ELEMENT:
+        {
+          attributes.clear();
+          for (int i = 0, count = xmlStreamReader.getNamespaceCount(); i < count; ++i)
+          {
+            String prefix = xmlStreamReader.getNamespacePrefix(i);
+            String namespaceURI = xmlStreamReader.getNamespaceURI(i);
+            attributes.addAttribute
+              ("", "", prefix == null || prefix.length() == 0 ? "xmlns" : "xmlns:" + prefix, "CDATA", namespaceURI == null ? "" : namespaceURI);
+          }
+          for (int i = 0, count = xmlStreamReader.getAttributeCount(); i < count; ++i)
+          {
+            attributes.addAttribute
+              ("", "", getQName(xmlStreamReader.getAttributePrefix(i), xmlStreamReader.getAttributeLocalName(i)), "CDATA", xmlStreamReader.getAttributeValue(i));
+          }
+          handler.startElement("", "", getQName(xmlStreamReader.getPrefix(), xmlStreamReader.getLocalName()), attributes);
+          break;
+        }
+        case XMLStreamConstants.END_ELEMENT:
+        {
+          handler.endElement("", "", getQName(xmlStreamReader.getPrefix(), xmlStreamReader.getLocalName()));
+          break;
+        }
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.SPACE:
+        {
+          handler.characters(xmlStreamReader.getTextCharacters(), xmlStreamReader.getTextStart(), xmlStreamReader.getTextLength());
+          break;
+        }
+        case XMLStreamConstants.CDATA:
+        {
+          if (lexicalHandler != null)
+          {
+            lexicalHandler.startCDATA();
+          }
+          handler.characters(xmlStreamReader.getTextCharacters(), xmlStreamReader.getTextStart(), xmlStreamReader.getTextLength());
+          if (lexicalHandler != null)
+          {
+            lexicalHandler.endCDATA();
+          }
+          break;
+        }
+        case XMLStreamConstants.COMMENT:
+        {
+          if (lexicalHandler != null)
+          {
+            lexicalHandler.comment(xmlStreamReader.getTextCharacters(), xmlStreamReader.getTextStart(), xmlStreamReader.getTextLength());
+          }
+          break;
+        }
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+        {
+          handler.processingInstruction(xmlStreamReader.getPITarget(), xmlStreamReader.getPIData());
+          break;
+        }
+        case XMLStreamConstants.END_DOCUMENT:
+        {
+          isDone = true;
+          xmlStreamReader.close();
+          handler.endDocument();
+          break;
+        }
+      }
+    }
+
+    protected String getQName(String prefix, String localName)
+    {
+      return prefix == null || prefix.length() == 0 ? localName : prefix + ":" + localName;
+    }
+
+    public String getPublicId()
+    {
+      return xmlStreamReader.getLocation().getPublicId();
+    }
+
+    public String getSystemId()
+    {
+      return xmlStreamReader.getLocation().getSystemId();
+    }
+
+    public int getLineNumber()
+    {
+      Location location = xmlStreamReader.getLocation();
+      return location == null ? -1 : location.getLineNumber();
+    }
+
+    public int getColumnNumber()
+    {
+      Location location = xmlStreamReader.getLocation();
+      return location == null ? -1 : location.getColumnNumber();
+    }
+
+    public String getXMLVersion()
+    {
+      return xmlVersion;
+    }
+
+    public String getEncoding()
+    {
+      return encoding;
+    }
+  }
+
   /**
    * Special case: traversing root element using namespaces in scope
    */
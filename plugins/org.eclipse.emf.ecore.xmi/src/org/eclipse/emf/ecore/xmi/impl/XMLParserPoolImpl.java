@@ -11,10 +11,15 @@
 package org.eclipse.emf.ecore.xmi.impl;
 
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -34,15 +39,136 @@ import org.xml.sax.SAXException;
  * To avoid possible memory leak (in case user is trying to parse documents using different options for every parse), 
  * there is a restriction on the size of the pool. 
  * The key used for handler caching is based on the option map passed to load.
+ * <p>
+ * The pool doesn't lock, so any number of threads can retrieve and release parsers and handlers concurrently.
+ * The number of times a cached parser or handler is reused, or needs to be created, is counted.
+ * </p>
  */
 public class XMLParserPoolImpl implements XMLParserPool
 {
-  private final Map<Map<?, ?>, List<SAXParser>> parserCache = new HashMap<Map<?, ?>, List<SAXParser>>();
+  /**
+   * The configuration of a parser, used as the key for the cached parsers.
+   * A key that's stored in the cache holds copies of the features and properties,
+   * whereas a key that's only used to look up cached parsers holds the maps that are passed in.
+   */
+  private static final class ParserKey
+  {
+    private final Map<String, Boolean> features;
+    private final Map<String, ?> properties;
+    private final boolean useLexicalHandler;
+    private final int hashCode;
+
+    ParserKey(Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler)
+    {
+      this.features = features;
+      this.properties = properties;
+      this.useLexicalHandler = useLexicalHandler;
+      hashCode = (features.hashCode() * 31 + properties.hashCode()) * 31 + (useLexicalHandler ? 1231 : 1237);
+    }
+
+    ParserKey copy()
+    {
+      return new ParserKey(new HashMap<String, Boolean>(features), new HashMap<String, Object>(properties), useLexicalHandler);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+      if (object == this)
+      {
+        return true;
+      }
+      else if (!(object instanceof ParserKey))
+      {
+        return false;
+      }
+      else
+      {
+        ParserKey parserKey = (ParserKey)object;
+        return
+          hashCode == parserKey.hashCode &&
+            useLexicalHandler == parserKey.useLexicalHandler &&
+            (features == parserKey.features || features.equals(parserKey.features)) &&
+            (properties == parserKey.properties || properties.equals(parserKey.properties));
+      }
+    }
+  }
+
+  /**
+   * A lock free, bounded, pool of instances.
+   * It also counts the instances taken from it, or created for it, that haven't been released yet,
+   * so that only the pools that aren't in use are evicted from a full cache.
+   */
+  private static final class Pool<T>
+  {
+    private final ConcurrentLinkedQueue<T> instances = new ConcurrentLinkedQueue<T>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger inUseCount = new AtomicInteger();
+
+    T poll()
+    {
+      T instance = instances.poll();
+      if (instance != null)
+      {
+        count.decrementAndGet();
+      }
+      return instance;
+    }
+
+    void take()
+    {
+      inUseCount.incrementAndGet();
+    }
+
+    boolean isIdle()
+    {
+      return inUseCount.get() == 0;
+    }
+
+    void offer(T instance, int capacity)
+    {
+      // An instance taken from a pool that has since been evicted is released to the pool that replaced it,
+      // so the count mustn't go below zero.
+      //
+      for (int oldInUseCount = inUseCount.get(); oldInUseCount > 0; oldInUseCount = inUseCount.get())
+      {
+        if (inUseCount.compareAndSet(oldInUseCount, oldInUseCount - 1))
+        {
+          break;
+        }
+      }
+
+      for (int oldCount = count.get(); oldCount < capacity; oldCount = count.get())
+      {
+        if (count.compareAndSet(oldCount, oldCount + 1))
+        {
+          instances.offer(instance);
+          return;
+        }
+      }
+    }
+  }
+
+  private final ConcurrentMap<ParserKey, Pool<SAXParser>> parserCache = new ConcurrentHashMap<ParserKey, Pool<SAXParser>>();
+
+  private final ConcurrentMap<Map<?, ?>, Pool<XMLDefaultHandler>> handlersCache;
+
+  private final LongAdder parserHits = new LongAdder();
+
+  private final LongAdder parserMisses = new LongAdder();
+
+  private final LongAdder handlerHits = new LongAdder();
+
+  private final LongAdder handlerMisses = new LongAdder();
 
-  private final Map<Map<?, ?>, List<XMLDefaultHandler>> handlersCache;
-  
   private final int size;
-  
+
   /**
    * Creates an instance that caches only parsers but not handlers.
    * @see #XMLParserPoolImpl(boolean)
@@ -71,56 +197,56 @@ public class XMLParserPoolImpl implements XMLParserPool
   public XMLParserPoolImpl(int size, boolean useHandlerCache)
   {
     this.size = size;
-    handlersCache = useHandlerCache ? new HashMap<Map<?, ?>, List<XMLDefaultHandler>>() : null;
+    handlersCache = useHandlerCache ? new ConcurrentHashMap<Map<?, ?>, Pool<XMLDefaultHandler>>() : null;
   }
-  
+
   /**
    * @see XMLParserPool#get(Map, Map, boolean)
    */
-  public synchronized SAXParser get(Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler) throws ParserConfigurationException, SAXException
+  public SAXParser get(Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler) throws ParserConfigurationException, SAXException
   {
-    Map<Object, Object> map = new HashMap<Object, Object>();
-    map.putAll(features);
-    map.putAll(properties);
-    map.put(XMLResource.OPTION_USE_LEXICAL_HANDLER, useLexicalHandler ? Boolean.TRUE : Boolean.FALSE);
-    if (parserCache.size() > size)
+    Pool<SAXParser> pool = getParserPool(features, properties, useLexicalHandler);
+    SAXParser parser = pool.poll();
+    if (parser != null)
     {
-      parserCache.clear();
-    }
-    List<SAXParser> list = parserCache.get(map);
-    if (list != null)
-    {
-      int size = list.size();
-      if (size > 0)
-      {
-        return list.remove(size - 1);
-      }
-      else
-      {
-        return makeParser(features, properties);
-      }
+      parserHits.increment();
     }
     else
     {
-      parserCache.put(map, new ArrayList<SAXParser>());
-      return makeParser(features, properties);
+      parserMisses.increment();
+      parser = makeParser(features, properties);
     }
+    pool.take();
+    return parser;
   }
 
   /**
    * @see XMLParserPool#release(SAXParser, Map, Map, boolean)
    */
-  public synchronized void release(SAXParser parser, Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler)
+  public void release(SAXParser parser, Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler)
+  {
+    getParserPool(features, properties, useLexicalHandler).offer(parser, size);
+  }
+
+  private Pool<SAXParser> getParserPool(Map<String, Boolean> features, Map<String, ?> properties, boolean useLexicalHandler)
   {
-    Map<Object, Object> map = new HashMap<Object, Object>();
-    map.putAll(features);
-    map.putAll(properties);
-    map.put(XMLResource.OPTION_USE_LEXICAL_HANDLER, useLexicalHandler ? Boolean.TRUE : Boolean.FALSE);
-    List<SAXParser> list = parserCache.get(map);
-    if (list.size() < size)
+    ParserKey parserKey =
+      new ParserKey
+        (features == null ? Collections.<String, Boolean>emptyMap() : features,
+         properties == null ? Collections.<String, Object>emptyMap() : properties,
+         useLexicalHandler);
+    Pool<SAXParser> pool = parserCache.get(parserKey);
+    if (pool == null)
     {
-      list.add(parser);
+      evictIdlePools(parserCache);
+      Pool<SAXParser> newPool = new Pool<SAXParser>();
+      pool = parserCache.putIfAbsent(parserKey.copy(), newPool);
+      if (pool == null)
+      {
+        pool = newPool;
+      }
     }
+    return pool;
   }
 
   protected SAXParser makeParser(Map<String, Boolean> features, Map<String, ?> properties) throws ParserConfigurationException, SAXException
@@ -129,7 +255,7 @@ public class XMLParserPoolImpl implements XMLParserPool
     factory.setValidating(false);
     factory.setNamespaceAware(true);
     SAXParser parser = factory.newSAXParser();
-    
+
     // set parser features and properties
     if (features != null)
     {
@@ -148,48 +274,106 @@ public class XMLParserPoolImpl implements XMLParserPool
     return parser;
   }
 
-  public synchronized XMLDefaultHandler getDefaultHandler(XMLResource resource, XMLLoad xmlLoad, XMLHelper helper, Map<?, ?> options)
+  public XMLDefaultHandler getDefaultHandler(XMLResource resource, XMLLoad xmlLoad, XMLHelper helper, Map<?, ?> options)
   {
     if (handlersCache != null)
     {
-      if (handlersCache.size() > size)
+      Pool<XMLDefaultHandler> pool = getHandlerPool(options);
+      XMLDefaultHandler handler = pool.poll();
+      if (handler != null)
       {
-        handlersCache.clear();
-      }
-      List<XMLDefaultHandler> list = handlersCache.get(options);
-      if (list != null)
-      {
-        int size = list.size();
-        if (size > 0)
-        {
-          XMLDefaultHandler handler = list.remove(size - 1);
-          handler.prepare(resource, helper, options);
-          return handler;
-        }
+        handlerHits.increment();
+        handler.prepare(resource, helper, options);
       }
       else
       {
-        handlersCache.put(options, new ArrayList<XMLDefaultHandler>());
+        handlerMisses.increment();
+        handler = xmlLoad.createDefaultHandler();
       }
+      pool.take();
+      return handler;
     }
     return xmlLoad.createDefaultHandler();
   }
 
-  public synchronized void releaseDefaultHandler(XMLDefaultHandler handler, Map<?, ?> options)
+  public void releaseDefaultHandler(XMLDefaultHandler handler, Map<?, ?> options)
   {
     if (handlersCache != null)
     {
       handler.reset();
-      List<XMLDefaultHandler> list = handlersCache.get(options);
-      if (list == null)
+      getHandlerPool(options).offer(handler, size);
+    }
+  }
+
+  private Pool<XMLDefaultHandler> getHandlerPool(Map<?, ?> options)
+  {
+    Pool<XMLDefaultHandler> pool = handlersCache.get(options);
+    if (pool == null)
+    {
+      evictIdlePools(handlersCache);
+      Pool<XMLDefaultHandler> newPool = new Pool<XMLDefaultHandler>();
+      pool = handlersCache.putIfAbsent(options, newPool);
+      if (pool == null)
       {
-        list = new ArrayList<XMLDefaultHandler>();
-        handlersCache.put(options, list);
+        pool = newPool;
       }
-      else if (list.size() < size)
+    }
+    return pool;
+  }
+
+  /**
+   * Removes the pools that aren't in use once the cache holds more pools than the maximum size.
+   * Pools that are in use are kept, along with their cached instances, so that the configurations being used aren't penalized
+   * by a stream of other configurations.
+   */
+  private void evictIdlePools(ConcurrentMap<?, ? extends Pool<?>> cache)
+  {
+    if (cache.size() > size)
+    {
+      for (Iterator<? extends Pool<?>> i = cache.values().iterator(); i.hasNext(); )
       {
-        list.add(handler);
+        if (i.next().isIdle())
+        {
+          i.remove();
+        }
       }
     }
   }
+
+  /**
+   * Returns the number of times a {@link #get(Map, Map, boolean) requested} parser was taken from the pool.
+   * @since 2.38
+   */
+  public long getParserHitCount()
+  {
+    return parserHits.sum();
+  }
+
+  /**
+   * Returns the number of times a {@link #get(Map, Map, boolean) requested} parser had to be created.
+   * @since 2.38
+   */
+  public long getParserMissCount()
+  {
+    return parserMisses.sum();
+  }
+
+  /**
+   * Returns the number of times a {@link #getDefaultHandler(XMLResource, XMLLoad, XMLHelper, Map) requested} handler was taken from the pool.
+   * @since 2.38
+   */
+  public long getHandlerHitCount()
+  {
+    return handlerHits.sum();
+  }
+
+  /**
+   * Returns the number of times a {@link #getDefaultHandler(XMLResource, XMLLoad, XMLHelper, Map) requested} handler had to be created,
+   * when handlers are cached.
+   * @since 2.38
+   */
+  public long getHandlerMissCount()
+  {
+    return handlerMisses.sum();
+  }
 }
@@ -19,7 +19,9 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.TreeMap;
 import java.util.WeakHashMap;
 
@@ -79,6 +81,12 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
   protected String systemId;
   protected DOMHandler domHandler;
 
+  /**
+   * The number of root objects that have been saved and removed from the contents during an {@link #saveIncrementally(OutputStream, Map, Iterator) incremental save},
+   * or -1 if no such save is in progress.
+   */
+  private int incrementallySavedRootCount = -1;
+
   /**
    * The map from {@link EObject} to {@link #getID ID}. It is used to store
    * IDs for objects that have been detached.
@@ -637,6 +645,21 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
     }
   }
 
+  /**
+   * During an {@link #saveIncrementally(OutputStream, Map, Iterator) incremental save},
+   * the root segment is the position of the root object in the document rather than in the contents,
+   * so it's always specified, since the number of root objects isn't known.
+   * @since 2.38
+   */
+  @Override
+  protected String getURIFragmentRootSegment(EObject eObject)
+  {
+    return
+      incrementallySavedRootCount < 0 ?
+        super.getURIFragmentRootSegment(eObject) :
+        Integer.toString(incrementallySavedRootCount + getContents().indexOf(eObject));
+  }
+
   @Override
   protected EObject getEObjectByID(String id)
   {
@@ -887,4 +910,210 @@ public class XMLResourceImpl extends ResourceImpl implements XMLResource
     }
     xmlLoad.load(this, inputSource, options);
   }
+
+  /**
+   * Loads the resource incrementally from the input stream,
+   * returning an iterator that yields each object at the given containment depth, i.e., 0 for the root objects, 1 for their children, and so on,
+   * as soon as it's completely loaded.
+   * Only the part of the document needed to yield the next object is read,
+   * and each object remains in the resource only until the iterator next advances,
+   * so the objects must be processed, or copied, before that;
+   * the objects above the given depth remain in the resource.
+   * References to objects that are not loaded when the referencing object is yielded are represented as proxies.
+   * The resource is {@link #isLoading() loading} only while the iterator reads the document.
+   * @throws UnsupportedOperationException if {@link #createXMLLoad(Map)} doesn't create an {@link XMLLoadImpl}.
+   * @see XMLLoadImpl#loadIncrementally(XMLResource, InputStream, Map, int)
+   * @since 2.38
+   */
+  @SuppressWarnings("unchecked")
+  public Iterator<EObject> loadIncrementally(InputStream inputStream, Map<?, ?> options, int depth) throws IOException
+  {
+    if (isLoaded)
+    {
+      return Collections.<EObject>emptyList().iterator();
+    }
+
+    if (defaultLoadOptions != null && !defaultLoadOptions.isEmpty())
+    {
+      Map<Object, Object> mergedOptions = new HashMap<Object, Object>(defaultLoadOptions);
+      if (options != null)
+      {
+        mergedOptions.putAll(options);
+      }
+      options = mergedOptions;
+    }
+    else if (options == null)
+    {
+      options = Collections.EMPTY_MAP;
+    }
+
+    XMLLoad xmlLoad = createXMLLoad(options);
+    if (!(xmlLoad instanceof XMLLoadImpl))
+    {
+      throw new UnsupportedOperationException("Incremental loading requires an XMLLoadImpl but " + xmlLoad.getClass().getName() + " was created");
+    }
+
+    Notification notification = setLoaded(true);
+    isLoading = true;
+
+    if (errors != null)
+    {
+      errors.clear();
+    }
+
+    if (warnings != null)
+    {
+      warnings.clear();
+    }
+
+    try
+    {
+      final Iterator<EObject> iterator = ((XMLLoadImpl)xmlLoad).loadIncrementally(this, inputStream, options, depth);
+      return
+        new Iterator<EObject>()
+        {
+          public boolean hasNext()
+          {
+            isLoading = true;
+            try
+            {
+              boolean result = iterator.hasNext();
+              if (!result)
+              {
+                setModified(false);
+              }
+              return result;
+            }
+            finally
+            {
+              isLoading = false;
+            }
+          }
+
+          public EObject next()
+          {
+            if (!hasNext())
+            {
+              throw new NoSuchElementException();
+            }
+            return iterator.next();
+          }
+
+          public void remove()
+          {
+            throw new UnsupportedOperationException();
+          }
+        };
+    }
+    finally
+    {
+      isLoading = false;
+
+      if (notification != null)
+      {
+        eNotify(notification);
+      }
+    }
+  }
+
+  /**
+   * Saves the objects yielded by the iterator as the root objects of this resource,
+   * writing each one to the output stream as soon as it's been serialized,
+   * so that they needn't all be held in memory at the same time.
+   * Each object is added to the contents when it's yielded and removed again once it's been written,
+   * after which it's no longer contained by any resource and can be discarded.
+   * The resource is expected to be empty;
+   * references to objects that aren't in the resource while the referencing object is saved,
+   * i.e., to objects yielded earlier or later,
+   * are saved by {@link EcoreUtil#getID(EObject) ID} if they have one, and are otherwise dangling.
+   * Path fragments denote the position of a root object in the document.
+   * The {@link #OPTION_ZIP zip} and {@link #OPTION_CIPHER cipher} options aren't supported.
+   * @throws UnsupportedOperationException if {@link #createXMLSave(Map)} doesn't create an {@link XMLSaveImpl}.
+   * @see XMLSaveImpl#saveIncrementally(XMLResource, OutputStream, Map, Iterator)
+   * @since 2.38
+   */
+  public void saveIncrementally(OutputStream outputStream, Map<?, ?> options, final Iterator<? extends EObject> contents) throws IOException
+  {
+    options = mergeMaps(options, defaultSaveOptions);
+    if (options == null)
+    {
+      options = Collections.EMPTY_MAP;
+    }
+
+    XMLSave xmlSave = createXMLSave(options);
+    if (!(xmlSave instanceof XMLSaveImpl))
+    {
+      throw new UnsupportedOperationException("Incremental saving requires an XMLSaveImpl but " + xmlSave.getClass().getName() + " was created");
+    }
+
+    if (errors != null)
+    {
+      errors.clear();
+    }
+
+    if (warnings != null)
+    {
+      warnings.clear();
+    }
+
+    URIHandler uriHandler = (URIHandler)options.get(OPTION_URI_HANDLER);
+    URI handlerURI = null;
+    if (uriHandler instanceof URIHandlerImpl)
+    {
+      handlerURI = ((URIHandlerImpl)uriHandler).getBaseURI();
+    }
+
+    class RootIterator implements Iterator<EObject>
+    {
+      protected EObject root;
+
+      public boolean hasNext()
+      {
+        release();
+        return contents.hasNext();
+      }
+
+      public EObject next()
+      {
+        release();
+        root = contents.next();
+        getContents().add(root);
+        return root;
+      }
+
+      public void remove()
+      {
+        throw new UnsupportedOperationException();
+      }
+
+      protected void release()
+      {
+        if (root != null)
+        {
+          getContents().remove(root);
+          ++incrementallySavedRootCount;
+          root = null;
+        }
+      }
+    }
+
+    RootIterator rootIterator = new RootIterator();
+    incrementallySavedRootCount = 0;
+    try
+    {
+      ((XMLSaveImpl)xmlSave).saveIncrementally(this, outputStream, options, rootIterator);
+    }
+    finally
+    {
+      rootIterator.release();
+      incrementallySavedRootCount = -1;
+
+      if (uriHandler != null)
+      {
+        uriHandler.setBaseURI(handlerURI);
+      }
+    }
+
+    setModified(false);
+  }
 }
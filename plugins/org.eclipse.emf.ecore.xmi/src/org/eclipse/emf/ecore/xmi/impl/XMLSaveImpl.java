@@ -18,6 +18,7 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,6 +30,7 @@ import java.util.Set;
 
 import org.eclipse.emf.common.util.EMap;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EDataType;
@@ -115,6 +117,51 @@ public class XMLSaveImpl implements XMLSave
   protected List<? extends EObject> roots;
   protected XMLResource.ElementHandler elementHandler;
   protected boolean proxyAttributes;
+
+  /**
+   * The writer to which a {@link XMLResource#OPTION_STREAM_SAVE streaming save} writes the document while it's being serialized,
+   * or <code>null</code> if the document is rendered completely before it's written.
+   * @since 2.38
+   */
+  protected Writer streamWriter;
+
+  /**
+   * The number of namespace prefixes that a streaming save has declared,
+   * or <code>-1</code> if the declarations haven't been written yet.
+   * @since 2.38
+   */
+  protected int streamNamespaceCount = -1;
+
+  /**
+   * The number of {@link XMLString#getSegmentCount() segments} of content that a streaming save accumulates before writing them.
+   * @since 2.38
+   */
+  protected static final int STREAM_SEGMENT_COUNT = 16;
+
+  /**
+   * A writer that discards what it's given, for the first pass of a streaming save, which only determines the namespaces.
+   */
+  private static final Writer NULL_WRITER =
+    new Writer()
+    {
+      @Override
+      public void write(char[] buffer, int offset, int length)
+      {
+        // Ignore it.
+      }
+
+      @Override
+      public void flush()
+      {
+        // Ignore it.
+      }
+
+      @Override
+      public void close()
+      {
+        // Ignore it.
+      }
+    };
   
   protected static final int SKIP = 0;
   protected static final int SAME_DOC = 1;
@@ -211,6 +258,11 @@ public class XMLSaveImpl implements XMLSave
   
   public void save(XMLResource resource, Writer writer, Map<?, ?> options) throws IOException
   {
+    if (isStreaming(options))
+    {
+      saveStreaming(resource, null, writer, options);
+      return;
+    }
     this.xmlResource = resource;
     init(resource, options);
     @SuppressWarnings("unchecked")
@@ -237,6 +289,11 @@ public class XMLSaveImpl implements XMLSave
       save(resource, writeable.asWriter(), options);
       return;
     }
+    if (isStreaming(options))
+    {
+      saveStreaming(resource, outputStream, null, options);
+      return;
+    }
     this.xmlResource = resource;
     init(resource, options);
     @SuppressWarnings("unchecked")
@@ -263,6 +320,260 @@ public class XMLSaveImpl implements XMLSave
     this.xmlResource = null;
   }
 
+  /**
+   * Returns whether the options specify a {@link XMLResource#OPTION_STREAM_SAVE streaming save} that's possible,
+   * i.e., one without a {@link XMLResource#OPTION_RESOURCE_ENTITY_HANDLER resource entity handler}.
+   * @since 2.38
+   */
+  protected boolean isStreaming(Map<?, ?> options)
+  {
+    return
+      Boolean.TRUE.equals(options.get(XMLResource.OPTION_STREAM_SAVE)) &&
+        options.get(XMLResource.OPTION_RESOURCE_ENTITY_HANDLER) == null;
+  }
+
+  /**
+   * Saves the resource, writing the document to the writer, or otherwise to the output stream, while it's being serialized.
+   * @see XMLResource#OPTION_STREAM_SAVE
+   * @since 2.38
+   */
+  protected void saveStreaming(XMLResource resource, OutputStream outputStream, Writer writer, Map<?, ?> options) throws IOException
+  {
+    if (options.containsKey(XMLResource.OPTION_USE_FILE_BUFFER))
+    {
+      Map<Object, Object> newOptions = new LinkedHashMap<Object, Object>(options);
+      newOptions.remove(XMLResource.OPTION_USE_FILE_BUFFER);
+      options = newOptions;
+    }
+
+    this.xmlResource = resource;
+    init(resource, options);
+    if (writer == null)
+    {
+      writer = new OutputStreamWriter(outputStream, helper.getJavaEncoding(encoding));
+    }
+    @SuppressWarnings("unchecked")
+    List<? extends EObject> contents = roots = (List<? extends EObject>)options.get(XMLResource.OPTION_ROOT_OBJECTS);
+    if (contents == null)
+    {
+      contents = resource.getContents();
+    }
+    @SuppressWarnings("unchecked")
+    Collection<? extends EPackage> namespacePackages = (Collection<? extends EPackage>)options.get(XMLResource.OPTION_SAVE_NAMESPACE_PACKAGES);
+    traverseStreaming(contents, writer, namespacePackages);
+    writer.flush();
+
+    endSave(contents);
+    this.xmlResource = null;
+  }
+
+  /**
+   * Serializes the contents, {@link #flushStream() writing} the document to the writer whenever enough content is pending.
+   * The namespaces are those of the given packages, if any,
+   * or are otherwise determined by a first pass that serializes the contents without retaining the result.
+   * @since 2.38
+   */
+  protected void traverseStreaming(List<? extends EObject> contents, Writer writer, Collection<? extends EPackage> namespacePackages) throws IOException
+  {
+    try
+    {
+      if (namespacePackages == null)
+      {
+        XMLString streamDoc = doc;
+        doc = new XMLString();
+        streamWriter = NULL_WRITER;
+        writeStreamingTopObjects(contents);
+        doc = streamDoc;
+        root = null;
+      }
+      else
+      {
+        for (EPackage ePackage : namespacePackages)
+        {
+          helper.getPrefix(ePackage);
+        }
+        declareXSI = true;
+      }
+
+      streamWriter = writer;
+      streamNamespaceCount = -1;
+      Object mark = writeStreamingTopObjects(contents);
+      if (streamNamespaceCount == -1)
+      {
+        // Nothing has been written yet, so the declarations are added as usual.
+        //
+        doc.resetToMark(mark);
+        addNamespaceDeclarations();
+      }
+      else
+      {
+        checkStreamNamespaces();
+      }
+      doc.write(writer, flushThreshold);
+    }
+    catch (WrappedException exception)
+    {
+      if (exception.exception() instanceof IOException)
+      {
+        throw (IOException)exception.exception();
+      }
+      throw exception;
+    }
+    finally
+    {
+      streamWriter = null;
+      streamNamespaceCount = -1;
+    }
+  }
+
+  /**
+   * Serializes the XML declaration and the contents, just as {@link #traverse(List)} does, and returns the mark for the namespace declarations.
+   */
+  private Object writeStreamingTopObjects(List<? extends EObject> contents)
+  {
+    if (declareXML)
+    {
+      doc.add("<?xml version=\"" + xmlVersion + "\" encoding=\"" + encoding + "\"?>");
+      doc.addLine();
+    }
+    return contents.size() == 1 ? writeTopObject(contents.get(0)) : writeTopObjects(contents);
+  }
+
+  /**
+   * Writes the content serialized so far once enough of it is pending during a {@link XMLResource#OPTION_STREAM_SAVE streaming save},
+   * first declaring the namespaces at the start of the document element.
+   * An {@link IOException} is thrown {@link WrappedException wrapped}.
+   * @since 2.38
+   */
+  protected void flushStream()
+  {
+    // The namespaces can't be declared before the document element has been started.
+    //
+    if (doc.getSegmentCount() > STREAM_SEGMENT_COUNT &&
+          (streamWriter == NULL_WRITER || streamNamespaceCount != -1 || doc.firstElementMark != null))
+    {
+      try
+      {
+        if (streamWriter != NULL_WRITER)
+        {
+          if (streamNamespaceCount == -1)
+          {
+            Object end = doc.mark();
+            doc.resetToMark(null);
+            addNamespaceDeclarations();
+            doc.resetToMark(end);
+            streamNamespaceCount = getNamespaceCount();
+          }
+          else
+          {
+            checkStreamNamespaces();
+          }
+        }
+        doc.flush(streamWriter, flushThreshold);
+      }
+      catch (IOException exception)
+      {
+        throw new WrappedException(exception);
+      }
+    }
+  }
+
+  /**
+   * Throws an exception if the save has used a namespace since the namespace declarations were written.
+   */
+  private void checkStreamNamespaces() throws IOException
+  {
+    if (getNamespaceCount() != streamNamespaceCount)
+    {
+      throw new IOException("A namespace is needed that wasn't declared at the start of the streamed document");
+    }
+  }
+
+  private int getNamespaceCount()
+  {
+    int result = 0;
+    for (EPackage ePackage : helper.packages())
+    {
+      result += helper.getPrefixes(ePackage).size();
+    }
+    return result;
+  }
+
+  /**
+   * Saves the objects yielded by the iterator as the root objects of the resource,
+   * writing each one to the output stream as soon as it's been serialized,
+   * so that the document is never held in memory as a whole.
+   * Each object must be contained by the resource from the time it's yielded until the iterator is next advanced,
+   * but needn't be retained after that.
+   * The namespaces used by each root object are declared on its element,
+   * because they're only known once it's been serialized.
+   * A {@link XMLResource#OPTION_USE_FILE_BUFFER file buffer} isn't used and entities aren't declared.
+   * @see XMLResourceImpl#saveIncrementally(OutputStream, Map, Iterator)
+   * @since 2.38
+   */
+  public void saveIncrementally(XMLResource resource, OutputStream outputStream, Map<?, ?> options, Iterator<? extends EObject> contents) throws IOException
+  {
+    Writer writer = null;
+    if (outputStream instanceof URIConverter.Writeable)
+    {
+      URIConverter.Writeable writeable = (URIConverter.Writeable)outputStream;
+      resource.setEncoding(writeable.getEncoding());
+      writer = writeable.asWriter();
+    }
+
+    if (options.containsKey(XMLResource.OPTION_USE_FILE_BUFFER))
+    {
+      Map<Object, Object> newOptions = new LinkedHashMap<Object, Object>(options);
+      newOptions.remove(XMLResource.OPTION_USE_FILE_BUFFER);
+      options = newOptions;
+    }
+
+    this.xmlResource = resource;
+    init(resource, options);
+    if (writer == null)
+    {
+      writer = new OutputStreamWriter(outputStream, helper.getJavaEncoding(encoding));
+    }
+    traverseIncrementally(contents, writer);
+    writer.flush();
+
+    endSave(Collections.<EObject>emptyList());
+    this.xmlResource = null;
+  }
+
+  /**
+   * Serializes the objects yielded by the iterator, {@link XMLString#flush(Writer, int) flushing} the document to the writer after each one.
+   * @since 2.38
+   */
+  protected void traverseIncrementally(Iterator<? extends EObject> contents, Writer writer) throws IOException
+  {
+    if (declareXML)
+    {
+      doc.add("<?xml version=\"" + xmlVersion + "\" encoding=\"" + encoding + "\"?>");
+      doc.addLine();
+    }
+
+    writeTopObjectsIncrementally(contents, writer);
+    doc.flush(writer, flushThreshold);
+  }
+
+  /**
+   * Writes the first object yielded by the iterator as the document element,
+   * since, just as for {@link #writeTopObjects(List)}, an XML document has only one root.
+   * @since 2.38
+   */
+  protected void writeTopObjectsIncrementally(Iterator<? extends EObject> contents, Writer writer) throws IOException
+  {
+    if (contents.hasNext())
+    {
+      Object mark = writeTopObject(contents.next());
+      doc.resetToMark(mark);
+      addNamespaceDeclarations();
+      addDoctypeInformation();
+      doc.flush(writer, flushThreshold);
+    }
+  }
+
   protected void endSave(List<? extends EObject> contents) throws IOException
   {
     if (extendedMetaData != null && contents.size() >= 1)
@@ -1224,6 +1535,10 @@ public class XMLSaveImpl implements XMLSave
    */
   protected boolean saveFeatures(EObject o, boolean attributesOnly)
   {
+    if (streamWriter != null)
+    {
+      flushStream();
+    }
     EClass eClass = o.eClass();   
     int contentKind = extendedMetaData == null ? ExtendedMetaData.UNSPECIFIED_CONTENT : extendedMetaData.getContentKind(eClass);     
     if (!toDOM)
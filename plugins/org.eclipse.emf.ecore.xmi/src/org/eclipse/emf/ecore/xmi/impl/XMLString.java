@@ -11,6 +11,8 @@
 package org.eclipse.emf.ecore.xmi.impl;
 
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 import org.eclipse.emf.common.util.BasicEList;
@@ -707,4 +709,40 @@ public class XMLString extends StringSegment
 
     currentLineWidth = markedLineWidth;
   }
+
+  /**
+   * Returns the number of segments, each holding up to a fixed number of strings, that are in use,
+   * which is a cheaper measure of the size of the content added since the last {@link #flush(Writer, int) flush} than its {@link #getLength() length}.
+   * @since 2.38
+   */
+  public int getSegmentCount()
+  {
+    return cursorIndex + 1;
+  }
+
+  /**
+   * Writes the content added so far and discards it,
+   * while retaining the elements that are still open, so that the document can be written incrementally.
+   * Any namespace declarations at a mark must have been added before this is called,
+   * because marks, including the one at which {@link #addEntity(String, String) entities} are declared, don't survive the flush.
+   * @since 2.38
+   */
+  public void flush(Writer writer, int flushThreshold) throws IOException
+  {
+    write(writer, flushThreshold);
+    super.reset();
+    firstElementMark = null;
+    docTypeMark = null;
+
+    // Undo the adjustment for top level attributes made by resetToMark.
+    //
+    depth = 0;
+    for (String elementName : elementNames)
+    {
+      if (elementName != null)
+      {
+        ++depth;
+      }
+    }
+  }
 }
@@ -0,0 +1,1621 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * A {@link org.eclipse.emf.ecore.InternalEObject.EStore store} that keeps the values of its objects in columns,
+ * i.e., in an array per feature of each class, indexed by a row that's allocated for each object on its first update.
+ * Attributes of primitive type are held in primitive arrays,
+ * references are held as <code>int</code> handles,
+ * and the container and containing feature of each object are held in arrays parallel to the handles.
+ * <p>
+ * The objects {@link #create(EClass) created} by the store don't cache values,
+ * so they hold little more than their handle.
+ * The objects of a dynamic model can be created in the store by specializing {@link EFactoryImpl#create(EClass)} to delegate to {@link #create(EClass)}.
+ * Other objects that delegate to the store, or that are referenced from it, are assigned a handle on first use.
+ * </p>
+ * <p>
+ * The store holds an object strongly only while it's the value of a reference of an object in the store, and otherwise weakly.
+ * Once an object that isn't referenced is garbage collected,
+ * its handle and its row are freed for reuse by other objects, and the objects it contains are detached from it.
+ * Because the container of an object is held as a handle, an object doesn't keep its container alive.
+ * Because references are counted,
+ * objects in a cycle of non-containment references, e.g., two objects that reference each other,
+ * remain in the store until one of those references is cleared.
+ * </p>
+ * <p>
+ * The store isn't thread safe.
+ * </p>
+ * @since 2.38
+ */
+public class ColumnarEStoreImpl implements InternalEObject.EStore
+{
+  /**
+   * The handle representing <code>null</code>.
+   */
+  protected static final int NULL_HANDLE = -1;
+
+  /**
+   * The handle representing {@link org.eclipse.emf.ecore.EStructuralFeature.Internal.DynamicValueHolder#NIL}.
+   */
+  protected static final int NIL_HANDLE = -2;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The object of each handle, if it's held strongly, its {@link HandleReference} if it's held weakly, or <code>null</code> if the handle is free.
+   */
+  protected Object[] objects = new Object [INITIAL_CAPACITY];
+
+  /**
+   * The number of references to each handle from the reference values held by the store.
+   */
+  protected int[] referenceCounts = new int [INITIAL_CAPACITY];
+
+  /**
+   * The table holding the row of each handle, or <code>null</code> if no row has been allocated.
+   */
+  protected Table[] objectTables = new Table [INITIAL_CAPACITY];
+
+  /**
+   * The row of each handle within its {@link #objectTables table}.
+   */
+  protected int[] objectRows = new int [INITIAL_CAPACITY];
+
+  /**
+   * The handle of the container of each handle, or {@link #NULL_HANDLE}.
+   */
+  protected int[] containers = new int [INITIAL_CAPACITY];
+
+  /**
+   * The {@link InternalEObject#eContainerFeatureID() container feature ID} of each handle.
+   */
+  protected int[] containerFeatureIDs = new int [INITIAL_CAPACITY];
+
+  /**
+   * The number of handles allocated so far, including the {@link #freeHandles free} ones.
+   */
+  protected int objectCount;
+
+  /**
+   * The handles that have been freed and are available for reuse.
+   */
+  protected int[] freeHandles = new int [INITIAL_CAPACITY];
+
+  /**
+   * The number of {@link #freeHandles free handles}.
+   */
+  protected int freeHandleCount;
+
+  /**
+   * The hash table of the references to the objects not created by this store, chained by {@link HandleReference#next}.
+   */
+  protected HandleReference[] foreignReferences = new HandleReference [INITIAL_CAPACITY];
+
+  /**
+   * The number of {@link #foreignReferences references to foreign objects}.
+   */
+  protected int foreignReferenceCount;
+
+  /**
+   * The queue to which the references of garbage collected objects are enqueued.
+   */
+  protected final ReferenceQueue<InternalEObject> referenceQueue = new ReferenceQueue<InternalEObject>();
+
+  /**
+   * The table of each class.
+   */
+  protected final Map<EClass, Table> tables = new HashMap<EClass, Table>();
+
+  /**
+   * Creates an empty store.
+   */
+  public ColumnarEStoreImpl()
+  {
+    super();
+  }
+
+  /**
+   * An object whose values, container, and containing feature are held by a {@link ColumnarEStoreImpl}.
+   */
+  public static class ColumnarEStoreEObjectImpl extends MinimalEStoreEObjectImpl
+  {
+    protected final ColumnarEStoreImpl eStore;
+
+    protected final int eHandle;
+
+    protected ColumnarEStoreEObjectImpl(ColumnarEStoreImpl eStore, EClass eClass)
+    {
+      super(eClass);
+      this.eStore = eStore;
+      this.eHandle = eStore.register(this);
+    }
+
+    @Override
+    public InternalEObject.EStore eStore()
+    {
+      return eStore;
+    }
+
+    @Override
+    protected boolean eIsCaching()
+    {
+      return false;
+    }
+
+    @Override
+    public InternalEObject eInternalContainer()
+    {
+      int containerHandle = eStore.containers[eHandle];
+      return containerHandle == NULL_HANDLE ? eBasicInternalContainer() : eStore.getObject(containerHandle);
+    }
+
+    @Override
+    public int eContainerFeatureID()
+    {
+      return eStore.containers[eHandle] == NULL_HANDLE ? eBasicContainerFeatureID() : eStore.containerFeatureIDs[eHandle];
+    }
+
+    /**
+     * Records a container that delegates to the same store as a handle in the store,
+     * and any other container in this object, as a {@link MinimalEObjectImpl} does,
+     * because the store can only detach objects from a garbage collected container whose values it holds.
+     */
+    @Override
+    protected void eBasicSetContainer(InternalEObject newContainer, int newContainerFeatureID)
+    {
+      if (newContainer == null || newContainer.eStore() == eStore)
+      {
+        eStore.setContainer(eHandle, newContainer, newContainerFeatureID);
+        if (eBasicInternalContainer() != null)
+        {
+          super.eBasicSetContainer(null, 0);
+        }
+      }
+      else
+      {
+        eStore.setContainer(eHandle, null, 0);
+        super.eBasicSetContainer(newContainer, newContainerFeatureID);
+      }
+    }
+  }
+
+  /**
+   * A weak reference to the object of a handle.
+   */
+  protected static final class HandleReference extends WeakReference<InternalEObject>
+  {
+    protected final int handle;
+
+    /**
+     * Whether the object wasn't created by the store, in which case the reference is in the {@link ColumnarEStoreImpl#foreignReferences foreign references}.
+     */
+    protected final boolean isForeign;
+
+    protected final int hashCode;
+
+    protected HandleReference next;
+
+    protected HandleReference(InternalEObject eObject, int handle, ReferenceQueue<InternalEObject> queue, boolean isForeign)
+    {
+      super(eObject, queue);
+      this.handle = handle;
+      this.isForeign = isForeign;
+      hashCode = isForeign ? System.identityHashCode(eObject) : 0;
+    }
+  }
+
+  public EObject create(EClass eClass)
+  {
+    return new ColumnarEStoreEObjectImpl(this, eClass);
+  }
+
+  /**
+   * Allocates a new handle for an object created by this store, which is held weakly until it's referenced.
+   */
+  protected int register(InternalEObject eObject)
+  {
+    int handle = allocateHandle();
+    objects[handle] = new HandleReference(eObject, handle, referenceQueue, false);
+    return handle;
+  }
+
+  /**
+   * Frees the handles of the garbage collected objects, and then allocates a handle, reusing a free one if possible.
+   */
+  protected int allocateHandle()
+  {
+    collectGarbage();
+    if (freeHandleCount > 0)
+    {
+      return freeHandles[--freeHandleCount];
+    }
+    int handle = objectCount++;
+    if (handle == objects.length)
+    {
+      int capacity = handle * 2;
+      objects = Arrays.copyOf(objects, capacity);
+      referenceCounts = Arrays.copyOf(referenceCounts, capacity);
+      objectTables = Arrays.copyOf(objectTables, capacity);
+      objectRows = Arrays.copyOf(objectRows, capacity);
+      containers = Arrays.copyOf(containers, capacity);
+      containerFeatureIDs = Arrays.copyOf(containerFeatureIDs, capacity);
+    }
+    containers[handle] = NULL_HANDLE;
+    return handle;
+  }
+
+  /**
+   * Frees the handle of each garbage collected object.
+   */
+  protected void collectGarbage()
+  {
+    for (Reference<? extends InternalEObject> reference; (reference = referenceQueue.poll()) != null; )
+    {
+      HandleReference handleReference = (HandleReference)reference;
+      if (handleReference.isForeign)
+      {
+        removeForeignReference(handleReference);
+      }
+      int handle = handleReference.handle;
+      if (objects[handle] == handleReference)
+      {
+        freeHandle(handle);
+      }
+    }
+  }
+
+  /**
+   * Frees the handle, along with its row, whose values are released.
+   * Any object whose container is this handle is detached from it.
+   */
+  protected void freeHandle(int handle)
+  {
+    Table table = objectTables[handle];
+    if (table != null)
+    {
+      table.freeRow(objectRows[handle], handle);
+      objectTables[handle] = null;
+    }
+    objects[handle] = null;
+    containers[handle] = NULL_HANDLE;
+    containerFeatureIDs[handle] = 0;
+    if (freeHandleCount == freeHandles.length)
+    {
+      freeHandles = Arrays.copyOf(freeHandles, freeHandleCount * 2);
+    }
+    freeHandles[freeHandleCount++] = handle;
+  }
+
+  /**
+   * Returns whether the object was created by this store.
+   */
+  protected boolean isCreated(Object eObject)
+  {
+    return eObject instanceof ColumnarEStoreEObjectImpl && ((ColumnarEStoreEObjectImpl)eObject).eStore == this;
+  }
+
+  /**
+   * Returns the reference to the object not created by this store, or <code>null</code> if it doesn't have a handle.
+   */
+  protected HandleReference getForeignReference(Object eObject)
+  {
+    int hashCode = System.identityHashCode(eObject);
+    for (HandleReference reference = foreignReferences[hashCode & foreignReferences.length - 1]; reference != null; reference = reference.next)
+    {
+      if (reference.hashCode == hashCode && reference.get() == eObject)
+      {
+        return reference;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Adds the reference to the {@link #foreignReferences foreign references}, growing the table as needed.
+   */
+  protected void addForeignReference(HandleReference reference)
+  {
+    if (++foreignReferenceCount > foreignReferences.length * 3 / 4)
+    {
+      HandleReference[] oldForeignReferences = foreignReferences;
+      foreignReferences = new HandleReference [oldForeignReferences.length * 2];
+      for (HandleReference oldReference : oldForeignReferences)
+      {
+        while (oldReference != null)
+        {
+          HandleReference nextReference = oldReference.next;
+          int index = oldReference.hashCode & foreignReferences.length - 1;
+          oldReference.next = foreignReferences[index];
+          foreignReferences[index] = oldReference;
+          oldReference = nextReference;
+        }
+      }
+    }
+    int index = reference.hashCode & foreignReferences.length - 1;
+    reference.next = foreignReferences[index];
+    foreignReferences[index] = reference;
+  }
+
+  /**
+   * Removes the reference from the {@link #foreignReferences foreign references}.
+   */
+  protected void removeForeignReference(HandleReference reference)
+  {
+    int index = reference.hashCode & foreignReferences.length - 1;
+    for (HandleReference previousReference = null, entry = foreignReferences[index]; entry != null; previousReference = entry, entry = entry.next)
+    {
+      if (entry == reference)
+      {
+        if (previousReference == null)
+        {
+          foreignReferences[index] = entry.next;
+        }
+        else
+        {
+          previousReference.next = entry.next;
+        }
+        --foreignReferenceCount;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the handle of the object, or {@link #NULL_HANDLE} if it doesn't have one.
+   */
+  protected int getHandle(Object eObject)
+  {
+    if (isCreated(eObject))
+    {
+      return ((ColumnarEStoreEObjectImpl)eObject).eHandle;
+    }
+    HandleReference reference = getForeignReference(eObject);
+    return reference == null ? NULL_HANDLE : reference.handle;
+  }
+
+  /**
+   * Returns the handle of the object, allocating one if it doesn't have one yet.
+   */
+  protected int handle(InternalEObject eObject)
+  {
+    int handle = getHandle(eObject);
+    if (handle == NULL_HANDLE)
+    {
+      handle = allocateHandle();
+      HandleReference reference = new HandleReference(eObject, handle, referenceQueue, true);
+      objects[handle] = reference;
+      addForeignReference(reference);
+    }
+    return handle;
+  }
+
+  /**
+   * Returns the object of the handle, or <code>null</code> for {@link #NULL_HANDLE} or for an object that's been garbage collected.
+   */
+  protected InternalEObject getObject(int handle)
+  {
+    if (handle == NULL_HANDLE)
+    {
+      return null;
+    }
+    Object object = objects[handle];
+    return object instanceof HandleReference ? ((HandleReference)object).get() : (InternalEObject)object;
+  }
+
+  /**
+   * Records a reference to the handle, holding its object strongly if it's the first one.
+   */
+  protected void retain(int handle)
+  {
+    if (handle >= 0 && referenceCounts[handle]++ == 0)
+    {
+      HandleReference reference = (HandleReference)objects[handle];
+      objects[handle] = reference.get();
+      if (!reference.isForeign)
+      {
+        reference.clear();
+      }
+    }
+  }
+
+  /**
+   * Removes a reference to the handle, holding its object weakly if it was the last one.
+   */
+  protected void release(int handle)
+  {
+    if (handle >= 0 && --referenceCounts[handle] == 0)
+    {
+      InternalEObject eObject = (InternalEObject)objects[handle];
+      objects[handle] = isCreated(eObject) ? new HandleReference(eObject, handle, referenceQueue, false) : getForeignReference(eObject);
+    }
+  }
+
+  /**
+   * Detaches the handle from its container if that's the given container handle.
+   */
+  protected void detach(int handle, int containerHandle)
+  {
+    if (handle >= 0 && containers[handle] == containerHandle)
+    {
+      containers[handle] = NULL_HANDLE;
+      containerFeatureIDs[handle] = 0;
+    }
+  }
+
+  /**
+   * Returns the table for the class, creating it if necessary.
+   */
+  protected Table getTable(EClass eClass)
+  {
+    Table table = tables.get(eClass);
+    if (table == null)
+    {
+      table = new Table(eClass);
+      tables.put(eClass, table);
+    }
+    return table;
+  }
+
+  /**
+   * Returns the column holding the feature's values for the handle,
+   * allocating a row for the handle and creating the column if necessary and requested;
+   * returns <code>null</code> if there's no such column and creation isn't requested.
+   */
+  protected Column getColumn(int handle, EStructuralFeature feature, boolean create)
+  {
+    Table table = objectTables[handle];
+    if (table == null)
+    {
+      if (!create)
+      {
+        return null;
+      }
+      table = getTable(getObject(handle).eClass());
+      objectTables[handle] = table;
+      objectRows[handle] = table.allocateRow();
+    }
+    return table.getColumn(feature, create);
+  }
+
+  /**
+   * Returns the column of the object's many-valued feature, or <code>null</code> if it doesn't exist and creation isn't requested.
+   */
+  protected ManyColumn getManyColumn(InternalEObject eObject, EStructuralFeature feature, boolean create)
+  {
+    int handle = create ? handle(eObject) : getHandle(eObject);
+    return handle == NULL_HANDLE ? null : (ManyColumn)getColumn(handle, feature, create);
+  }
+
+  /**
+   * Returns the row of the object, which must already have been allocated.
+   */
+  protected int getRow(InternalEObject eObject)
+  {
+    return objectRows[getHandle(eObject)];
+  }
+
+  /**
+   * Records the container and the {@link InternalEObject#eContainerFeatureID() container feature ID} of the handle.
+   */
+  protected void setContainer(int handle, InternalEObject container, int containerFeatureID)
+  {
+    if (container == null)
+    {
+      containers[handle] = NULL_HANDLE;
+      containerFeatureIDs[handle] = 0;
+    }
+    else
+    {
+      int containerHandle = handle(container);
+      containers[handle] = containerHandle;
+      containerFeatureIDs[handle] = containerFeatureID;
+    }
+  }
+
+  public Object get(InternalEObject eObject, EStructuralFeature feature, int index)
+  {
+    int handle = getHandle(eObject);
+    Column column = handle == NULL_HANDLE ? null : getColumn(handle, feature, false);
+    if (index == NO_INDEX)
+    {
+      return column == null ? null : ((SingleColumn)column).get(objectRows[handle]);
+    }
+    else if (column == null)
+    {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=0");
+    }
+    else
+    {
+      return ((ManyColumn)column).get(objectRows[handle], index);
+    }
+  }
+
+  public Object set(InternalEObject eObject, EStructuralFeature feature, int index, Object value)
+  {
+    int handle = handle(eObject);
+    Column column = getColumn(handle, feature, true);
+    if (index == NO_INDEX)
+    {
+      SingleColumn singleColumn = (SingleColumn)column;
+      return value == null ? singleColumn.unset(objectRows[handle]) : singleColumn.set(objectRows[handle], value);
+    }
+    else
+    {
+      return ((ManyColumn)column).set(objectRows[handle], index, value);
+    }
+  }
+
+  public void add(InternalEObject eObject, EStructuralFeature feature, int index, Object value)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, true);
+    column.add(getRow(eObject), index, value);
+  }
+
+  public Object remove(InternalEObject eObject, EStructuralFeature feature, int index)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    if (column == null)
+    {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=0");
+    }
+    return column.remove(getRow(eObject), index);
+  }
+
+  public Object move(InternalEObject eObject, EStructuralFeature feature, int targetIndex, int sourceIndex)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    if (column == null)
+    {
+      throw new IndexOutOfBoundsException("index=" + sourceIndex + ", size=0");
+    }
+    return column.move(getRow(eObject), targetIndex, sourceIndex);
+  }
+
+  public void clear(InternalEObject eObject, EStructuralFeature feature)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    if (column != null)
+    {
+      column.clear(getRow(eObject));
+    }
+  }
+
+  public boolean isSet(InternalEObject eObject, EStructuralFeature feature)
+  {
+    int handle = getHandle(eObject);
+    Column column = handle == NULL_HANDLE ? null : getColumn(handle, feature, false);
+    return column != null && column.isSet(objectRows[handle]);
+  }
+
+  public void unset(InternalEObject eObject, EStructuralFeature feature)
+  {
+    int handle = getHandle(eObject);
+    Column column = handle == NULL_HANDLE ? null : getColumn(handle, feature, false);
+    if (column != null)
+    {
+      column.unset(objectRows[handle]);
+    }
+  }
+
+  public int size(InternalEObject eObject, EStructuralFeature feature)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    return column == null ? 0 : column.sizes[getRow(eObject)];
+  }
+
+  public int indexOf(InternalEObject eObject, EStructuralFeature feature, Object value)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    return column == null ? -1 : column.indexOf(getRow(eObject), value);
+  }
+
+  public int lastIndexOf(InternalEObject eObject, EStructuralFeature feature, Object value)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    return column == null ? -1 : column.lastIndexOf(getRow(eObject), value);
+  }
+
+  public Object[] toArray(InternalEObject eObject, EStructuralFeature feature)
+  {
+    return toArray(eObject, feature, new Object [0]);
+  }
+
+  public <T> T[] toArray(InternalEObject eObject, EStructuralFeature feature, T[] array)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    int row = column == null ? -1 : getRow(eObject);
+    int size = column == null ? 0 : column.sizes[row];
+    if (array.length < size)
+    {
+      @SuppressWarnings("unchecked")
+      T[] newArray = (T[])Array.newInstance(array.getClass().getComponentType(), size);
+      array = newArray;
+    }
+    for (int i = 0; i < size; ++i)
+    {
+      @SuppressWarnings("unchecked")
+      T element = (T)column.getElement(row, i);
+      array[i] = element;
+    }
+    if (array.length > size)
+    {
+      array[size] = null;
+    }
+    return array;
+  }
+
+  public boolean isEmpty(InternalEObject eObject, EStructuralFeature feature)
+  {
+    return size(eObject, feature) == 0;
+  }
+
+  public boolean contains(InternalEObject eObject, EStructuralFeature feature, Object value)
+  {
+    return indexOf(eObject, feature, value) != -1;
+  }
+
+  public int hashCode(InternalEObject eObject, EStructuralFeature feature)
+  {
+    ManyColumn column = getManyColumn(eObject, feature, false);
+    int hashCode = 1;
+    if (column != null)
+    {
+      int row = getRow(eObject);
+      for (int i = 0, size = column.sizes[row]; i < size; ++i)
+      {
+        Object element = column.getElement(row, i);
+        hashCode = 31 * hashCode + (element == null ? 0 : element.hashCode());
+      }
+    }
+    return hashCode;
+  }
+
+  public InternalEObject getContainer(InternalEObject eObject)
+  {
+    int handle = getHandle(eObject);
+    return handle == NULL_HANDLE ? null : getObject(containers[handle]);
+  }
+
+  public EStructuralFeature getContainingFeature(InternalEObject eObject)
+  {
+    int handle = getHandle(eObject);
+    InternalEObject container = handle == NULL_HANDLE ? null : getObject(containers[handle]);
+    if (container == null)
+    {
+      return null;
+    }
+    int containerFeatureID = containerFeatureIDs[handle];
+    return
+      containerFeatureID <= InternalEObject.EOPPOSITE_FEATURE_BASE ?
+        container.eClass().getEStructuralFeature(InternalEObject.EOPPOSITE_FEATURE_BASE - containerFeatureID) :
+        ((EReference)eObject.eClass().getEStructuralFeature(containerFeatureID)).getEOpposite();
+  }
+
+  /**
+   * Creates the column for the feature of a table with the given capacity.
+   */
+  protected Column createColumn(EStructuralFeature feature, int capacity)
+  {
+    if (feature.isMany())
+    {
+      return feature instanceof EReference ? new ReferenceManyColumn(feature, capacity) : new ObjectManyColumn(feature, capacity);
+    }
+    else if (feature instanceof EReference)
+    {
+      return new ReferenceColumn(feature, capacity);
+    }
+    else
+    {
+      Class<?> instanceClass = feature.getEType().getInstanceClass();
+      if (instanceClass == int.class || instanceClass == short.class || instanceClass == byte.class || instanceClass == char.class || instanceClass == float.class)
+      {
+        return new IntColumn(feature, capacity, instanceClass);
+      }
+      else if (instanceClass == long.class || instanceClass == double.class)
+      {
+        return new LongColumn(feature, capacity, instanceClass);
+      }
+      else if (instanceClass == boolean.class)
+      {
+        return new BooleanColumn(feature, capacity);
+      }
+      else
+      {
+        return new ObjectColumn(feature, capacity);
+      }
+    }
+  }
+
+  /**
+   * The columns of the objects of one class.
+   */
+  protected class Table
+  {
+    protected final EClass eClass;
+
+    protected final Column[] columns;
+
+    protected int rowCount;
+
+    protected int capacity = INITIAL_CAPACITY;
+
+    protected int[] freeRows = new int [INITIAL_CAPACITY];
+
+    protected int freeRowCount;
+
+    protected Table(EClass eClass)
+    {
+      this.eClass = eClass;
+      columns = new Column [eClass.getFeatureCount()];
+    }
+
+    /**
+     * Allocates a row, reusing a free one if possible.
+     */
+    protected int allocateRow()
+    {
+      if (freeRowCount > 0)
+      {
+        return freeRows[--freeRowCount];
+      }
+      if (rowCount == capacity)
+      {
+        capacity *= 2;
+        for (Column column : columns)
+        {
+          if (column != null)
+          {
+            column.grow(capacity);
+          }
+        }
+      }
+      return rowCount++;
+    }
+
+    /**
+     * Clears the row of the given handle in each column and makes it available for reuse.
+     */
+    protected void freeRow(int row, int handle)
+    {
+      for (Column column : columns)
+      {
+        if (column != null)
+        {
+          column.free(row, handle);
+        }
+      }
+      if (freeRowCount == freeRows.length)
+      {
+        freeRows = Arrays.copyOf(freeRows, freeRowCount * 2);
+      }
+      freeRows[freeRowCount++] = row;
+    }
+
+    protected Column getColumn(EStructuralFeature feature, boolean create)
+    {
+      int featureID = eClass.getFeatureID(feature);
+      if (featureID < 0)
+      {
+        throw new IllegalArgumentException("The feature '" + feature.getName() + "' is not a valid feature");
+      }
+      Column column = columns[featureID];
+      if (column == null && create)
+      {
+        columns[featureID] = column = createColumn(feature, capacity);
+      }
+      return column;
+    }
+  }
+
+  /**
+   * The values of one feature, indexed by row, along with whether each row is set.
+   */
+  protected abstract static class Column
+  {
+    protected final boolean isUnsettable;
+
+    protected long[] setBits;
+
+    protected Column(EStructuralFeature feature, int capacity)
+    {
+      isUnsettable = feature.isUnsettable();
+      setBits = new long [(capacity + 63) >>> 6];
+    }
+
+    protected void grow(int capacity)
+    {
+      setBits = Arrays.copyOf(setBits, (capacity + 63) >>> 6);
+    }
+
+    protected final boolean hasValue(int row)
+    {
+      return (setBits[row >>> 6] & 1L << row) != 0;
+    }
+
+    protected final void setHasValue(int row, boolean hasValue)
+    {
+      if (hasValue)
+      {
+        setBits[row >>> 6] |= 1L << row;
+      }
+      else
+      {
+        setBits[row >>> 6] &= ~(1L << row);
+      }
+    }
+
+    protected abstract boolean isSet(int row);
+
+    protected abstract Object unset(int row);
+
+    /**
+     * Clears the row of the given handle, which is being freed.
+     */
+    protected void free(int row, int handle)
+    {
+      unset(row);
+    }
+  }
+
+  /**
+   * The values of a single-valued feature.
+   */
+  protected abstract static class SingleColumn extends Column
+  {
+    protected final Object defaultValue;
+
+    protected SingleColumn(EStructuralFeature feature, int capacity)
+    {
+      super(feature, capacity);
+      defaultValue = feature.getDefaultValue();
+    }
+
+    /**
+     * Returns the row's value, or <code>null</code> if it has none.
+     */
+    protected Object get(int row)
+    {
+      return hasValue(row) ? getValue(row) : null;
+    }
+
+    /**
+     * Sets the row's value, which isn't <code>null</code>, and returns the previous value.
+     */
+    protected Object set(int row, Object value)
+    {
+      Object oldValue = get(row);
+      setValue(row, value);
+      setHasValue(row, true);
+      return oldValue;
+    }
+
+    @Override
+    protected Object unset(int row)
+    {
+      Object oldValue = get(row);
+      clearValue(row);
+      setHasValue(row, false);
+      return oldValue;
+    }
+
+    /**
+     * Returns whether the row has a value and, unless the feature is unsettable, whether that value differs from the default.
+     */
+    @Override
+    protected boolean isSet(int row)
+    {
+      return hasValue(row) && (isUnsettable || defaultValue == null || !isDefaultValue(row));
+    }
+
+    protected boolean isDefaultValue(int row)
+    {
+      return defaultValue.equals(getValue(row));
+    }
+
+    protected abstract Object getValue(int row);
+
+    protected abstract void setValue(int row, Object value);
+
+    protected void clearValue(int row)
+    {
+      // Nothing is retained by default.
+    }
+  }
+
+  /**
+   * The values of a feature of type <code>int</code>, <code>short</code>, <code>byte</code>, <code>char</code>, or <code>float</code>.
+   */
+  protected static class IntColumn extends SingleColumn
+  {
+    protected final Class<?> instanceClass;
+
+    protected final int defaultBits;
+
+    protected int[] values;
+
+    protected IntColumn(EStructuralFeature feature, int capacity, Class<?> instanceClass)
+    {
+      super(feature, capacity);
+      this.instanceClass = instanceClass;
+      defaultBits = defaultValue == null ? 0 : encode(defaultValue);
+      values = new int [capacity];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    protected int encode(Object value)
+    {
+      if (instanceClass == int.class)
+      {
+        return (Integer)value;
+      }
+      else if (instanceClass == float.class)
+      {
+        return Float.floatToRawIntBits((Float)value);
+      }
+      else if (instanceClass == char.class)
+      {
+        return (Character)value;
+      }
+      else
+      {
+        return ((Number)value).intValue();
+      }
+    }
+
+    @Override
+    protected Object getValue(int row)
+    {
+      int value = values[row];
+      if (instanceClass == int.class)
+      {
+        return value;
+      }
+      else if (instanceClass == float.class)
+      {
+        return Float.intBitsToFloat(value);
+      }
+      else if (instanceClass == char.class)
+      {
+        return (char)value;
+      }
+      else if (instanceClass == short.class)
+      {
+        return (short)value;
+      }
+      else
+      {
+        return (byte)value;
+      }
+    }
+
+    @Override
+    protected void setValue(int row, Object value)
+    {
+      values[row] = encode(value);
+    }
+
+    @Override
+    protected boolean isDefaultValue(int row)
+    {
+      return values[row] == defaultBits;
+    }
+  }
+
+  /**
+   * The values of a feature of type <code>long</code> or <code>double</code>.
+   */
+  protected static class LongColumn extends SingleColumn
+  {
+    protected final boolean isDouble;
+
+    protected final long defaultBits;
+
+    protected long[] values;
+
+    protected LongColumn(EStructuralFeature feature, int capacity, Class<?> instanceClass)
+    {
+      super(feature, capacity);
+      isDouble = instanceClass == double.class;
+      defaultBits = defaultValue == null ? 0L : encode(defaultValue);
+      values = new long [capacity];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    protected long encode(Object value)
+    {
+      return isDouble ? Double.doubleToRawLongBits((Double)value) : (Long)value;
+    }
+
+    @Override
+    protected Object getValue(int row)
+    {
+      long value = values[row];
+      return isDouble ? (Object)Double.longBitsToDouble(value) : (Object)value;
+    }
+
+    @Override
+    protected void setValue(int row, Object value)
+    {
+      values[row] = encode(value);
+    }
+
+    @Override
+    protected boolean isDefaultValue(int row)
+    {
+      return values[row] == defaultBits;
+    }
+  }
+
+  /**
+   * The values of a feature of type <code>boolean</code>, held as bits.
+   */
+  protected static class BooleanColumn extends SingleColumn
+  {
+    protected long[] valueBits;
+
+    protected BooleanColumn(EStructuralFeature feature, int capacity)
+    {
+      super(feature, capacity);
+      valueBits = new long [(capacity + 63) >>> 6];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      valueBits = Arrays.copyOf(valueBits, (capacity + 63) >>> 6);
+    }
+
+    @Override
+    protected Object getValue(int row)
+    {
+      return (valueBits[row >>> 6] & 1L << row) != 0;
+    }
+
+    @Override
+    protected void setValue(int row, Object value)
+    {
+      if ((Boolean)value)
+      {
+        valueBits[row >>> 6] |= 1L << row;
+      }
+      else
+      {
+        valueBits[row >>> 6] &= ~(1L << row);
+      }
+    }
+  }
+
+  /**
+   * The values of an attribute whose type isn't primitive.
+   */
+  protected static class ObjectColumn extends SingleColumn
+  {
+    protected Object[] values;
+
+    protected ObjectColumn(EStructuralFeature feature, int capacity)
+    {
+      super(feature, capacity);
+      values = new Object [capacity];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected boolean isDefaultValue(int row)
+    {
+      return values[row] != EStructuralFeatureImpl.InternalSettingDelegateSingle.NIL && super.isDefaultValue(row);
+    }
+
+    @Override
+    protected Object getValue(int row)
+    {
+      return values[row];
+    }
+
+    @Override
+    protected void setValue(int row, Object value)
+    {
+      values[row] = value;
+    }
+
+    @Override
+    protected void clearValue(int row)
+    {
+      values[row] = null;
+    }
+  }
+
+  /**
+   * The values of a single-valued reference, held as handles.
+   */
+  protected class ReferenceColumn extends SingleColumn
+  {
+    protected final boolean isContainment;
+
+    protected int[] values;
+
+    protected ReferenceColumn(EStructuralFeature feature, int capacity)
+    {
+      super(feature, capacity);
+      isContainment = ((EReference)feature).isContainment();
+      values = new int [capacity];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected Object getValue(int row)
+    {
+      int handle = values[row];
+      return handle == NIL_HANDLE ? EStructuralFeatureImpl.InternalSettingDelegateSingle.NIL : getObject(handle);
+    }
+
+    @Override
+    protected void setValue(int row, Object value)
+    {
+      values[row] = value == EStructuralFeatureImpl.InternalSettingDelegateSingle.NIL ? NIL_HANDLE : handle((InternalEObject)value);
+    }
+
+    @Override
+    protected Object set(int row, Object value)
+    {
+      int oldHandle = hasValue(row) ? values[row] : NULL_HANDLE;
+      Object oldValue = super.set(row, value);
+      retain(values[row]);
+      release(oldHandle);
+      return oldValue;
+    }
+
+    @Override
+    protected Object unset(int row)
+    {
+      int oldHandle = hasValue(row) ? values[row] : NULL_HANDLE;
+      Object oldValue = super.unset(row);
+      release(oldHandle);
+      return oldValue;
+    }
+
+    @Override
+    protected void free(int row, int handle)
+    {
+      if (isContainment && hasValue(row))
+      {
+        detach(values[row], handle);
+      }
+      super.free(row, handle);
+    }
+  }
+
+  /**
+   * The values of a many-valued feature, held as a variable length array per row.
+   */
+  protected abstract static class ManyColumn extends Column
+  {
+    protected int[] sizes;
+
+    protected ManyColumn(EStructuralFeature feature, int capacity)
+    {
+      super(feature, capacity);
+      sizes = new int [capacity];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      sizes = Arrays.copyOf(sizes, capacity);
+    }
+
+    /**
+     * Returns whether the row has values or, for an unsettable feature, whether it's been set since it was last unset.
+     */
+    @Override
+    protected boolean isSet(int row)
+    {
+      return sizes[row] != 0 || isUnsettable && hasValue(row);
+    }
+
+    @Override
+    protected Object unset(int row)
+    {
+      clear(row);
+      setHasValue(row, false);
+      return null;
+    }
+
+    protected void checkIndex(int row, int index)
+    {
+      int size = sizes[row];
+      if (index < 0 || index >= size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+    }
+
+    protected Object get(int row, int index)
+    {
+      checkIndex(row, index);
+      return getElement(row, index);
+    }
+
+    protected Object set(int row, int index, Object value)
+    {
+      checkIndex(row, index);
+      Object oldValue = getElement(row, index);
+      setElement(row, index, value);
+      setHasValue(row, true);
+      return oldValue;
+    }
+
+    protected void add(int row, int index, Object value)
+    {
+      int size = sizes[row];
+      if (index < 0 || index > size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+      ensureRowCapacity(row, size + 1);
+      if (index != size)
+      {
+        copy(row, index, index + 1, size - index);
+      }
+      setElement(row, index, value);
+      sizes[row] = size + 1;
+      setHasValue(row, true);
+    }
+
+    protected Object remove(int row, int index)
+    {
+      checkIndex(row, index);
+      Object oldValue = getElement(row, index);
+      int size = sizes[row] - 1;
+      if (index != size)
+      {
+        copy(row, index + 1, index, size - index);
+      }
+      clearElement(row, size);
+      sizes[row] = size;
+      return oldValue;
+    }
+
+    protected Object move(int row, int targetIndex, int sourceIndex)
+    {
+      checkIndex(row, targetIndex);
+      checkIndex(row, sourceIndex);
+      Object movedValue = getElement(row, sourceIndex);
+      if (targetIndex < sourceIndex)
+      {
+        copy(row, targetIndex, targetIndex + 1, sourceIndex - targetIndex);
+      }
+      else if (targetIndex > sourceIndex)
+      {
+        copy(row, sourceIndex + 1, sourceIndex, targetIndex - sourceIndex);
+      }
+      setElement(row, targetIndex, movedValue);
+      return movedValue;
+    }
+
+    protected void clear(int row)
+    {
+      sizes[row] = 0;
+      clearRow(row);
+    }
+
+    protected int indexOf(int row, Object value)
+    {
+      for (int i = 0, size = sizes[row]; i < size; ++i)
+      {
+        if (equals(value, getElement(row, i)))
+        {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    protected int lastIndexOf(int row, Object value)
+    {
+      for (int i = sizes[row] - 1; i >= 0; --i)
+      {
+        if (equals(value, getElement(row, i)))
+        {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    protected boolean equals(Object value, Object element)
+    {
+      return value == null ? element == null : value.equals(element);
+    }
+
+    protected abstract Object getElement(int row, int index);
+
+    protected abstract void setElement(int row, int index, Object value);
+
+    protected abstract void clearElement(int row, int index);
+
+    protected abstract void clearRow(int row);
+
+    protected abstract void ensureRowCapacity(int row, int minimumCapacity);
+
+    protected abstract void copy(int row, int sourceIndex, int targetIndex, int length);
+
+    protected static int newRowCapacity(int capacity, int minimumCapacity)
+    {
+      int newCapacity = capacity * 3 / 2 + 1;
+      return newCapacity < minimumCapacity ? Math.max(4, minimumCapacity) : newCapacity;
+    }
+  }
+
+  /**
+   * The values of a many-valued attribute.
+   */
+  protected static class ObjectManyColumn extends ManyColumn
+  {
+    protected Object[][] values;
+
+    protected ObjectManyColumn(EStructuralFeature feature, int capacity)
+    {
+      super(feature, capacity);
+      values = new Object [capacity][];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected Object getElement(int row, int index)
+    {
+      return values[row][index];
+    }
+
+    @Override
+    protected void setElement(int row, int index, Object value)
+    {
+      values[row][index] = value;
+    }
+
+    @Override
+    protected void clearElement(int row, int index)
+    {
+      values[row][index] = null;
+    }
+
+    @Override
+    protected void clearRow(int row)
+    {
+      values[row] = null;
+    }
+
+    @Override
+    protected void ensureRowCapacity(int row, int minimumCapacity)
+    {
+      Object[] rowValues = values[row];
+      int capacity = rowValues == null ? 0 : rowValues.length;
+      if (capacity < minimumCapacity)
+      {
+        values[row] = rowValues == null ? new Object [newRowCapacity(0, minimumCapacity)] : Arrays.copyOf(rowValues, newRowCapacity(capacity, minimumCapacity));
+      }
+    }
+
+    @Override
+    protected void copy(int row, int sourceIndex, int targetIndex, int length)
+    {
+      Object[] rowValues = values[row];
+      System.arraycopy(rowValues, sourceIndex, rowValues, targetIndex, length);
+    }
+  }
+
+  /**
+   * The values of a many-valued reference, held as handles.
+   */
+  protected class ReferenceManyColumn extends ManyColumn
+  {
+    protected final boolean isContainment;
+
+    protected int[][] values;
+
+    protected ReferenceManyColumn(EStructuralFeature feature, int capacity)
+    {
+      super(feature, capacity);
+      isContainment = ((EReference)feature).isContainment();
+      values = new int [capacity][];
+    }
+
+    @Override
+    protected void grow(int capacity)
+    {
+      super.grow(capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected Object getElement(int row, int index)
+    {
+      return getObject(values[row][index]);
+    }
+
+    @Override
+    protected void setElement(int row, int index, Object value)
+    {
+      values[row][index] = value == null ? NULL_HANDLE : handle((InternalEObject)value);
+    }
+
+    @Override
+    protected void clearElement(int row, int index)
+    {
+      // Handles don't retain anything.
+    }
+
+    @Override
+    protected Object set(int row, int index, Object value)
+    {
+      checkIndex(row, index);
+      int oldHandle = values[row][index];
+      Object oldValue = super.set(row, index, value);
+      retain(values[row][index]);
+      release(oldHandle);
+      return oldValue;
+    }
+
+    @Override
+    protected void add(int row, int index, Object value)
+    {
+      super.add(row, index, value);
+      retain(values[row][index]);
+    }
+
+    @Override
+    protected Object remove(int row, int index)
+    {
+      checkIndex(row, index);
+      int oldHandle = values[row][index];
+      Object oldValue = super.remove(row, index);
+      release(oldHandle);
+      return oldValue;
+    }
+
+    @Override
+    protected void clear(int row)
+    {
+      int[] rowValues = values[row];
+      int size = sizes[row];
+      super.clear(row);
+      for (int i = 0; i < size; ++i)
+      {
+        release(rowValues[i]);
+      }
+    }
+
+    @Override
+    protected void free(int row, int handle)
+    {
+      if (isContainment)
+      {
+        int[] rowValues = values[row];
+        for (int i = 0, size = sizes[row]; i < size; ++i)
+        {
+          detach(rowValues[i], handle);
+        }
+      }
+      super.free(row, handle);
+    }
+
+    @Override
+    protected void clearRow(int row)
+    {
+      values[row] = null;
+    }
+
+    @Override
+    protected void ensureRowCapacity(int row, int minimumCapacity)
+    {
+      int[] rowValues = values[row];
+      int capacity = rowValues == null ? 0 : rowValues.length;
+      if (capacity < minimumCapacity)
+      {
+        values[row] = rowValues == null ? new int [newRowCapacity(0, minimumCapacity)] : Arrays.copyOf(rowValues, newRowCapacity(capacity, minimumCapacity));
+      }
+    }
+
+    @Override
+    protected void copy(int row, int sourceIndex, int targetIndex, int length)
+    {
+      int[] rowValues = values[row];
+      System.arraycopy(rowValues, sourceIndex, rowValues, targetIndex, length);
+    }
+
+    /**
+     * Compares handles rather than objects, so that no handle is allocated for an object that isn't in the store.
+     */
+    @Override
+    protected int indexOf(int row, Object value)
+    {
+      int handle = value == null ? NULL_HANDLE : getHandle(value);
+      if (handle == NULL_HANDLE && value != null)
+      {
+        return -1;
+      }
+      int[] rowValues = values[row];
+      for (int i = 0, size = sizes[row]; i < size; ++i)
+      {
+        if (rowValues[i] == handle)
+        {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    protected int lastIndexOf(int row, Object value)
+    {
+      int handle = value == null ? NULL_HANDLE : getHandle(value);
+      if (handle == NULL_HANDLE && value != null)
+      {
+        return -1;
+      }
+      int[] rowValues = values[row];
+      for (int i = sizes[row] - 1; i >= 0; --i)
+      {
+        if (rowValues[i] == handle)
+        {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,379 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+
+
+/**
+ * A thread safe implementation of a package registry that can delegate failed lookup to another registry.
+ * <p>
+ * Any number of threads can look up and register packages concurrently.
+ * A package registered by a {@link EPackage.Descriptor descriptor} is resolved without holding any lock,
+ * because the initialization of a generated package looks up the packages on which it depends,
+ * which in turn may depend on it.
+ * The first package resolved replaces the descriptor and is the one returned to every thread.
+ * The factory {@link EPackage.Descriptor#getEFactory() provided} by a descriptor is likewise shared by all threads.
+ * </p>
+ * <p>
+ * Like {@link EPackageRegistryImpl}, this registry supports a <code>null</code> key and <code>null</code> values.
+ * </p>
+ * @since 2.38
+ */
+public class ConcurrentEPackageRegistryImpl extends AbstractMap<String, Object> implements EPackage.Registry, ConcurrentMap<String, Object>
+{
+  /**
+   * The object that represents a <code>null</code> key or value in the {@link #map}.
+   */
+  private static final Object NULL = new Object();
+
+  /**
+   * The registered values, with each <code>null</code> key and value represented by {@link #NULL}.
+   */
+  private final ConcurrentMap<Object, Object> map = new ConcurrentHashMap<Object, Object>();
+
+  /**
+   * The delegate registry.
+   */
+  protected EPackage.Registry delegateRegistry;
+
+  /**
+   * The factories provided by the descriptors of this registry.
+   */
+  private final ConcurrentMap<EPackage.Descriptor, EFactory> descriptorToEFactoryMap = new ConcurrentHashMap<EPackage.Descriptor, EFactory>();
+
+  /**
+   * Creates a non-delegating instance.
+   */
+  public ConcurrentEPackageRegistryImpl()
+  {
+    super();
+  }
+
+  /**
+   * Creates a delegating instance.
+   */
+  public ConcurrentEPackageRegistryImpl(EPackage.Registry delegateRegistry)
+  {
+    this.delegateRegistry = delegateRegistry;
+  }
+
+  /*
+   * Javadoc copied from interface.
+   */
+  public EPackage getEPackage(String nsURI)
+  {
+    Object ePackage = get(nsURI);
+    if (ePackage instanceof EPackage)
+    {
+      EPackage result = (EPackage)ePackage;
+      if (result.getNsURI() == null)
+      {
+        initialize(result);
+      }
+      return result;
+    }
+    else if (ePackage instanceof EPackage.Descriptor)
+    {
+      return resolve(nsURI, (EPackage.Descriptor)ePackage);
+    }
+    else
+    {
+      return delegatedGetEPackage(nsURI);
+    }
+  }
+
+  /**
+   * Returns the package of the descriptor registered for the namespace URI,
+   * replacing the descriptor by the package if it's still registered.
+   * No lock is held while the descriptor resolves the package,
+   * so several threads may resolve the same descriptor at once;
+   * if another thread has already replaced the descriptor, the package it registered is returned instead.
+   * @param nsURI the namespace URI.
+   * @param ePackageDescriptor the descriptor registered for the namespace URI.
+   * @return the package.
+   */
+  protected EPackage resolve(String nsURI, EPackage.Descriptor ePackageDescriptor)
+  {
+    EPackage result = ePackageDescriptor.getEPackage();
+    if (result != null)
+    {
+      if (result.getNsURI() == null)
+      {
+        initialize(result);
+      }
+      else if (!replace(nsURI, ePackageDescriptor, result))
+      {
+        // Another thread, or the package's own initialization, may already have replaced the descriptor.
+        //
+        Object ePackage = get(nsURI);
+        if (ePackage instanceof EPackage)
+        {
+          result = (EPackage)ePackage;
+        }
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Javadoc copied from interface.
+   */
+  public EFactory getEFactory(String nsURI)
+  {
+    Object ePackage = get(nsURI);
+    if (ePackage instanceof EPackage)
+    {
+      EPackage result = (EPackage)ePackage;
+      if (result.getNsURI() == null)
+      {
+        initialize(result);
+      }
+      return result.getEFactoryInstance();
+    }
+    else if (ePackage instanceof EPackage.Descriptor)
+    {
+      EPackage.Descriptor ePackageDescriptor = (EPackage.Descriptor)ePackage;
+      EFactory result = descriptorToEFactoryMap.get(ePackageDescriptor);
+      if (result == null)
+      {
+        result = ePackageDescriptor.getEFactory();
+        if (result != null)
+        {
+          EFactory otherResult = descriptorToEFactoryMap.putIfAbsent(ePackageDescriptor, result);
+          if (otherResult != null)
+          {
+            result = otherResult;
+          }
+        }
+      }
+      return result;
+    }
+    else
+    {
+      return delegatedGetEFactory(nsURI);
+    }
+  }
+
+  /**
+   * Initializes a package that has no namespace URI.
+   */
+  protected void initialize(EPackage ePackage)
+  {
+    // Do nothing.
+  }
+
+  /**
+   * Returns the package from the delegate registry, if there is one.
+   * @return the package from the delegate registry.
+   */
+  protected EPackage delegatedGetEPackage(String nsURI)
+  {
+    if (delegateRegistry != null)
+    {
+      return delegateRegistry.getEPackage(nsURI);
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the factory from the delegate registry, if there is one.
+   * @return the factory from the delegate registry.
+   */
+  protected EFactory delegatedGetEFactory(String nsURI)
+  {
+    if (delegateRegistry != null)
+    {
+      return delegateRegistry.getEFactory(nsURI);
+    }
+
+    return null;
+  }
+
+  private static Object mask(Object object)
+  {
+    return object == null ? NULL : object;
+  }
+
+  private static Object unmask(Object object)
+  {
+    return object == NULL ? null : object;
+  }
+
+  /**
+   * Forgets the factory provided by the value if it's a descriptor that's no longer registered.
+   */
+  private void removed(Object value)
+  {
+    if (value instanceof EPackage.Descriptor)
+    {
+      descriptorToEFactoryMap.remove(value);
+    }
+  }
+
+  @Override
+  public Object get(Object key)
+  {
+    return unmask(map.get(mask(key)));
+  }
+
+  @Override
+  public Object put(String key, Object value)
+  {
+    Object oldValue = map.put(mask(key), mask(value));
+    if (oldValue != value)
+    {
+      removed(oldValue);
+    }
+    return unmask(oldValue);
+  }
+
+  @Override
+  public Object remove(Object key)
+  {
+    Object oldValue = map.remove(mask(key));
+    removed(oldValue);
+    return unmask(oldValue);
+  }
+
+  public Object putIfAbsent(String key, Object value)
+  {
+    return unmask(map.putIfAbsent(mask(key), mask(value)));
+  }
+
+  public boolean remove(Object key, Object value)
+  {
+    if (map.remove(mask(key), mask(value)))
+    {
+      removed(value);
+      return true;
+    }
+    return false;
+  }
+
+  public boolean replace(String key, Object oldValue, Object newValue)
+  {
+    if (map.replace(mask(key), mask(oldValue), mask(newValue)))
+    {
+      if (oldValue != newValue)
+      {
+        removed(oldValue);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  public Object replace(String key, Object value)
+  {
+    Object oldValue = map.replace(mask(key), mask(value));
+    if (oldValue != value)
+    {
+      removed(oldValue);
+    }
+    return unmask(oldValue);
+  }
+
+  @Override
+  public int size()
+  {
+    return map.size();
+  }
+
+  @Override
+  public boolean containsValue(Object value)
+  {
+    return map.containsValue(mask(value));
+  }
+
+  @Override
+  public void clear()
+  {
+    map.clear();
+    descriptorToEFactoryMap.clear();
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet()
+  {
+    return
+      new AbstractSet<Map.Entry<String, Object>>()
+      {
+        @Override
+        public int size()
+        {
+          return map.size();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator()
+        {
+          final Iterator<Map.Entry<Object, Object>> iterator = map.entrySet().iterator();
+          return
+            new Iterator<Map.Entry<String, Object>>()
+            {
+              private Object value;
+
+              public boolean hasNext()
+              {
+                return iterator.hasNext();
+              }
+
+              public Map.Entry<String, Object> next()
+              {
+                Map.Entry<Object, Object> entry = iterator.next();
+                value = entry.getValue();
+                return
+                  new SimpleEntry<String, Object>((String)unmask(entry.getKey()), unmask(value))
+                  {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public Object setValue(Object newValue)
+                    {
+                      super.setValue(newValue);
+                      return put(getKey(), newValue);
+                    }
+                  };
+              }
+
+              public void remove()
+              {
+                iterator.remove();
+                removed(value);
+              }
+            };
+        }
+      };
+  }
+
+  /**
+   * Returns whether this map or the delegate map contains this key. Note that
+   * if there is a delegate map, the result of this method may
+   * <em><b>not</b></em> be the same as <code>keySet().contains(key)</code>.
+   * @param key the key whose presence in this map is to be tested.
+   * @return whether this map or the delegate map contains this key.
+   */
+  @Override
+  public boolean containsKey(Object key)
+  {
+    return map.containsKey(mask(key)) || delegateRegistry != null && delegateRegistry.containsKey(key);
+  }
+}
@@ -0,0 +1,1460 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.impl;
+
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * A factory for dynamic packages that creates instances of classes generated at runtime for each dynamic class.
+ * <p>
+ * A {@link DynamicEObjectImpl} holds the values of its features in an array of objects,
+ * so every primitive value is boxed.
+ * Each instance created by this factory is an instance of a {@link DynamicClassEObjectImpl subclass}
+ * generated for its {@link EClass}, much like the class GenModel would generate:
+ * each feature's value is held in a field,
+ * and the value of a single-valued attribute of primitive type that isn't unsettable is held in a field of that primitive type.
+ * The behavior of the instances is otherwise that of a {@link DynamicEObjectImpl},
+ * i.e., all access is via the features' setting delegates.
+ * </p>
+ * <p>
+ * To use it, set it as the factory of a dynamic package before creating any instance:
+ *<pre>
+ *  ePackage.setEFactoryInstance(new DynamicClassEFactoryImpl());
+ *</pre>
+ * Each class is generated when its first instance is created and is defined by its own class loader,
+ * so a class that's no longer used by this factory is garbage collected along with its last instance.
+ * If the structural features of a class or their setting delegates change,
+ * a new class is generated for the instances created afterwards;
+ * the values of features added to the class are held by the existing instances in a {@link DynamicEObjectImpl#eSettings settings} array.
+ * Classes with an instance class name, such as map entry classes, are created as by {@link EFactoryImpl}.
+ * </p>
+ * @since 2.38
+ */
+public class DynamicClassEFactoryImpl extends EFactoryImpl
+{
+  /**
+   * The base class of the classes generated for dynamic classes.
+   * A generated class declares a field for each structural feature of its class
+   * and implements {@link #dynamicGet(int)}, {@link #dynamicSet(int, Object)}, and {@link #dynamicUnset(int)} to access them directly.
+   * The implementations in this class handle the features that aren't in the generated class,
+   * i.e., those added to the class after its generation.
+   * A generated class also implements {@link #dynamicGetPrimitive(int)} and {@link #dynamicSetPrimitive(int, long)}
+   * to access its fields of primitive type without boxing,
+   * and {@link #ePrimitiveSettingDelegates()} to provide the setting delegates that use them;
+   * reflective access by feature ID uses those setting delegates.
+   */
+  public static abstract class DynamicClassEObjectImpl extends DynamicEObjectImpl
+  {
+    /**
+     * Creates a dynamic EObject.
+     */
+    protected DynamicClassEObjectImpl()
+    {
+      super();
+    }
+
+    /**
+     * Creates a new instance of this object's generated class.
+     * @return a new instance of this object's generated class.
+     */
+    protected abstract DynamicClassEObjectImpl eNewInstance();
+
+    @Override
+    protected boolean eHasSettings()
+    {
+      return true;
+    }
+
+    @Override
+    protected EStructuralFeature.Internal.DynamicValueHolder eSettings()
+    {
+      return this;
+    }
+
+    @Override
+    public Object dynamicGet(int dynamicFeatureID)
+    {
+      return eSettings == null || dynamicFeatureID >= eSettings.length ? null : eSettings[dynamicFeatureID];
+    }
+
+    @Override
+    public void dynamicSet(int dynamicFeatureID, Object value)
+    {
+      if (eSettings == null || dynamicFeatureID >= eSettings.length)
+      {
+        Object [] newSettings = new Object [Math.max(dynamicFeatureID + 1, eClass().getFeatureCount())];
+        if (eSettings != null)
+        {
+          System.arraycopy(eSettings, 0, newSettings, 0, eSettings.length);
+        }
+        eSettings = newSettings;
+      }
+      eSettings[dynamicFeatureID] = value;
+    }
+
+    @Override
+    public void dynamicUnset(int dynamicFeatureID)
+    {
+      if (eSettings != null && dynamicFeatureID < eSettings.length)
+      {
+        eSettings[dynamicFeatureID] = null;
+      }
+    }
+
+    /**
+     * Returns the value of a feature held in a field of primitive type, as bits:
+     * 0 or 1 for a boolean, the value for an integral type, and the raw bits for a floating point type.
+     * @param dynamicFeatureID the feature's index in the cached dynamic values.
+     * @return the bits of the feature's value.
+     * @throws IllegalArgumentException if the feature isn't held in a field of primitive type.
+     */
+    public long dynamicGetPrimitive(int dynamicFeatureID)
+    {
+      throw new IllegalArgumentException("The feature ID " + dynamicFeatureID + " isn't held in a field of primitive type");
+    }
+
+    /**
+     * Sets the value of a feature held in a field of primitive type, from bits as returned by {@link #dynamicGetPrimitive(int)}.
+     * @param dynamicFeatureID the feature's index in the cached dynamic values.
+     * @param bits the bits of the new value for the feature.
+     * @throws IllegalArgumentException if the feature isn't held in a field of primitive type.
+     */
+    public void dynamicSetPrimitive(int dynamicFeatureID, long bits)
+    {
+      throw new IllegalArgumentException("The feature ID " + dynamicFeatureID + " isn't held in a field of primitive type");
+    }
+
+    /**
+     * Returns the setting delegates that access the fields of primitive type of this object's generated class,
+     * indexed by feature ID, with <code>null</code> for each feature that isn't held in a field of primitive type.
+     * @return the setting delegates of the fields of primitive type.
+     */
+    protected abstract EStructuralFeature.Internal.SettingDelegate[] ePrimitiveSettingDelegates();
+
+    private EStructuralFeature.Internal.SettingDelegate ePrimitiveSettingDelegate(int featureID)
+    {
+      EStructuralFeature.Internal.SettingDelegate[] primitiveSettingDelegates = ePrimitiveSettingDelegates();
+      return featureID >= 0 && featureID < primitiveSettingDelegates.length ? primitiveSettingDelegates[featureID] : null;
+    }
+
+    @Override
+    public Object eGet(int featureID, boolean resolve, boolean coreType)
+    {
+      EStructuralFeature.Internal.SettingDelegate primitiveSettingDelegate = ePrimitiveSettingDelegate(featureID);
+      if (primitiveSettingDelegate != null)
+      {
+        return primitiveSettingDelegate.dynamicGet(this, this, featureID, resolve, coreType);
+      }
+      else
+      {
+        return super.eGet(featureID, resolve, coreType);
+      }
+    }
+
+    @Override
+    public void eSet(int featureID, Object newValue)
+    {
+      EStructuralFeature.Internal.SettingDelegate primitiveSettingDelegate = ePrimitiveSettingDelegate(featureID);
+      if (primitiveSettingDelegate != null)
+      {
+        EStructuralFeature eFeature = eClass().getEStructuralFeature(featureID);
+        if (!eFeature.isChangeable())
+        {
+          throw new IllegalArgumentException("The feature '" + eFeature.getName() + "' is not a valid changeable feature");
+        }
+        primitiveSettingDelegate.dynamicSet(this, this, featureID, newValue);
+      }
+      else
+      {
+        super.eSet(featureID, newValue);
+      }
+    }
+
+    @Override
+    public void eUnset(int featureID)
+    {
+      EStructuralFeature.Internal.SettingDelegate primitiveSettingDelegate = ePrimitiveSettingDelegate(featureID);
+      if (primitiveSettingDelegate != null)
+      {
+        EStructuralFeature eFeature = eClass().getEStructuralFeature(featureID);
+        if (!eFeature.isChangeable())
+        {
+          throw new IllegalArgumentException("The feature '" + eFeature.getName() + "' is not a valid changeable feature");
+        }
+        primitiveSettingDelegate.dynamicUnset(this, this, featureID);
+      }
+      else
+      {
+        super.eUnset(featureID);
+      }
+    }
+
+    @Override
+    public boolean eIsSet(int featureID)
+    {
+      EStructuralFeature.Internal.SettingDelegate primitiveSettingDelegate = ePrimitiveSettingDelegate(featureID);
+      if (primitiveSettingDelegate != null)
+      {
+        return primitiveSettingDelegate.dynamicIsSet(this, this, featureID);
+      }
+      else
+      {
+        return super.eIsSet(featureID);
+      }
+    }
+  }
+
+  /**
+   * The setting delegate of a single-valued attribute held in a field of primitive type,
+   * which accesses the field via {@link DynamicClassEObjectImpl#dynamicGetPrimitive(int)} and {@link DynamicClassEObjectImpl#dynamicSetPrimitive(int, long)},
+   * so that the value is boxed only when it's returned.
+   */
+  private static final class PrimitiveSettingDelegate extends EStructuralFeatureImpl.InternalSettingDelegateSingleDataStatic
+  {
+    private final PrimitiveType primitiveType;
+
+    private final long defaultBits;
+
+    PrimitiveSettingDelegate(EStructuralFeatureImpl.InternalSettingDelegateSingleDataStatic settingDelegate, PrimitiveType primitiveType)
+    {
+      super(settingDelegate.dataClass, settingDelegate.defaultValue, settingDelegate.intrinsicDefaultValue, settingDelegate.feature);
+      this.primitiveType = primitiveType;
+      defaultBits = primitiveType.unbox(defaultValue);
+    }
+
+    @Override
+    public Object dynamicGet(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int index, boolean resolve, boolean coreType)
+    {
+      return primitiveType.box(((DynamicClassEObjectImpl)settings).dynamicGetPrimitive(index));
+    }
+
+    @Override
+    public void dynamicSet(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int index, Object newValue)
+    {
+      long newBits;
+      if (newValue == null)
+      {
+        newBits = defaultBits;
+      }
+      else
+      {
+        validate(newValue);
+        newBits = primitiveType.unbox(newValue);
+      }
+      set(owner, (DynamicClassEObjectImpl)settings, index, newBits);
+    }
+
+    @Override
+    public void dynamicUnset(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int index)
+    {
+      set(owner, (DynamicClassEObjectImpl)settings, index, defaultBits);
+    }
+
+    private void set(InternalEObject owner, DynamicClassEObjectImpl settings, int index, long newBits)
+    {
+      if (owner.eNotificationRequired())
+      {
+        long oldBits = settings.dynamicGetPrimitive(index);
+        settings.dynamicSetPrimitive(index, newBits);
+        owner.eNotify(primitiveType.createNotification(owner, feature, oldBits, newBits));
+      }
+      else
+      {
+        settings.dynamicSetPrimitive(index, newBits);
+      }
+    }
+
+    @Override
+    public boolean dynamicIsSet(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int index)
+    {
+      return !primitiveType.equals(((DynamicClassEObjectImpl)settings).dynamicGetPrimitive(index), defaultBits);
+    }
+  }
+
+  /**
+   * An instance of the generated class of a dynamic class,
+   * along with the setting delegates of the class for which it was generated.
+   */
+  private static final class Prototype
+  {
+    final EStructuralFeature.Internal.SettingDelegate[] settingDelegates;
+
+    final DynamicClassEObjectImpl instance;
+
+    Prototype(EStructuralFeature.Internal.SettingDelegate[] settingDelegates, DynamicClassEObjectImpl instance)
+    {
+      this.settingDelegates = settingDelegates;
+      this.instance = instance;
+    }
+  }
+
+  /**
+   * The prototypes of the generated classes.
+   */
+  private final ConcurrentMap<EClass, Prototype> prototypes = new ConcurrentHashMap<EClass, Prototype>();
+
+  /**
+   * Creates an instance.
+   */
+  public DynamicClassEFactoryImpl()
+  {
+    super();
+  }
+
+  /**
+   * Creates an instance of the class generated for the dynamic class.
+   */
+  @Override
+  protected EObject basicCreate(EClass eClass)
+  {
+    if (eClass instanceof EClassImpl && eClass.getInstanceClassName() == null)
+    {
+      DynamicClassEObjectImpl result = getPrototype((EClassImpl)eClass).eNewInstance();
+      result.eSetClass(eClass);
+      return result;
+    }
+    else
+    {
+      return super.basicCreate(eClass);
+    }
+  }
+
+  /**
+   * Returns the generated class used for instances of the dynamic class, generating it if needed.
+   * @param eClass the dynamic class.
+   * @return the generated class.
+   */
+  public Class<? extends DynamicClassEObjectImpl> getGeneratedClass(EClass eClass)
+  {
+    return getPrototype((EClassImpl)eClass).getClass();
+  }
+
+  /**
+   * Returns an instance of the class generated for the current features of the dynamic class.
+   */
+  private DynamicClassEObjectImpl getPrototype(EClassImpl eClass)
+  {
+    EStructuralFeature.Internal.SettingDelegate[] settingDelegates = eClass.getEAllStructuralFeatureSettingDelegates();
+    Prototype prototype = prototypes.get(eClass);
+    if (prototype == null || prototype.settingDelegates != settingDelegates)
+    {
+      synchronized (this)
+      {
+        prototype = prototypes.get(eClass);
+        if (prototype == null || prototype.settingDelegates != settingDelegates)
+        {
+          prototype = new Prototype(settingDelegates, generate(eClass, settingDelegates));
+          prototypes.put(eClass, prototype);
+        }
+      }
+    }
+    return prototype.instance;
+  }
+
+  /**
+   * Generates and defines the class for the dynamic class with the given setting delegates,
+   * and returns an instance of it.
+   * @param eClass the dynamic class.
+   * @param settingDelegates the setting delegates of the class's structural features.
+   * @return an instance of the generated class.
+   */
+  protected DynamicClassEObjectImpl generate(EClass eClass, EStructuralFeature.Internal.SettingDelegate[] settingDelegates)
+  {
+    String className = getGeneratedClassName(eClass);
+    ClassGenerator classGenerator = new ClassGenerator(className.replace('.', '/'), eClass, settingDelegates);
+    byte[] bytes = classGenerator.generate();
+    try
+    {
+      Class<?> generatedClass = new GeneratedClassLoader(DynamicClassEObjectImpl.class.getClassLoader()).define(className, bytes);
+      generatedClass.getField(ClassGenerator.PRIMITIVE_SETTING_DELEGATES).set(null, classGenerator.getPrimitiveSettingDelegates(settingDelegates));
+      return (DynamicClassEObjectImpl)generatedClass.getConstructor().newInstance();
+    }
+    catch (Exception exception)
+    {
+      throw new IllegalStateException("The class for '" + eClass.getName() + "' could not be generated", exception);
+    }
+  }
+
+  /**
+   * Returns the qualified name of the class generated for the dynamic class,
+   * i.e., the package's qualified name followed by <code>impl</code>, and the class name followed by <code>Impl</code>,
+   * as GenModel would generate without a base package.
+   * @param eClass the dynamic class.
+   * @return the qualified name of the class generated for the dynamic class.
+   */
+  protected String getGeneratedClassName(EClass eClass)
+  {
+    StringBuilder result = new StringBuilder();
+    for (EPackage ePackage = eClass.getEPackage(); ePackage != null; ePackage = ePackage.getESuperPackage())
+    {
+      result.insert(0, '.');
+      result.insert(0, getJavaIdentifier(ePackage.getName(), "dynamic").toLowerCase());
+    }
+    if (result.length() == 0 || result.indexOf("java.") == 0)
+    {
+      result.insert(0, "dynamic.");
+    }
+    result.append("impl.");
+    result.append(getJavaIdentifier(eClass.getName(), "Dynamic"));
+    result.append("Impl");
+    return result.toString();
+  }
+
+  private static String getJavaIdentifier(String name, String defaultName)
+  {
+    if (name == null || name.length() == 0)
+    {
+      return defaultName;
+    }
+    StringBuilder result = new StringBuilder(name.length());
+    for (int i = 0, length = name.length(); i < length; ++i)
+    {
+      char character = name.charAt(i);
+      result.append(i == 0 ? Character.isJavaIdentifierStart(character) ? character : '_' : Character.isJavaIdentifierPart(character) ? character : '_');
+    }
+    return result.toString();
+  }
+
+  /**
+   * A class loader that defines a single generated class.
+   */
+  private static final class GeneratedClassLoader extends ClassLoader
+  {
+    GeneratedClassLoader(ClassLoader parent)
+    {
+      super(parent);
+    }
+
+    Class<?> define(String className, byte[] bytes)
+    {
+      return defineClass(className, bytes, 0, bytes.length, DynamicClassEObjectImpl.class.getProtectionDomain());
+    }
+  }
+
+  /**
+   * The storage of a feature value in a field of primitive type.
+   */
+  private enum PrimitiveType
+  {
+    BOOLEAN(Boolean.TYPE, "Z", "java/lang/Boolean", "booleanValue"),
+    BYTE(Byte.TYPE, "B", "java/lang/Byte", "byteValue"),
+    CHAR(Character.TYPE, "C", "java/lang/Character", "charValue"),
+    SHORT(Short.TYPE, "S", "java/lang/Short", "shortValue"),
+    INT(Integer.TYPE, "I", "java/lang/Integer", "intValue"),
+    LONG(Long.TYPE, "J", "java/lang/Long", "longValue"),
+    FLOAT(Float.TYPE, "F", "java/lang/Float", "floatValue"),
+    DOUBLE(Double.TYPE, "D", "java/lang/Double", "doubleValue");
+
+    final Class<?> instanceClass;
+    final String descriptor;
+    final String wrapperClassName;
+    final String unboxMethodName;
+
+    PrimitiveType(Class<?> instanceClass, String descriptor, String wrapperClassName, String unboxMethodName)
+    {
+      this.instanceClass = instanceClass;
+      this.descriptor = descriptor;
+      this.wrapperClassName = wrapperClassName;
+      this.unboxMethodName = unboxMethodName;
+    }
+
+    static PrimitiveType get(Class<?> instanceClass)
+    {
+      for (PrimitiveType primitiveType : values())
+      {
+        if (primitiveType.instanceClass == instanceClass)
+        {
+          return primitiveType;
+        }
+      }
+      return null;
+    }
+
+    boolean isWide()
+    {
+      return this == LONG || this == DOUBLE;
+    }
+
+    /**
+     * Returns the boxed value for the bits of a value of this type.
+     * @see DynamicClassEObjectImpl#dynamicGetPrimitive(int)
+     */
+    Object box(long bits)
+    {
+      switch (this)
+      {
+        case BOOLEAN:
+        {
+          return bits != 0;
+        }
+        case BYTE:
+        {
+          return (byte)bits;
+        }
+        case CHAR:
+        {
+          return (char)bits;
+        }
+        case SHORT:
+        {
+          return (short)bits;
+        }
+        case INT:
+        {
+          return (int)bits;
+        }
+        case FLOAT:
+        {
+          return Float.intBitsToFloat((int)bits);
+        }
+        case DOUBLE:
+        {
+          return Double.longBitsToDouble(bits);
+        }
+        default:
+        {
+          return bits;
+        }
+      }
+    }
+
+    /**
+     * Returns the bits of a boxed value of this type.
+     * @see DynamicClassEObjectImpl#dynamicGetPrimitive(int)
+     */
+    long unbox(Object value)
+    {
+      switch (this)
+      {
+        case BOOLEAN:
+        {
+          return (Boolean)value ? 1 : 0;
+        }
+        case CHAR:
+        {
+          return (Character)value;
+        }
+        case FLOAT:
+        {
+          return Float.floatToRawIntBits((Float)value);
+        }
+        case DOUBLE:
+        {
+          return Double.doubleToRawLongBits((Double)value);
+        }
+        default:
+        {
+          return ((Number)value).longValue();
+        }
+      }
+    }
+
+    /**
+     * Returns whether the bits of two values of this type represent equal values,
+     * comparing floating point values as {@link Float#equals(Object)} and {@link Double#equals(Object)} do.
+     */
+    boolean equals(long bits, long otherBits)
+    {
+      switch (this)
+      {
+        case FLOAT:
+        {
+          return Float.floatToIntBits(Float.intBitsToFloat((int)bits)) == Float.floatToIntBits(Float.intBitsToFloat((int)otherBits));
+        }
+        case DOUBLE:
+        {
+          return Double.doubleToLongBits(Double.longBitsToDouble(bits)) == Double.doubleToLongBits(Double.longBitsToDouble(otherBits));
+        }
+        default:
+        {
+          return bits == otherBits;
+        }
+      }
+    }
+
+    /**
+     * Creates a notification of the change of a feature of this type from the old value to the new value, given as bits.
+     */
+    Notification createNotification(InternalEObject notifier, EStructuralFeature feature, long oldBits, long newBits)
+    {
+      switch (this)
+      {
+        case BOOLEAN:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, oldBits != 0, newBits != 0);
+        }
+        case BYTE:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, (byte)oldBits, (byte)newBits);
+        }
+        case CHAR:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, (char)oldBits, (char)newBits);
+        }
+        case SHORT:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, (short)oldBits, (short)newBits);
+        }
+        case INT:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, (int)oldBits, (int)newBits);
+        }
+        case FLOAT:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, Float.intBitsToFloat((int)oldBits), Float.intBitsToFloat((int)newBits));
+        }
+        case DOUBLE:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, Double.longBitsToDouble(oldBits), Double.longBitsToDouble(newBits));
+        }
+        default:
+        {
+          return new ENotificationImpl(notifier, Notification.SET, feature, oldBits, newBits);
+        }
+      }
+    }
+  }
+
+  /**
+   * Generates the class file of the class for a dynamic class.
+   * The class file has the version of Java 5 so that it's verified without stack map frames.
+   */
+  private static final class ClassGenerator
+  {
+    private static final String SUPER_CLASS_NAME = DynamicClassEObjectImpl.class.getName().replace('.', '/');
+
+    /**
+     * The name of the public static field of the generated class that holds its {@link DynamicClassEObjectImpl#ePrimitiveSettingDelegates() primitive setting delegates}.
+     */
+    static final String PRIMITIVE_SETTING_DELEGATES = "PRIMITIVE_SETTING_DELEGATES";
+
+    private static final String SETTING_DELEGATES_DESCRIPTOR = "[L" + EStructuralFeature.Internal.SettingDelegate.class.getName().replace('.', '/') + ";";
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PROTECTED = 0x0004;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ACONST_NULL = 0x01;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD_1 = 0x1B;
+    private static final int LLOAD_2 = 0x20;
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_2 = 0x2C;
+    private static final int DUP = 0x59;
+    private static final int I2L = 0x85;
+    private static final int L2I = 0x88;
+    private static final int I2B = 0x91;
+    private static final int I2C = 0x92;
+    private static final int I2S = 0x93;
+    private static final int LCMP = 0x94;
+    private static final int IFNE = 0x9A;
+    private static final int IF_ICMPNE = 0xA0;
+    private static final int TABLESWITCH = 0xAA;
+    private static final int LRETURN = 0xAD;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int GETSTATIC = 0xB2;
+    private static final int GETFIELD = 0xB4;
+    private static final int PUTFIELD = 0xB5;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int NEW = 0xBB;
+    private static final int CHECKCAST = 0xC0;
+    private static final int IFNONNULL = 0xC7;
+
+    private final String className;
+
+    private final String[] fieldNames;
+
+    /**
+     * The primitive type of each field, or <code>null</code> for a field of type {@link Object}.
+     */
+    private final PrimitiveType[] primitiveTypes;
+
+    /**
+     * The default value of each primitive field.
+     */
+    private final Object[] defaultValues;
+
+    private final ClassFileBuffer constantPool = new ClassFileBuffer();
+
+    private final Map<String, Integer> constants = new HashMap<String, Integer>();
+
+    private int constantCount = 1;
+
+    ClassGenerator(String className, EClass eClass, EStructuralFeature.Internal.SettingDelegate[] settingDelegates)
+    {
+      this.className = className;
+      int featureCount = settingDelegates.length;
+      fieldNames = new String [featureCount];
+      primitiveTypes = new PrimitiveType [featureCount];
+      defaultValues = new Object [featureCount];
+      Set<String> usedFieldNames = new HashSet<String>();
+      for (int i = 0; i < featureCount; ++i)
+      {
+        EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(i);
+        String fieldName = getJavaIdentifier(eStructuralFeature.getName(), "feature");
+        if (!usedFieldNames.add(fieldName))
+        {
+          fieldName += i;
+          usedFieldNames.add(fieldName);
+        }
+        fieldNames[i] = fieldName;
+
+        // Only the values of a non-unsettable single-valued attribute are known to be of the wrapper type or null,
+        // where null represents the default value.
+        //
+        EStructuralFeature.Internal.SettingDelegate settingDelegate = settingDelegates[i];
+        if (settingDelegate.getClass() == EStructuralFeatureImpl.InternalSettingDelegateSingleDataStatic.class)
+        {
+          PrimitiveType primitiveType = PrimitiveType.get(eStructuralFeature.getEType().getInstanceClass());
+          Object defaultValue = ((EStructuralFeatureImpl.InternalSettingDelegateSingleData)settingDelegate).defaultValue;
+          if (primitiveType != null && ((EStructuralFeatureImpl.InternalSettingDelegateSingleDataStatic)settingDelegate).dataClass.isInstance(defaultValue))
+          {
+            primitiveTypes[i] = primitiveType;
+            defaultValues[i] = defaultValue;
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the setting delegates for the generated class's {@link DynamicClassEObjectImpl#ePrimitiveSettingDelegates() fields of primitive type}.
+     */
+    EStructuralFeature.Internal.SettingDelegate[] getPrimitiveSettingDelegates(EStructuralFeature.Internal.SettingDelegate[] settingDelegates)
+    {
+      EStructuralFeature.Internal.SettingDelegate[] result = new EStructuralFeature.Internal.SettingDelegate [fieldNames.length];
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        if (primitiveTypes[i] != null)
+        {
+          result[i] = new PrimitiveSettingDelegate((EStructuralFeatureImpl.InternalSettingDelegateSingleDataStatic)settingDelegates[i], primitiveTypes[i]);
+        }
+      }
+      return result;
+    }
+
+    byte[] generate()
+    {
+      int thisClass = classConstant(className);
+      int superClass = classConstant(SUPER_CLASS_NAME);
+
+      ClassFileBuffer fields = new ClassFileBuffer();
+      fields.putShort(fieldNames.length + 1);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        fields.putShort(ACC_PROTECTED);
+        fields.putShort(utf8Constant(fieldNames[i]));
+        fields.putShort(utf8Constant(getFieldDescriptor(i)));
+        fields.putShort(0);
+      }
+      fields.putShort(ACC_PUBLIC | ACC_STATIC);
+      fields.putShort(utf8Constant(PRIMITIVE_SETTING_DELEGATES));
+      fields.putShort(utf8Constant(SETTING_DELEGATES_DESCRIPTOR));
+      fields.putShort(0);
+
+      ClassFileBuffer methods = new ClassFileBuffer();
+      methods.putShort(8);
+      generateConstructor(methods);
+      generateNewInstance(methods);
+      generateDynamicGet(methods);
+      generateDynamicSet(methods);
+      generateDynamicUnset(methods);
+      generatePrimitiveSettingDelegates(methods);
+      generateDynamicGetPrimitive(methods);
+      generateDynamicSetPrimitive(methods);
+
+      ClassFileBuffer result = new ClassFileBuffer();
+      result.putInt(0xCAFEBABE);
+      result.putShort(0);
+      result.putShort(49);
+      result.putShort(constantCount);
+      result.put(constantPool);
+      result.putShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      result.putShort(thisClass);
+      result.putShort(superClass);
+      result.putShort(0);
+      result.put(fields);
+      result.put(methods);
+      result.putShort(0);
+      return result.toByteArray();
+    }
+
+    private String getFieldDescriptor(int index)
+    {
+      PrimitiveType primitiveType = primitiveTypes[index];
+      return primitiveType == null ? "Ljava/lang/Object;" : primitiveType.descriptor;
+    }
+
+    private int getFieldReference(int index)
+    {
+      return memberConstant(9, className, fieldNames[index], getFieldDescriptor(index));
+    }
+
+    /**
+     * Generates the constructor, which initializes the primitive fields whose default value isn't the intrinsic default.
+     */
+    private void generateConstructor(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      code.put(ALOAD_0);
+      code.put(INVOKESPECIAL);
+      code.putShort(memberConstant(10, SUPER_CLASS_NAME, "<init>", "()V"));
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        if (primitiveTypes[i] != null && !isIntrinsicDefault(defaultValues[i]))
+        {
+          code.put(ALOAD_0);
+          pushDefaultValue(code, i);
+          code.put(PUTFIELD);
+          code.putShort(getFieldReference(i));
+        }
+      }
+      code.put(RETURN);
+      generateMethod(methods, ACC_PUBLIC, "<init>", "()V", code, 3, 1);
+    }
+
+    private static boolean isIntrinsicDefault(Object defaultValue)
+    {
+      if (defaultValue instanceof Boolean)
+      {
+        return !(Boolean)defaultValue;
+      }
+      else if (defaultValue instanceof Character)
+      {
+        return (Character)defaultValue == 0;
+      }
+      else if (defaultValue instanceof Float)
+      {
+        return Float.floatToRawIntBits((Float)defaultValue) == 0;
+      }
+      else if (defaultValue instanceof Double)
+      {
+        return Double.doubleToRawLongBits((Double)defaultValue) == 0;
+      }
+      else
+      {
+        return ((Number)defaultValue).longValue() == 0;
+      }
+    }
+
+    private void generateNewInstance(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      code.put(NEW);
+      code.putShort(classConstant(className));
+      code.put(DUP);
+      code.put(INVOKESPECIAL);
+      code.putShort(memberConstant(10, className, "<init>", "()V"));
+      code.put(ARETURN);
+      generateMethod(methods, ACC_PROTECTED, "eNewInstance", "()L" + SUPER_CLASS_NAME + ";", code, 2, 1);
+    }
+
+    /**
+     * Generates <code>dynamicGet(int)</code>, which returns null for a primitive field with the default value.
+     */
+    private void generateDynamicGet(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      int[] cases = generateSwitch(code);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        cases[i] = code.length();
+        code.put(ALOAD_0);
+        code.put(GETFIELD);
+        code.putShort(getFieldReference(i));
+        PrimitiveType primitiveType = primitiveTypes[i];
+        if (primitiveType != null)
+        {
+          // Compare the bits of floating point values, as Float.equals and Double.equals do.
+          //
+          Object defaultValue = defaultValues[i];
+          if (primitiveType == PrimitiveType.FLOAT)
+          {
+            code.put(INVOKESTATIC);
+            code.putShort(memberConstant(10, "java/lang/Float", "floatToIntBits", "(F)I"));
+            code.put(LDC_W);
+            code.putShort(intConstant(Float.floatToIntBits((Float)defaultValue)));
+          }
+          else if (primitiveType == PrimitiveType.DOUBLE)
+          {
+            code.put(INVOKESTATIC);
+            code.putShort(memberConstant(10, "java/lang/Double", "doubleToLongBits", "(D)J"));
+            code.put(LDC2_W);
+            code.putShort(longConstant(Double.doubleToLongBits((Double)defaultValue)));
+          }
+          else
+          {
+            pushDefaultValue(code, i);
+          }
+          if (primitiveType.isWide())
+          {
+            code.put(LCMP);
+            code.put(IFNE);
+          }
+          else
+          {
+            code.put(IF_ICMPNE);
+          }
+          code.putShort(5);
+          code.put(ACONST_NULL);
+          code.put(ARETURN);
+
+          code.put(ALOAD_0);
+          code.put(GETFIELD);
+          code.putShort(getFieldReference(i));
+          code.put(INVOKESTATIC);
+          code.putShort(memberConstant(10, primitiveType.wrapperClassName, "valueOf", "(" + primitiveType.descriptor + ")L" + primitiveType.wrapperClassName + ";"));
+        }
+        code.put(ARETURN);
+      }
+      generateDefaultCase(code, cases, "dynamicGet", "(I)Ljava/lang/Object;", 0);
+      code.put(ARETURN);
+      generateMethod(methods, ACC_PUBLIC, "dynamicGet", "(I)Ljava/lang/Object;", code, 4, 2);
+    }
+
+    /**
+     * Generates <code>dynamicSet(int, Object)</code>, which sets a primitive field to its default value for null.
+     */
+    private void generateDynamicSet(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      int[] cases = generateSwitch(code);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        cases[i] = code.length();
+        PrimitiveType primitiveType = primitiveTypes[i];
+        if (primitiveType != null)
+        {
+          code.put(ALOAD_2);
+          code.put(IFNONNULL);
+          int branch = code.length();
+          code.putShort(0);
+          code.put(ALOAD_0);
+          pushDefaultValue(code, i);
+          code.put(PUTFIELD);
+          code.putShort(getFieldReference(i));
+          code.put(RETURN);
+          code.setShort(branch, code.length() - branch + 1);
+
+          code.put(ALOAD_0);
+          code.put(ALOAD_2);
+          code.put(CHECKCAST);
+          code.putShort(classConstant(primitiveType.wrapperClassName));
+          code.put(INVOKEVIRTUAL);
+          code.putShort(memberConstant(10, primitiveType.wrapperClassName, primitiveType.unboxMethodName, "()" + primitiveType.descriptor));
+        }
+        else
+        {
+          code.put(ALOAD_0);
+          code.put(ALOAD_2);
+        }
+        code.put(PUTFIELD);
+        code.putShort(getFieldReference(i));
+        code.put(RETURN);
+      }
+      generateDefaultCase(code, cases, "dynamicSet", "(ILjava/lang/Object;)V", ALOAD_2);
+      code.put(RETURN);
+      generateMethod(methods, ACC_PUBLIC, "dynamicSet", "(ILjava/lang/Object;)V", code, 3, 3);
+    }
+
+    /**
+     * Generates <code>dynamicUnset(int)</code>, which sets a primitive field to its default value.
+     */
+    private void generateDynamicUnset(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      int[] cases = generateSwitch(code);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        cases[i] = code.length();
+        code.put(ALOAD_0);
+        if (primitiveTypes[i] != null)
+        {
+          pushDefaultValue(code, i);
+        }
+        else
+        {
+          code.put(ACONST_NULL);
+        }
+        code.put(PUTFIELD);
+        code.putShort(getFieldReference(i));
+        code.put(RETURN);
+      }
+      generateDefaultCase(code, cases, "dynamicUnset", "(I)V", 0);
+      code.put(RETURN);
+      generateMethod(methods, ACC_PUBLIC, "dynamicUnset", "(I)V", code, 3, 2);
+    }
+
+    /**
+     * Generates <code>ePrimitiveSettingDelegates()</code>, which returns the value of the static field that the factory sets.
+     */
+    private void generatePrimitiveSettingDelegates(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      code.put(GETSTATIC);
+      code.putShort(memberConstant(9, className, PRIMITIVE_SETTING_DELEGATES, SETTING_DELEGATES_DESCRIPTOR));
+      code.put(ARETURN);
+      generateMethod(methods, ACC_PROTECTED, "ePrimitiveSettingDelegates", "()" + SETTING_DELEGATES_DESCRIPTOR, code, 1, 1);
+    }
+
+    /**
+     * Generates <code>dynamicGetPrimitive(int)</code>, which returns the bits of the value of a primitive field.
+     */
+    private void generateDynamicGetPrimitive(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      int[] cases = generateSwitch(code);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        PrimitiveType primitiveType = primitiveTypes[i];
+        if (primitiveType != null)
+        {
+          cases[i] = code.length();
+          code.put(ALOAD_0);
+          code.put(GETFIELD);
+          code.putShort(getFieldReference(i));
+          if (primitiveType == PrimitiveType.FLOAT)
+          {
+            code.put(INVOKESTATIC);
+            code.putShort(memberConstant(10, "java/lang/Float", "floatToRawIntBits", "(F)I"));
+            code.put(I2L);
+          }
+          else if (primitiveType == PrimitiveType.DOUBLE)
+          {
+            code.put(INVOKESTATIC);
+            code.putShort(memberConstant(10, "java/lang/Double", "doubleToRawLongBits", "(D)J"));
+          }
+          else if (primitiveType != PrimitiveType.LONG)
+          {
+            code.put(I2L);
+          }
+          code.put(LRETURN);
+        }
+      }
+      generateDefaultCase(code, cases, "dynamicGetPrimitive", "(I)J", 0);
+      code.put(LRETURN);
+      generateMethod(methods, ACC_PUBLIC, "dynamicGetPrimitive", "(I)J", code, 2, 2);
+    }
+
+    /**
+     * Generates <code>dynamicSetPrimitive(int, long)</code>, which sets a primitive field from the bits of its value.
+     */
+    private void generateDynamicSetPrimitive(ClassFileBuffer methods)
+    {
+      ClassFileBuffer code = new ClassFileBuffer();
+      int[] cases = generateSwitch(code);
+      for (int i = 0; i < fieldNames.length; ++i)
+      {
+        PrimitiveType primitiveType = primitiveTypes[i];
+        if (primitiveType != null)
+        {
+          cases[i] = code.length();
+          code.put(ALOAD_0);
+          code.put(LLOAD_2);
+          if (primitiveType == PrimitiveType.DOUBLE)
+          {
+            code.put(INVOKESTATIC);
+            code.putShort(memberConstant(10, "java/lang/Double", "longBitsToDouble", "(J)D"));
+          }
+          else if (primitiveType != PrimitiveType.LONG)
+          {
+            code.put(L2I);
+            if (primitiveType == PrimitiveType.FLOAT)
+            {
+              code.put(INVOKESTATIC);
+              code.putShort(memberConstant(10, "java/lang/Float", "intBitsToFloat", "(I)F"));
+            }
+            else if (primitiveType == PrimitiveType.BYTE)
+            {
+              code.put(I2B);
+            }
+            else if (primitiveType == PrimitiveType.CHAR)
+            {
+              code.put(I2C);
+            }
+            else if (primitiveType == PrimitiveType.SHORT)
+            {
+              code.put(I2S);
+            }
+          }
+          code.put(PUTFIELD);
+          code.putShort(getFieldReference(i));
+          code.put(RETURN);
+        }
+      }
+      generateDefaultCase(code, cases, "dynamicSetPrimitive", "(IJ)V", LLOAD_2);
+      code.put(RETURN);
+      generateMethod(methods, ACC_PUBLIC, "dynamicSetPrimitive", "(IJ)V", code, 4, 4);
+    }
+
+    /**
+     * Generates a <code>tableswitch</code> on the feature ID in local 1, if there are any fields.
+     * The default case and the case for each field must be {@link #generateDefaultCase(ClassFileBuffer, int[], String, String, int) recorded};
+     * a field whose case isn't recorded is handled by the default case.
+     * @return an array for the offsets of the cases in the code, with the offset of the switch itself after them.
+     */
+    private int[] generateSwitch(ClassFileBuffer code)
+    {
+      int[] cases = new int [fieldNames.length + 1];
+      Arrays.fill(cases, -1);
+      if (fieldNames.length > 0)
+      {
+        code.put(ILOAD_1);
+        int start = code.length();
+        cases[fieldNames.length] = start;
+        code.put(TABLESWITCH);
+        while (code.length() % 4 != 0)
+        {
+          code.put(0);
+        }
+        code.putInt(0);
+        code.putInt(0);
+        code.putInt(fieldNames.length - 1);
+        for (int i = 0; i < fieldNames.length; ++i)
+        {
+          code.putInt(0);
+        }
+      }
+      return cases;
+    }
+
+    /**
+     * Generates the default case, which delegates to the super class with the feature ID in local 1
+     * and the value, if any, in local 2, loaded by the given instruction, or 0 if there's no value,
+     * and patches the offsets of the <code>tableswitch</code>.
+     * The caller generates the return instruction.
+     */
+    private void generateDefaultCase(ClassFileBuffer code, int[] cases, String methodName, String methodDescriptor, int valueLoad)
+    {
+      int defaultCase = code.length();
+      code.put(ALOAD_0);
+      code.put(ILOAD_1);
+      if (valueLoad != 0)
+      {
+        code.put(valueLoad);
+      }
+      code.put(INVOKESPECIAL);
+      code.putShort(memberConstant(10, SUPER_CLASS_NAME, methodName, methodDescriptor));
+
+      if (fieldNames.length > 0)
+      {
+        int start = cases[fieldNames.length];
+        int table = start + 1;
+        while (table % 4 != 0)
+        {
+          ++table;
+        }
+        code.setInt(table, defaultCase - start);
+        for (int i = 0; i < fieldNames.length; ++i)
+        {
+          code.setInt(table + 12 + 4 * i, (cases[i] == -1 ? defaultCase : cases[i]) - start);
+        }
+      }
+    }
+
+    private void pushDefaultValue(ClassFileBuffer code, int index)
+    {
+      Object defaultValue = defaultValues[index];
+      switch (primitiveTypes[index])
+      {
+        case BOOLEAN:
+        {
+          code.put(LDC_W);
+          code.putShort(intConstant((Boolean)defaultValue ? 1 : 0));
+          break;
+        }
+        case CHAR:
+        {
+          code.put(LDC_W);
+          code.putShort(intConstant((Character)defaultValue));
+          break;
+        }
+        case LONG:
+        {
+          code.put(LDC2_W);
+          code.putShort(longConstant((Long)defaultValue));
+          break;
+        }
+        case FLOAT:
+        {
+          code.put(LDC_W);
+          code.putShort(floatConstant((Float)defaultValue));
+          break;
+        }
+        case DOUBLE:
+        {
+          code.put(LDC2_W);
+          code.putShort(doubleConstant((Double)defaultValue));
+          break;
+        }
+        default:
+        {
+          code.put(LDC_W);
+          code.putShort(intConstant(((Number)defaultValue).intValue()));
+          break;
+        }
+      }
+    }
+
+    private void generateMethod(ClassFileBuffer methods, int access, String name, String descriptor, ClassFileBuffer code, int maxStack, int maxLocals)
+    {
+      methods.putShort(access);
+      methods.putShort(utf8Constant(name));
+      methods.putShort(utf8Constant(descriptor));
+      methods.putShort(1);
+      methods.putShort(utf8Constant("Code"));
+      methods.putInt(12 + code.length());
+      methods.putShort(maxStack);
+      methods.putShort(maxLocals);
+      methods.putInt(code.length());
+      methods.put(code);
+      methods.putShort(0);
+      methods.putShort(0);
+    }
+
+    private int utf8Constant(String value)
+    {
+      String key = "U" + value;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        constantPool.put(1);
+        constantPool.putUTF(value);
+        result = addConstant(key, 1);
+      }
+      return result;
+    }
+
+    private int classConstant(String internalName)
+    {
+      String key = "C" + internalName;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        int name = utf8Constant(internalName);
+        constantPool.put(7);
+        constantPool.putShort(name);
+        result = addConstant(key, 1);
+      }
+      return result;
+    }
+
+    /**
+     * Returns the index of a field reference, for tag 9, or a method reference, for tag 10.
+     */
+    private int memberConstant(int tag, String owner, String name, String descriptor)
+    {
+      String key = "M" + tag + owner + '.' + name + descriptor;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        int ownerClass = classConstant(owner);
+        String nameAndTypeKey = "N" + name + ' ' + descriptor;
+        Integer nameAndType = constants.get(nameAndTypeKey);
+        if (nameAndType == null)
+        {
+          int nameIndex = utf8Constant(name);
+          int descriptorIndex = utf8Constant(descriptor);
+          constantPool.put(12);
+          constantPool.putShort(nameIndex);
+          constantPool.putShort(descriptorIndex);
+          nameAndType = addConstant(nameAndTypeKey, 1);
+        }
+        constantPool.put(tag);
+        constantPool.putShort(ownerClass);
+        constantPool.putShort(nameAndType);
+        result = addConstant(key, 1);
+      }
+      return result;
+    }
+
+    private int intConstant(int value)
+    {
+      String key = "I" + value;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        constantPool.put(3);
+        constantPool.putInt(value);
+        result = addConstant(key, 1);
+      }
+      return result;
+    }
+
+    private int floatConstant(float value)
+    {
+      int bits = Float.floatToRawIntBits(value);
+      String key = "F" + bits;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        constantPool.put(4);
+        constantPool.putInt(bits);
+        result = addConstant(key, 1);
+      }
+      return result;
+    }
+
+    private int longConstant(long value)
+    {
+      String key = "J" + value;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        constantPool.put(5);
+        constantPool.putLong(value);
+        result = addConstant(key, 2);
+      }
+      return result;
+    }
+
+    private int doubleConstant(double value)
+    {
+      long bits = Double.doubleToRawLongBits(value);
+      String key = "D" + bits;
+      Integer result = constants.get(key);
+      if (result == null)
+      {
+        constantPool.put(6);
+        constantPool.putLong(bits);
+        result = addConstant(key, 2);
+      }
+      return result;
+    }
+
+    /**
+     * Records the constant just written to the pool; long and double constants take two entries.
+     */
+    private int addConstant(String key, int size)
+    {
+      int result = constantCount;
+      constantCount += size;
+      constants.put(key, result);
+      return result;
+    }
+  }
+
+  /**
+   * A growable big-endian byte buffer that supports patching what's been written.
+   */
+  private static final class ClassFileBuffer
+  {
+    private byte[] bytes = new byte [256];
+
+    private int length;
+
+    int length()
+    {
+      return length;
+    }
+
+    void put(int value)
+    {
+      ensureCapacity(1);
+      bytes[length++] = (byte)value;
+    }
+
+    void putShort(int value)
+    {
+      ensureCapacity(2);
+      bytes[length++] = (byte)(value >>> 8);
+      bytes[length++] = (byte)value;
+    }
+
+    void putInt(int value)
+    {
+      putShort(value >>> 16);
+      putShort(value);
+    }
+
+    void putLong(long value)
+    {
+      putInt((int)(value >>> 32));
+      putInt((int)value);
+    }
+
+    void putUTF(String value)
+    {
+      ClassFileBuffer encoded = new ClassFileBuffer();
+      for (int i = 0, length = value.length(); i < length; ++i)
+      {
+        char character = value.charAt(i);
+        if (character >= 0x0001 && character <= 0x007F)
+        {
+          encoded.put(character);
+        }
+        else if (character <= 0x07FF)
+        {
+          encoded.put(0xC0 | character >> 6 & 0x1F);
+          encoded.put(0x80 | character & 0x3F);
+        }
+        else
+        {
+          encoded.put(0xE0 | character >> 12 & 0x0F);
+          encoded.put(0x80 | character >> 6 & 0x3F);
+          encoded.put(0x80 | character & 0x3F);
+        }
+      }
+      putShort(encoded.length);
+      put(encoded);
+    }
+
+    void put(ClassFileBuffer buffer)
+    {
+      ensureCapacity(buffer.length);
+      System.arraycopy(buffer.bytes, 0, bytes, length, buffer.length);
+      length += buffer.length;
+    }
+
+    void setShort(int index, int value)
+    {
+      bytes[index] = (byte)(value >>> 8);
+      bytes[index + 1] = (byte)value;
+    }
+
+    void setInt(int index, int value)
+    {
+      setShort(index, value >>> 16);
+      setShort(index + 2, value);
+    }
+
+    byte[] toByteArray()
+    {
+      return Arrays.copyOf(bytes, length);
+    }
+
+    private void ensureCapacity(int size)
+    {
+      if (length + size > bytes.length)
+      {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + size));
+      }
+    }
+  }
+}
@@ -12,6 +12,8 @@ package org.eclipse.emf.ecore.impl;
 
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.emf.common.util.BasicEMap;
 import org.eclipse.emf.common.util.EList;
@@ -246,6 +248,114 @@ public class DynamicEObjectImpl extends EObjectImpl implements EStructuralFeatur
     return this;
   }
 
+  /**
+   * Returns the class's {@link EClassImpl#getEAllStructuralFeatureSettingDelegates() table} of setting delegates,
+   * if it has a setting delegate for the dynamic feature ID,
+   * and if this object's class doesn't specialize {@link #eSettingDelegate(EStructuralFeature)};
+   * returns <code>null</code> otherwise.
+   */
+  private EStructuralFeature.Internal.SettingDelegate[] eSettingDelegates(EClass eClass, int featureID, int dynamicFeatureID)
+  {
+    if (dynamicFeatureID >= 0 && eClass instanceof EClassImpl)
+    {
+      Class<?> theClass = getClass();
+      if (theClass == DynamicEObjectImpl.class || !OverrideChecker.hasSettingDelegateOverride(theClass))
+      {
+        EStructuralFeature.Internal.SettingDelegate[] settingDelegates = ((EClassImpl)eClass).getEAllStructuralFeatureSettingDelegates();
+        if (featureID < settingDelegates.length)
+        {
+          return settingDelegates;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Dispatches directly to the feature's setting delegate
+   * in the class's {@link EClassImpl#getEAllStructuralFeatureSettingDelegates() table},
+   * unless {@link #eSettingDelegate(EStructuralFeature)} is specialized.
+   */
+  @Override
+  public Object eGet(int featureID, boolean resolve, boolean coreType)
+  {
+    int dynamicFeatureID = featureID - eStaticFeatureCount();
+    EStructuralFeature.Internal.SettingDelegate[] settingDelegates = eSettingDelegates(eClass(), featureID, dynamicFeatureID);
+    if (settingDelegates != null)
+    {
+      return settingDelegates[featureID].dynamicGet(this, eSettings(), dynamicFeatureID, resolve, coreType);
+    }
+    else
+    {
+      return super.eGet(featureID, resolve, coreType);
+    }
+  }
+
+  /**
+   * Dispatches directly to the feature's setting delegate
+   * in the class's {@link EClassImpl#getEAllStructuralFeatureSettingDelegates() table},
+   * unless {@link #eSettingDelegate(EStructuralFeature)} is specialized.
+   */
+  @Override
+  public void eSet(int featureID, Object newValue)
+  {
+    EClass eClass = eClass();
+    int dynamicFeatureID = featureID - eStaticFeatureCount();
+    EStructuralFeature.Internal.SettingDelegate[] settingDelegates = eSettingDelegates(eClass, featureID, dynamicFeatureID);
+    if (settingDelegates != null)
+    {
+      EStructuralFeature eFeature = eClass.getEStructuralFeature(featureID);
+      if (!eFeature.isChangeable())
+      {
+        throw new IllegalArgumentException("The feature '" + eFeature.getName() + "' is not a valid changeable feature");
+      }
+      settingDelegates[featureID].dynamicSet(this, eSettings(), dynamicFeatureID, newValue);
+    }
+    else
+    {
+      super.eSet(featureID, newValue);
+    }
+  }
+
+  /**
+   * Determines whether a class specializes {@link BasicEObjectImpl#eSettingDelegate(EStructuralFeature)}.
+   */
+  private static class OverrideChecker
+  {
+    private static final Map<Class<?>, Boolean> CLASSES_WITH_OVERRIDES = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    public static boolean hasSettingDelegateOverride(Class<?> dynamicEObjectClass)
+    {
+      Boolean result = CLASSES_WITH_OVERRIDES.get(dynamicEObjectClass);
+      if (result == null)
+      {
+        try
+        {
+          result = Boolean.FALSE;
+          for (Class<?> theClass = dynamicEObjectClass; theClass != DynamicEObjectImpl.class; theClass = theClass.getSuperclass())
+          {
+            try
+            {
+              theClass.getDeclaredMethod("eSettingDelegate", EStructuralFeature.class);
+              result = Boolean.TRUE;
+              break;
+            }
+            catch (NoSuchMethodException noSuchMethodException)
+            {
+            }
+          }
+        }
+        catch (Exception exception)
+        {
+          result = Boolean.TRUE;
+        }
+
+        CLASSES_WITH_OVERRIDES.put(dynamicEObjectClass, result);
+      }
+      return result;
+    }
+  }
+
   @Override
   protected int eStaticOperationCount()
   {
@@ -112,6 +112,13 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
    */
   protected EGenericType[] eAllStructuralFeatureTypes;
 
+  /**
+   * The setting delegates of the {@link #eAllStructuralFeaturesData features}, indexed by feature ID.
+   * @see #getEAllStructuralFeatureSettingDelegates()
+   * @since 2.38
+   */
+  protected EStructuralFeature.Internal.SettingDelegate[] eAllStructuralFeatureSettingDelegates;
+
   /**
    * <!-- begin-user-doc -->
    * <!-- end-user-doc -->
@@ -1490,6 +1497,51 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
         null;
   }
 
+  /**
+   * Returns the {@link EStructuralFeature.Internal#getSettingDelegate() setting delegates} of all the structural features,
+   * indexed by feature ID, for dispatching reflective access directly to the setting delegate of a feature.
+   * The table is built once,
+   * and is discarded when the {@link #getEAllStructuralFeatures() structural features} of this class change
+   * or when a setting delegate is {@link EStructuralFeature.Internal#setSettingDelegate(EStructuralFeature.Internal.SettingDelegate) replaced}.
+   * The table must not be modified.
+   * @return the setting delegates of all the structural features, indexed by feature ID.
+   * @since 2.38
+   */
+  public EStructuralFeature.Internal.SettingDelegate[] getEAllStructuralFeatureSettingDelegates()
+  {
+    EStructuralFeature.Internal.SettingDelegate[] result = eAllStructuralFeatureSettingDelegates;
+    if (result == null)
+    {
+      EStructuralFeature[] eAllStructuralFeaturesData = getEAllStructuralFeaturesData();
+      result = new EStructuralFeature.Internal.SettingDelegate[eAllStructuralFeaturesData.length];
+      for (int i = 0; i < eAllStructuralFeaturesData.length; ++i)
+      {
+        result[i] = ((EStructuralFeature.Internal)eAllStructuralFeaturesData[i]).getSettingDelegate();
+      }
+      eAllStructuralFeatureSettingDelegates = result;
+    }
+    return result;
+  }
+
+  /**
+   * Discards the {@link #getEAllStructuralFeatureSettingDelegates() setting delegate table} of this class and of its known subclasses,
+   * without discarding any other cached data.
+   */
+  void discardEAllStructuralFeatureSettingDelegates()
+  {
+    eAllStructuralFeatureSettingDelegates = null;
+    if (eSuperAdapter != null && eSuperAdapter.subclasses != null)
+    {
+      for (EClass subclass : eSuperAdapter.subclasses)
+      {
+        if (subclass instanceof EClassImpl)
+        {
+          ((EClassImpl)subclass).discardEAllStructuralFeatureSettingDelegates();
+        }
+      }
+    }
+  }
+
   /**
    * <!-- begin-user-doc -->
    * <!-- end-user-doc -->
@@ -2213,6 +2265,7 @@ public class EClassImpl extends EClassifierImpl implements EClass, ESuperAdapter
               eAllStructuralFeatures = null;
               eAllStructuralFeaturesData = null;
               eAllStructuralFeatureTypes = null;
+              eAllStructuralFeatureSettingDelegates = null;
             }
             if (isAllOperationsCollectionModified())
             {
@@ -11,6 +11,7 @@
 package org.eclipse.emf.ecore.impl;
 
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.Permission;
@@ -36,6 +37,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
 
   /**
    * Creates the {@link org.eclipse.emf.ecore.EPackage.Registry#INSTANCE instance} of the global registry.
+   * The global registry is {@link ConcurrentEPackageRegistryImpl thread safe}.
    * If a {@link System#getSecurityManager() security manager} is active,
    * and <code>"classLoader"</code> {@link RuntimePermission permission} is not granted,
    * a secure delegator instance is created,
@@ -72,7 +74,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
         }
         else
         {
-          return new EPackageRegistryImpl();
+          return new ConcurrentEPackageRegistryImpl();
         }
       }
       else
@@ -83,7 +85,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
     catch (Exception exception)
     {
       EcorePlugin.INSTANCE.log(exception);
-      return new EPackageRegistryImpl();
+      return new ConcurrentEPackageRegistryImpl();
     }
   }
 
@@ -239,7 +241,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
     {
       if (classLoader != null)
       {
-        result = new EPackageRegistryImpl(getRegistry(classLoader.getParent()));
+        result = new ConcurrentEPackageRegistryImpl(getRegistry(classLoader.getParent()));
         classLoaderToRegistryMap.put(classLoader, result);
       }
     }
@@ -251,6 +253,29 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
    */
   public static class Delegator implements EPackage.Registry
   {
+    /**
+     * The registry most recently associated with a class loader.
+     * Both are held weakly,
+     * because the registry holds packages whose classes are loaded by the class loader,
+     * and the {@link EPackageRegistryImpl#classLoaderToRegistryMap map} already holds the registry as long as the class loader is reachable.
+     */
+    private static final class ClassLoaderRegistry extends WeakReference<ClassLoader>
+    {
+      final WeakReference<EPackage.Registry> registry;
+
+      ClassLoaderRegistry(ClassLoader classLoader, EPackage.Registry registry)
+      {
+        super(classLoader);
+        this.registry = new WeakReference<EPackage.Registry>(registry);
+      }
+    }
+
+    /**
+     * The registry of the most recent context class loader, which typically is the same for every lookup,
+     * so that looking it up again, which locks, isn't needed.
+     */
+    private volatile ClassLoaderRegistry classLoaderRegistry;
+
     protected EPackage.Registry delegateRegistry(ClassLoader classLoader)
     {
       return getRegistry(classLoader);
@@ -258,7 +283,23 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
 
     protected EPackage.Registry delegateRegistry()
     {
-      return delegateRegistry(getContextClassLoader());
+      ClassLoader classLoader = getContextClassLoader();
+      ClassLoaderRegistry classLoaderRegistry = this.classLoaderRegistry;
+      if (classLoaderRegistry != null && classLoader != null && classLoaderRegistry.get() == classLoader)
+      {
+        EPackage.Registry result = classLoaderRegistry.registry.get();
+        if (result != null)
+        {
+          return result;
+        }
+      }
+
+      EPackage.Registry result = delegateRegistry(classLoader);
+      if (result != null && classLoader != null)
+      {
+        this.classLoaderRegistry = new ClassLoaderRegistry(classLoader, result);
+      }
+      return result;
     }
 
     protected ClassLoader getContextClassLoader()
@@ -432,7 +473,7 @@ public class EPackageRegistryImpl extends HashMap<String, Object> implements EPa
     {
       if (classLoader != null)
       {
-        result = new EPackageRegistryImpl(getRegistrySecurely(PARENT_CLASS_LOADER_GETTER.getParent(classLoader)));
+        result = new ConcurrentEPackageRegistryImpl(getRegistrySecurely(PARENT_CLASS_LOADER_GETTER.getParent(classLoader)));
         secureClassLoaderToRegistryMap.put(classLoader, result);
       }
     }
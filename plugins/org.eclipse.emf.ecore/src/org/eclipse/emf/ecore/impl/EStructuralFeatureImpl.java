@@ -37,7 +37,10 @@ import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.util.BasicExtendedMetaData;
 import org.eclipse.emf.ecore.util.BasicFeatureMap;
+import org.eclipse.emf.ecore.util.EDataTypeDoubleEList;
 import org.eclipse.emf.ecore.util.EDataTypeEList;
+import org.eclipse.emf.ecore.util.EDataTypeIntEList;
+import org.eclipse.emf.ecore.util.EDataTypeLongEList;
 import org.eclipse.emf.ecore.util.EDataTypeUniqueEList;
 import org.eclipse.emf.ecore.util.EObjectContainmentEList;
 import org.eclipse.emf.ecore.util.EObjectContainmentWithInverseEList;
@@ -1466,6 +1469,14 @@ public abstract class EStructuralFeatureImpl extends ETypedElementImpl implement
   public void setSettingDelegate(EStructuralFeature.Internal.SettingDelegate settingDelegate)
   {
     this.settingDelegate = settingDelegate;
+
+    // Discard the setting delegate tables of the containing class and its subclasses.
+    //
+    EClass eContainingClass = getEContainingClass();
+    if (eContainingClass instanceof EClassImpl)
+    {
+      ((EClassImpl)eContainingClass).discardEAllStructuralFeatureSettingDelegates();
+    }
   }
 
   public static class InternalSettingDelegateFeatureMapDelegator implements EStructuralFeature.Internal.SettingDelegate
@@ -1620,6 +1631,60 @@ public abstract class EStructuralFeatureImpl extends ETypedElementImpl implement
       this.inverseFeature = inverseFeature;
     }
 
+    /**
+     * Returns whether the values of the attribute should be held in a primitive array rather than in a list of boxed values.
+     * This is the case only if the attribute specifies <code>primitiveList="true"</code> in its {@link EcoreUtil#GEN_MODEL_ANNOTATION_URI GenModel annotation},
+     * so by default the attribute uses the same lists as any other attribute.
+     * @since 2.38
+     */
+    protected boolean isPrimitiveData()
+    {
+      return "true".equals(EcoreUtil.getAnnotation(feature, EcoreUtil.GEN_MODEL_ANNOTATION_URI, "primitiveList"));
+    }
+
+    /**
+     * Returns a list that holds the values of an attribute of type <code>int</code>, <code>long</code>, or <code>double</code> in a primitive array,
+     * or <code>null</code> if the attribute isn't of such a type or if it doesn't {@link #isPrimitiveData() opt in} to such a list.
+     * @since 2.38
+     */
+    protected EStructuralFeature.Setting createPrimitiveDataSetting(InternalEObject owner, boolean isUnique, boolean isUnsettable)
+    {
+      if (!isPrimitiveData())
+      {
+        return null;
+      }
+
+      Class<?> instanceClass = feature.getEType().getInstanceClass();
+      if (instanceClass == int.class)
+      {
+        int featureID = owner.eClass().getFeatureID(feature);
+        return
+          isUnsettable ?
+            isUnique ? new EDataTypeIntEList.Unsettable.Unique(owner, featureID) : new EDataTypeIntEList.Unsettable(owner, featureID) :
+            isUnique ? new EDataTypeIntEList.Unique(owner, featureID) : new EDataTypeIntEList(owner, featureID);
+      }
+      else if (instanceClass == long.class)
+      {
+        int featureID = owner.eClass().getFeatureID(feature);
+        return
+          isUnsettable ?
+            isUnique ? new EDataTypeLongEList.Unsettable.Unique(owner, featureID) : new EDataTypeLongEList.Unsettable(owner, featureID) :
+            isUnique ? new EDataTypeLongEList.Unique(owner, featureID) : new EDataTypeLongEList(owner, featureID);
+      }
+      else if (instanceClass == double.class)
+      {
+        int featureID = owner.eClass().getFeatureID(feature);
+        return
+          isUnsettable ?
+            isUnique ? new EDataTypeDoubleEList.Unsettable.Unique(owner, featureID) : new EDataTypeDoubleEList.Unsettable(owner, featureID) :
+            isUnique ? new EDataTypeDoubleEList.Unique(owner, featureID) : new EDataTypeDoubleEList(owner, featureID);
+      }
+      else
+      {
+        return null;
+      }
+    }
+
     protected EStructuralFeature.Setting createDynamicSetting(InternalEObject owner)
     {
       switch (style)
@@ -1670,13 +1735,25 @@ public abstract class EStructuralFeatureImpl extends ETypedElementImpl implement
         case CONTAINMENT_INVERSE_RESOLVE:
           return new EObjectContainmentWithInverseEList.Resolving<Object>(dataClass, owner, owner.eClass().getFeatureID(feature), inverseFeature.getFeatureID());
         case DATA_UNIQUE_UNSETTABLE:
-          return new EDataTypeUniqueEList.Unsettable<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        {
+          EStructuralFeature.Setting setting = createPrimitiveDataSetting(owner, true, true);
+          return setting != null ? setting : new EDataTypeUniqueEList.Unsettable<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        }
         case DATA_UNIQUE:
-          return new EDataTypeUniqueEList<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        {
+          EStructuralFeature.Setting setting = createPrimitiveDataSetting(owner, true, false);
+          return setting != null ? setting : new EDataTypeUniqueEList<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        }
         case DATA_UNSETTABLE:
-          return new EDataTypeEList.Unsettable<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        {
+          EStructuralFeature.Setting setting = createPrimitiveDataSetting(owner, false, true);
+          return setting != null ? setting : new EDataTypeEList.Unsettable<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        }
         case DATA:
-          return new EDataTypeEList<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        {
+          EStructuralFeature.Setting setting = createPrimitiveDataSetting(owner, false, false);
+          return setting != null ? setting : new EDataTypeEList<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
+        }
         case EOBJECT_RESOLVE_UNSETTABLE:
           return new EObjectResolvingEList.Unsettable<Object>(dataClass, owner, owner.eClass().getFeatureID(feature));
         case EOBJECT_RESOLVE:
@@ -12,19 +12,35 @@ package org.eclipse.emf.ecore.resource.impl;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.CommonUtil;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.Enumerator;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EDataType;
@@ -118,6 +134,25 @@ public class BinaryResourceImpl extends ResourceImpl
    */
   public static final String OPTION_EAGER_PROXY_RESOLUTION = "EAGER_PROXY_RESOLUTION";
 
+  /**
+   * A Boolean save option to specify whether a resource serialized with {@link BinaryIO.Version#VERSION_1_2 random access}
+   * and {@link #save(Map) saved} to the file from which it was loaded, or to which it was last saved with this option,
+   * appends only the segments that changed since then, followed by a new index, rather than rewriting the whole file;
+   * segments that haven't been demand loaded needn't be loaded.
+   * The changed segments are determined via {@link #isTrackingModification() modification tracking},
+   * which must be enabled before the resource is loaded or saved.
+   * The whole file is rewritten instead
+   * if root objects were added, removed, or moved,
+   * if a change to the containment structure of a segment could change the URI fragments of objects that other segments reference,
+   * if a change requires the roots of different segments to share a segment,
+   * if the file was changed by other means,
+   * or if the superseded segments occupy more space than the current ones.
+   * The file must be local and must not be compressed or encrypted.
+   * The default is false.
+   * @since 2.38
+   */
+  public static final String OPTION_INCREMENTAL_SAVE = "INCREMENTAL_SAVE";
+
   /**
    * Specify the capacity of the buffered stream
    * used when {@link #doSave(OutputStream, Map) saving} or {@link #doLoad(InputStream, Map) loading} the resource content.
@@ -185,6 +220,25 @@ public class BinaryResourceImpl extends ResourceImpl
     return 0;
   }
 
+  /**
+   * The stream from which the segments of a {@link BinaryIO.Version#VERSION_1_2 random access} serialization are demand loaded,
+   * or <code>null</code> if all the segments have been loaded.
+   * @since 2.38
+   */
+  protected EObjectInputStream segmentInputStream;
+
+  /**
+   * The layout of the {@link BinaryIO.Version#VERSION_1_2 random access} serialization in the file of this resource,
+   * recorded when it was loaded from or {@link #OPTION_INCREMENTAL_SAVE incrementally saved} to that file,
+   * along with the segments changed since then.
+   */
+  private SegmentIndex segmentIndex;
+
+  /**
+   * The layout of the most recent {@link BinaryIO.Version#VERSION_1_2 random access} serialization of this resource.
+   */
+  private SegmentIndex savedSegmentIndex;
+
   public BinaryResourceImpl()
   {
     super();
@@ -195,9 +249,522 @@ public class BinaryResourceImpl extends ResourceImpl
     super(uri);
   }
 
+  @Override
+  public EList<EObject> getContents()
+  {
+    if (contents == null)
+    {
+      contents = new SegmentedContentsEList<EObject>();
+    }
+    return contents;
+  }
+
+  /**
+   * A contents list that demand loads the segment of a root object
+   * when that root object is accessed while it's still the proxy created for it while reading the index of a {@link BinaryIO.Version#VERSION_1_2 random access} serialization.
+   * @since 2.38
+   */
+  protected class SegmentedContentsEList<E extends Object & EObject> extends ContentsEList<E>
+  {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected E resolve(int index, E object)
+    {
+      if (segmentInputStream != null && object.eIsProxy())
+      {
+        loadSegment((InternalEObject)object);
+      }
+      return object;
+    }
+
+    @Override
+    protected void didAdd(int index, E object)
+    {
+      super.didAdd(index, object);
+      segmentIndex = null;
+    }
+
+    @Override
+    protected void didRemove(int index, E object)
+    {
+      super.didRemove(index, object);
+      segmentIndex = null;
+    }
+
+    @Override
+    protected void didSet(int index, E newObject, E oldObject)
+    {
+      super.didSet(index, newObject, oldObject);
+      segmentIndex = null;
+    }
+
+    @Override
+    protected void didMove(int index, E movedObject, int oldIndex)
+    {
+      super.didMove(index, movedObject, oldIndex);
+      segmentIndex = null;
+    }
+  }
+
+  /**
+   * A modification tracking adapter that also records the segments of a {@link BinaryIO.Version#VERSION_1_2 random access} serialization
+   * that are changed, for {@link #OPTION_INCREMENTAL_SAVE incremental saving}.
+   * @since 2.38
+   */
+  protected class SegmentModificationTrackingAdapter extends ModificationTrackingAdapter
+  {
+    @Override
+    public void notifyChanged(Notification notification)
+    {
+      super.notifyChanged(notification);
+      if (segmentIndex != null && !isLoading && !notification.isTouch())
+      {
+        segmentIndex.changed(BinaryResourceImpl.this, notification);
+      }
+    }
+  }
+
+  /**
+   * This implementation creates a {@link SegmentModificationTrackingAdapter}.
+   */
+  @Override
+  protected Adapter createModificationTrackingAdapter()
+  {
+    return new SegmentModificationTrackingAdapter();
+  }
+
+  @Override
+  public void setTrackingModification(boolean isTrackingModification)
+  {
+    super.setTrackingModification(isTrackingModification);
+    if (!isTrackingModification)
+    {
+      // Changes can no longer be tracked.
+      //
+      segmentIndex = null;
+    }
+  }
+
+  /**
+   * Loads the segment containing the given root object, if it's not yet loaded,
+   * without affecting whether this resource is {@link #isModified() modified}.
+   * @since 2.38
+   */
+  protected void loadSegment(InternalEObject root)
+  {
+    EObjectInputStream eObjectInputStream = segmentInputStream;
+    if (eObjectInputStream != null)
+    {
+      boolean wasLoading = isLoading;
+      boolean wasModified = isModified;
+      isLoading = true;
+      try
+      {
+        eObjectInputStream.loadSegment(root);
+      }
+      catch (IOException exception)
+      {
+        throw new WrappedException(exception);
+      }
+      finally
+      {
+        isLoading = wasLoading;
+        if (isModified != wasModified)
+        {
+          setModified(wasModified);
+        }
+      }
+    }
+  }
+
+  private void loadAllSegments()
+  {
+    if (segmentInputStream != null)
+    {
+      for (int i = 0, size = contents.size(); i < size; ++i)
+      {
+        loadSegment((InternalEObject)contents.basicGet(i));
+      }
+    }
+  }
+
+  @Override
+  protected void doUnload()
+  {
+    segmentInputStream = null;
+    segmentIndex = null;
+    super.doUnload();
+  }
+
+  /**
+   * Appends only the changed segments to the file of the resource
+   * if the {@link #OPTION_INCREMENTAL_SAVE incremental save} option is specified and the file can be updated incrementally,
+   * otherwise saves the resource as usual.
+   */
+  @Override
+  public void save(Map<?, ?> options) throws IOException
+  {
+    Map<?, ?> effectiveOptions = mergeMaps(options, defaultSaveOptions);
+    boolean isIncremental =
+      effectiveOptions != null &&
+        Boolean.TRUE.equals(effectiveOptions.get(OPTION_INCREMENTAL_SAVE)) &&
+        effectiveOptions.get(OPTION_VERSION) == BinaryIO.Version.VERSION_1_2 &&
+        !useZip() &&
+        !Boolean.TRUE.equals(effectiveOptions.get(OPTION_ZIP)) &&
+        effectiveOptions.get(OPTION_CIPHER) == null &&
+        isTrackingModification();
+    File file = isIncremental ? getFile() : null;
+    if (file != null && segmentIndex != null && saveIncrementally(file, effectiveOptions))
+    {
+      return;
+    }
+
+    // Load all the segments before the output stream truncates the file from which they might be demand loaded.
+    //
+    loadAllSegments();
+
+    segmentIndex = null;
+    savedSegmentIndex = null;
+    try
+    {
+      super.save(options);
+      if (file != null && savedSegmentIndex != null)
+      {
+        segmentIndex = savedSegmentIndex.validate(file);
+      }
+    }
+    finally
+    {
+      savedSegmentIndex = null;
+    }
+  }
+
+  /**
+   * Returns the local file of this resource, or <code>null</code> if it isn't stored in a local file.
+   */
+  private File getFile()
+  {
+    URI uri = getURI();
+    if (uri != null)
+    {
+      uri = getURIConverter().normalize(uri);
+      if (uri.isFile())
+      {
+        return new File(uri.toFileString());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Appends the changed segments followed by a new index to the file,
+   * returning whether that was possible.
+   */
+  private boolean saveIncrementally(File file, Map<?, ?> options) throws IOException
+  {
+    SegmentIndex segmentIndex = this.segmentIndex;
+    if (!segmentIndex.isValid(file, BinaryIO.getStyle(options)) || segmentIndex.isRestructuredSegmentReferenced())
+    {
+      return false;
+    }
+
+    SegmentIndex newSegmentIndex;
+    if (segmentIndex.isChanged())
+    {
+      if (errors != null)
+      {
+        errors.clear();
+      }
+      if (warnings != null)
+      {
+        warnings.clear();
+      }
+
+      ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+      EObjectOutputStream eObjectOutputStream = createEObjectOutputStream(byteArrayOutputStream, options);
+      newSegmentIndex = eObjectOutputStream.appendSegments(this, segmentIndex);
+      if (newSegmentIndex == null)
+      {
+        return false;
+      }
+      eObjectOutputStream.flush();
+
+      // Append everything but the header.
+      //
+      byte[] bytes = byteArrayOutputStream.toByteArray();
+      int length = (int)(newSegmentIndex.length - segmentIndex.length);
+      ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, bytes.length - length, length);
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+      try
+      {
+        FileChannel fileChannel = randomAccessFile.getChannel();
+        try
+        {
+          for (long position = segmentIndex.length; byteBuffer.hasRemaining(); )
+          {
+            position += fileChannel.write(byteBuffer, position);
+          }
+        }
+        catch (IOException exception)
+        {
+          fileChannel.truncate(segmentIndex.length);
+          throw exception;
+        }
+      }
+      finally
+      {
+        randomAccessFile.close();
+      }
+    }
+    else
+    {
+      newSegmentIndex = segmentIndex;
+    }
+
+    this.segmentIndex = newSegmentIndex.validate(file);
+    setTimeStamp(file.lastModified());
+    setModified(false);
+    return true;
+  }
+
+  /**
+   * The layout of a {@link BinaryIO.Version#VERSION_1_2 random access} serialization in a file,
+   * and the segments changed since it was loaded or saved.
+   */
+  private static final class SegmentIndex
+  {
+    /**
+     * The style of the serialization.
+     */
+    int style;
+
+    /**
+     * The position in the file of the start of the first segment, to which the offsets are relative.
+     */
+    long base;
+
+    /**
+     * The length of the file.
+     */
+    long length;
+
+    /**
+     * The time stamp of the file.
+     */
+    long timeStamp;
+
+    /**
+     * The length of the index, including the trailer that locates it.
+     */
+    long indexLength;
+
+    /**
+     * The offset of each segment.
+     */
+    long[] offsets;
+
+    /**
+     * The length of each segment.
+     */
+    long[] lengths;
+
+    /**
+     * The other segments to which each segment refers.
+     */
+    int[][] references;
+
+    /**
+     * The segment of each root.
+     */
+    int[] rootSegments;
+
+    /**
+     * The ID of each root in its segment.
+     */
+    int[] objectIDs;
+
+    /**
+     * The index of each root.
+     */
+    Map<EObject, Integer> rootIndexMap;
+
+    /**
+     * Whether each segment has changed.
+     */
+    boolean[] isChanged;
+
+    /**
+     * Whether the URI fragments of the objects of each segment may have changed.
+     */
+    boolean[] isRestructured;
+
+    SegmentIndex(InternalEObject[] roots, int[] rootSegments, int[] objectIDs, long[] offsets, long[] lengths, int[][] references)
+    {
+      this.rootSegments = rootSegments;
+      this.objectIDs = objectIDs;
+      this.offsets = offsets;
+      this.lengths = lengths;
+      this.references = references;
+      rootIndexMap = new HashMap<EObject, Integer>();
+      for (int i = 0; i < roots.length; ++i)
+      {
+        rootIndexMap.put(roots[i], i);
+      }
+      isChanged = new boolean [offsets.length];
+      isRestructured = new boolean [offsets.length];
+    }
+
+    /**
+     * Returns this index, recording the file's time stamp, if it describes the file's current contents, or <code>null</code> otherwise.
+     */
+    SegmentIndex validate(File file)
+    {
+      if (file.length() == length)
+      {
+        timeStamp = file.lastModified();
+        return this;
+      }
+      return null;
+    }
+
+    /**
+     * Returns whether the file is unchanged since this index was recorded
+     * and whether the segments can be appended to it, i.e., the style is the same and the superseded segments don't occupy too much space.
+     */
+    boolean isValid(File file, int style)
+    {
+      if (style != this.style || file.length() != length || file.lastModified() != timeStamp)
+      {
+        return false;
+      }
+      long liveLength = base + indexLength;
+      for (long segmentLength : lengths)
+      {
+        liveLength += segmentLength;
+      }
+      return length <= 2 * liveLength;
+    }
+
+    boolean isChanged()
+    {
+      for (boolean segmentIsChanged : isChanged)
+      {
+        if (segmentIsChanged)
+        {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Returns whether a segment refers to another segment in which the URI fragments of the objects may have changed.
+     */
+    boolean isRestructuredSegmentReferenced()
+    {
+      for (int i = 0; i < references.length; ++i)
+      {
+        for (int segment : references[i])
+        {
+          if (segment != i && isRestructured[segment])
+          {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Records the segment changed by the notification.
+     */
+    void changed(BinaryResourceImpl resource, Notification notification)
+    {
+      InternalEObject root = (InternalEObject)notification.getNotifier();
+      for (InternalEObject container; root.eDirectResource() == null && (container = root.eInternalContainer()) != null; )
+      {
+        root = container;
+      }
+      Integer rootIndex = root.eDirectResource() == resource ? rootIndexMap.get(root) : null;
+      if (rootIndex == null)
+      {
+        // The change can't be attributed to a segment.
+        //
+        resource.segmentIndex = null;
+      }
+      else
+      {
+        int segment = rootSegments[rootIndex];
+        isChanged[segment] = true;
+        if (!isRestructured[segment] && isRestructuring(notification))
+        {
+          isRestructured[segment] = true;
+        }
+      }
+    }
+
+    /**
+     * Returns whether the change could affect the URI fragments of objects that existed before the change,
+     * i.e., it's a change to a containment reference other than an addition to the end of a list or the setting of a null value,
+     * a change to a feature map, or a change to a key attribute.
+     */
+    static boolean isRestructuring(Notification notification)
+    {
+      Object feature = notification.getFeature();
+      if (feature instanceof EReference)
+      {
+        EReference eReference = (EReference)feature;
+        if (!eReference.isContainment())
+        {
+          return false;
+        }
+        switch (notification.getEventType())
+        {
+          case Notification.ADD:
+          {
+            return notification.getPosition() != ((List<?>)((EObject)notification.getNotifier()).eGet(eReference, false)).size() - 1;
+          }
+          case Notification.ADD_MANY:
+          {
+            return
+              notification.getPosition() + ((List<?>)notification.getNewValue()).size() !=
+                ((List<?>)((EObject)notification.getNotifier()).eGet(eReference, false)).size();
+          }
+          case Notification.SET:
+          {
+            return eReference.isMany() || notification.getOldValue() != null;
+          }
+          default:
+          {
+            return true;
+          }
+        }
+      }
+      else if (feature instanceof EAttribute)
+      {
+        EAttribute eAttribute = (EAttribute)feature;
+        if (FeatureMapUtil.isFeatureMap(eAttribute))
+        {
+          return true;
+        }
+        EReference eContainmentFeature = ((EObject)notification.getNotifier()).eContainmentFeature();
+        return eContainmentFeature != null && eContainmentFeature.getEKeys().contains(eAttribute);
+      }
+      else
+      {
+        return true;
+      }
+    }
+  }
+
   @Override
   protected void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException
   {
+    // All the segments must be loaded before the contents can be saved.
+    //
+    loadAllSegments();
+
     if (outputStream instanceof URIConverter.Saveable)
     {
       ((URIConverter.Saveable)outputStream).saveResource(this);
@@ -251,6 +818,7 @@ public class BinaryResourceImpl extends ResourceImpl
     }
     else
     {
+      FileChannel fileChannel = inputStream instanceof FileInputStream ? ((FileInputStream)inputStream).getChannel() : null;
       if (!(inputStream instanceof BufferedInputStream))
       {
         int bufferCapacity = getBufferCapacity(options);
@@ -261,8 +829,17 @@ public class BinaryResourceImpl extends ResourceImpl
       }
 
       EObjectInputStream eObjectInputStream = createEObjectInputStream(inputStream, options);
+      eObjectInputStream.fileChannel = fileChannel;
       eObjectInputStream.loadResource(this);
       eObjectInputStream.flush();
+
+      if (segmentIndex != null)
+      {
+        // The layout is only useful if changes are tracked and the input is the resource's file.
+        //
+        File file = isTrackingModification() ? getFile() : null;
+        segmentIndex = file == null ? null : segmentIndex.validate(file);
+      }
     }
   }
 
@@ -332,7 +909,23 @@ public class BinaryResourceImpl extends ResourceImpl
        * An extra integer value encoding the style is written after the version number so that deserialization will respect the styles used during serialization.
        * @since 2.7
        */
-      VERSION_1_1
+      VERSION_1_1,
+
+      /**
+       * This version supports random access.
+       * Each root object of the resource, along with its containment tree, is serialized as an independent segment,
+       * followed by an index that records the offset, the length, the root objects, and the referenced segments of each segment.
+       * Because the index is located relative to the end of the serialization,
+       * changed segments can be {@link BinaryResourceImpl#OPTION_INCREMENTAL_SAVE appended} along with a new index
+       * that supersedes the previous one.
+       * References between objects in different segments are serialized as same-document proxies,
+       * except that roots connected by non-proxy-resolving or bidirectional references share a single segment.
+       * A {@link BinaryResourceImpl binary resource} in a resource set loads only the index,
+       * memory-mapping the file when the input is a file stream,
+       * and demand loads each segment the first time one of its root objects is accessed.
+       * @since 2.38
+       */
+      VERSION_1_2
     }
 
     /**
@@ -651,6 +1244,11 @@ public class BinaryResourceImpl extends ResourceImpl
       }
     }
 
+    /**
+     * The URI used to serialize references between the segments of a {@link Version#VERSION_1_2 random access} serialization.
+     */
+    static final URI SAME_DOCUMENT_URI = URI.createURI("");
+
     static final int MAX_DELIMITER = 0xC0;
     static final String[] DELIMITERS = new String[MAX_DELIMITER];
     static final List<String> INTRINSIC_STRINGS = new ArrayList<String>();
@@ -746,6 +1344,37 @@ public class BinaryResourceImpl extends ResourceImpl
     private Map<String, Integer> segmentToIDMap;
     private String[] segments;
 
+    private static class CountingOutputStream extends FilterOutputStream
+    {
+      public long count;
+
+      public CountingOutputStream(OutputStream outputStream)
+      {
+        super(outputStream);
+      }
+
+      @Override
+      public void write(int b) throws IOException
+      {
+        out.write(b);
+        ++count;
+      }
+
+      @Override
+      public void write(byte[] bytes, int offset, int length) throws IOException
+      {
+        out.write(bytes, offset, length);
+        count += length;
+      }
+    }
+
+    private CountingOutputStream countingOutputStream;
+    private Map<EObject, Integer> rootIndexMap;
+    private int[] rootSegments;
+    private int segment;
+    private Map<EObject, Boolean> segmentProxyMap;
+    private Set<Integer> segmentReferences;
+
     public EObjectOutputStream(OutputStream outputStream, Map<?, ?> options) throws IOException
     {
       this(outputStream, options, options != null && options.containsKey(OPTION_VERSION)? (Version)options.get(OPTION_VERSION) : Version.VERSION_1_0);
@@ -761,6 +1390,13 @@ public class BinaryResourceImpl extends ResourceImpl
      */
     public EObjectOutputStream(OutputStream outputStream, Map<?, ?> options, Version version, int style) throws IOException
     {
+      if (version == Version.VERSION_1_2)
+      {
+        // The offsets of the segments are relative to the start of the first segment,
+        // so we need to keep track of the number of bytes written.
+        //
+        outputStream = countingOutputStream = new CountingOutputStream(outputStream);
+      }
       this.outputStream = outputStream;
       this.options = options;
       this.version = version;
@@ -947,48 +1583,514 @@ public class BinaryResourceImpl extends ResourceImpl
               }
             }
 
-            eStructuralFeatureData.dataConverter = dataConverter;
+            eStructuralFeatureData.dataConverter = dataConverter;
+          }
+        }
+      }
+      else
+      {
+        eStructuralFeatureData.isProxyTransient = true;
+      }
+
+      return eStructuralFeatureData;
+    }
+
+    protected EStructuralFeatureData writeEStructuralFeature(EStructuralFeature eStructuralFeature) throws IOException
+    {
+      EClass eClass = eStructuralFeature.getEContainingClass();
+      EClassData eClassData = writeEClass(eClass);
+      int featureID = eClass.getFeatureID(eStructuralFeature);
+      EStructuralFeatureData eStructuralFeatureData = eClassData.eStructuralFeatureData[featureID];
+      writeCompressedInt(featureID);
+      if (eStructuralFeatureData.name != null)
+      {
+        writeString(eStructuralFeatureData.name);
+        if (segmentedStringToIDMap != null && eStructuralFeatureData.eDataType != null)
+        {
+          writeBoolean(eStructuralFeatureData.dataConverter != null);
+        }
+        eStructuralFeatureData.name = null;
+      }
+      return eStructuralFeatureData;
+    }
+
+    public void saveResource(Resource resource) throws IOException
+    {
+      this.resource = resource;
+      URI uri = resource.getURI();
+      if (uri != null && uri.isHierarchical() && !uri.isRelative())
+      {
+        baseURI = uri;
+      }
+      @SuppressWarnings("unchecked")
+      InternalEList<? extends InternalEObject> internalEList = (InternalEList<? extends InternalEObject>)(InternalEList<?>)resource.getContents();
+      if (version == Version.VERSION_1_2)
+      {
+        saveSegments(internalEList);
+      }
+      else
+      {
+        saveEObjects(internalEList, Check.CONTAINER);
+      }
+    }
+
+    /**
+     * Saves the root objects as a sequence of independently loadable segments followed by an index of those segments.
+     * Each segment is serialized with its own tables of packages, classes, objects, URIs, and strings,
+     * so that it can be read without reading any of the other segments.
+     * The index is followed by two longs that specify the offset and the length of the index,
+     * so that a reader can locate the index relative to the end of the serialization.
+     * @see Version#VERSION_1_2
+     * @since 2.38
+     */
+    protected void saveSegments(InternalEList<? extends InternalEObject> internalEObjects) throws IOException
+    {
+      InternalEObject[] roots = new InternalEObject[internalEObjects.size()];
+      internalEObjects.basicToArray(roots);
+      rootIndexMap = new HashMap<EObject, Integer>();
+      for (int i = 0; i < roots.length; ++i)
+      {
+        rootIndexMap.put(roots[i], i);
+      }
+      rootSegments = computeSegments(roots, null);
+      int segmentCount = 0;
+      for (int rootSegment : rootSegments)
+      {
+        segmentCount = Math.max(segmentCount, rootSegment + 1);
+      }
+
+      long start = getPosition();
+      long[] offsets = new long[segmentCount];
+      long[] lengths = new long[segmentCount];
+      int[][] references = new int[segmentCount][];
+      int[] objectIDs = new int[roots.length];
+      int[][] segmentRoots = getSegmentRoots(segmentCount);
+      for (segment = 0; segment < segmentCount; ++segment)
+      {
+        offsets[segment] = getPosition() - start;
+        references[segment] = saveSegment(roots, segmentRoots[segment], objectIDs);
+        lengths[segment] = getPosition() - start - offsets[segment];
+      }
+
+      long indexOffset = getPosition() - start;
+      saveSegmentIndex(roots, segmentRoots, objectIDs, offsets, lengths, references);
+      long indexLength = getPosition() - start - indexOffset;
+      writeLong(indexOffset);
+      writeLong(indexLength);
+
+      if (resource instanceof BinaryResourceImpl)
+      {
+        SegmentIndex segmentIndex = new SegmentIndex(roots, rootSegments, objectIDs, offsets, lengths, references);
+        segmentIndex.style = style;
+        segmentIndex.base = start;
+        segmentIndex.indexLength = indexLength + 16;
+        segmentIndex.length = getPosition();
+        ((BinaryResourceImpl)resource).savedSegmentIndex = segmentIndex;
+      }
+
+      rootIndexMap = null;
+      rootSegments = null;
+      segmentProxyMap = null;
+      segmentReferences = null;
+    }
+
+    /**
+     * Saves the changed segments of the resource, followed by an index of all the segments,
+     * as an addition to the serialization described by the given index,
+     * returning the index of the resulting serialization,
+     * or <code>null</code> if the changes require the resource to be saved in full.
+     * The header written when creating this stream isn't part of the addition.
+     */
+    SegmentIndex appendSegments(BinaryResourceImpl resource, SegmentIndex segmentIndex) throws IOException
+    {
+      this.resource = resource;
+      URI uri = resource.getURI();
+      if (uri != null && uri.isHierarchical() && !uri.isRelative())
+      {
+        baseURI = uri;
+      }
+      @SuppressWarnings("unchecked")
+      InternalEList<? extends InternalEObject> internalEObjects = (InternalEList<? extends InternalEObject>)(InternalEList<?>)resource.getContents();
+      InternalEObject[] roots = new InternalEObject[internalEObjects.size()];
+      internalEObjects.basicToArray(roots);
+      rootIndexMap = segmentIndex.rootIndexMap;
+      rootSegments = segmentIndex.rootSegments;
+
+      // If a changed segment now refers to another segment in a way that requires them to share a segment, the segments must be recomputed.
+      //
+      boolean[] isScanned = new boolean[roots.length];
+      for (int i = 0; i < roots.length; ++i)
+      {
+        isScanned[i] = segmentIndex.isChanged[rootSegments[i]];
+      }
+      int[] newRootSegments = computeSegments(roots, isScanned);
+      int[] segments = new int[roots.length];
+      Arrays.fill(segments, -1);
+      for (int i = 0; i < roots.length; ++i)
+      {
+        int newRootSegment = newRootSegments[i];
+        if (segments[newRootSegment] == -1)
+        {
+          segments[newRootSegment] = rootSegments[i];
+        }
+        else if (segments[newRootSegment] != rootSegments[i])
+        {
+          rootIndexMap = null;
+          rootSegments = null;
+          return null;
+        }
+      }
+
+      long start = getPosition();
+      long appendOffset = segmentIndex.length - segmentIndex.base;
+      long[] offsets = segmentIndex.offsets.clone();
+      long[] lengths = segmentIndex.lengths.clone();
+      int[][] references = segmentIndex.references.clone();
+      int[] objectIDs = segmentIndex.objectIDs.clone();
+      int[][] segmentRoots = getSegmentRoots(offsets.length);
+      for (segment = 0; segment < offsets.length; ++segment)
+      {
+        if (segmentIndex.isChanged[segment])
+        {
+          offsets[segment] = appendOffset + getPosition() - start;
+          references[segment] = saveSegment(roots, segmentRoots[segment], objectIDs);
+          lengths[segment] = appendOffset + getPosition() - start - offsets[segment];
+        }
+      }
+
+      long indexOffset = appendOffset + getPosition() - start;
+      saveSegmentIndex(roots, segmentRoots, objectIDs, offsets, lengths, references);
+      long indexLength = appendOffset + getPosition() - start - indexOffset;
+      writeLong(indexOffset);
+      writeLong(indexLength);
+
+      SegmentIndex result = new SegmentIndex(roots, rootSegments, objectIDs, offsets, lengths, references);
+      result.style = style;
+      result.base = segmentIndex.base;
+      result.indexLength = indexLength + 16;
+      result.length = segmentIndex.length + getPosition() - start;
+
+      rootIndexMap = null;
+      rootSegments = null;
+      segmentProxyMap = null;
+      segmentReferences = null;
+      return result;
+    }
+
+    /**
+     * Returns the indices of the roots in each segment, in order.
+     */
+    private int[][] getSegmentRoots(int segmentCount)
+    {
+      int[] rootCounts = new int[segmentCount];
+      for (int rootSegment : rootSegments)
+      {
+        ++rootCounts[rootSegment];
+      }
+      int[][] result = new int[segmentCount][];
+      for (int i = 0; i < segmentCount; ++i)
+      {
+        result[i] = new int[rootCounts[i]];
+        rootCounts[i] = 0;
+      }
+      for (int i = 0; i < rootSegments.length; ++i)
+      {
+        int rootSegment = rootSegments[i];
+        result[rootSegment][rootCounts[rootSegment]++] = i;
+      }
+      return result;
+    }
+
+    /**
+     * Saves the given roots of the current segment, recording the ID of each root,
+     * and returns the other segments to which the segment refers.
+     */
+    private int[] saveSegment(InternalEObject[] roots, int[] segmentRoots, int[] objectIDs) throws IOException
+    {
+      resetSegment();
+      writeCompressedInt(segmentRoots.length);
+      for (int i : segmentRoots)
+      {
+        saveEObject(roots[i], Check.CONTAINER);
+        objectIDs[i] = eObjectIDMap.get(roots[i]);
+      }
+
+      int[] result = new int[segmentReferences.size()];
+      int index = 0;
+      for (Integer referencedSegment : segmentReferences)
+      {
+        result[index++] = referencedSegment;
+      }
+      Arrays.sort(result);
+      return result;
+    }
+
+    /**
+     * Saves the index of the segments:
+     * the offset and length of each segment, its roots along with their indices, IDs, and classes,
+     * and the other segments to which it refers.
+     */
+    private void saveSegmentIndex(InternalEObject[] roots, int[][] segmentRoots, int[] objectIDs, long[] offsets, long[] lengths, int[][] references) throws IOException
+    {
+      resetSegment();
+      int segmentCount = offsets.length;
+      writeCompressedInt(segmentCount);
+      for (segment = 0; segment < segmentCount; ++segment)
+      {
+        writeLong(offsets[segment]);
+        writeLong(lengths[segment]);
+        writeCompressedInt(segmentRoots[segment].length);
+        for (int i : segmentRoots[segment])
+        {
+          writeCompressedInt(i);
+          writeCompressedInt(objectIDs[i]);
+          writeEClass(roots[i].eClass());
+        }
+        writeCompressedInt(references[segment].length);
+        for (int referencedSegment : references[segment])
+        {
+          writeCompressedInt(referencedSegment);
+        }
+      }
+    }
+
+    /**
+     * Records a reference from the current segment to the segment identified by a same-document proxy URI.
+     */
+    private void addSegmentReference(URI proxyURI)
+    {
+      String fragment = proxyURI.fragment();
+      if (fragment != null && fragment.startsWith("/"))
+      {
+        URI documentURI = proxyURI.trimFragment();
+        if (documentURI.isEmpty() || documentURI.equals(resource.getURI()))
+        {
+          int rootIndex = 0;
+          for (int i = 1, length = fragment.length(); i < length; ++i)
+          {
+            char character = fragment.charAt(i);
+            if (character == '/')
+            {
+              break;
+            }
+            else if (character < '0' || character > '9' || rootIndex > (Integer.MAX_VALUE - 9) / 10)
+            {
+              return;
+            }
+            rootIndex = 10 * rootIndex + character - '0';
+          }
+          if (rootIndex < rootSegments.length && rootSegments[rootIndex] != segment)
+          {
+            segmentReferences.add(rootSegments[rootIndex]);
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the segment of each root, numbering the segments in the order of their first root.
+     * Roots are placed in the same segment when an object in the containment tree of one of them
+     * refers to an object in the containment tree of the other via a reference that doesn't resolve proxies or that has an opposite,
+     * because such a reference can't be represented as a same-document proxy that is resolved on demand.
+     * If specified, only the containment trees of the roots flagged as scanned are considered.
+     */
+    private int[] computeSegments(InternalEObject[] roots, boolean[] isScanned)
+    {
+      int size = roots.length;
+      int[] parents = new int[size];
+      for (int i = 0; i < size; ++i)
+      {
+        parents[i] = i;
+      }
+
+      for (int i = 0; i < size; ++i)
+      {
+        if (isScanned != null && !isScanned[i])
+        {
+          continue;
+        }
+        TreeIterator<InternalEObject> j = EcoreUtil.getAllProperContents(roots[i], false);
+        for (InternalEObject internalEObject = roots[i]; internalEObject != null; internalEObject = j.hasNext() ? j.next() : null)
+        {
+          for (EReference eReference : internalEObject.eClass().getEAllReferences())
+          {
+            if (!eReference.isContainment() &&
+                  !eReference.isContainer() &&
+                  !eReference.isTransient() &&
+                  (!eReference.isResolveProxies() || eReference.getEOpposite() != null) &&
+                  internalEObject.eIsSet(eReference))
+            {
+              Object value = internalEObject.eGet(eReference, false);
+              if (eReference.isMany())
+              {
+                for (Object object : (List<?>)value)
+                {
+                  union(parents, i, getRootIndex((InternalEObject)object));
+                }
+              }
+              else
+              {
+                union(parents, i, getRootIndex((InternalEObject)value));
+              }
+            }
+          }
+          for (EAttribute eAttribute : internalEObject.eClass().getEAllAttributes())
+          {
+            if (!eAttribute.isTransient() && FeatureMapUtil.isFeatureMap(eAttribute) && internalEObject.eIsSet(eAttribute))
+            {
+              for (FeatureMap.Entry entry : (FeatureMap)internalEObject.eGet(eAttribute))
+              {
+                EStructuralFeature eStructuralFeature = entry.getEStructuralFeature();
+                if (eStructuralFeature instanceof EReference)
+                {
+                  EReference eReference = (EReference)eStructuralFeature;
+                  if (!eReference.isContainment() && (!eReference.isResolveProxies() || eReference.getEOpposite() != null))
+                  {
+                    union(parents, i, getRootIndex((InternalEObject)entry.getValue()));
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+
+      int[] result = new int[size];
+      int[] segmentIDs = new int[size];
+      int segmentCount = 0;
+      for (int i = 0; i < size; ++i)
+      {
+        int root = find(parents, i);
+        if (root == i)
+        {
+          segmentIDs[root] = segmentCount++;
+        }
+        result[i] = segmentIDs[root];
+      }
+      return result;
+    }
+
+    private static int find(int[] parents, int index)
+    {
+      int result = index;
+      while (parents[result] != result)
+      {
+        result = parents[result];
+      }
+      while (parents[index] != result)
+      {
+        int parent = parents[index];
+        parents[index] = result;
+        index = parent;
+      }
+      return result;
+    }
+
+    private static void union(int[] parents, int index, int otherIndex)
+    {
+      if (otherIndex != -1)
+      {
+        int root = find(parents, index);
+        int otherRoot = find(parents, otherIndex);
+        if (root != otherRoot)
+        {
+          // Keep the lowest index as the representative, so that segments are numbered in the order of their first root.
+          //
+          if (root < otherRoot)
+          {
+            parents[otherRoot] = root;
+          }
+          else
+          {
+            parents[root] = otherRoot;
           }
         }
       }
-      else
+    }
+
+    private int getRootIndex(InternalEObject internalEObject)
+    {
+      for (InternalEObject eObject = internalEObject; eObject != null; eObject = eObject.eInternalContainer())
       {
-        eStructuralFeatureData.isProxyTransient = true;
+        Resource.Internal directResource = eObject.eDirectResource();
+        if (directResource != null)
+        {
+          Integer rootIndex = directResource == resource ? rootIndexMap.get(eObject) : null;
+          return rootIndex == null ? -1 : rootIndex;
+        }
       }
-
-      return eStructuralFeatureData;
+      return -1;
     }
 
-    protected EStructuralFeatureData writeEStructuralFeature(EStructuralFeature eStructuralFeature) throws IOException
+    /**
+     * Returns the URI fragment of an object that belongs to a segment other than the one being saved,
+     * or <code>null</code> if the object is to be saved as usual.
+     * The fragment is always a path, never an ID, so that only the segment of the root that it identifies needs to be loaded to resolve it.
+     */
+    private String getSegmentFragment(InternalEObject internalEObject)
     {
-      EClass eClass = eStructuralFeature.getEContainingClass();
-      EClassData eClassData = writeEClass(eClass);
-      int featureID = eClass.getFeatureID(eStructuralFeature);
-      EStructuralFeatureData eStructuralFeatureData = eClassData.eStructuralFeatureData[featureID];
-      writeCompressedInt(featureID);
-      if (eStructuralFeatureData.name != null)
+      InternalEObject root = internalEObject;
+      Resource.Internal directResource;
+      while ((directResource = root.eDirectResource()) == null)
       {
-        writeString(eStructuralFeatureData.name);
-        if (segmentedStringToIDMap != null && eStructuralFeatureData.eDataType != null)
+        InternalEObject container = root.eInternalContainer();
+        if (container == null || eObjectIDMap.containsKey(container) && !segmentProxyMap.containsKey(container))
         {
-          writeBoolean(eStructuralFeatureData.dataConverter != null);
+          // The object isn't in a resource, or its container is already in this segment.
+          //
+          return null;
         }
-        eStructuralFeatureData.name = null;
+        root = container;
       }
-      return eStructuralFeatureData;
+
+      Integer rootIndex = directResource == resource ? rootIndexMap.get(root) : null;
+      if (rootIndex == null || rootSegments[rootIndex] == segment)
+      {
+        return null;
+      }
+      segmentReferences.add(rootSegments[rootIndex]);
+
+      List<String> uriFragmentPath = new ArrayList<String>();
+      for (InternalEObject eObject = internalEObject; eObject != root; )
+      {
+        InternalEObject container = eObject.eInternalContainer();
+        uriFragmentPath.add(container.eURIFragmentSegment(eObject.eContainingFeature(), eObject));
+        eObject = container;
+      }
+      StringBuilder result = new StringBuilder("/");
+      result.append(rootIndex);
+      for (int i = uriFragmentPath.size(); --i >= 0; )
+      {
+        result.append('/');
+        result.append(uriFragmentPath.get(i));
+      }
+      return result.toString();
     }
 
-    public void saveResource(Resource resource) throws IOException
+    /**
+     * Clears the tables of packages, classes, objects, URIs, and strings
+     * so that the next segment of a {@link Version#VERSION_1_2 random access} serialization can be read independently.
+     * @since 2.38
+     */
+    protected void resetSegment()
     {
-      this.resource = resource;
-      URI uri = resource.getURI();
-      if (uri != null && uri.isHierarchical() && !uri.isRelative())
+      ePackageDataMap.clear();
+      eClassDataMap.clear();
+      eObjectIDMap.clear();
+      uriToIDMap.clear();
+      dataConverterMap.clear();
+      if (segmentedStringToIDMap != null)
       {
-        baseURI = uri;
+        segmentedStringToIDMap.clear();
+        segmentToIDMap = new HashMap<String, Integer>(INTRINSIC_STRING_TO_ID_MAP);
       }
-      @SuppressWarnings("unchecked")
-      InternalEList<? extends InternalEObject> internalEList = (InternalEList<? extends InternalEObject>)(InternalEList<?>)resource.getContents();
-      saveEObjects(internalEList, Check.CONTAINER);
+      segmentProxyMap = new HashMap<EObject, Boolean>();
+      segmentReferences = new HashSet<Integer>();
+    }
+
+    private long getPosition()
+    {
+      return countingOutputStream.count + index;
     }
 
     public void saveEObjects(InternalEList<? extends InternalEObject> internalEObjects, Check check) throws IOException
@@ -1159,6 +2261,27 @@ public class BinaryResourceImpl extends ResourceImpl
           eObjectIDMap.put(internalEObject, idValue);
           EClass eClass = internalEObject.eClass();
           EClassData eClassData = writeEClass(eClass);
+          if (rootIndexMap != null && check != Check.CONTAINER)
+          {
+            String fragment = getSegmentFragment(internalEObject);
+            if (fragment != null)
+            {
+              // Serialize a proxy for an object in a different segment using a same-document URI.
+              //
+              segmentProxyMap.put(internalEObject, Boolean.TRUE);
+              writeCompressedInt(-1);
+              writeURI(SAME_DOCUMENT_URI, fragment);
+              if ((style & STYLE_PROXY_ATTRIBUTES) != 0)
+              {
+                writeCompressedInt(0);
+              }
+              return;
+            }
+          }
+          if (rootIndexMap != null && internalEObject.eIsProxy())
+          {
+            addSegmentReference(internalEObject.eProxyURI());
+          }
           boolean checkIsTransientProxy = false;
           switch (check)
           {
@@ -1949,6 +3072,33 @@ public class BinaryResourceImpl extends ResourceImpl
      */
     protected boolean isEagerProxyResolution;
 
+    /**
+     * The channel of the file being read, if known.
+     * For a {@link Version#VERSION_1_2 random access} serialization,
+     * the index is read via this channel and each segment is memory-mapped rather than read from the input stream.
+     * @since 2.38
+     */
+    protected FileChannel fileChannel;
+
+    /**
+     * The largest serialization that can be buffered in a byte array.
+     */
+    private static final int MAX_BUFFERED_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static class Segment
+    {
+      public ByteBuffer buffer;
+      public int[] objectIDs;
+      public InternalEObject[] roots;
+      public boolean isLoaded;
+    }
+
+    private Map<InternalEObject, Segment> segments;
+    private int unloadedSegmentCount;
+    private Segment loadingSegment;
+    private URI sameDocumentURI;
+    private List<InternalEObject> segmentProxies;
+
     public EObjectInputStream(InputStream inputStream, Map<?, ?> options) throws IOException
     {
       this.inputStream = inputStream;
@@ -2212,6 +3362,11 @@ public class BinaryResourceImpl extends ResourceImpl
       {
         baseURI = uri;
       }
+      if (version == Version.VERSION_1_2)
+      {
+        loadSegments();
+        return;
+      }
       int size = readCompressedInt();
       InternalEObject[] values = allocateInternalEObjectArray(size);
       for (int i = 0; i < size; ++i)
@@ -2225,6 +3380,402 @@ public class BinaryResourceImpl extends ResourceImpl
       recycle(values);
     }
 
+    /**
+     * Reads the index of a {@link Version#VERSION_1_2 random access} serialization
+     * and populates the resource's contents with a proxy for each root object.
+     * If the resource is a {@link BinaryResourceImpl binary resource} in a resource set,
+     * each segment is {@link #loadSegment(InternalEObject) loaded} on demand,
+     * otherwise all the segments are loaded immediately.
+     * If the serialization is read via a {@link #fileChannel file channel},
+     * the file is memory-mapped once, in chunks of at most 2 GB, and each segment is a slice of that mapping;
+     * otherwise the whole serialization is read into memory, so it may be at most 2 GB.
+     * @since 2.38
+     */
+    protected void loadSegments() throws IOException
+    {
+      URI uri = resource.getURI();
+      sameDocumentURI = uri == null ? SAME_DOCUMENT_URI : uri.trimFragment();
+
+      // Locate the index using the trailer at the end of the serialization.
+      //
+      ByteBuffer indexBuffer;
+      ByteBuffer contentBuffer = null;
+      long base;
+      long end;
+      long indexLength;
+      if (fileChannel != null)
+      {
+        end = fileChannel.size();
+        ByteBuffer trailer = ByteBuffer.allocate(16);
+        readFully(fileChannel, trailer, end - 16);
+        long indexOffset = trailer.getLong(0);
+        indexLength = trailer.getLong(8);
+        base = end - 16 - indexLength - indexOffset;
+        indexBuffer = ByteBuffer.allocate((int)indexLength);
+        readFully(fileChannel, indexBuffer, base + indexOffset);
+        indexBuffer.flip();
+      }
+      else
+      {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        if (bytes != null && index < count)
+        {
+          byteArrayOutputStream.write(bytes, index, count - index);
+        }
+        byte[] buffer = new byte[8192];
+        for (int length; (length = inputStream.read(buffer)) != -1; )
+        {
+          if (length > MAX_BUFFERED_LENGTH - byteArrayOutputStream.size())
+          {
+            throw new IOException("A random access serialization larger than 2 GB can only be loaded from a file");
+          }
+          byteArrayOutputStream.write(buffer, 0, length);
+        }
+        contentBuffer = ByteBuffer.wrap(byteArrayOutputStream.toByteArray());
+        end = contentBuffer.limit();
+        long indexOffset = contentBuffer.getLong((int)end - 16);
+        indexLength = contentBuffer.getLong((int)end - 8);
+        base = 0;
+        indexBuffer = slice(contentBuffer, indexOffset, indexLength);
+      }
+
+      // The stream is now only used to read buffers.
+      //
+      isMarkSupported = false;
+      index = count = 0;
+      inputStream = new ByteBufferInputStream(indexBuffer);
+
+      int segmentCount = readCompressedInt();
+      segments = new HashMap<InternalEObject, Segment>();
+      List<InternalEObject> roots = new ArrayList<InternalEObject>();
+      long[] offsets = new long[segmentCount];
+      long[] lengths = new long[segmentCount];
+      int[][] references = new int[segmentCount][];
+      List<int[]> rootSegmentsAndObjectIDs = new ArrayList<int[]>();
+      Segment[] segmentArray = new Segment[segmentCount];
+      for (int i = 0; i < segmentCount; ++i)
+      {
+        long offset = offsets[i] = readLong();
+        long length = lengths[i] = readLong();
+        Segment segment = segmentArray[i] = new Segment();
+        if (contentBuffer != null)
+        {
+          segment.buffer = slice(contentBuffer, offset, length);
+        }
+        int rootCount = readCompressedInt();
+        segment.objectIDs = new int[rootCount];
+        segment.roots = new InternalEObject[rootCount];
+        for (int j = 0; j < rootCount; ++j)
+        {
+          int rootIndex = readCompressedInt();
+          segment.objectIDs[j] = readCompressedInt();
+          EClassData eClassData = readEClass();
+          InternalEObject root = (InternalEObject)eClassData.eFactory.create(eClassData.eClass);
+          root.eSetProxyURI(sameDocumentURI.appendFragment("/" + rootIndex));
+          segment.roots[j] = root;
+          segments.put(root, segment);
+          while (roots.size() <= rootIndex)
+          {
+            roots.add(null);
+            rootSegmentsAndObjectIDs.add(null);
+          }
+          roots.set(rootIndex, root);
+          rootSegmentsAndObjectIDs.set(rootIndex, new int [] { i, segment.objectIDs[j] });
+        }
+        references[i] = new int[readCompressedInt()];
+        for (int j = 0; j < references[i].length; ++j)
+        {
+          references[i][j] = readCompressedInt();
+        }
+      }
+      unloadedSegmentCount = segmentCount;
+
+      if (fileChannel != null)
+      {
+        mapSegments(segmentArray, offsets, lengths, base);
+      }
+
+      @SuppressWarnings("unchecked")
+      InternalEList<InternalEObject> internalEObjects = (InternalEList<InternalEObject>)(InternalEList<?>)resource.getContents();
+      internalEObjects.addAllUnique(roots);
+
+      if (resourceSet != null && resource instanceof BinaryResourceImpl)
+      {
+        ((BinaryResourceImpl)resource).segmentInputStream = this;
+      }
+      else
+      {
+        // Without a resource set, same-document proxies can't be resolved on demand,
+        // so load all the segments and replace the references to those proxies.
+        //
+        segmentProxies = new ArrayList<InternalEObject>();
+        for (InternalEObject root : roots)
+        {
+          loadSegment(root);
+        }
+        resolveSegmentProxies();
+      }
+
+      if (fileChannel != null && resource instanceof BinaryResourceImpl && !roots.contains(null))
+      {
+        // Record the layout of the file so that the changed segments can be saved incrementally.
+        //
+        int size = roots.size();
+        int[] rootSegments = new int[size];
+        int[] objectIDs = new int[size];
+        for (int i = 0; i < size; ++i)
+        {
+          rootSegments[i] = rootSegmentsAndObjectIDs.get(i)[0];
+          objectIDs[i] = rootSegmentsAndObjectIDs.get(i)[1];
+        }
+        SegmentIndex segmentIndex = new SegmentIndex(roots.toArray(new InternalEObject[size]), rootSegments, objectIDs, offsets, lengths, references);
+        segmentIndex.style = style;
+        segmentIndex.base = base;
+        segmentIndex.indexLength = indexLength + 16;
+        segmentIndex.length = end;
+        ((BinaryResourceImpl)resource).segmentIndex = segmentIndex;
+      }
+    }
+
+    /**
+     * Loads the segment of a {@link Version#VERSION_1_2 random access} serialization that contains the given root object,
+     * if that root object is still a proxy that hasn't been loaded.
+     * The root object is populated in place, i.e., it stops being a proxy,
+     * and the other roots in its segment are similarly populated.
+     * A request to load a segment while another segment is loading is ignored.
+     * @since 2.38
+     */
+    public void loadSegment(InternalEObject root) throws IOException
+    {
+      Segment segment = segments == null ? null : segments.get(root);
+      if (segment != null && !segment.isLoaded && loadingSegment == null)
+      {
+        loadingSegment = segment;
+        try
+        {
+          resetSegment();
+          inputStream = new ByteBufferInputStream(segment.buffer);
+          index = count = 0;
+          int rootCount = readCompressedInt();
+          for (int i = 0; i < rootCount; ++i)
+          {
+            loadEObject();
+          }
+          segment.isLoaded = true;
+          segment.buffer = null;
+          for (InternalEObject segmentRoot : segment.roots)
+          {
+            segments.remove(segmentRoot);
+          }
+          if (--unloadedSegmentCount == 0 && resource instanceof BinaryResourceImpl)
+          {
+            BinaryResourceImpl binaryResource = (BinaryResourceImpl)resource;
+            if (binaryResource.segmentInputStream == this)
+            {
+              binaryResource.segmentInputStream = null;
+            }
+          }
+        }
+        finally
+        {
+          loadingSegment = null;
+        }
+
+        if (isEagerProxyResolution && segmentProxies == null)
+        {
+          for (InternalEObject segmentRoot : segment.roots)
+          {
+            EcoreUtil.resolveAll(segmentRoot);
+          }
+        }
+      }
+    }
+
+    /**
+     * Clears the tables of packages, classes, objects, URIs, and strings read so far,
+     * so that the next segment of a {@link Version#VERSION_1_2 random access} serialization can be read independently.
+     * @since 2.38
+     */
+    protected void resetSegment()
+    {
+      internalEPackageDataList.setData(0, internalEPackageDataList.ePackageData);
+      internalInternalEObjectList.setData(0, internalInternalEObjectList.eObjects);
+      internalURIList.setData(0, internalURIList.uris);
+      dataConverterMap.clear();
+      if (segmentsList != null)
+      {
+        segmentedStringsList.setData(0, segmentedStringsList.strings);
+        segmentsList.setData(0, segmentsList.strings);
+        segmentsList.addAllUnique(INTRINSIC_STRINGS);
+      }
+    }
+
+    private void resolveSegmentProxies() throws IOException
+    {
+      Map<InternalEObject, EObject> resolvedProxies = new HashMap<InternalEObject, EObject>();
+      for (InternalEObject proxy : segmentProxies)
+      {
+        EObject eObject = resource.getEObject(proxy.eProxyURI().fragment());
+        if (eObject != null)
+        {
+          resolvedProxies.put(proxy, eObject);
+        }
+      }
+      segmentProxies = null;
+      if (!resolvedProxies.isEmpty())
+      {
+        for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+        {
+          InternalEObject internalEObject = (InternalEObject)i.next();
+          for (EStructuralFeature eStructuralFeature : internalEObject.eClass().getEAllStructuralFeatures())
+          {
+            if (!eStructuralFeature.isTransient() && internalEObject.eIsSet(eStructuralFeature))
+            {
+              if (eStructuralFeature instanceof EReference)
+              {
+                EReference eReference = (EReference)eStructuralFeature;
+                if (!eReference.isContainment() && !eReference.isContainer())
+                {
+                  Object value = internalEObject.eGet(eReference, false);
+                  if (eReference.isMany())
+                  {
+                    @SuppressWarnings("unchecked")
+                    InternalEList<EObject> internalEList = (InternalEList<EObject>)value;
+                    for (int j = 0, size = internalEList.size(); j < size; ++j)
+                    {
+                      EObject resolvedProxy = resolvedProxies.get(internalEList.basicGet(j));
+                      if (resolvedProxy != null)
+                      {
+                        internalEList.setUnique(j, resolvedProxy);
+                      }
+                    }
+                  }
+                  else
+                  {
+                    EObject resolvedProxy = resolvedProxies.get(value);
+                    if (resolvedProxy != null)
+                    {
+                      internalEObject.eSet(eReference, resolvedProxy);
+                    }
+                  }
+                }
+              }
+              else if (FeatureMapUtil.isFeatureMap(eStructuralFeature))
+              {
+                FeatureMap.Internal featureMap = (FeatureMap.Internal)internalEObject.eGet(eStructuralFeature, false);
+                for (int j = 0, size = featureMap.size(); j < size; ++j)
+                {
+                  FeatureMap.Entry entry = featureMap.get(j);
+                  EObject resolvedProxy = resolvedProxies.get(entry.getValue());
+                  if (resolvedProxy != null)
+                  {
+                    featureMap.setUnique(j, FeatureMapUtil.createRawEntry(entry.getEStructuralFeature(), resolvedProxy));
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Slices each segment's buffer out of as few mappings of the file as possible.
+     * A mapping is limited to 2 GB,
+     * so a new mapping starts at the first segment, in file order, that doesn't fit in the current one.
+     */
+    private void mapSegments(Segment[] segmentArray, final long[] offsets, long[] lengths, long base) throws IOException
+    {
+      Integer[] order = new Integer[segmentArray.length];
+      for (int i = 0; i < order.length; ++i)
+      {
+        order[i] = i;
+      }
+      Arrays.sort
+        (order,
+         new Comparator<Integer>()
+         {
+           public int compare(Integer i1, Integer i2)
+           {
+             return Long.compare(offsets[i1], offsets[i2]);
+           }
+         });
+
+      long size = fileChannel.size();
+      ByteBuffer mapping = null;
+      long mappingStart = 0;
+      long mappingEnd = 0;
+      for (int i : order)
+      {
+        long start = base + offsets[i];
+        long end = start + lengths[i];
+        if (mapping == null || end > mappingEnd)
+        {
+          mappingStart = start;
+          mappingEnd = Math.min(size, start + Integer.MAX_VALUE);
+          if (end > mappingEnd)
+          {
+            throw new IOException("A segment larger than 2 GB can't be loaded");
+          }
+          mapping = fileChannel.map(FileChannel.MapMode.READ_ONLY, mappingStart, mappingEnd - mappingStart);
+        }
+        segmentArray[i].buffer = slice(mapping, start - mappingStart, lengths[i]);
+      }
+    }
+
+    private static void readFully(FileChannel fileChannel, ByteBuffer byteBuffer, long position) throws IOException
+    {
+      while (byteBuffer.hasRemaining())
+      {
+        int length = fileChannel.read(byteBuffer, position);
+        if (length == -1)
+        {
+          throw new IOException("Unexpected end of stream");
+        }
+        position += length;
+      }
+    }
+
+    private static ByteBuffer slice(ByteBuffer byteBuffer, long offset, long length)
+    {
+      ByteBuffer result = byteBuffer.duplicate();
+      result.position((int)offset);
+      result.limit((int)(offset + length));
+      return result.slice();
+    }
+
+    private static class ByteBufferInputStream extends InputStream
+    {
+      private final ByteBuffer byteBuffer;
+
+      public ByteBufferInputStream(ByteBuffer byteBuffer)
+      {
+        this.byteBuffer = byteBuffer;
+      }
+
+      @Override
+      public int read() throws IOException
+      {
+        return byteBuffer.hasRemaining() ? byteBuffer.get() & 0xFF : -1;
+      }
+
+      @Override
+      public int read(byte[] bytes, int offset, int length) throws IOException
+      {
+        int remaining = byteBuffer.remaining();
+        if (remaining == 0)
+        {
+          return -1;
+        }
+        else
+        {
+          int result = Math.min(length, remaining);
+          byteBuffer.get(bytes, offset, result);
+          return result;
+        }
+      }
+    }
+
     public void loadEObjects(InternalEList<InternalEObject> internalEObjects) throws IOException
     {
       // Read all the values into an array.
@@ -2493,7 +4044,17 @@ public class BinaryResourceImpl extends ResourceImpl
         if (internalInternalEObjectList.size() <= id)
         {
           EClassData eClassData = readEClass();
-          InternalEObject internalEObject =  (InternalEObject)eClassData.eFactory.create(eClassData.eClass);
+          InternalEObject internalEObject = loadingSegment == null ? null : getSegmentRoot(id);
+          if (internalEObject == null)
+          {
+            internalEObject = (InternalEObject)eClassData.eFactory.create(eClassData.eClass);
+          }
+          else
+          {
+            // Populate the proxy created for the root while reading the index.
+            //
+            internalEObject.eSetProxyURI(null);
+          }
           InternalEObject result = internalEObject;
 
           // Check if we have a "feature" representing the proxy URI...
@@ -2501,8 +4062,14 @@ public class BinaryResourceImpl extends ResourceImpl
           int featureID = readCompressedInt() - 1;
           if (featureID == -2)
           {
-            internalEObject.eSetProxyURI(readURI());
-            if (isEagerProxyResolution)
+            URI proxyURI = readURI();
+            internalEObject.eSetProxyURI(proxyURI);
+            boolean isSegmentProxy = loadingSegment != null && sameDocumentURI.equals(proxyURI.trimFragment());
+            if (isSegmentProxy && segmentProxies != null)
+            {
+              segmentProxies.add(internalEObject);
+            }
+            if (isEagerProxyResolution && !isSegmentProxy)
             {
               result = (InternalEObject)EcoreUtil.resolve(internalEObject, resource);
               internalInternalEObjectList.add(result);
@@ -2544,6 +4111,19 @@ public class BinaryResourceImpl extends ResourceImpl
       }
     }
 
+    private InternalEObject getSegmentRoot(int id)
+    {
+      int[] objectIDs = loadingSegment.objectIDs;
+      for (int i = 0; i < objectIDs.length; ++i)
+      {
+        if (objectIDs[i] == id)
+        {
+          return loadingSegment.roots[i];
+        }
+      }
+      return null;
+    }
+
     protected void loadFeatureValue(InternalEObject internalEObject, EStructuralFeatureData eStructuralFeatureData) throws IOException
     {
       switch (eStructuralFeatureData.kind)
@@ -2999,7 +4579,7 @@ public class BinaryResourceImpl extends ResourceImpl
         if (internalURIList.size() <= id)
         {
           String value = readSegmentedString();
-          uri = resolve(URI.createURI(value));
+          uri = sameDocumentURI != null && value.length() == 0 ? sameDocumentURI : resolve(URI.createURI(value));
           internalURIList.add(uri);
         }
         else
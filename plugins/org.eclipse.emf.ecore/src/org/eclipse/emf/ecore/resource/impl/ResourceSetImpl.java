@@ -12,10 +12,21 @@ package org.eclipse.emf.ecore.resource.impl;
 
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.eclipse.emf.common.notify.AdapterFactory;
 import org.eclipse.emf.common.notify.Notification;
@@ -29,8 +40,14 @@ import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.common.util.UniqueEList;
 import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.EPackageImpl;
 import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
 import org.eclipse.emf.ecore.resource.ContentHandler;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -38,6 +55,7 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.ExtendedMetaData;
 import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emf.ecore.util.NotifyingInternalEListImpl;
 
@@ -57,6 +75,11 @@ import org.eclipse.emf.ecore.util.NotifyingInternalEListImpl;
  *     <li>{@link #demandCreateResource(URI)}</li>
  *     <li>{@link #demandLoad(Resource)}</li>
  *     <li>{@link #demandLoadHelper(Resource)}</li>
+ *     <li>{@link #getResources(Collection, Executor)}</li>
+ *   </ul>
+ *   <li><b>Share</b></li>
+ *   <ul>
+ *     <li>{@link #freeze()}</li>
  *   </ul>
  * </ul>
  * </p>
@@ -111,6 +134,11 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
    */
   protected ResourceLocator resourceLocator;
 
+  /**
+   * Whether this resource set has been {@link #freeze() frozen}.
+   */
+  private boolean isFrozen;
+
   /**
    * Creates an empty instance.
    */
@@ -347,6 +375,11 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
    */
   public Resource getResource(URI uri, boolean loadOnDemand)
   {
+    if (isFrozen)
+    {
+      return getFrozenResource(uri);
+    }
+
     if (resourceLocator != null)
     {
       return resourceLocator.getResource(uri, loadOnDemand);
@@ -415,6 +448,477 @@ public class ResourceSetImpl extends NotifierImpl implements ResourceSet
     return null;
   }
 
+  /**
+   * Returns the resources for the given URIs, demand loading concurrently, via the given executor, those that aren't yet in the resource set.
+   * <p>
+   * Each resource that isn't yet in the resource set is created and {@link #demandLoad(Resource) demand loaded} on the executor
+   * in a private resource set that shares this resource set's {@link #getURIConverter() URI converter},
+   * {@link #getResourceFactoryRegistry() resource factory registry}, and {@link #getLoadOptions() load options},
+   * and that has its own package registry delegating to this resource set's {@link #getPackageRegistry() package registry},
+   * so that loading doesn't modify this resource set nor notify its adapters.
+   * Before any load starts, the package descriptors of this resource set's package registry are resolved on the calling thread,
+   * so that the loads only read that registry.
+   * The URI converter and the resource factory registry are used by the loads concurrently,
+   * so they must support concurrent use and must not be modified until this method returns;
+   * the default {@link ExtensibleURIConverterImpl} and {@link ResourceFactoryRegistryImpl} support concurrent lookups
+   * as long as their maps and handlers aren't modified.
+   * Once all the loads have completed, the newly loaded resources are added to this resource set in a single step.
+   * Resources that are in this resource set but aren't loaded are then loaded by the calling thread.
+   * Finally, proxies between any of the newly loaded resources are resolved.
+   * </p>
+   * <p>
+   * If any resource fails to load, it's still added to the resource set, with the failure recorded as an error diagnostic,
+   * and the runtime exception {@link #handleDemandLoadException(Resource, IOException) produced} for the first such failure is thrown
+   * after all the resources have been added.
+   * </p>
+   * @param uris the URIs of the resources.
+   * @param executor the executor on which to load resources, or <code>null</code> to load them all on the calling thread.
+   * @return the resources, in the same order as the URIs.
+   * @since 2.38
+   */
+  public EList<Resource> getResources(Collection<URI> uris, Executor executor)
+  {
+    EList<Resource> result = new BasicEList<Resource>(uris.size());
+    List<FutureTask<Resource>> tasks = new ArrayList<FutureTask<Resource>>();
+    Map<URI, FutureTask<Resource>> uriToTaskMap = new HashMap<URI, FutureTask<Resource>>();
+
+    // Initialize the shared state before any other thread uses it.
+    //
+    final URIConverter theURIConverter = getURIConverter();
+    final EPackage.Registry thePackageRegistry = getPackageRegistry();
+    final Resource.Factory.Registry theResourceFactoryRegistry = getResourceFactoryRegistry();
+    final Map<Object, Object> theLoadOptions = getLoadOptions();
+    if (executor != null && thePackageRegistry instanceof EPackageRegistryImpl && thePackageRegistry != EPackage.Registry.INSTANCE)
+    {
+      // Resolving a descriptor replaces it with its package, so do that now rather than while the loads are reading the registry.
+      //
+      for (String nsURI : new ArrayList<String>(thePackageRegistry.keySet()))
+      {
+        if (thePackageRegistry.get(nsURI) instanceof EPackage.Descriptor)
+        {
+          thePackageRegistry.getEPackage(nsURI);
+        }
+      }
+    }
+
+    for (final URI uri : uris)
+    {
+      Resource resource = getResource(uri, false);
+      if (resource == null)
+      {
+        FutureTask<Resource> task = uriToTaskMap.get(uri);
+        if (task == null)
+        {
+          task =
+            new FutureTask<Resource>
+              (new Callable<Resource>()
+               {
+                 public Resource call() throws Exception
+                 {
+                   ResourceSetImpl stagingResourceSet = new ResourceSetImpl();
+                   stagingResourceSet.setURIConverter(theURIConverter);
+                   stagingResourceSet.setPackageRegistry(new EPackageRegistryImpl(thePackageRegistry));
+                   stagingResourceSet.setResourceFactoryRegistry(theResourceFactoryRegistry);
+                   stagingResourceSet.getLoadOptions().putAll(theLoadOptions);
+                   Resource resource = stagingResourceSet.createResource(uri, ContentHandler.UNSPECIFIED_CONTENT_TYPE);
+                   if (resource == null)
+                   {
+                     throw new RuntimeException("Cannot create a resource for '" + uri + "'; a registered resource factory is needed");
+                   }
+                   try
+                   {
+                     demandLoad(resource);
+                   }
+                   catch (IOException exception)
+                   {
+                     throw new LoadException(resource, exception);
+                   }
+                   return resource;
+                 }
+               });
+          uriToTaskMap.put(uri, task);
+          tasks.add(task);
+          if (executor == null)
+          {
+            task.run();
+          }
+          else
+          {
+            executor.execute(task);
+          }
+        }
+      }
+      result.add(resource);
+    }
+
+    // Wait for all the loads to complete before changing anything.
+    //
+    Map<FutureTask<Resource>, Resource> loadedResources = new LinkedHashMap<FutureTask<Resource>, Resource>();
+    Map<Resource, IOException> failures = new LinkedHashMap<Resource, IOException>();
+    RuntimeException runtimeException = null;
+    for (FutureTask<Resource> task : tasks)
+    {
+      try
+      {
+        loadedResources.put(task, task.get());
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+        if (runtimeException == null)
+        {
+          runtimeException = new WrappedException(exception);
+        }
+      }
+      catch (ExecutionException exception)
+      {
+        Throwable cause = exception.getCause();
+        if (cause instanceof LoadException)
+        {
+          LoadException loadException = (LoadException)cause;
+          loadedResources.put(task, loadException.resource);
+          failures.put(loadException.resource, loadException.exception);
+        }
+        else if (runtimeException == null)
+        {
+          runtimeException = cause instanceof RuntimeException ? (RuntimeException)cause : new WrappedException((Exception)cause);
+        }
+      }
+    }
+
+    // Commit all the loaded resources at once.
+    //
+    getResources().addAll(loadedResources.values());
+    List<Resource> newlyLoadedResources = new ArrayList<Resource>(loadedResources.values());
+    Map<URI, Resource> map = getURIResourceMap();
+    int index = 0;
+    for (URI uri : uris)
+    {
+      Resource resource = result.get(index);
+      if (resource == null)
+      {
+        resource = loadedResources.get(uriToTaskMap.get(uri));
+        result.set(index, resource);
+        if (map != null && resource != null)
+        {
+          map.put(uri, resource);
+        }
+      }
+      else if (!resource.isLoaded())
+      {
+        newlyLoadedResources.add(resource);
+        try
+        {
+          demandLoadHelper(resource);
+        }
+        catch (RuntimeException exception)
+        {
+          if (runtimeException == null)
+          {
+            runtimeException = exception;
+          }
+        }
+      }
+      ++index;
+    }
+
+    for (Map.Entry<Resource, IOException> entry : failures.entrySet())
+    {
+      try
+      {
+        handleDemandLoadException(entry.getKey(), entry.getValue());
+      }
+      catch (RuntimeException exception)
+      {
+        if (runtimeException == null)
+        {
+          runtimeException = exception;
+        }
+      }
+    }
+
+    resolveProxies(newlyLoadedResources);
+
+    if (runtimeException != null)
+    {
+      throw runtimeException;
+    }
+
+    return result;
+  }
+
+  /**
+   * Resolves the proxies, in the contents of the given resources, that refer to objects in any of those resources.
+   */
+  private void resolveProxies(Collection<Resource> resources)
+  {
+    if (!resources.isEmpty())
+    {
+      URIConverter theURIConverter = getURIConverter();
+      Set<URI> uris = new HashSet<URI>();
+      for (Resource resource : resources)
+      {
+        uris.add(theURIConverter.normalize(resource.getURI()));
+      }
+      for (Resource resource : resources)
+      {
+        for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+        {
+          EObject eObject = i.next();
+          for (EReference eReference : eObject.eClass().getEAllReferences())
+          {
+            if (eReference.isResolveProxies() && !eReference.isDerived() && eObject.eIsSet(eReference))
+            {
+              if (eReference.isMany())
+              {
+                @SuppressWarnings("unchecked")
+                InternalEList<EObject> values = (InternalEList<EObject>)eObject.eGet(eReference, false);
+                for (int j = 0, size = values.size(); j < size; ++j)
+                {
+                  EObject value = values.basicGet(j);
+                  if (value.eIsProxy() && uris.contains(theURIConverter.normalize(((InternalEObject)value).eProxyURI().trimFragment())))
+                  {
+                    values.get(j);
+                  }
+                }
+              }
+              else
+              {
+                EObject value = (EObject)eObject.eGet(eReference, false);
+                if (value != null && value.eIsProxy() && uris.contains(theURIConverter.normalize(((InternalEObject)value).eProxyURI().trimFragment())))
+                {
+                  eObject.eGet(eReference, true);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Prepares this resource set to be shared, read-only, by any number of threads.
+   * <p>
+   * All proxies in all the resources are {@link EcoreUtil#resolveAll(ResourceSet) resolved}.
+   * The state that's otherwise lazily created when the objects are read is then created up front:
+   * the value of each non-derived feature of each object, the adapter list of each object,
+   * and the IDs of the objects of each resource's {@link ResourceImpl#getIntrinsicIDToEObjectMap() ID map}.
+   * Finally, the lazily computed metadata of the packages of the classes of the objects, and of the packages they depend on,
+   * including the {@link ExtendedMetaData#INSTANCE extended metadata}, is initialized.
+   * Of those packages, only the ones contained by this resource set's resources are {@link EPackageImpl#freeze() frozen};
+   * packages that are shared, e.g., via the {@link EPackage.Registry#INSTANCE global package registry}, are left as they are.
+   * </p>
+   * <p>
+   * Once frozen, {@link #getResource(URI, boolean) getResource} only finds resources that are in the resource set;
+   * it neither creates nor demand loads resources, nor caches them in the {@link #getURIResourceMap() URI resource map}.
+   * Any number of threads can then traverse the resources and their objects, without locking,
+   * provided that the resource set was frozen before those threads were given access to it,
+   * and provided that nothing modifies the resource set, its resources, or their objects,
+   * including by adding adapters.
+   * Modifying a frozen package is caught by an assertion.
+   * </p>
+   * @see #isFrozen()
+   * @since 2.38
+   */
+  public void freeze()
+  {
+    if (!isFrozen)
+    {
+      // Create the lazily created state of the resource set itself.
+      //
+      getURIConverter();
+      getPackageRegistry();
+      getResourceFactoryRegistry();
+      getLoadOptions();
+      getAdapterFactories();
+      eAdapters();
+
+      EcoreUtil.resolveAll(this);
+
+      Set<EClass> eClasses = new HashSet<EClass>();
+      Set<EPackage> ePackages = new LinkedHashSet<EPackage>();
+      for (Resource resource : getResources())
+      {
+        resource.eAdapters();
+        resource.getErrors();
+        resource.getWarnings();
+        Map<String, EObject> intrinsicIDToEObjectMap =
+          resource instanceof ResourceImpl ? ((ResourceImpl)resource).getIntrinsicIDToEObjectMap() : null;
+        for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+        {
+          EObject eObject = i.next();
+          eObject.eAdapters();
+          EClass eClass = eObject.eClass();
+          if (eClasses.add(eClass))
+          {
+            addPackages(eClass, ePackages);
+          }
+          for (EStructuralFeature eStructuralFeature : eClass.getEAllStructuralFeatures())
+          {
+            if (!eStructuralFeature.isDerived())
+            {
+              // Getting the value creates the settings and the list of a many-valued feature.
+              //
+              eObject.eGet(eStructuralFeature, false);
+            }
+          }
+          if (intrinsicIDToEObjectMap != null)
+          {
+            String id = EcoreUtil.getID(eObject);
+            if (id != null && !intrinsicIDToEObjectMap.containsKey(id))
+            {
+              intrinsicIDToEObjectMap.put(id, eObject);
+            }
+          }
+        }
+      }
+
+      freeze(this, ePackages);
+
+      isFrozen = true;
+    }
+  }
+
+  /**
+   * Returns whether this resource set has been {@link #freeze() frozen}.
+   * @return whether this resource set has been frozen.
+   * @since 2.38
+   */
+  public boolean isFrozen()
+  {
+    return isFrozen;
+  }
+
+  /**
+   * Adds the packages of the class, of its super types, and of the types of its features, to the set of packages.
+   */
+  private static void addPackages(EClass eClass, Set<EPackage> ePackages)
+  {
+    ePackages.add(eClass.getEPackage());
+    for (EClass eSuperType : eClass.getEAllSuperTypes())
+    {
+      ePackages.add(eSuperType.getEPackage());
+    }
+    for (EStructuralFeature eStructuralFeature : eClass.getEAllStructuralFeatures())
+    {
+      EClassifier eType = eStructuralFeature.getEType();
+      if (eType != null)
+      {
+        ePackages.add(eType.getEPackage());
+      }
+    }
+  }
+
+  /**
+   * Initializes the lazily computed metadata of the packages, and of any packages on which they depend,
+   * and freezes those that are contained by the resource set.
+   */
+  private static void freeze(ResourceSet resourceSet, Set<EPackage> ePackages)
+  {
+    ePackages.remove(null);
+    List<EPackage> packages = new ArrayList<EPackage>(ePackages);
+    for (int i = 0; i < packages.size(); ++i)
+    {
+      EPackage ePackage = packages.get(i);
+      ePackage.getEFactoryInstance();
+      ExtendedMetaData.INSTANCE.getNamespace(ePackage);
+      for (EClassifier eClassifier : ePackage.getEClassifiers())
+      {
+        ePackage.getEClassifier(eClassifier.getName());
+        eClassifier.getInstanceClass();
+        eClassifier.getDefaultValue();
+        ExtendedMetaData.INSTANCE.getName(eClassifier);
+        if (eClassifier instanceof EClass)
+        {
+          EClass eClass = (EClass)eClassifier;
+          eClass.getEIDAttribute();
+          Set<EPackage> otherEPackages = new LinkedHashSet<EPackage>();
+          addPackages(eClass, otherEPackages);
+          for (EPackage otherEPackage : otherEPackages)
+          {
+            if (otherEPackage != null && ePackages.add(otherEPackage))
+            {
+              packages.add(otherEPackage);
+            }
+          }
+          for (EStructuralFeature eStructuralFeature : eClass.getEAllStructuralFeatures())
+          {
+            eClass.getEStructuralFeature(eStructuralFeature.getName());
+            eClass.getFeatureID(eStructuralFeature);
+            ((EStructuralFeature.Internal)eStructuralFeature).getSettingDelegate();
+            eStructuralFeature.getDefaultValue();
+            ExtendedMetaData.INSTANCE.getName(eStructuralFeature);
+            ExtendedMetaData.INSTANCE.getNamespace(eStructuralFeature);
+            if (eStructuralFeature instanceof EReference)
+            {
+              ((EReference)eStructuralFeature).getEOpposite();
+            }
+          }
+        }
+      }
+    }
+
+    for (EPackage ePackage : packages)
+    {
+      if (ePackage instanceof EPackageImpl)
+      {
+        Resource resource = ePackage.eResource();
+        if (resource != null && resource.getResourceSet() == resourceSet)
+        {
+          ((EPackageImpl)ePackage).freeze();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the resource in this frozen resource set with the given URI, or <code>null</code>,
+   * without modifying any state.
+   */
+  private Resource getFrozenResource(URI uri)
+  {
+    Map<URI, Resource> map = getURIResourceMap();
+    if (map != null)
+    {
+      Resource resource = map.get(uri);
+      if (resource != null)
+      {
+        return resource;
+      }
+    }
+
+    URIConverter theURIConverter = getURIConverter();
+    URI normalizedURI = theURIConverter.normalize(uri);
+    for (Resource resource : getResources())
+    {
+      if (theURIConverter.normalize(resource.getURI()).equals(normalizedURI))
+      {
+        return resource;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Carries a resource that failed to load, along with the exception, from the thread that loaded it.
+   */
+  private static class LoadException extends Exception
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Resource resource;
+    private final IOException exception;
+
+    public LoadException(Resource resource, IOException exception)
+    {
+      super(exception);
+      this.resource = resource;
+      this.exception = exception;
+    }
+  }
+
   /*
    * Javadoc copied from interface.
    */
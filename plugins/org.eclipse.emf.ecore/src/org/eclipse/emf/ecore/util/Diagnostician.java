@@ -11,16 +11,23 @@
 package org.eclipse.emf.ecore.util;
 
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.DiagnosticChain;
+import org.eclipse.emf.common.util.Monitor;
 import org.eclipse.emf.common.util.TreeIterator;
 
 import org.eclipse.emf.ecore.EValidator;
@@ -226,21 +233,7 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
   {
     try
     {
-      Object eValidator;
-      EClass eType = eClass;
-      while ((eValidator = eValidatorRegistry.get(eType.eContainer())) == null)
-      {
-        List<EClass> eSuperTypes = eType.getESuperTypes();
-        if (eSuperTypes.isEmpty())
-        {
-          eValidator = eValidatorRegistry.get(null);
-          break;
-        }
-        else
-        {
-          eType = eSuperTypes.get(0);
-        }
-      }
+      Object eValidator = getEValidator(eClass);
       boolean circular = context.get(EObjectValidator.ROOT_OBJECT) == eObject;
       boolean result = doValidate((EValidator)eValidator, eClass, eObject, diagnostics, context);
       if (!Boolean.FALSE.equals(context.get(VALIDATE_RECURSIVELY)) && (result || diagnostics != null) && !circular)
@@ -266,6 +259,238 @@ public class Diagnostician implements EValidator.SubstitutionLabelProvider, EVal
     return false;
   }
 
+  private Object getEValidator(EClass eClass)
+  {
+    Object eValidator;
+    EClass eType = eClass;
+    while ((eValidator = eValidatorRegistry.get(eType.eContainer())) == null)
+    {
+      List<EClass> eSuperTypes = eType.getESuperTypes();
+      if (eSuperTypes.isEmpty())
+      {
+        eValidator = eValidatorRegistry.get(null);
+        break;
+      }
+      else
+      {
+        eType = eSuperTypes.get(0);
+      }
+    }
+    return eValidator;
+  }
+
+  /**
+   * Validates the object and its contents concurrently, using the given pool.
+   * @param eObject the object to validate.
+   * @param contextEntries additional entries for the {@link #createDefaultContext() default context}.
+   * @param forkJoinPool the pool in which to validate the containment tree.
+   * @param monitor the monitor used to cancel validation, or <code>null</code>.
+   * @return the diagnostic for the object.
+   * @see #validate(EObject, DiagnosticChain, Map, ForkJoinPool, Monitor)
+   * @since 2.38
+   */
+  public Diagnostic validate(EObject eObject, Map<?, ?> contextEntries, ForkJoinPool forkJoinPool, Monitor monitor)
+  {
+    BasicDiagnostic diagnostics = createDefaultDiagnostic(eObject);
+    Map<Object, Object> context = createDefaultContext();
+    context.putAll(contextEntries);
+    validate(eObject, diagnostics, context, forkJoinPool, monitor);
+    return diagnostics;
+  }
+
+  /**
+   * Validates the object and its contents concurrently, using the given pool, optionally producing diagnostics.
+   * <p>
+   * The object is validated first, and then the subtrees of its contents are validated by separate tasks,
+   * which split their own contents in the same way while the pool has idle threads.
+   * Each task validates with its own copy of the context, as it was after validating the subtree's container,
+   * so validators must not rely on information recorded in the context while validating objects outside the path to the subtree.
+   * The diagnostics of the subtrees are added in the order of the containment tree,
+   * i.e., in the same order as {@link #validate(EObject, DiagnosticChain, Map) iterative validation} adds them,
+   * regardless of how the work is scheduled.
+   * </p>
+   * <p>
+   * Before any task starts, the calling thread visits the tree to resolve containment proxies
+   * and to initialize the lazily computed state of each class and of its validator,
+   * so validators need only support concurrent validation of distinct objects.
+   * If the monitor is canceled, no further objects are validated,
+   * {@link Diagnostic#CANCEL_INSTANCE} is added to the diagnostics, and <code>false</code> is returned.
+   * If {@link #isValidateContentsRecursively() recursive validation} is needed,
+   * the tree is validated by the calling thread as {@link #validate(EObject, DiagnosticChain, Map)} does.
+   * </p>
+   * @param eObject the object to validate.
+   * @param diagnostics a place to accumulate diagnostics; if it's <code>null</code>, no diagnostics should be produced.
+   * @param context a place to cache information.
+   * @param forkJoinPool the pool in which to validate the containment tree.
+   * @param monitor the monitor used to cancel validation, or <code>null</code>.
+   * @return whether the object and its contents are valid.
+   * @since 2.38
+   */
+  public boolean validate(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context, ForkJoinPool forkJoinPool, Monitor monitor)
+  {
+    if (isValidateContentsRecursively() || Boolean.TRUE.equals(context.get(VALIDATE_RECURSIVELY)))
+    {
+      return validate(eObject, diagnostics, context);
+    }
+
+    Set<EClass> eClasses = new HashSet<EClass>();
+    for (TreeIterator<EObject> i = EcoreUtil.getAllContents(eObject, true); i.hasNext(); )
+    {
+      EObject child = i.next();
+      EClass eClass = child.eClass();
+      if (eClasses.add(eClass))
+      {
+        eClass.getEAllStructuralFeatures();
+        eClass.getEAllAttributes();
+        eClass.getEAllReferences();
+        eClass.getEAllContainments();
+        eClass.getEAllOperations();
+        eClass.getEAllSuperTypes();
+        getEValidator(eClass);
+      }
+      if (child == eObject)
+      {
+        // Avoid looping over circular containment.
+        //
+        i.prune();
+      }
+    }
+
+    Object validateRecursively = context.put(VALIDATE_RECURSIVELY, Boolean.FALSE);
+    try
+    {
+      ValidationTask task = new ValidationTask(eObject, diagnostics, context, new AtomicBoolean(), monitor);
+      boolean result = forkJoinPool.invoke(task);
+      if (monitor != null && monitor.isCanceled())
+      {
+        if (diagnostics != null)
+        {
+          diagnostics.add(Diagnostic.CANCEL_INSTANCE);
+        }
+        return false;
+      }
+      return result;
+    }
+    finally
+    {
+      context.put(VALIDATE_RECURSIVELY, validateRecursively);
+    }
+  }
+
+  /**
+   * A task that validates an object and then its contents, splitting the contents into subtasks while the pool has idle threads.
+   */
+  private class ValidationTask extends RecursiveTask<Boolean>
+  {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of tasks queued by the current thread beyond which contents are validated by the current task.
+     */
+    private static final int SURPLUS_THRESHOLD = 2;
+
+    private final EObject eObject;
+
+    private final DiagnosticChain diagnostics;
+
+    private final Map<Object, Object> context;
+
+    private final AtomicBoolean stop;
+
+    private final Monitor monitor;
+
+    public ValidationTask(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context, AtomicBoolean stop, Monitor monitor)
+    {
+      this.eObject = eObject;
+      this.diagnostics = diagnostics;
+      this.context = context;
+      this.stop = stop;
+      this.monitor = monitor;
+    }
+
+    private boolean isStopped()
+    {
+      if (stop.get())
+      {
+        return true;
+      }
+      else if (monitor != null && monitor.isCanceled())
+      {
+        stop.set(true);
+        return true;
+      }
+      else
+      {
+        return false;
+      }
+    }
+
+    private boolean validate(EObject object)
+    {
+      boolean result = Diagnostician.this.validate(object.eClass(), object, diagnostics, context);
+      if (!result && diagnostics == null)
+      {
+        // Without diagnostics, the first invalid object determines the result.
+        //
+        stop.set(true);
+      }
+      return result;
+    }
+
+    @Override
+    protected Boolean compute()
+    {
+      if (isStopped())
+      {
+        return false;
+      }
+
+      boolean circular = context.get(EObjectValidator.ROOT_OBJECT) == eObject;
+      boolean result = validate(eObject);
+      if (circular || eObject.eContents().isEmpty())
+      {
+        return result;
+      }
+
+      if (getSurplusQueuedTaskCount() > SURPLUS_THRESHOLD)
+      {
+        for (TreeIterator<EObject> i = EcoreUtil.getAllContents(eObject.eContents()); i.hasNext(); )
+        {
+          if (isStopped())
+          {
+            return false;
+          }
+          EObject child = i.next();
+          circular = context.get(EObjectValidator.ROOT_OBJECT) == child;
+          result &= validate(child);
+          if (circular)
+          {
+            i.prune();
+          }
+        }
+        return result;
+      }
+      else
+      {
+        List<ValidationTask> tasks = new ArrayList<ValidationTask>();
+        for (EObject child : eObject.eContents())
+        {
+          tasks.add(new ValidationTask(child, diagnostics == null ? null : new BasicDiagnostic(), new HashMap<Object, Object>(context), stop, monitor));
+        }
+        invokeAll(tasks);
+        for (ValidationTask task : tasks)
+        {
+          result &= task.join();
+          if (diagnostics != null)
+          {
+            diagnostics.addAll((Diagnostic)task.diagnostics);
+          }
+        }
+        return result;
+      }
+    }
+  }
+
   /**
    * Called by {@link #validate(EClass, EObject, DiagnosticChain, Map)} when an exception is thrown during validation.
    * If diagnostics are being recorded and the exception is a {@link RuntimeException} or an {@link AssertionError},
@@ -13,6 +13,7 @@
 package org.eclipse.emf.ecore.util;
 
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -22,7 +23,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notification;
@@ -30,6 +37,7 @@ import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
@@ -103,10 +111,23 @@ public class ECrossReferenceAdapter implements Adapter.Internal
     
     @Override
     protected EContentsEList.FeatureIterator<EObject> getCrossReferences(EObject eObject)
+    {
+      return getCrossReferences(eObject, resolve());
+    }
+
+    /**
+     * Returns an iterator over the indexed cross references of the object,
+     * resolving proxies only if specified.
+     * @param eObject the object whose cross references are to be iterated.
+     * @param resolve whether proxies should be resolved.
+     * @return an iterator over the indexed cross references of the object.
+     * @since 2.38
+     */
+    protected EContentsEList.FeatureIterator<EObject> getCrossReferences(EObject eObject, boolean resolve)
     {
       InternalEList<EObject> eCrossReferences = (InternalEList<EObject>)eObject.eCrossReferences();
 
-      final EContentsEList.FeatureIterator<EObject> underlyingIterator = (FeatureIterator<EObject>)(resolve() ? eCrossReferences.iterator() : eCrossReferences.basicIterator());
+      final EContentsEList.FeatureIterator<EObject> underlyingIterator = (FeatureIterator<EObject>)(resolve ? eCrossReferences.iterator() : eCrossReferences.basicIterator());
 
       if (underlyingIterator instanceof EContentsEList.Filterable)
       {
@@ -179,6 +200,11 @@ public class ECrossReferenceAdapter implements Adapter.Internal
     @Override
     protected Collection<EStructuralFeature.Setting> newCollection()
     {
+      if (useCompactIndex())
+      {
+        return new PackedSettingList();
+      }
+
       return 
         new BasicEList<EStructuralFeature.Setting>()
         {
@@ -343,7 +369,17 @@ public class ECrossReferenceAdapter implements Adapter.Internal
     @Override
     protected void add(InternalEObject eObject, EReference eReference, EObject crossReferencedEObject)
     {
-      super.add(eObject, eReference, crossReferencedEObject);
+      Collection<EStructuralFeature.Setting> collection = getCollection(crossReferencedEObject);
+      if (collection instanceof PackedSettingList)
+      {
+        // Avoid creating a setting that would only be discarded.
+        //
+        ((PackedSettingList)collection).add(eObject, eReference);
+      }
+      else
+      {
+        collection.add(eObject.eSetting(eReference));
+      }
       if (!resolve())
       {
         addProxy(crossReferencedEObject, eObject);
@@ -388,9 +424,26 @@ public class ECrossReferenceAdapter implements Adapter.Internal
       {
         removeProxy(crossReferencedEObject, eObject);
       }
-      BasicEList<EStructuralFeature.Setting> collection = (BasicEList<EStructuralFeature.Setting>)get(crossReferencedEObject);
-      if (collection != null)
+      Collection<EStructuralFeature.Setting> settings = get(crossReferencedEObject);
+      if (settings instanceof PackedSettingList)
       {
+        PackedSettingList packedSettingList = (PackedSettingList)settings;
+        int index = packedSettingList.indexOf(eObject, eReference);
+        if (index != -1)
+        {
+          if (packedSettingList.size() == 1)
+          {
+            super.remove(crossReferencedEObject);
+          }
+          else
+          {
+            packedSettingList.remove(index);
+          }
+        }
+      }
+      else if (settings != null)
+      {
+        BasicEList<EStructuralFeature.Setting> collection = (BasicEList<EStructuralFeature.Setting>)settings;
         EStructuralFeature.Setting [] settingData =  (EStructuralFeature.Setting[])collection.data();
         for (int i = 0, size = collection.size(); i < size; ++i)
         {
@@ -469,6 +522,259 @@ public class ECrossReferenceAdapter implements Adapter.Internal
     }
   }
   
+  /**
+   * A list of the settings that refer to an object,
+   * recorded as parallel arrays of the referencing objects and their features,
+   * with each {@link EStructuralFeature.Setting setting} created only when it's {@link #get(int) accessed}.
+   * Once the list grows large,
+   * an open addressing table of indices keyed by the identities of the object and feature is used to detect duplicates.
+   * @see ECrossReferenceAdapter#useCompactIndex()
+   * @since 2.38
+   */
+  protected class PackedSettingList extends AbstractList<EStructuralFeature.Setting> implements RandomAccess
+  {
+    private static final int THRESHOLD = 100;
+
+    /**
+     * The referencing objects.
+     */
+    protected EObject[] eObjects;
+
+    /**
+     * The referencing features, parallel to the {@link #eObjects referencing objects}.
+     */
+    protected EStructuralFeature[] eStructuralFeatures;
+
+    /**
+     * The number of settings in the list.
+     */
+    protected int size;
+
+    /**
+     * A table of indices plus one, where zero is an empty slot, created only when the list grows beyond the threshold.
+     */
+    private int[] table;
+
+    public PackedSettingList()
+    {
+      eObjects = new EObject [1];
+      eStructuralFeatures = new EStructuralFeature [1];
+    }
+
+    @Override
+    public int size()
+    {
+      return size;
+    }
+
+    @Override
+    public EStructuralFeature.Setting get(int index)
+    {
+      if (index >= size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+      return ((InternalEObject)eObjects[index]).eSetting(eStructuralFeatures[index]);
+    }
+
+    /**
+     * Returns the referencing object at the given index.
+     * @param index the index of the setting.
+     * @return the referencing object at the given index.
+     */
+    public EObject getEObject(int index)
+    {
+      if (index >= size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+      return eObjects[index];
+    }
+
+    /**
+     * Returns the referencing feature at the given index.
+     * @param index the index of the setting.
+     * @return the referencing feature at the given index.
+     */
+    public EStructuralFeature getEStructuralFeature(int index)
+    {
+      if (index >= size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+      return eStructuralFeatures[index];
+    }
+
+    /**
+     * Returns the index of the setting for the given object and feature, or <code>-1</code> if there isn't one.
+     * @param eObject the referencing object.
+     * @param eStructuralFeature the referencing feature.
+     * @return the index of the setting for the given object and feature.
+     */
+    public int indexOf(EObject eObject, EStructuralFeature eStructuralFeature)
+    {
+      if (table != null)
+      {
+        int mask = table.length - 1;
+        for (int i = hash(eObject, eStructuralFeature) & mask; ; i = (i + 1) & mask)
+        {
+          int entry = table[i];
+          if (entry == 0)
+          {
+            return -1;
+          }
+          int index = entry - 1;
+          if (eObjects[index] == eObject && eStructuralFeatures[index] == eStructuralFeature)
+          {
+            return index;
+          }
+        }
+      }
+      else
+      {
+        for (int i = 0; i < size; ++i)
+        {
+          if (eObjects[i] == eObject && eStructuralFeatures[i] == eStructuralFeature)
+          {
+            return i;
+          }
+        }
+        return -1;
+      }
+    }
+
+    @Override
+    public int indexOf(Object object)
+    {
+      if (object instanceof EStructuralFeature.Setting)
+      {
+        EStructuralFeature.Setting setting = (EStructuralFeature.Setting)object;
+        return indexOf(setting.getEObject(), setting.getEStructuralFeature());
+      }
+      return -1;
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+      return indexOf(object) != -1;
+    }
+
+    @Override
+    public boolean add(EStructuralFeature.Setting setting)
+    {
+      return add(setting.getEObject(), setting.getEStructuralFeature());
+    }
+
+    /**
+     * Adds a setting for the given object and feature, unless there already is one.
+     * @param eObject the referencing object.
+     * @param eStructuralFeature the referencing feature.
+     * @return whether a setting was added.
+     */
+    public boolean add(EObject eObject, EStructuralFeature eStructuralFeature)
+    {
+      if (size > 0 && (!settingTargets || ECrossReferenceAdapter.this.resolve()) && indexOf(eObject, eStructuralFeature) != -1)
+      {
+        return false;
+      }
+
+      if (size == eObjects.length)
+      {
+        int newCapacity = size + (size >> 1) + 1;
+        EObject[] newEObjects = new EObject [newCapacity];
+        System.arraycopy(eObjects, 0, newEObjects, 0, size);
+        eObjects = newEObjects;
+        EStructuralFeature[] newEStructuralFeatures = new EStructuralFeature [newCapacity];
+        System.arraycopy(eStructuralFeatures, 0, newEStructuralFeatures, 0, size);
+        eStructuralFeatures = newEStructuralFeatures;
+      }
+      eObjects[size] = eObject;
+      eStructuralFeatures[size] = eStructuralFeature;
+      ++size;
+      ++modCount;
+
+      if (table != null ? size * 2 > table.length : size > THRESHOLD)
+      {
+        rehash();
+      }
+      else if (table != null)
+      {
+        put(size - 1);
+      }
+      return true;
+    }
+
+    @Override
+    public EStructuralFeature.Setting remove(int index)
+    {
+      EStructuralFeature.Setting result = get(index);
+      int shift = size - index - 1;
+      if (shift > 0)
+      {
+        System.arraycopy(eObjects, index + 1, eObjects, index, shift);
+        System.arraycopy(eStructuralFeatures, index + 1, eStructuralFeatures, index, shift);
+      }
+      --size;
+      eObjects[size] = null;
+      eStructuralFeatures[size] = null;
+      ++modCount;
+
+      if (table != null)
+      {
+        if (size < THRESHOLD / 2)
+        {
+          table = null;
+        }
+        else
+        {
+          // The indices after the removed one have all shifted.
+          //
+          rehash();
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public boolean remove(Object object)
+    {
+      int index = indexOf(object);
+      if (index != -1)
+      {
+        remove(index);
+        return true;
+      }
+      return false;
+    }
+
+    private int hash(EObject eObject, EStructuralFeature eStructuralFeature)
+    {
+      int hash = System.identityHashCode(eObject) * 31 + System.identityHashCode(eStructuralFeature);
+      return hash ^ (hash >>> 16);
+    }
+
+    private void rehash()
+    {
+      table = new int [Integer.highestOneBit(size) << 2];
+      for (int i = 0; i < size; ++i)
+      {
+        put(i);
+      }
+    }
+
+    private void put(int index)
+    {
+      int mask = table.length - 1;
+      int i = hash(eObjects[index], eStructuralFeatures[index]) & mask;
+      while (table[i] != 0)
+      {
+        i = (i + 1) & mask;
+      }
+      table[i] = index + 1;
+    }
+  }
+
   protected InverseCrossReferencer inverseCrossReferencer;
   
   protected boolean settingTargets;
@@ -483,6 +789,17 @@ public class ECrossReferenceAdapter implements Adapter.Internal
    */
   protected boolean iterating;
 
+  /**
+   * Indicates whether the adapter is currently being attached by {@link #index(Resource, Executor)},
+   * in which case {@link #setTarget(Notifier)} does nothing.
+   */
+  private boolean indexing;
+
+  /**
+   * The number of objects whose cross references are indexed by each task in {@link #index(Resource, Executor)}.
+   */
+  private static final int INDEX_BATCH_SIZE = 1000;
+
   public ECrossReferenceAdapter()
   {
     inverseCrossReferencer = createInverseCrossReferencer();
@@ -500,6 +817,19 @@ public class ECrossReferenceAdapter implements Adapter.Internal
     return true;
   }
 
+  /**
+   * Returns whether the settings that refer to each object should be recorded in a {@link PackedSettingList packed list},
+   * which holds only the referencing objects and features, and creates each setting when it's accessed;
+   * the default is to return {@code false}, so that a list of settings is recorded.
+   *
+   * @since 2.38
+   * @return whether the settings that refer to each object should be recorded in a packed list.
+   */
+  protected boolean useCompactIndex()
+  {
+    return false;
+  }
+
   public Collection<EStructuralFeature.Setting> getNonNavigableInverseReferences(EObject eObject)
   {
     return getNonNavigableInverseReferences(eObject, !resolve());
@@ -960,6 +1290,10 @@ public class ECrossReferenceAdapter implements Adapter.Internal
    */
   public void setTarget(Notifier target)
   {
+      if (indexing)
+      {
+        return;
+      }
       if (target instanceof EObject)
       {
         setTarget((EObject)target);
@@ -1045,6 +1379,232 @@ public class ECrossReferenceAdapter implements Adapter.Internal
     }
   }
 
+  /**
+   * Installs the adapter on a loaded resource, 
+   * gathering the cross references of all the objects in the resource concurrently on the given executor.
+   * <p>
+   * The adapter is added to the resource and to each object in its content tree by the calling thread.
+   * The cross references of the objects are then gathered, without resolving proxies, 
+   * by tasks that each handle a batch of objects, 
+   * and are recorded in the index by the calling thread,
+   * in the same order as {@link #setTarget(Resource) adding the adapter} to the resource would record them.
+   * The cross references of the first object of each class are gathered by the calling thread before any task starts,
+   * to initialize the lazily computed state of the class and its features.
+   * An object with a proxy cross reference, when this adapter {@link #resolve() resolves} proxies,
+   * and any object whose task fails,
+   * is indexed directly by the calling thread.
+   * All the objects are indexed directly by the calling thread
+   * if the {@link #createInverseCrossReferencer() inverse cross referencer} specializes
+   * {@link InverseCrossReferencer#add(EObject) add(EObject)}, {@link InverseCrossReferencer#getCrossReferences(EObject) getCrossReferences(EObject)},
+   * or {@link EcoreUtil.CrossReferencer#handleCrossReference(EObject) handleCrossReference(EObject)}.
+   * The model must not be modified until this method returns.
+   * </p>
+   * <p>
+   * If the resource isn't loaded or already has this adapter, this is the same as adding the adapter to the resource.
+   * </p>
+   * @param resource the resource to index.
+   * @param executor the executor on which to gather cross references, or <code>null</code> to gather them on the calling thread.
+   * @since 2.38
+   */
+  public void index(Resource resource, Executor executor)
+  {
+    if (!resource.isLoaded() || resource.eAdapters().contains(this))
+    {
+      addAdapter(resource);
+      return;
+    }
+
+    // Attach the adapter everywhere, recording each object not yet indexed.
+    //
+    List<EObject> eObjects = new ArrayList<EObject>();
+    List<EObject> firstEObjects = new ArrayList<EObject>();
+    Set<EClass> eClasses = new HashSet<EClass>();
+    boolean oldIndexing = indexing;
+    try
+    {
+      indexing = true;
+      addAdapter(resource);
+      for (TreeIterator<EObject> i = EcoreUtil.getAllContents(resource, resolve()); i.hasNext(); )
+      {
+        EObject eObject = i.next();
+        if (eObject.eAdapters().contains(this))
+        {
+          i.prune();
+        }
+        else
+        {
+          addAdapter(eObject);
+          eObjects.add(eObject);
+          if (eClasses.add(eObject.eClass()))
+          {
+            firstEObjects.add(eObject);
+          }
+        }
+      }
+    }
+    finally
+    {
+      indexing = oldIndexing;
+    }
+
+    // If the inverse cross referencer specializes how an object's cross references are gathered, index each object directly.
+    //
+    if (OverrideChecker.hasCrossReferenceOverride(inverseCrossReferencer.getClass()))
+    {
+      for (EObject eObject : eObjects)
+      {
+        inverseCrossReferencer.add(eObject);
+      }
+      return;
+    }
+
+    // Start all the tasks, once the first object of each class has been visited by the calling thread.
+    //
+    getCrossReferences(firstEObjects);
+    int size = eObjects.size();
+    List<FutureTask<Object[]>> tasks = new ArrayList<FutureTask<Object[]>>();
+    for (int start = 0; start < size; start += INDEX_BATCH_SIZE)
+    {
+      final List<EObject> batch = eObjects.subList(start, Math.min(start + INDEX_BATCH_SIZE, size));
+      FutureTask<Object[]> task =
+        new FutureTask<Object[]>
+          (new Callable<Object[]>()
+           {
+             public Object[] call() throws Exception
+             {
+               return getCrossReferences(batch);
+             }
+           });
+      tasks.add(task);
+      if (executor == null)
+      {
+        task.run();
+      }
+      else
+      {
+        executor.execute(task);
+      }
+    }
+
+    // Record the gathered cross references of each batch, in order.
+    //
+    for (int i = 0, taskCount = tasks.size(); i < taskCount; ++i)
+    {
+      int start = i * INDEX_BATCH_SIZE;
+      Object[] crossReferences = null;
+      try
+      {
+        crossReferences = tasks.get(i).get();
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+      }
+      catch (ExecutionException exception)
+      {
+        // Index the batch directly.
+      }
+
+      for (int j = 0, batchSize = Math.min(INDEX_BATCH_SIZE, size - start); j < batchSize; ++j)
+      {
+        EObject eObject = eObjects.get(start + j);
+        Object[] eObjectCrossReferences = crossReferences == null ? null : (Object[])crossReferences[j];
+        if (eObjectCrossReferences == null)
+        {
+          inverseCrossReferencer.add(eObject);
+        }
+        else
+        {
+          InternalEObject internalEObject = (InternalEObject)eObject;
+          for (int k = 0; k < eObjectCrossReferences.length; k += 2)
+          {
+            inverseCrossReferencer.add(internalEObject, (EReference)eObjectCrossReferences[k], (EObject)eObjectCrossReferences[k + 1]);
+          }
+          if (!resolve())
+          {
+            inverseCrossReferencer.addProxy(eObject, eObject);
+          }
+        }
+      }
+    }
+  }
+
+  private static class OverrideChecker
+  {
+    private static final Map<Class<?>, Boolean> CLASSES_WITH_OVERRIDES = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    public static boolean hasCrossReferenceOverride(Class<?> inverseCrossReferencerClass)
+    {
+      Boolean result = CLASSES_WITH_OVERRIDES.get(inverseCrossReferencerClass);
+      if (result == null)
+      {
+        try
+        {
+          result = Boolean.FALSE;
+          LOOP:
+          for (Class<?> theClass = inverseCrossReferencerClass; theClass != InverseCrossReferencer.class; theClass = theClass.getSuperclass())
+          {
+            for (String methodName : new String [] { "add", "getCrossReferences", "handleCrossReference" })
+            {
+              try
+              {
+                theClass.getDeclaredMethod(methodName, EObject.class);
+                result = Boolean.TRUE;
+                break LOOP;
+              }
+              catch (NoSuchMethodException noSuchMethodException)
+              {
+              }
+            }
+          }
+        }
+        catch (Exception exception)
+        {
+          result = Boolean.TRUE;
+        }
+
+        CLASSES_WITH_OVERRIDES.put(inverseCrossReferencerClass, result);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Gathers the cross references of each object, as an array of alternating references and referenced objects,
+   * or <code>null</code> if the object must be indexed directly because proxies need to be resolved.
+   */
+  private Object[] getCrossReferences(List<EObject> eObjects)
+  {
+    boolean resolve = resolve();
+    Object[] result = new Object [eObjects.size()];
+    List<Object> crossReferences = new ArrayList<Object>();
+    LOOP:
+    for (int i = 0, size = eObjects.size(); i < size; ++i)
+    {
+      EObject eObject = eObjects.get(i);
+      crossReferences.clear();
+      for (EContentsEList.FeatureIterator<EObject> j = inverseCrossReferencer.getCrossReferences(eObject, false); j.hasNext(); )
+      {
+        EObject crossReferencedEObject = j.next();
+        if (crossReferencedEObject != null)
+        {
+          if (resolve && crossReferencedEObject.eIsProxy())
+          {
+            continue LOOP;
+          }
+          EReference eReference = (EReference)j.feature();
+          if (inverseCrossReferencer.crossReference(eObject, eReference, crossReferencedEObject))
+          {
+            crossReferences.add(eReference);
+            crossReferences.add(crossReferencedEObject);
+          }
+        }
+      }
+      result[i] = crossReferences.toArray();
+    }
+    return result;
+  }
+
   /**
    * Handles undoing the installation of the adapter
    * by removing the adapter to each of the directly contained objects.
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.util.Arrays;
+
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * A list for a many-valued attribute of type <code>double</code> that holds its values in a <code>double[]</code>.
+ * @see EDataTypePrimitiveEList
+ * @since 2.38
+ */
+public class EDataTypeDoubleEList extends EDataTypePrimitiveEList<Double>
+{
+  private static final long serialVersionUID = 1L;
+
+  public static class Unique extends EDataTypeDoubleEList
+  {
+    private static final long serialVersionUID = 1L;
+
+    public Unique(InternalEObject owner, int featureID)
+    {
+      super(owner, featureID);
+    }
+
+    @Override
+    protected boolean isUnique()
+    {
+      return true;
+    }
+  }
+
+  public static class Unsettable extends EDataTypeDoubleEList
+  {
+    private static final long serialVersionUID = 1L;
+
+    public static class Unique extends Unsettable
+    {
+      private static final long serialVersionUID = 1L;
+
+      public Unique(InternalEObject owner, int featureID)
+      {
+        super(owner, featureID);
+      }
+
+      @Override
+      protected boolean isUnique()
+      {
+        return true;
+      }
+    }
+
+    public Unsettable(InternalEObject owner, int featureID)
+    {
+      super(owner, featureID);
+    }
+
+    @Override
+    protected boolean isUnsettable()
+    {
+      return true;
+    }
+  }
+
+  private static final double[] NO_DATA = new double [0];
+
+  protected double[] data = NO_DATA;
+
+  public EDataTypeDoubleEList(InternalEObject owner, int featureID)
+  {
+    super(owner, featureID);
+  }
+
+  @Override
+  protected Object data()
+  {
+    return data;
+  }
+
+  @Override
+  protected void setCapacity(int capacity)
+  {
+    data = Arrays.copyOf(data, capacity);
+  }
+
+  @Override
+  protected Double box(int index)
+  {
+    return data[index];
+  }
+
+  @Override
+  protected void unbox(int index, Double object)
+  {
+    data[index] = object;
+  }
+
+  @Override
+  protected int hashCode(int index)
+  {
+    long bits = Double.doubleToLongBits(data[index]);
+    return (int)(bits ^ bits >>> 32);
+  }
+
+  @Override
+  protected boolean equal(int index, int otherIndex)
+  {
+    return Double.doubleToLongBits(data[index]) == Double.doubleToLongBits(data[otherIndex]);
+  }
+
+  @Override
+  protected int delegateIndexOf(Object object)
+  {
+    return object instanceof Double ? indexOfDouble((Double)object) : -1;
+  }
+
+  @Override
+  protected int delegateLastIndexOf(Object object)
+  {
+    return object instanceof Double ? lastIndexOfDouble((Double)object) : -1;
+  }
+
+  /**
+   * Returns the value at the index.
+   */
+  public double getDouble(int index)
+  {
+    checkIndex(index);
+    return data[index];
+  }
+
+  /**
+   * Sets the value at the index and returns the previous value.
+   */
+  public double setDouble(int index, double value)
+  {
+    double oldValue = getDouble(index);
+    stage();
+    data[size] = value;
+    setStaged(index);
+    return oldValue;
+  }
+
+  /**
+   * Adds the value at the end of the list and returns whether it was added, i.e., whether it isn't a duplicate in a unique list.
+   */
+  public boolean addDouble(double value)
+  {
+    stage();
+    data[size] = value;
+    return addStaged();
+  }
+
+  /**
+   * Adds the value at the index.
+   * @exception IllegalArgumentException if the list is unique and already contains the value.
+   */
+  public void addDouble(int index, double value)
+  {
+    stage();
+    data[size] = value;
+    addStaged(index);
+  }
+
+  /**
+   * Removes the value at the index and returns it.
+   */
+  public double removeDouble(int index)
+  {
+    double oldValue = getDouble(index);
+    removeAt(index);
+    return oldValue;
+  }
+
+  /**
+   * Returns the index of the first occurrence of the value, or <code>-1</code>;
+   * values are compared as by {@link Double#equals(Object)}.
+   */
+  public int indexOfDouble(double value)
+  {
+    double[] data = this.data;
+    long bits = Double.doubleToLongBits(value);
+    for (int i = 0, size = this.size; i < size; ++i)
+    {
+      if (Double.doubleToLongBits(data[i]) == bits)
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the last occurrence of the value, or <code>-1</code>;
+   * values are compared as by {@link Double#equals(Object)}.
+   */
+  public int lastIndexOfDouble(double value)
+  {
+    double[] data = this.data;
+    long bits = Double.doubleToLongBits(value);
+    for (int i = size - 1; i >= 0; --i)
+    {
+      if (Double.doubleToLongBits(data[i]) == bits)
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether the list contains the value.
+   */
+  public boolean containsDouble(double value)
+  {
+    return indexOfDouble(value) != -1;
+  }
+
+  /**
+   * Returns a new array holding the values.
+   */
+  public double[] toDoubleArray()
+  {
+    return Arrays.copyOf(data, size);
+  }
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.util.Arrays;
+
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * A list for a many-valued attribute of type <code>int</code> that holds its values in an <code>int[]</code>.
+ * @see EDataTypePrimitiveEList
+ * @since 2.38
+ */
+public class EDataTypeIntEList extends EDataTypePrimitiveEList<Integer>
+{
+  private static final long serialVersionUID = 1L;
+
+  public static class Unique extends EDataTypeIntEList
+  {
+    private static final long serialVersionUID = 1L;
+
+    public Unique(InternalEObject owner, int featureID)
+    {
+      super(owner, featureID);
+    }
+
+    @Override
+    protected boolean isUnique()
+    {
+      return true;
+    }
+  }
+
+  public static class Unsettable extends EDataTypeIntEList
+  {
+    private static final long serialVersionUID = 1L;
+
+    public static class Unique extends Unsettable
+    {
+      private static final long serialVersionUID = 1L;
+
+      public Unique(InternalEObject owner, int featureID)
+      {
+        super(owner, featureID);
+      }
+
+      @Override
+      protected boolean isUnique()
+      {
+        return true;
+      }
+    }
+
+    public Unsettable(InternalEObject owner, int featureID)
+    {
+      super(owner, featureID);
+    }
+
+    @Override
+    protected boolean isUnsettable()
+    {
+      return true;
+    }
+  }
+
+  private static final int[] NO_DATA = new int [0];
+
+  protected int[] data = NO_DATA;
+
+  public EDataTypeIntEList(InternalEObject owner, int featureID)
+  {
+    super(owner, featureID);
+  }
+
+  @Override
+  protected Object data()
+  {
+    return data;
+  }
+
+  @Override
+  protected void setCapacity(int capacity)
+  {
+    data = Arrays.copyOf(data, capacity);
+  }
+
+  @Override
+  protected Integer box(int index)
+  {
+    return data[index];
+  }
+
+  @Override
+  protected void unbox(int index, Integer object)
+  {
+    data[index] = object;
+  }
+
+  @Override
+  protected int hashCode(int index)
+  {
+    return data[index];
+  }
+
+  @Override
+  protected boolean equal(int index, int otherIndex)
+  {
+    return data[index] == data[otherIndex];
+  }
+
+  @Override
+  protected int delegateIndexOf(Object object)
+  {
+    return object instanceof Integer ? indexOfInt((Integer)object) : -1;
+  }
+
+  @Override
+  protected int delegateLastIndexOf(Object object)
+  {
+    return object instanceof Integer ? lastIndexOfInt((Integer)object) : -1;
+  }
+
+  /**
+   * Returns the value at the index.
+   */
+  public int getInt(int index)
+  {
+    checkIndex(index);
+    return data[index];
+  }
+
+  /**
+   * Sets the value at the index and returns the previous value.
+   */
+  public int setInt(int index, int value)
+  {
+    int oldValue = getInt(index);
+    stage();
+    data[size] = value;
+    setStaged(index);
+    return oldValue;
+  }
+
+  /**
+   * Adds the value at the end of the list and returns whether it was added, i.e., whether it isn't a duplicate in a unique list.
+   */
+  public boolean addInt(int value)
+  {
+    stage();
+    data[size] = value;
+    return addStaged();
+  }
+
+  /**
+   * Adds the value at the index.
+   * @exception IllegalArgumentException if the list is unique and already contains the value.
+   */
+  public void addInt(int index, int value)
+  {
+    stage();
+    data[size] = value;
+    addStaged(index);
+  }
+
+  /**
+   * Removes the value at the index and returns it.
+   */
+  public int removeInt(int index)
+  {
+    int oldValue = getInt(index);
+    removeAt(index);
+    return oldValue;
+  }
+
+  /**
+   * Returns the index of the first occurrence of the value, or <code>-1</code>.
+   */
+  public int indexOfInt(int value)
+  {
+    int[] data = this.data;
+    for (int i = 0, size = this.size; i < size; ++i)
+    {
+      if (data[i] == value)
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the last occurrence of the value, or <code>-1</code>.
+   */
+  public int lastIndexOfInt(int value)
+  {
+    int[] data = this.data;
+    for (int i = size - 1; i >= 0; --i)
+    {
+      if (data[i] == value)
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether the list contains the value.
+   */
+  public boolean containsInt(int value)
+  {
+    return indexOfInt(value) != -1;
+  }
+
+  /**
+   * Returns a new array holding the values.
+   */
+  public int[] toIntArray()
+  {
+    return Arrays.copyOf(data, size);
+  }
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.util.Arrays;
+
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * A list for a many-valued attribute of type <code>long</code> that holds its values in a <code>long[]</code>.
+ * @see EDataTypePrimitiveEList
+ * @since 2.38
+ */
+public class EDataTypeLongEList extends EDataTypePrimitiveEList<Long>
+{
+  private static final long serialVersionUID = 1L;
+
+  public static class Unique extends EDataTypeLongEList
+  {
+    private static final long serialVersionUID = 1L;
+
+    public Unique(InternalEObject owner, int featureID)
+    {
+      super(owner, featureID);
+    }
+
+    @Override
+    protected boolean isUnique()
+    {
+      return true;
+    }
+  }
+
+  public static class Unsettable extends EDataTypeLongEList
+  {
+    private static final long serialVersionUID = 1L;
+
+    public static class Unique extends Unsettable
+    {
+      private static final long serialVersionUID = 1L;
+
+      public Unique(InternalEObject owner, int featureID)
+      {
+        super(owner, featureID);
+      }
+
+      @Override
+      protected boolean isUnique()
+      {
+        return true;
+      }
+    }
+
+    public Unsettable(InternalEObject owner, int featureID)
+    {
+      super(owner, featureID);
+    }
+
+    @Override
+    protected boolean isUnsettable()
+    {
+      return true;
+    }
+  }
+
+  private static final long[] NO_DATA = new long [0];
+
+  protected long[] data = NO_DATA;
+
+  public EDataTypeLongEList(InternalEObject owner, int featureID)
+  {
+    super(owner, featureID);
+  }
+
+  @Override
+  protected Object data()
+  {
+    return data;
+  }
+
+  @Override
+  protected void setCapacity(int capacity)
+  {
+    data = Arrays.copyOf(data, capacity);
+  }
+
+  @Override
+  protected Long box(int index)
+  {
+    return data[index];
+  }
+
+  @Override
+  protected void unbox(int index, Long object)
+  {
+    data[index] = object;
+  }
+
+  @Override
+  protected int hashCode(int index)
+  {
+    long value = data[index];
+    return (int)(value ^ value >>> 32);
+  }
+
+  @Override
+  protected boolean equal(int index, int otherIndex)
+  {
+    return data[index] == data[otherIndex];
+  }
+
+  @Override
+  protected int delegateIndexOf(Object object)
+  {
+    return object instanceof Long ? indexOfLong((Long)object) : -1;
+  }
+
+  @Override
+  protected int delegateLastIndexOf(Object object)
+  {
+    return object instanceof Long ? lastIndexOfLong((Long)object) : -1;
+  }
+
+  /**
+   * Returns the value at the index.
+   */
+  public long getLong(int index)
+  {
+    checkIndex(index);
+    return data[index];
+  }
+
+  /**
+   * Sets the value at the index and returns the previous value.
+   */
+  public long setLong(int index, long value)
+  {
+    long oldValue = getLong(index);
+    stage();
+    data[size] = value;
+    setStaged(index);
+    return oldValue;
+  }
+
+  /**
+   * Adds the value at the end of the list and returns whether it was added, i.e., whether it isn't a duplicate in a unique list.
+   */
+  public boolean addLong(long value)
+  {
+    stage();
+    data[size] = value;
+    return addStaged();
+  }
+
+  /**
+   * Adds the value at the index.
+   * @exception IllegalArgumentException if the list is unique and already contains the value.
+   */
+  public void addLong(int index, long value)
+  {
+    stage();
+    data[size] = value;
+    addStaged(index);
+  }
+
+  /**
+   * Removes the value at the index and returns it.
+   */
+  public long removeLong(int index)
+  {
+    long oldValue = getLong(index);
+    removeAt(index);
+    return oldValue;
+  }
+
+  /**
+   * Returns the index of the first occurrence of the value, or <code>-1</code>.
+   */
+  public int indexOfLong(long value)
+  {
+    long[] data = this.data;
+    for (int i = 0, size = this.size; i < size; ++i)
+    {
+      if (data[i] == value)
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the last occurrence of the value, or <code>-1</code>.
+   */
+  public int lastIndexOfLong(long value)
+  {
+    long[] data = this.data;
+    for (int i = size - 1; i >= 0; --i)
+    {
+      if (data[i] == value)
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether the list contains the value.
+   */
+  public boolean containsLong(long value)
+  {
+    return indexOfLong(value) != -1;
+  }
+
+  /**
+   * Returns a new array holding the values.
+   */
+  public long[] toLongArray()
+  {
+    return Arrays.copyOf(data, size);
+  }
+}
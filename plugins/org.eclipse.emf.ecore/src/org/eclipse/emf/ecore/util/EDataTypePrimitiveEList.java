@@ -0,0 +1,511 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.ecore.util;
+
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.InternalEObject;
+
+
+/**
+ * A {@link DelegatingEcoreEList delegating Ecore EList} for a many-valued attribute of primitive type
+ * that holds its values in a primitive array rather than in the <code>Object[]</code> of boxed values used by {@link EDataTypeEList}.
+ * Values are boxed only when they're accessed through the {@link List} API;
+ * each subclass provides unboxed accessors that, when no notification is required,
+ * update the array directly and call {@link #didChange()}, but not the other callbacks, which take boxed values.
+ * A subclass implements the unboxed accessors that change the list by storing the value in the {@link #stage() staging slot}
+ * and calling one of the methods that take it from there, e.g., {@link #addStaged()},
+ * so it only deals with the access to its array.
+ * @since 2.38
+ */
+public abstract class EDataTypePrimitiveEList<E> extends DelegatingEcoreEList<E>
+{
+  private static final long serialVersionUID = 1L;
+
+  protected final int featureID;
+
+  /**
+   * The number of values in the {@link #data() array}.
+   */
+  protected int size;
+
+  /**
+   * Whether the list is considered set, if it's {@link #isUnsettable() unsettable}.
+   */
+  protected boolean isSet;
+
+  public EDataTypePrimitiveEList(InternalEObject owner, int featureID)
+  {
+    super(owner);
+    this.featureID = featureID;
+  }
+
+  @Override
+  public int getFeatureID()
+  {
+    return featureID;
+  }
+
+  @Override
+  protected boolean isEObject()
+  {
+    return false;
+  }
+
+  @Override
+  protected boolean canContainNull()
+  {
+    return false;
+  }
+
+  @Override
+  protected boolean isUnique()
+  {
+    return false;
+  }
+
+  @Override
+  protected E resolve(int index, E object)
+  {
+    return object;
+  }
+
+  /**
+   * Returns whether the list {@link #isSet() is set} only once it has been changed, rather than when it isn't empty.
+   */
+  protected boolean isUnsettable()
+  {
+    return false;
+  }
+
+  @Override
+  protected void didChange()
+  {
+    isSet = true;
+  }
+
+  @Override
+  public boolean isSet()
+  {
+    return isUnsettable() ? isSet : super.isSet();
+  }
+
+  @Override
+  public void unset()
+  {
+    super.unset();
+    if (isUnsettable())
+    {
+      if (isNotificationRequired())
+      {
+        boolean oldIsSet = isSet;
+        isSet = false;
+        dispatchNotification(createNotification(Notification.UNSET, oldIsSet, false));
+      }
+      else
+      {
+        isSet = false;
+      }
+    }
+  }
+
+  /**
+   * Returns the primitive array holding the values.
+   */
+  protected abstract Object data();
+
+  /**
+   * Replaces the primitive array with one of the given capacity, holding the same values.
+   */
+  protected abstract void setCapacity(int capacity);
+
+  /**
+   * Returns the boxed value at the index, which must be within range.
+   */
+  protected abstract E box(int index);
+
+  /**
+   * Stores the unboxed object at the index, which must be within the array's capacity.
+   */
+  protected abstract void unbox(int index, E object);
+
+  /**
+   * Returns the hash code of the value at the index, as would be computed for its boxed value.
+   */
+  protected abstract int hashCode(int index);
+
+  /**
+   * Returns whether the values at the two indices are equal, as would be determined for their boxed values.
+   */
+  protected abstract boolean equal(int index, int otherIndex);
+
+  /**
+   * Ensures that the array can hold the given number of values.
+   */
+  protected void ensureCapacity(int minimumCapacity)
+  {
+    int capacity = Array.getLength(data());
+    if (minimumCapacity > capacity)
+    {
+      int newCapacity = capacity + capacity / 2 + 4;
+      setCapacity(newCapacity < minimumCapacity ? minimumCapacity : newCapacity);
+    }
+  }
+
+  /**
+   * Throws an exception if the index isn't within the size range.
+   */
+  protected void checkIndex(int index)
+  {
+    if (index < 0 || index >= size)
+    {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+  }
+
+  /**
+   * Shifts the values at and after the index one position to the right and increments the size;
+   * the value at the index must then be stored.
+   */
+  protected void makeRoom(int index)
+  {
+    if (index < 0 || index > size)
+    {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+    ensureCapacity(size + 1);
+    if (index != size)
+    {
+      Object data = data();
+      System.arraycopy(data, index, data, index + 1, size - index);
+    }
+    ++size;
+  }
+
+  /**
+   * Shifts the values after the index one position to the left and decrements the size.
+   */
+  protected void closeGap(int index)
+  {
+    int shifted = --size - index;
+    if (shifted > 0)
+    {
+      Object data = data();
+      System.arraycopy(data, index + 1, data, index, shifted);
+    }
+  }
+
+  /**
+   * Ensures that the array has room beyond its values for the staging slot at index {@link #size size},
+   * where an unboxed accessor then stores its value before calling {@link #setStaged(int)}, {@link #addStaged()}, or {@link #addStaged(int)}.
+   */
+  protected void stage()
+  {
+    ensureCapacity(size + 2);
+  }
+
+  /**
+   * Sets the value in the staging slot at the index.
+   */
+  protected void setStaged(int index)
+  {
+    if (isNotificationRequired() || isUnique())
+    {
+      set(index, box(size));
+    }
+    else
+    {
+      checkIndex(index);
+      Object data = data();
+      System.arraycopy(data, size, data, index, 1);
+      didChange();
+    }
+  }
+
+  /**
+   * Adds the value in the staging slot at the end of the list and returns whether it was added,
+   * i.e., whether it isn't a duplicate in a unique list.
+   */
+  protected boolean addStaged()
+  {
+    if (isNotificationRequired())
+    {
+      return add(box(size));
+    }
+    else if (isUnique() && indexOfStaged() != -1)
+    {
+      return false;
+    }
+    else
+    {
+      ++modCount;
+      ++size;
+      didChange();
+      return true;
+    }
+  }
+
+  /**
+   * Adds the value in the staging slot at the index.
+   * @exception IllegalArgumentException if the list is unique and already contains the value.
+   */
+  protected void addStaged(int index)
+  {
+    if (isNotificationRequired())
+    {
+      add(index, box(size));
+    }
+    else
+    {
+      if (isUnique() && indexOfStaged() != -1)
+      {
+        throw new IllegalArgumentException("The 'no duplicates' constraint is violated");
+      }
+      if (index < 0 || index > size)
+      {
+        throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+      }
+      ++modCount;
+
+      // Shift the values and the staged value one position to the right, and move the staged value into place.
+      //
+      Object data = data();
+      System.arraycopy(data, index, data, index + 1, size - index + 1);
+      System.arraycopy(data, ++size, data, index, 1);
+      didChange();
+    }
+  }
+
+  /**
+   * Returns the index of the first value equal to the value in the staging slot, or <code>-1</code>.
+   */
+  protected int indexOfStaged()
+  {
+    for (int i = 0; i < size; ++i)
+    {
+      if (equal(i, size))
+      {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Removes the value at the index, whose value the unboxed accessor must already have fetched.
+   */
+  protected void removeAt(int index)
+  {
+    if (isNotificationRequired())
+    {
+      remove(index);
+    }
+    else
+    {
+      checkIndex(index);
+      ++modCount;
+      closeGap(index);
+      didChange();
+    }
+  }
+
+  @Override
+  protected List<E> delegateList()
+  {
+    return
+      new AbstractList<E>()
+      {
+        @Override
+        public E get(int index)
+        {
+          return delegateGet(index);
+        }
+
+        @Override
+        public int size()
+        {
+          return size;
+        }
+      };
+  }
+
+  @Override
+  protected int delegateSize()
+  {
+    return size;
+  }
+
+  @Override
+  protected boolean delegateIsEmpty()
+  {
+    return size == 0;
+  }
+
+  @Override
+  protected boolean delegateContains(Object object)
+  {
+    return delegateIndexOf(object) != -1;
+  }
+
+  @Override
+  protected E delegateGet(int index)
+  {
+    checkIndex(index);
+    return box(index);
+  }
+
+  @Override
+  protected E delegateSet(int index, E object)
+  {
+    checkIndex(index);
+    E oldObject = box(index);
+    unbox(index, object);
+    return oldObject;
+  }
+
+  @Override
+  protected void delegateAdd(E object)
+  {
+    delegateAdd(size, object);
+  }
+
+  @Override
+  protected void delegateAdd(int index, E object)
+  {
+    makeRoom(index);
+    unbox(index, object);
+  }
+
+  @Override
+  protected E delegateRemove(int index)
+  {
+    checkIndex(index);
+    E oldObject = box(index);
+    closeGap(index);
+    return oldObject;
+  }
+
+  @Override
+  protected E delegateMove(int targetIndex, int sourceIndex)
+  {
+    checkIndex(targetIndex);
+    checkIndex(sourceIndex);
+    E object = box(sourceIndex);
+    if (targetIndex != sourceIndex)
+    {
+      Object data = data();
+      if (targetIndex < sourceIndex)
+      {
+        System.arraycopy(data, targetIndex, data, targetIndex + 1, sourceIndex - targetIndex);
+      }
+      else
+      {
+        System.arraycopy(data, sourceIndex + 1, data, sourceIndex, targetIndex - sourceIndex);
+      }
+      unbox(targetIndex, object);
+    }
+    return object;
+  }
+
+  @Override
+  protected void delegateClear()
+  {
+    size = 0;
+  }
+
+  @Override
+  protected Object[] delegateToArray()
+  {
+    Object[] result = new Object [size];
+    for (int i = 0; i < size; ++i)
+    {
+      result[i] = box(i);
+    }
+    return result;
+  }
+
+  @Override
+  protected <T> T[] delegateToArray(T[] array)
+  {
+    if (array.length < size)
+    {
+      @SuppressWarnings("unchecked")
+      T[] newArray = (T[])Array.newInstance(array.getClass().getComponentType(), size);
+      array = newArray;
+    }
+    for (int i = 0; i < size; ++i)
+    {
+      @SuppressWarnings("unchecked")
+      T value = (T)box(i);
+      array[i] = value;
+    }
+    if (array.length > size)
+    {
+      array[size] = null;
+    }
+    return array;
+  }
+
+  @Override
+  protected boolean delegateEquals(Object object)
+  {
+    if (object == this)
+    {
+      return true;
+    }
+    if (!(object instanceof List<?>))
+    {
+      return false;
+    }
+    List<?> list = (List<?>)object;
+    if (list.size() != size)
+    {
+      return false;
+    }
+    for (int i = 0; i < size; ++i)
+    {
+      if (!box(i).equals(list.get(i)))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected int delegateHashCode()
+  {
+    int hashCode = 1;
+    for (int i = 0; i < size; ++i)
+    {
+      hashCode = 31 * hashCode + hashCode(i);
+    }
+    return hashCode;
+  }
+
+  @Override
+  protected String delegateToString()
+  {
+    StringBuilder result = new StringBuilder("[");
+    for (int i = 0; i < size; ++i)
+    {
+      if (i != 0)
+      {
+        result.append(", ");
+      }
+      result.append(box(i));
+    }
+    result.append(']');
+    return result.toString();
+  }
+}
@@ -30,6 +30,12 @@ import java.util.Random;
 import java.util.RandomAccess;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.AdapterFactory;
@@ -40,6 +46,7 @@ import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.ECollections;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.LinkedIdentityHashMap;
 import org.eclipse.emf.common.util.SegmentSequence;
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.URI;
@@ -59,6 +66,7 @@ import org.eclipse.emf.ecore.ETypeParameter;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.EClassImpl;
 import org.eclipse.emf.ecore.impl.EPackageImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
@@ -385,6 +393,37 @@ public class EcoreUtil
     return result;
   }
 
+  /**
+   * Returns a collection of the self-contained copies of each {@link EObject} in eObjects,
+   * copying concurrently in the given pool.
+   * The result is the same as that of {@link #copyAll(Collection)}.
+   * @param eObjects the collection of objects to copy.
+   * @param forkJoinPool the pool in which to copy.
+   * @return the collection of copies.
+   * @see Copier#copyAll(Collection, ForkJoinPool)
+   * @see Copier#copyReferences(ForkJoinPool)
+   * @since 2.38
+   */
+  public static <T> Collection<T> copyAll(Collection<? extends T> eObjects, ForkJoinPool forkJoinPool)
+  {
+    Copier copier = new Copier();
+    Collection<T> result = copier.copyAll(eObjects, forkJoinPool);
+    copier.copyReferences(forkJoinPool);
+    return result;
+  }
+
+  /**
+   * Returns the initial capacity of a hash map that can hold the expected number of mappings without growing.
+   */
+  private static int capacity(int expectedSize)
+  {
+    if (expectedSize < 0)
+    {
+      throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+    }
+    return expectedSize < 3 ? expectedSize + 1 : (int)Math.min(expectedSize / 0.75f + 1.0f, Integer.MAX_VALUE);
+  }
+
   /**
    * A mapping building traverser of a collection of {@link EObject#eAllContents content trees};
    * the map is from {@link EObject} to <code>EObject</code>, i.e., from original to copy;
@@ -403,6 +442,15 @@ public class EcoreUtil
    * The copier delegates to {@link #copyContainment copyContainment}, {@link #copyAttribute copyAttribute} during the copy phase
    * and to {@link #copyReference copyReference}, during the cross reference phase.
    * This allows tailored handling through derivation.
+   * <p>
+   * A client that copies very large trees can instead use an {@link IdentityCopier identity copier},
+   * which holds its mappings without allocating an entry for each one.
+   * </p>
+   * <p>
+   * The containment trees of a collection of objects can also be {@link #copyAll(Collection, ForkJoinPool) copied concurrently}
+   * and their references then {@link #copyReferences(ForkJoinPool) copied concurrently},
+   * with the same result as copying them sequentially.
+   * </p>
    */
   public static class Copier extends LinkedHashMap<EObject, EObject>
   {
@@ -446,6 +494,21 @@ public class EcoreUtil
       this.useOriginalReferences = useOriginalReferences;
     }
 
+    /**
+     * Creates an instance that resolves proxies or not and uses non-copied references or not as specified,
+     * and that can hold the expected number of copies without growing.
+     * @param resolveProxies whether proxies should be resolved while copying.
+     * @param useOriginalReferences whether non-copied references should be used while copying.
+     * @param expectedSize the expected number of objects to be copied.
+     * @since 2.38
+     */
+    public Copier(boolean resolveProxies, boolean useOriginalReferences, int expectedSize)
+    {
+      super(capacity(expectedSize));
+      this.resolveProxies = resolveProxies;
+      this.useOriginalReferences = useOriginalReferences;
+    }
+
     /**
      * Returns a collection containing a copy of each EObject in the given collection.
      * @param eObjects the collection of objects to copy.
@@ -465,6 +528,187 @@ public class EcoreUtil
       return result;
     }
 
+    /**
+     * The minimum number of objects copied by a task, or whose references are copied by a task, when copying concurrently.
+     */
+    private static final int MINIMUM_TASK_SIZE = 256;
+
+    /**
+     * Returns a collection containing a copy of each EObject in the given collection,
+     * copying the containment trees of the objects concurrently in the given pool.
+     * <p>
+     * The calling thread first visits the containment trees to resolve containment proxies
+     * and to initialize the lazily computed state of each class,
+     * so the copying tasks only read the original objects.
+     * The trees are then divided into batches of consecutive trees,
+     * each of which is copied by a task with its own {@link #createSubtreeCopier() copier},
+     * and the mappings of the copiers are added to this copier in the order of the trees.
+     * The result, and the resulting mappings of this copier, are the same as those of {@link #copyAll(Collection) sequential copying},
+     * provided that the hooks used for copying the containment trees, e.g., {@link #copyAttribute(EAttribute, EObject, EObject) copyAttribute},
+     * don't depend on the copies of the other trees.
+     * </p>
+     * @param eObjects the collection of objects to copy.
+     * @param forkJoinPool the pool in which to copy.
+     * @return the collection of copies.
+     * @since 2.38
+     */
+    public <T> Collection<T> copyAll(Collection<? extends T> eObjects, ForkJoinPool forkJoinPool)
+    {
+      List<EObject> roots = new ArrayList<EObject>(eObjects.size());
+      int[] counts = new int [eObjects.size()];
+      Set<EClass> eClasses = new HashSet<EClass>();
+      int totalCount = 0;
+      for (Object object : eObjects)
+      {
+        EObject eObject = (EObject)object;
+        int count = eObject == null ? 0 : prepareContents(eObject, eClasses);
+        counts[roots.size()] = count;
+        roots.add(eObject);
+        totalCount += count;
+      }
+
+      int batchSize = Math.max(MINIMUM_TASK_SIZE, totalCount / (4 * forkJoinPool.getParallelism()));
+      Copier template = createSubtreeCopier();
+      List<CopyTask> tasks = new ArrayList<CopyTask>();
+      for (int i = 0, start = 0, count = 0, size = roots.size(); i < size; ++i)
+      {
+        count += counts[i];
+        if (count >= batchSize || i == size - 1)
+        {
+          Copier copier = template.createSubtreeCopier();
+          copier.ensureCapacity(count);
+          CopyTask task = new CopyTask(copier, roots.subList(start, i + 1));
+          forkJoinPool.execute(task);
+          tasks.add(task);
+          start = i + 1;
+          count = 0;
+        }
+      }
+
+      ensureCapacity(size() + totalCount);
+      Collection<T> result = new ArrayList<T>(roots.size());
+      for (CopyTask task : tasks)
+      {
+        List<EObject> copies = task.join();
+        putAll(task.copier);
+        for (EObject copyEObject : copies)
+        {
+          if (copyEObject != null)
+          {
+            @SuppressWarnings("unchecked") T t = (T)copyEObject;
+            result.add(t);
+          }
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Ensures, if possible, that this copier can hold the expected number of copies without growing.
+     * This implementation does nothing because a linked hash map can't grow in advance.
+     * @param expectedSize the expected number of objects to be copied.
+     * @see IdentityCopier#ensureCapacity(int)
+     * @since 2.38
+     */
+    protected void ensureCapacity(int expectedSize)
+    {
+      // Do nothing.
+    }
+
+    /**
+     * Creates an empty copier that copies in the same way as this one,
+     * for use by a task that {@link #copyAll(Collection, ForkJoinPool) concurrently copies} some of the containment trees.
+     * This implementation returns a clone of this copier without its mappings;
+     * a copier whose own state can't be shared by different threads should override it.
+     * @return a new empty copier.
+     * @since 2.38
+     */
+    protected Copier createSubtreeCopier()
+    {
+      Copier result = (Copier)clone();
+      result.clear();
+      return result;
+    }
+
+    /**
+     * Resolves the containment proxies of the object's tree and initializes the lazily computed state of the classes of its objects.
+     * @return the number of objects in the tree.
+     */
+    private int prepareContents(EObject eObject, Set<EClass> eClasses)
+    {
+      int result = 1;
+      EClass eClass = eObject.eClass();
+      if (eClasses.add(eClass))
+      {
+        prepare(eClass);
+        EClass targetEClass = getTarget(eClass);
+        if (targetEClass != null && eClasses.add(targetEClass))
+        {
+          prepare(targetEClass);
+        }
+      }
+      for (EObject child : eObject.eContents())
+      {
+        result += prepareContents(child, eClasses);
+      }
+      return result;
+    }
+
+    /**
+     * Initializes the lazily computed state of the class that's used while copying.
+     */
+    private static void prepare(EClass eClass)
+    {
+      eClass.getEAllStructuralFeatures();
+      eClass.getEAllAttributes();
+      eClass.getEAllReferences();
+      eClass.getEAllContainments();
+      for (int i = 0, size = eClass.getFeatureCount(); i < size; ++i)
+      {
+        EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(i);
+        eClass.getFeatureID(eStructuralFeature);
+        FeatureMapUtil.isFeatureMap(eStructuralFeature);
+        ((EStructuralFeature.Internal)eStructuralFeature).getSettingDelegate();
+        if (eStructuralFeature instanceof EReference)
+        {
+          ((EReference)eStructuralFeature).getEOpposite();
+        }
+      }
+      if (eClass instanceof EClassImpl)
+      {
+        ((EClassImpl)eClass).getEAllStructuralFeatureSettingDelegates();
+      }
+    }
+
+    /**
+     * A task that copies a batch of containment trees with its own copier.
+     */
+    private static final class CopyTask extends RecursiveTask<List<EObject>>
+    {
+      private static final long serialVersionUID = 1L;
+
+      final Copier copier;
+
+      private final List<EObject> eObjects;
+
+      CopyTask(Copier copier, List<EObject> eObjects)
+      {
+        this.copier = copier;
+        this.eObjects = eObjects;
+      }
+
+      @Override
+      protected List<EObject> compute()
+      {
+        List<EObject> result = new ArrayList<EObject>(eObjects.size());
+        for (EObject eObject : eObjects)
+        {
+          result.add(copier.copy(eObject));
+        }
+        return result;
+      }
+    }
+
     /**
      * Returns a copy of the given eObject.
      * @param eObject the object to copy.
@@ -680,67 +924,176 @@ public class EcoreUtil
      */
     public void copyReferences()
     {
+      for (Map.Entry<EObject, EObject> entry  : entrySet())
+      {
+        copyReferences(entry.getKey(), entry.getValue(), true, true);
+      }
+    }
+
+    /**
+     * Copies the references of the objects of this copier concurrently in the given pool.
+     * <p>
+     * The calling thread first {@link #resolveProxies resolves} the references that will be copied, if necessary,
+     * and initializes the lazily computed state of each class,
+     * so the copying tasks only read the original objects.
+     * The tasks then copy the unidirectional references of different objects concurrently,
+     * without resolving any remaining, unresolvable, proxies again,
+     * and the calling thread finally copies the bidirectional references, and the references in feature maps,
+     * in the same order as {@link #copyReferences() sequential copying}, because copying them affects the opposite copies.
+     * The result is the same as that of sequential copying,
+     * provided that {@link #copyReference(EReference, EObject, EObject) copyReference} supports being called concurrently for different objects.
+     * </p>
+     * @param forkJoinPool the pool in which to copy.
+     * @since 2.38
+     */
+    public void copyReferences(final ForkJoinPool forkJoinPool)
+    {
+      final int size = size();
+      final EObject[] eObjects = new EObject [size];
+      final EObject[] copyEObjects = new EObject [size];
+      Set<EClass> eClasses = new HashSet<EClass>();
+      int index = 0;
       for (Map.Entry<EObject, EObject> entry  : entrySet())
       {
         EObject eObject = entry.getKey();
-        EObject copyEObject = entry.getValue();
+        eObjects[index] = eObject;
+        copyEObjects[index] = entry.getValue();
+        ++index;
+
         EClass eClass = eObject.eClass();
-        for (int j = 0, size = eClass.getFeatureCount(); j < size; ++j)
+        if (eClasses.add(eClass))
         {
-          EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(j);
-          if (eStructuralFeature.isChangeable() && !eStructuralFeature.isDerived())
+          prepare(eClass);
+        }
+        if (resolveProxies)
+        {
+          for (EReference eReference : eClass.getEAllReferences())
           {
-            if (eStructuralFeature instanceof EReference)
+            if (eReference.isChangeable() && !eReference.isDerived() && !eReference.isContainment() && !eReference.isContainer() && eObject.eIsSet(eReference))
             {
-              EReference eReference = (EReference)eStructuralFeature;
-              if (!eReference.isContainment() && !eReference.isContainer())
+              Object value = eObject.eGet(eReference);
+              if (eReference.isMany())
               {
-                copyReference(eReference, eObject, copyEObject);
+                for (Iterator<?> i = ((List<?>)value).iterator(); i.hasNext(); )
+                {
+                  i.next();
+                }
               }
             }
-            else if (FeatureMapUtil.isFeatureMap(eStructuralFeature))
+          }
+        }
+      }
+
+      final int batchSize = Math.max(MINIMUM_TASK_SIZE, size / (4 * forkJoinPool.getParallelism()));
+      boolean resolveProxies = this.resolveProxies;
+      this.resolveProxies = false;
+      try
+      {
+        forkJoinPool.invoke
+          (new RecursiveAction()
+           {
+             private static final long serialVersionUID = 1L;
+
+             @Override
+             protected void compute()
+             {
+               List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+               for (int start = 0; start < size; start += batchSize)
+               {
+                 final int from = start;
+                 final int to = Math.min(start + batchSize, size);
+                 tasks.add
+                   (new RecursiveAction()
+                    {
+                      private static final long serialVersionUID = 1L;
+
+                      @Override
+                      protected void compute()
+                      {
+                        for (int i = from; i < to; ++i)
+                        {
+                          copyReferences(eObjects[i], copyEObjects[i], true, false);
+                        }
+                      }
+                    });
+               }
+               invokeAll(tasks);
+             }
+           });
+      }
+      finally
+      {
+        this.resolveProxies = resolveProxies;
+      }
+
+      for (int i = 0; i < size; ++i)
+      {
+        copyReferences(eObjects[i], copyEObjects[i], false, true);
+      }
+    }
+
+    /**
+     * Copies the unidirectional references, or the bidirectional references and the references in feature maps, or both,
+     * of the object to its copy.
+     */
+    private void copyReferences(EObject eObject, EObject copyEObject, boolean unidirectional, boolean bidirectional)
+    {
+      EClass eClass = eObject.eClass();
+      for (int j = 0, size = eClass.getFeatureCount(); j < size; ++j)
+      {
+        EStructuralFeature eStructuralFeature = eClass.getEStructuralFeature(j);
+        if (eStructuralFeature.isChangeable() && !eStructuralFeature.isDerived())
+        {
+          if (eStructuralFeature instanceof EReference)
+          {
+            EReference eReference = (EReference)eStructuralFeature;
+            if (!eReference.isContainment() && !eReference.isContainer() && (eReference.getEOpposite() == null ? unidirectional : bidirectional))
+            {
+              copyReference(eReference, eObject, copyEObject);
+            }
+          }
+          else if (bidirectional && FeatureMapUtil.isFeatureMap(eStructuralFeature))
+          {
+            FeatureMap copyFeatureMap = (FeatureMap)getTarget(eStructuralFeature, eObject, copyEObject);
+            if (copyFeatureMap != null)
             {
-              FeatureMap copyFeatureMap = (FeatureMap)getTarget(eStructuralFeature, eObject, copyEObject);
-              if (copyFeatureMap != null)
+              FeatureMap featureMap = (FeatureMap)eObject.eGet(eStructuralFeature);
+              int copyFeatureMapSize = copyFeatureMap.size();
+              for (int k = 0, featureMapSize = featureMap.size(); k < featureMapSize; ++k)
               {
-                FeatureMap featureMap = (FeatureMap)eObject.eGet(eStructuralFeature);
-                int copyFeatureMapSize = copyFeatureMap.size();
-                for (int k = 0, featureMapSize = featureMap.size(); k < featureMapSize; ++k)
+                EStructuralFeature feature = featureMap.getEStructuralFeature(k);
+                if (feature instanceof EReference)
                 {
-                  EStructuralFeature feature = featureMap.getEStructuralFeature(k);
-                  if (feature instanceof EReference)
+                  Object referencedEObject = featureMap.getValue(k);
+                  Object copyReferencedEObject = get(referencedEObject);
+                  if (copyReferencedEObject == null && referencedEObject != null)
                   {
-                    Object referencedEObject = featureMap.getValue(k);
-                    Object copyReferencedEObject = get(referencedEObject);
-                    if (copyReferencedEObject == null && referencedEObject != null)
+                    EReference reference = (EReference)feature;
+                    if (!useOriginalReferences || reference.isContainment() || reference.getEOpposite() != null)
                     {
-                      EReference reference = (EReference)feature;
-                      if (!useOriginalReferences || reference.isContainment() || reference.getEOpposite() != null)
-                      {
-                        continue;
-                      }
-                      copyReferencedEObject = referencedEObject;
+                      continue;
                     }
+                    copyReferencedEObject = referencedEObject;
+                  }
   
-                    // If we can't add it, it must already be in the list so find it and move it to the end.
-                    //
-                    if (!copyFeatureMap.add(feature, copyReferencedEObject))
+                  // If we can't add it, it must already be in the list so find it and move it to the end.
+                  //
+                  if (!copyFeatureMap.add(feature, copyReferencedEObject))
+                  {
+                    for (int l = 0; l < copyFeatureMapSize; ++l)
                     {
-                      for (int l = 0; l < copyFeatureMapSize; ++l)
+                      if (copyFeatureMap.getEStructuralFeature(l) == feature && copyFeatureMap.getValue(l) == copyReferencedEObject)
                       {
-                        if (copyFeatureMap.getEStructuralFeature(l) == feature && copyFeatureMap.getValue(l) == copyReferencedEObject)
-                        {
-                          copyFeatureMap.move(copyFeatureMap.size() - 1, l);
-                          --copyFeatureMapSize;
-                          break;
-                        }
+                        copyFeatureMap.move(copyFeatureMap.size() - 1, l);
+                        --copyFeatureMapSize;
+                        break;
                       }
                     }
                   }
-                  else
-                  {
-                    copyFeatureMap.add(getTarget(featureMap.getEStructuralFeature(k)), featureMap.getValue(k));
-                  }
+                }
+                else
+                {
+                  copyFeatureMap.add(getTarget(featureMap.getEStructuralFeature(k)), featureMap.getValue(k));
                 }
               }
             }
@@ -839,6 +1192,249 @@ public class EcoreUtil
     }
   }
 
+  /**
+   * A {@link Copier copier} whose mappings are held in a {@link LinkedIdentityHashMap linked identity hash map}
+   * rather than in the inherited {@link LinkedHashMap linked hash map},
+   * so it compares objects by identity and holds its mappings without allocating an entry for each one;
+   * a copier {@link #IdentityCopier(boolean, boolean, int) created} with the expected number of objects to copy,
+   * e.g., the size of the source tree, never needs to grow.
+   * <p>
+   * It overrides all the methods of the map, as of Java 8, to delegate to the identity map.
+   * The methods that later versions of Java add to the linked hash map, i.e., those of <code>SequencedMap</code>,
+   * such as <code>reversed()</code>, <code>firstEntry()</code>, and <code>putFirst(K, V)</code>,
+   * can't be overridden by a class compiled for Java 8, so they operate on the inherited map, which is always empty,
+   * and must not be used.
+   * It also never calls {@link #removeEldestEntry(Map.Entry) removeEldestEntry}.
+   * Hence it's never used implicitly, e.g., by {@link EcoreUtil#copy(EObject)};
+   * a client that needs those methods should use a {@link Copier}.
+   * </p>
+   * @since 2.38
+   */
+  public static class IdentityCopier extends Copier
+  {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The map that holds the mappings.
+     */
+    private LinkedIdentityHashMap<EObject, EObject> map;
+
+    /**
+     * Creates an instance.
+     */
+    public IdentityCopier()
+    {
+      super();
+      map = new LinkedIdentityHashMap<EObject, EObject>();
+    }
+
+    /**
+     * Creates an instance that resolves proxies or not as specified.
+     * @param resolveProxies whether proxies should be resolved while copying.
+     */
+    public IdentityCopier(boolean resolveProxies)
+    {
+      super(resolveProxies);
+      map = new LinkedIdentityHashMap<EObject, EObject>();
+    }
+
+    /**
+     * Creates an instance that resolves proxies or not and uses non-copied references or not as specified.
+     * @param resolveProxies whether proxies should be resolved while copying.
+     * @param useOriginalReferences whether non-copied references should be used while copying.
+     */
+    public IdentityCopier(boolean resolveProxies, boolean useOriginalReferences)
+    {
+      super(resolveProxies, useOriginalReferences);
+      map = new LinkedIdentityHashMap<EObject, EObject>();
+    }
+
+    /**
+     * Creates an instance that resolves proxies or not and uses non-copied references or not as specified,
+     * and that can hold the expected number of copies without growing.
+     * @param resolveProxies whether proxies should be resolved while copying.
+     * @param useOriginalReferences whether non-copied references should be used while copying.
+     * @param expectedSize the expected number of objects to be copied.
+     */
+    public IdentityCopier(boolean resolveProxies, boolean useOriginalReferences, int expectedSize)
+    {
+      super(resolveProxies, useOriginalReferences);
+      map = new LinkedIdentityHashMap<EObject, EObject>(expectedSize);
+    }
+
+    @Override
+    protected void ensureCapacity(int expectedSize)
+    {
+      map.ensureCapacity(expectedSize);
+    }
+
+    @Override
+    public int size()
+    {
+      return map.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+      return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+      return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+      return map.containsValue(value);
+    }
+
+    @Override
+    public EObject get(Object key)
+    {
+      return map.get(key);
+    }
+
+    @Override
+    public EObject getOrDefault(Object key, EObject defaultValue)
+    {
+      return map.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public EObject put(EObject key, EObject value)
+    {
+      return map.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends EObject, ? extends EObject> map)
+    {
+      this.map.putAll(map);
+    }
+
+    @Override
+    public EObject remove(Object key)
+    {
+      return map.remove(key);
+    }
+
+    @Override
+    public void clear()
+    {
+      map.clear();
+    }
+
+    @Override
+    public EObject putIfAbsent(EObject key, EObject value)
+    {
+      return map.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+      return map.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(EObject key, EObject oldValue, EObject newValue)
+    {
+      return map.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public EObject replace(EObject key, EObject value)
+    {
+      return map.replace(key, value);
+    }
+
+    @Override
+    public EObject computeIfAbsent(EObject key, Function<? super EObject, ? extends EObject> mappingFunction)
+    {
+      return map.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public EObject computeIfPresent(EObject key, BiFunction<? super EObject, ? super EObject, ? extends EObject> remappingFunction)
+    {
+      return map.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public EObject compute(EObject key, BiFunction<? super EObject, ? super EObject, ? extends EObject> remappingFunction)
+    {
+      return map.compute(key, remappingFunction);
+    }
+
+    @Override
+    public EObject merge(EObject key, EObject value, BiFunction<? super EObject, ? super EObject, ? extends EObject> remappingFunction)
+    {
+      return map.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super EObject, ? super EObject> action)
+    {
+      map.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super EObject, ? super EObject, ? extends EObject> function)
+    {
+      map.replaceAll(function);
+    }
+
+    @Override
+    public Set<EObject> keySet()
+    {
+      return map.keySet();
+    }
+
+    @Override
+    public Collection<EObject> values()
+    {
+      return map.values();
+    }
+
+    @Override
+    public Set<Map.Entry<EObject, EObject>> entrySet()
+    {
+      return map.entrySet();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+      return map.equals(object);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return map.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+      return map.toString();
+    }
+
+    @Override
+    public Object clone()
+    {
+      IdentityCopier result = (IdentityCopier)super.clone();
+      @SuppressWarnings("unchecked")
+      LinkedIdentityHashMap<EObject, EObject> mapClone = (LinkedIdentityHashMap<EObject, EObject>)map.clone();
+      result.map = mapClone;
+      return result;
+    }
+  }
+
   /**
    * Returns the root container;
    * it may be this object itself
@@ -2289,6 +2885,24 @@ public class EcoreUtil
   {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Creates an instance.
+     */
+    public EqualityHelper()
+    {
+      super();
+    }
+
+    /**
+     * Creates an instance that can hold the mappings for the expected number of objects to be compared without growing.
+     * @param expectedSize the expected number of objects to be compared, counting those of both sides.
+     * @since 2.38
+     */
+    public EqualityHelper(int expectedSize)
+    {
+      super(capacity(expectedSize));
+    }
+
     /**
      * Returns whether <code>eObject1</code> and <code>eObject2</code> are {@link EqualityHelper equal}
      * in the context of this helper instance.
@@ -47,6 +47,10 @@ import org.junit.runners.Suite;
       org.eclipse.emf.test.core.ecore.ResourceAttachmentTest.class,
       org.eclipse.emf.test.core.ecore.FeatureMapTest.class,
       org.eclipse.emf.test.core.ecore.EClassGenericTypeCacheTest.class,
+      org.eclipse.emf.test.core.ecore.EClassSettingDelegateTableTest.class,
+      org.eclipse.emf.test.core.ecore.DynamicClassEFactoryTest.class,
+      org.eclipse.emf.test.core.ecore.CopierParallelTest.class,
+      org.eclipse.emf.test.core.ecore.IdentityCopierTest.class,
       org.eclipse.emf.test.core.ecore.DiagnosticianTest.class,
       org.eclipse.emf.test.core.ecore.ValidationTest.class,
       org.eclipse.emf.test.core.ecore.KeyTest.class,
@@ -58,15 +62,23 @@ import org.junit.runners.Suite;
       org.eclipse.emf.test.core.ecore.BadURIFragmentTest.class,
       org.eclipse.emf.test.core.ecore.XMLTypeTest.class,
       org.eclipse.emf.test.core.ecore.BinaryResourceTest.class,
+      org.eclipse.emf.test.core.ecore.BinaryResourceSegmentTest.class,
       org.eclipse.emf.test.core.ecore.SwitchTest.class,
       org.eclipse.emf.test.core.ecore.ResourceURIFragmentsTest.class,
       org.eclipse.emf.test.core.ecore.ResourceSetMappedResourceLocatorTest.class,
+      org.eclipse.emf.test.core.ecore.ResourceSetParallelLoadTest.class,
+      org.eclipse.emf.test.core.ecore.ResourceSetFreezeTest.class,
+      org.eclipse.emf.test.core.ecore.ConcurrentEPackageRegistryTest.class,
       org.eclipse.emf.test.core.ecore.ReificationTest.class,
       org.eclipse.emf.test.core.ecore.ECrossReferenceAdapterTest.class,
       org.eclipse.emf.test.core.ecore.ECrossReferenceAdapterStressTest.class,
       org.eclipse.emf.test.core.ecore.ECrossReferenceAdapterByFeatureTest.class,
+      org.eclipse.emf.test.core.ecore.ECrossReferenceAdapterIndexTest.class,
+      org.eclipse.emf.test.core.ecore.ColumnarEStoreTest.class,
+      org.eclipse.emf.test.core.ecore.EDataTypePrimitiveEListTest.class,
       org.eclipse.emf.test.core.common.util.WeakInterningHashSetTest.class,
       org.eclipse.emf.test.core.common.util.PoolTest.class,
+      org.eclipse.emf.test.core.common.util.LinkedIdentityHashMapTest.class,
       org.eclipse.emf.test.core.common.util.StringPoolTest.class,
       org.eclipse.emf.test.core.common.util.SegmentSequenceTest.class,
       org.eclipse.emf.test.core.common.util.URITest.class
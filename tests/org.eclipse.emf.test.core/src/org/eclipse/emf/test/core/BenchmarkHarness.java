@@ -37,6 +37,7 @@ import org.eclipse.emf.test.core.common.util.URITest;
  * A harness for micro benchmarking.
  * Run this harness with the <code>-XX:+PrintCompilation</code> and <code>-verbose:gc</code>
  * to ensure that you're collecting measurements after JITing as completed and that no garbage collection overhead is affecting the result.
+ * For reproducible measurements of the core runtime, use the JMH benchmarks of <code>org.eclipse.emf.test.performance</code> instead.
  */
 public class BenchmarkHarness
 {
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core;
+
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+
+/**
+ * A dynamic package with a single class, <code>Node</code>, with a <code>name</code> attribute,
+ * to which a test adds the further features it needs.
+ */
+public class NodeModel
+{
+  public final EPackage ePackage;
+  public final EClass nodeClass;
+  public final EAttribute name;
+
+  /**
+   * Creates a package with the given name and prefix, and a namespace URI derived from the name.
+   */
+  public NodeModel(String packageName)
+  {
+    ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName(packageName);
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/" + packageName);
+    ePackage.setNsPrefix(packageName);
+
+    nodeClass = EcoreFactory.eINSTANCE.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = createAttribute("name", EcorePackage.Literals.ESTRING);
+  }
+
+  public EAttribute createAttribute(String attributeName, EDataType eDataType)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(attributeName);
+    eAttribute.setEType(eDataType);
+    nodeClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  public EReference createReference(String referenceName, boolean many)
+  {
+    EReference eReference = EcoreFactory.eINSTANCE.createEReference();
+    eReference.setName(referenceName);
+    eReference.setEType(nodeClass);
+    if (many)
+    {
+      eReference.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    }
+    nodeClass.getEStructuralFeatures().add(eReference);
+    return eReference;
+  }
+
+  /**
+   * Creates a node, using the package's factory, with the given name.
+   */
+  public EObject createNode(String nodeName)
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    node.eSet(name, nodeName);
+    return node;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> EList<T> getList(EObject eObject, EStructuralFeature eStructuralFeature)
+  {
+    return (EList<T>)eObject.eGet(eStructuralFeature);
+  }
+}
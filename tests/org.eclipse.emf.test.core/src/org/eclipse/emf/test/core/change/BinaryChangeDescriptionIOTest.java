@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.change;
+
+
+import static org.eclipse.emf.test.core.NodeModel.getList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.util.BinaryChangeDescriptionIO;
+import org.eclipse.emf.ecore.change.util.ChangeRecorder;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.test.core.NodeModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link BinaryChangeDescriptionIO}.
+ */
+public class BinaryChangeDescriptionIOTest
+{
+  private static final URI RESOURCE_URI = URI.createURI("http://www.eclipse.org/emf/test/binaryChange/model.nodes");
+
+  private NodeModel nodeModel;
+  private EAttribute name;
+  private EAttribute values;
+  private EReference children;
+  private EReference targets;
+  private EReference target;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    nodeModel = new NodeModel("binaryChange");
+    name = nodeModel.name;
+
+    values = nodeModel.createAttribute("values", EcorePackage.Literals.EINT);
+    values.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+
+    children = nodeModel.createReference("children", true);
+    children.setContainment(true);
+    targets = nodeModel.createReference("targets", true);
+    target = nodeModel.createReference("target", false);
+
+    // Like a binary resource, the serialization refers to packages by namespace URI.
+    //
+    EPackage.Registry.INSTANCE.put(nodeModel.ePackage.getNsURI(), nodeModel.ePackage);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    EPackage.Registry.INSTANCE.remove(nodeModel.ePackage.getNsURI());
+  }
+
+  private Resource createResource(ResourceSet resourceSet)
+  {
+    Resource resource = new ResourceImpl(RESOURCE_URI);
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  private Resource createModel(ResourceSet resourceSet)
+  {
+    Resource resource = createResource(resourceSet);
+    EObject root = nodeModel.createNode("root");
+    resource.getContents().add(root);
+    for (int i = 0; i < 5; ++i)
+    {
+      EObject child = nodeModel.createNode("child" + i);
+      getList(root, children).add(child);
+      getList(child, values).add(i);
+      for (int j = 0; j < 3; ++j)
+      {
+        getList(child, children).add(nodeModel.createNode("grandchild" + i + "." + j));
+      }
+    }
+    getList(root, targets).add(getList(root, children).get(3));
+    return resource;
+  }
+
+  private void makeChanges(Resource resource)
+  {
+    EObject root = resource.getContents().get(0);
+    EList<EObject> rootChildren = getList(root, children);
+    root.eSet(name, "renamedRoot");
+    getList(rootChildren.get(0), values).addAll(Arrays.asList(10, 20, 30));
+    getList(rootChildren.get(1), values).clear();
+    rootChildren.move(0, 4);
+
+    // Removing a subtree and adding a new one makes for objects to attach and to detach.
+    //
+    rootChildren.remove(2);
+    EObject newChild = nodeModel.createNode("newChild");
+    getList(newChild, children).add(nodeModel.createNode("newGrandchild"));
+    getList(newChild, values).add(42);
+    newChild.eSet(target, rootChildren.get(3));
+    rootChildren.add(1, newChild);
+
+    getList(root, targets).add(0, getList(rootChildren.get(3), children).get(1));
+    rootChildren.get(0).eSet(target, newChild);
+    EList<EObject> grandchildren = getList(rootChildren.get(2), children);
+    grandchildren.get(0).eSet(target, root);
+
+    // A new root changes the contents of the resource.
+    //
+    resource.getContents().add(nodeModel.createNode("newRoot"));
+  }
+
+  private static byte[] save(ChangeDescription changeDescription) throws Exception
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    BinaryChangeDescriptionIO.save(changeDescription, outputStream, null);
+    return outputStream.toByteArray();
+  }
+
+  @Test
+  public void testReplication() throws Exception
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    Resource resource = createModel(resourceSet);
+    ResourceSet replicaResourceSet = new ResourceSetImpl();
+    Resource replicaResource = createResource(replicaResourceSet);
+    replicaResource.getContents().addAll(EcoreUtil.copyAll(resource.getContents()));
+
+    ChangeRecorder changeRecorder = new ChangeRecorder(resourceSet);
+    makeChanges(resource);
+    ChangeDescription changeDescription = changeRecorder.endRecording();
+    changeRecorder.dispose();
+    List<EObject> changedContents = new ArrayList<EObject>(EcoreUtil.copyAll(resource.getContents()));
+
+    // Reverse the change description to describe how to change the original state to the changed state.
+    //
+    changeDescription.applyAndReverse();
+    assertTrue(EcoreUtil.equals(replicaResource.getContents(), resource.getContents()));
+    byte[] bytes = save(changeDescription);
+
+    // Apply the loaded changes to the replica.
+    //
+    ChangeDescription loadedChangeDescription = BinaryChangeDescriptionIO.load(new ByteArrayInputStream(bytes), replicaResourceSet, null);
+    assertEquals(changeDescription.getObjectChanges().size(), loadedChangeDescription.getObjectChanges().size());
+    assertEquals(changeDescription.getObjectsToAttach().size(), loadedChangeDescription.getObjectsToAttach().size());
+    assertEquals(changeDescription.getObjectsToDetach().size(), loadedChangeDescription.getObjectsToDetach().size());
+    assertEquals(changeDescription.getResourceChanges().size(), loadedChangeDescription.getResourceChanges().size());
+    for (EObject eObject : loadedChangeDescription.getObjectChanges().keySet())
+    {
+      assertTrue(eObject.eResource() == replicaResource || EcoreUtil.isAncestor(loadedChangeDescription, eObject));
+    }
+    assertSame(replicaResource, loadedChangeDescription.getResourceChanges().get(0).getResource());
+
+    loadedChangeDescription.apply();
+    assertTrue(EcoreUtil.equals(changedContents, replicaResource.getContents()));
+
+    // The reversed change description applied to the original also produces the changed state.
+    //
+    changeDescription.apply();
+    assertTrue(EcoreUtil.equals(changedContents, resource.getContents()));
+  }
+
+  @Test
+  public void testUnresolvedReferences() throws Exception
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    Resource resource = createModel(resourceSet);
+    ChangeRecorder changeRecorder = new ChangeRecorder(resourceSet);
+    makeChanges(resource);
+    ChangeDescription changeDescription = changeRecorder.endRecording();
+    changeRecorder.dispose();
+
+    // Without a resource set, references to the model are proxies with the URI of the object.
+    //
+    ChangeDescription loadedChangeDescription = BinaryChangeDescriptionIO.load(new ByteArrayInputStream(save(changeDescription)), null, null);
+    EObject root = resource.getContents().get(0);
+    EObject rootProxy = null;
+    for (EObject eObject : loadedChangeDescription.getObjectChanges().keySet())
+    {
+      if (EcoreUtil.getURI(root).equals(((InternalEObject)eObject).eProxyURI()))
+      {
+        rootProxy = eObject;
+      }
+    }
+    assertNotNull(rootProxy);
+    assertTrue(rootProxy.eIsProxy());
+    assertSame(nodeModel.nodeClass, rootProxy.eClass());
+
+    // Saving it again yields the same serialization.
+    //
+    assertArrayEquals(save(changeDescription), save(loadedChangeDescription));
+  }
+}
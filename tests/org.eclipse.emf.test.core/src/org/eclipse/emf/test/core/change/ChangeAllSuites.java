@@ -24,7 +24,10 @@ import org.junit.runners.Suite;
      ChangeDescriptionTest.class,
      MultivalueAttributeTest.class,
      SpecialCasesTest.class,
-     ChangeDescriptionBuilderTest.class
+     ChangeDescriptionBuilderTest.class,
+     BinaryChangeDescriptionIOTest.class,
+     OperationLogChangeRecorderTest.class,
+     ChangeJournalTest.class
    })
 public class ChangeAllSuites
 {
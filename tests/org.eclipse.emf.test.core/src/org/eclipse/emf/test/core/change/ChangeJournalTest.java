@@ -0,0 +1,402 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.change;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.change.util.ChangeJournal;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link ChangeJournal}.
+ */
+public class ChangeJournalTest
+{
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+
+  private Path directory;
+  private Path journalPath;
+  private URI modelURI;
+  private URI otherModelURI;
+
+  private ExecutorService executorService;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("journal");
+    ePackage.setNsPrefix("journal");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/journal");
+
+    nodeClass = EcoreFactory.eINSTANCE.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = EcoreFactory.eINSTANCE.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = EcoreFactory.eINSTANCE.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = EcoreFactory.eINSTANCE.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    directory = Files.createTempDirectory("journal");
+    journalPath = directory.resolve("model.journal");
+    modelURI = URI.createFileURI(directory.resolve("model.xmi").toString());
+    otherModelURI = URI.createFileURI(directory.resolve("other.xmi").toString());
+
+    executorService = Executors.newSingleThreadExecutor();
+
+    // Save the initial model.
+    //
+    ResourceSet resourceSet = createResourceSet();
+    Resource resource = resourceSet.createResource(modelURI);
+    EObject root = createNode("root");
+    resource.getContents().add(root);
+    for (int i = 0; i < 5; ++i)
+    {
+      getChildren(root).add(createNode("child" + i));
+    }
+    resource.save(null);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    executorService.shutdown();
+    try (Stream<Path> paths = Files.walk(directory))
+    {
+      List<Path> allPaths = new ArrayList<Path>();
+      paths.forEach(allPaths::add);
+      Collections.sort(allPaths, Comparator.reverseOrder());
+      for (Path path : allPaths)
+      {
+        Files.delete(path);
+      }
+    }
+  }
+
+  private ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    return resourceSet;
+  }
+
+  private EObject createNode(String nodeName)
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    node.eSet(name, nodeName);
+    return node;
+  }
+
+  @SuppressWarnings("unchecked")
+  private EList<EObject> getChildren(EObject eObject)
+  {
+    return (EList<EObject>)eObject.eGet(children);
+  }
+
+  private EObject getRoot(ResourceSet resourceSet)
+  {
+    return resourceSet.getResource(modelURI, true).getContents().get(0);
+  }
+
+  /**
+   * Makes a few changes, each in its own transaction.
+   */
+  private void makeChanges(ChangeJournal journal, int start, int count) throws IOException
+  {
+    ResourceSet resourceSet = journal.getResourceSet();
+    for (int i = start; i < start + count; ++i)
+    {
+      journal.beginTransaction();
+      EObject root = getRoot(resourceSet);
+      EList<EObject> rootChildren = getChildren(root);
+      switch (i % 5)
+      {
+        case 0:
+        {
+          root.eSet(name, "root" + i);
+          break;
+        }
+        case 1:
+        {
+          EObject node = createNode("new" + i);
+          getChildren(node).add(createNode("newChild" + i));
+          rootChildren.add(1, node);
+          rootChildren.get(0).eSet(target, node);
+          break;
+        }
+        case 2:
+        {
+          rootChildren.move(0, rootChildren.size() - 1);
+          EcoreUtil.delete(rootChildren.get(2), true);
+          break;
+        }
+        case 3:
+        {
+          Resource otherResource = resourceSet.getResource(otherModelURI, false);
+          if (otherResource == null)
+          {
+            otherResource = resourceSet.createResource(otherModelURI);
+          }
+          EObject otherRoot = createNode("other" + i);
+          otherRoot.eSet(target, rootChildren.get(rootChildren.size() - 1));
+          otherResource.getContents().add(otherRoot);
+          break;
+        }
+        default:
+        {
+          getChildren(rootChildren.get(rootChildren.size() - 1)).add(createNode("grandchild" + i));
+          break;
+        }
+      }
+      journal.commit();
+    }
+  }
+
+  private List<EObject> getContents(ResourceSet resourceSet)
+  {
+    List<EObject> result = new ArrayList<EObject>();
+    result.addAll(resourceSet.getResource(modelURI, true).getContents());
+    Resource otherResource = resourceSet.getResource(otherModelURI, false);
+    if (otherResource == null && resourceSet.getURIConverter().exists(otherModelURI, null))
+    {
+      otherResource = resourceSet.getResource(otherModelURI, true);
+    }
+    if (otherResource != null)
+    {
+      result.addAll(otherResource.getContents());
+    }
+    return result;
+  }
+
+  private void assertRecovered(List<EObject> expected, int expectedCount) throws IOException
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    assertEquals(expectedCount, journal.recover());
+    assertTrue(EcoreUtil.equals(expected, getContents(resourceSet)));
+    journal.close();
+  }
+
+  @Test
+  public void testRecovery() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    assertEquals(0, journal.recover());
+    makeChanges(journal, 0, 12);
+    assertEquals(12, journal.getSequence());
+    List<EObject> expected = getContents(resourceSet);
+    journal.close();
+
+    // Nothing was saved, but the journal reproduces the changes.
+    //
+    assertFalse(EcoreUtil.equals(expected, getContents(createResourceSet())));
+    assertRecovered(expected, 12);
+  }
+
+  @Test
+  public void testCommitNotifications() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    journal.recover();
+    EObject root = getRoot(resourceSet);
+    final List<Notification> notifications = new ArrayList<Notification>();
+    Adapter adapter =
+      new AdapterImpl()
+      {
+        @Override
+        public void notifyChanged(Notification notification)
+        {
+          notifications.add(notification);
+        }
+      };
+    root.eAdapters().add(adapter);
+    root.eResource().eAdapters().add(adapter);
+
+    journal.beginTransaction();
+    root.eSet(name, "renamed");
+    getChildren(root).add(createNode("new"));
+    root.eResource().getContents().add(createNode("otherRoot"));
+    assertEquals(3, notifications.size());
+
+    // The commit returns to the state of the previous commit, and back, without notifying the adapters.
+    //
+    journal.commit();
+    assertEquals(3, notifications.size());
+    assertTrue(root.eDeliver());
+    assertTrue(root.eResource().eDeliver());
+    List<EObject> expected = getContents(resourceSet);
+    journal.close();
+
+    assertRecovered(expected, 1);
+  }
+
+  @Test
+  public void testPartiallyWrittenRecord() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    journal.recover();
+    makeChanges(journal, 0, 4);
+    List<EObject> expected = new ArrayList<EObject>(EcoreUtil.copyAll(getContents(resourceSet)));
+    long size = Files.size(journalPath);
+    makeChanges(journal, 4, 1);
+    journal.close();
+
+    // Cut the last record short, as if the process crashed while appending it.
+    //
+    try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE))
+    {
+      channel.truncate(Files.size(journalPath) - 3);
+    }
+    assertRecovered(expected, 4);
+    assertEquals(size, Files.size(journalPath));
+  }
+
+  @Test
+  public void testRollback() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    journal.recover();
+    makeChanges(journal, 0, 2);
+    List<EObject> expected = new ArrayList<EObject>(EcoreUtil.copyAll(getContents(resourceSet)));
+
+    journal.beginTransaction();
+    getChildren(getRoot(resourceSet)).clear();
+    journal.rollback();
+    assertFalse(journal.isInTransaction());
+    assertTrue(EcoreUtil.equals(expected, getContents(resourceSet)));
+    assertEquals(2, journal.getSequence());
+    journal.close();
+
+    assertRecovered(expected, 2);
+  }
+
+  @Test
+  public void testCompaction() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    journal.recover();
+    makeChanges(journal, 0, 8);
+    List<EObject> compacted = new ArrayList<EObject>(EcoreUtil.copyAll(getContents(resourceSet)));
+    assertEquals(8L, journal.compact(executorService).get().longValue());
+    assertEquals(8, journal.getCheckpointSequence());
+
+    // The saved resources include the compacted changes and the journal is empty.
+    //
+    assertTrue(EcoreUtil.equals(compacted, getContents(createResourceSet())));
+    assertRecovered(compacted, 0);
+
+    makeChanges(journal, 8, 7);
+    List<EObject> expected = getContents(resourceSet);
+    journal.close();
+    assertRecovered(expected, 7);
+  }
+
+  @Test
+  public void testInterruptedCompaction() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    journal.recover();
+    makeChanges(journal, 0, 6);
+    List<EObject> expected = getContents(resourceSet);
+    Path journalCopyPath = directory.resolve("copy.journal");
+    Files.copy(journalPath, journalCopyPath);
+    journal.compact(executorService).get();
+    journal.close();
+
+    // Restore the journal as if the process crashed before the compacted records were removed from it.
+    // The records included in the saved resources must not be replayed again.
+    //
+    Files.copy(journalCopyPath, journalPath, StandardCopyOption.REPLACE_EXISTING);
+    Files.delete(journalCopyPath);
+    assertRecovered(expected, 0);
+  }
+
+  @Test
+  public void testResume() throws Exception
+  {
+    ResourceSet resourceSet = createResourceSet();
+    ChangeJournal journal = new ChangeJournal(resourceSet, journalPath);
+    journal.recover();
+    makeChanges(journal, 0, 3);
+    journal.close();
+
+    // Recover and continue journaling.
+    //
+    resourceSet = createResourceSet();
+    journal = new ChangeJournal(resourceSet, journalPath);
+    assertEquals(3, journal.recover());
+    makeChanges(journal, 3, 4);
+    assertEquals(7, journal.getSequence());
+    List<EObject> expected = getContents(resourceSet);
+    journal.close();
+    assertRecovered(expected, 7);
+  }
+}
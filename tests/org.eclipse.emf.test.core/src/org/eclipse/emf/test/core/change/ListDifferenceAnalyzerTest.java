@@ -13,6 +13,9 @@ package org.eclipse.emf.test.core.change;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 
 import org.eclipse.emf.common.util.BasicEList;
@@ -156,4 +159,422 @@ public class ListDifferenceAnalyzerTest
       assertEquals(newList, oldList);
     }
   }
+
+  private static ListChange createIntListChange(EList<ListChange> listChanges, ChangeKind kind, int index)
+  {
+    ListChange listChange =
+      new ListChangeImpl()
+      {
+        @Override
+        public EStructuralFeature getFeature()
+        {
+          return EcorePackage.Literals.ETYPED_ELEMENT__LOWER_BOUND;
+        }
+      };
+    listChange.setKind(kind);
+    listChange.setIndex(index);
+    listChanges.add(listChange);
+    return listChange;
+  }
+
+  /**
+   * A copy of the quadratic analysis of the lists as it was before the new list was indexed and the moves were tracked in a tree,
+   * used as the oracle for the list changes that must be produced.
+   */
+  private static class BaselineListDifferenceAnalyzer extends ListDifferenceAnalyzer
+  {
+    @Override
+    protected void createListChanges(EList<Object> oldList, EList<?> newList, EList<ListChange> listChanges)
+    {
+      // Keep track of the list sizes.
+      //
+      int oldListSize = oldList.size();
+      int newListSize = newList.size();
+
+      // Track which value at an index in the old list matches the value at each index in the new list.
+      // A zero indicates an unmatched item while an index is offset by one to avoid using the zero index.
+      //
+      int[] newListSources  = new int [newListSize];
+
+      // Iterate over the old list.
+      // We'll remove unmatched items as we proceed.
+      // Also keep track of which entry in the sources at which to start,
+      // so we can skip over all the already matched values at the start of the list.
+      //
+      for (int i = 0, start = 0; i < oldListSize; )
+      {
+        // Get the value at that the index.
+        //
+        Object oldValue = oldList.get(i);
+
+        // Mark it as one that needs to be removed until we find a match.
+        //
+        boolean remove = true;
+
+        // Keep track when all slots in the new list have been consumed.
+        //
+        boolean allSlotsMatched = true;
+
+        // Look for a match for the old value in the new list.
+        //
+        LOOP:
+        for (int j = start; j < newListSize; ++j)
+        {
+          // If the tracked entry is uninitialized...
+          //
+          int source = newListSources[j];
+          if (source == 0)
+          {
+            // Get the new value at the index and compare it to the old value.
+            //
+            Object newValue = newList.get(j);
+            if (equal(oldValue, newValue))
+            {
+              // If they're equal, indicate that the new value at the index j matches the old value at index i.
+              //
+              newListSources[j] = i + 1;
+
+              // If this index was the start, increment the start.
+              //
+              if (start == j)
+              {
+                ++start;
+              }
+
+              // The value is matched so don't remove it when exiting the loop.
+              //
+              remove = false;
+              break LOOP;
+            }
+            // If all slots might be matched, but we just hit one that wasn't...
+            //
+            else if (allSlotsMatched)
+            {
+              // Make that the starting slot and make sure no subsequent slot is marked as the starting slot.
+              //
+              start = j;
+              allSlotsMatched = false;
+            }
+          }
+        }
+
+        // If we're done the loop without finding a match...
+        //
+        if (remove)
+        {
+          // Remove the old value thereby reducing the size of the list.
+          //
+          createRemoveListChange(oldList, listChanges, oldValue, i);
+          --oldListSize;
+        }
+        else
+        {
+          // Proceed with the next old value.
+          //
+          ++i;
+        }
+      }
+
+      // Create an array where each index represents the target index at which the value at the index in the old list should end up.
+      //
+      int[] oldListTargets = new int [oldListSize];
+
+      // Keep a count of the number of values that need to be added, because we won't add anything until the rest of the list is in the right order.
+      // That way we ensure that we add at exactly the right index.
+      //
+      int count = 0;
+
+      // Iterate over the new list sources...
+      //
+      for (int i = 0; i < newListSize; ++i)
+      {
+        // If the new value is matched.
+        //
+        int newListSource = newListSources[i];
+        if (newListSource != 0)
+        {
+          // Store in the index for where the matched value is now, the index of where it must end up.
+          //
+          oldListTargets[newListSource - 1] = count;
+
+          // Only increment the count, and hence the index used for moving the items, for matched items.
+          //
+          ++count;
+        }
+      }
+
+      // Loop until the termination condition is reached...
+      //
+      for (;;)
+      {
+        // The index of the value to be moved.
+        // We're looking for the one that needs to be moved the farthest.
+        //
+        int index = -1;
+
+        // The distance of the value at the index needs to be moved.
+        //
+        int farthest = 0;
+
+        // Iterate over the old list targets.
+        //
+        for (int i = 0; i < oldListSize; ++i)
+        {
+          // Determine the distance between the index and where it should be and ensure it's positive.
+          //
+          int distance = oldListTargets[i] - i;
+          if (distance < 0)
+          {
+            distance = -distance;
+          }
+
+          // If the object at this index needs to be moved farther than the one we've determined so far...
+          //
+          if (distance > farthest)
+          {
+            // Record this index and the distance.
+            //
+            index = i;
+            farthest = distance;
+          }
+        }
+        // If no object needs to be moved.
+        //
+        if (index == -1)
+        {
+          // Terminate the list.
+          //
+          break;
+        }
+        else
+        {
+          // Keep track of the absolutely correct final target index.
+          //
+          int actualTargetIndex = oldListTargets[index];
+
+          // Look for an index that might be a better intermediate...
+          //
+          int targetIndex = actualTargetIndex;
+          if (targetIndex < index)
+          {
+            // In this case, the value ends up before the index.
+            // So look to see if the value currently at the target index is before the value we're about to put before it.
+            //
+            if (oldListTargets[targetIndex] < actualTargetIndex)
+            {
+              do
+              {
+                // If so, move it after instead and check again...
+                //
+                ++targetIndex;
+              }
+              while (oldListTargets[targetIndex] < actualTargetIndex);
+            }
+            else
+            {
+              // Otherwise, check that it wouldn't be better to put the value before the previous target index
+              // because the value we're about to put after it should be before.
+              //
+              while (targetIndex > 0 && oldListTargets[targetIndex - 1] > actualTargetIndex)
+              {
+                // If so, move it before instead and check again.
+                //
+                --targetIndex;
+              }
+            }
+          }
+          else
+          {
+            // In this case, the value ends up after the index.
+            // So look to see if the value currently at the target index is after the value we're about to put after it.
+            //
+            if (oldListTargets[targetIndex] > actualTargetIndex)
+            {
+              do
+              {
+                // If so, move it before instead and check again...
+                //
+                --targetIndex;
+              }
+              while (oldListTargets[targetIndex] > actualTargetIndex);
+            }
+            else
+            {
+              // Otherwise, check that it wouldn't be better to put the value after the following target index
+              // because the value we're about to put before it should be after.
+              //
+              while (targetIndex + 1 < oldListSize && oldListTargets[targetIndex + 1] < actualTargetIndex)
+              {
+                // If so, move it after instead and check again.
+                //
+                ++targetIndex;
+              }
+            }
+          }
+
+          // Move the old value at the index to the best new target index.
+          //
+          createMoveListChange(oldList, listChanges, oldList.get(index), index, targetIndex);
+
+          // Update the old list targets array to reflect the move.
+          //
+          if (targetIndex < index)
+          {
+            System.arraycopy(oldListTargets, targetIndex, oldListTargets, targetIndex + 1, index - targetIndex);
+          }
+          else
+          {
+            System.arraycopy(oldListTargets, index + 1, oldListTargets, index, targetIndex - index);
+          }
+          oldListTargets[targetIndex] = actualTargetIndex;
+        }
+      }
+
+      // If there are objects to add.
+      //
+      if (count != newListSize)
+      {
+        // Look for them.
+        //
+        for (int i = 0; i < newListSize; ++i)
+        {
+          int newListSource = newListSources[i];
+          if (newListSource == 0)
+          {
+            // Add the missing new value.
+            //
+            createAddListChange(oldList, listChanges, newList.get(i), i);
+          }
+        }
+      }
+    }
+
+    @Override
+    protected ListChange createListChange(EList<ListChange> listChanges, ChangeKind kind, int index)
+    {
+      return createIntListChange(listChanges, kind, index);
+    }
+  }
+
+  private static void assertSameListChanges(EList<ListChange> expectedListChanges, EList<ListChange> listChanges)
+  {
+    assertEquals(expectedListChanges.size(), listChanges.size());
+    for (int i = 0; i < listChanges.size(); ++i)
+    {
+      ListChange expectedListChange = expectedListChanges.get(i);
+      ListChange listChange = listChanges.get(i);
+      assertEquals(expectedListChange.getKind(), listChange.getKind());
+      assertEquals(expectedListChange.getIndex(), listChange.getIndex());
+      assertEquals(expectedListChange.getMoveToIndex(), listChange.getMoveToIndex());
+      assertEquals(new ArrayList<Object>(expectedListChange.getValues()), new ArrayList<Object>(listChange.getValues()));
+    }
+  }
+
+  @Test
+  public void testSameAsBaseline()
+  {
+    ListDifferenceAnalyzer baselineListDifferenceAnalyzer = new BaselineListDifferenceAnalyzer();
+
+    ListDifferenceAnalyzer listDifferenceAnalyzer =
+      new ListDifferenceAnalyzer()
+      {
+        @Override
+        protected ListChange createListChange(EList<ListChange> listChanges, ChangeKind kind, int index)
+        {
+          return createIntListChange(listChanges, kind, index);
+        }
+      };
+
+    // Overriding equal disables the hash index so the new list is scanned for each old value.
+    //
+    ListDifferenceAnalyzer scanningListDifferenceAnalyzer =
+      new ListDifferenceAnalyzer()
+      {
+        @Override
+        protected boolean equal(Object oldValue, Object newValue)
+        {
+          return super.equal(oldValue, newValue);
+        }
+
+        @Override
+        protected ListChange createListChange(EList<ListChange> listChanges, ChangeKind kind, int index)
+        {
+          return createIntListChange(listChanges, kind, index);
+        }
+      };
+
+    Random random = new Random(0);
+    for (int repeat = 0; repeat < 5000; ++repeat)
+    {
+      int size = random.nextInt(60) + 1;
+      int range = random.nextInt(size) + 1;
+      EList<Object> oldList = new BasicEList<Object>();
+      for (int i = 0; i < size; ++i)
+      {
+        oldList.add(random.nextInt(5) == 0 ? null : Integer.valueOf(random.nextInt(range)));
+      }
+      EList<Object> newList = new BasicEList<Object>(oldList);
+      Collections.shuffle(newList.subList(0, random.nextInt(size + 1)), random);
+      for (int i = random.nextInt(size); i > 0; --i)
+      {
+        if (random.nextBoolean() && !newList.isEmpty())
+        {
+          newList.remove(random.nextInt(newList.size()));
+        }
+        else
+        {
+          newList.add(random.nextInt(newList.size() + 1), random.nextInt(range));
+        }
+      }
+
+      EList<ListChange> baselineChanges = baselineListDifferenceAnalyzer.analyzeLists(oldList, newList);
+      EList<ListChange> changes = listDifferenceAnalyzer.analyzeLists(oldList, newList);
+      assertSameListChanges(baselineChanges, changes);
+      assertSameListChanges(baselineChanges, scanningListDifferenceAnalyzer.analyzeLists(oldList, newList));
+
+      EList<Object> list = new BasicEList<Object>(oldList);
+      for (ListChange listChange : changes)
+      {
+        listChange.apply(list);
+      }
+      assertEquals(newList, list);
+    }
+  }
+
+  @Test
+  public void testLargeList()
+  {
+    ListDifferenceAnalyzer listDifferenceAnalyzer =
+      new ListDifferenceAnalyzer()
+      {
+        @Override
+        protected ListChange createListChange(EList<ListChange> listChanges, ChangeKind kind, int index)
+        {
+          return createIntListChange(listChanges, kind, index);
+        }
+      };
+
+    // Shuffle, remove, and add values of a large list, which used to take minutes to analyze.
+    //
+    Random random = new Random(0);
+    List<Object> values = new ArrayList<Object>();
+    for (int i = 0; i < 100000; ++i)
+    {
+      values.add(i);
+    }
+    EList<Object> oldList = new BasicEList<Object>(values);
+    Collections.shuffle(values, random);
+    EList<Object> newList = new BasicEList<Object>(values.subList(0, 90000));
+    for (int i = 1; i <= 10000; ++i)
+    {
+      newList.add(random.nextInt(newList.size()), -i);
+    }
+
+    EList<ListChange> changes = listDifferenceAnalyzer.analyzeLists(oldList, newList);
+    for (ListChange listChange : changes)
+    {
+      listChange.apply(oldList);
+    }
+    assertEquals(newList, oldList);
+  }
 }
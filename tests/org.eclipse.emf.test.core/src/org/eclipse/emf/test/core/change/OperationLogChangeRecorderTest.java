@@ -0,0 +1,357 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.change;
+
+
+import static org.eclipse.emf.test.core.NodeModel.getList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.FeatureChange;
+import org.eclipse.emf.ecore.change.ResourceChange;
+import org.eclipse.emf.ecore.change.util.ChangeRecorder;
+import org.eclipse.emf.ecore.change.util.OperationLogChangeRecorder;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.test.core.NodeModel;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests that {@link OperationLogChangeRecorder} records the same changes as {@link ChangeRecorder}.
+ */
+public class OperationLogChangeRecorderTest
+{
+  private NodeModel nodeModel;
+  private EAttribute name;
+  private EAttribute values;
+  private EReference children;
+  private EReference targets;
+  private EReference target;
+
+  /**
+   * The index of each node in the order of creation, which identifies corresponding nodes of separate recordings.
+   */
+  private Map<EObject, Integer> ids = new IdentityHashMap<EObject, Integer>();
+
+  @Before
+  public void setUp() throws Exception
+  {
+    nodeModel = new NodeModel("operationLog");
+    name = nodeModel.name;
+    name.setUnsettable(true);
+
+    values = nodeModel.createAttribute("values", EcorePackage.Literals.EINT);
+    values.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    values.setUnique(false);
+
+    children = nodeModel.createReference("children", true);
+    children.setContainment(true);
+    targets = nodeModel.createReference("targets", true);
+    target = nodeModel.createReference("target", false);
+  }
+
+  private EObject createNode(String nodeName)
+  {
+    EObject node = nodeModel.createNode(nodeName);
+    ids.put(node, ids.size());
+    return node;
+  }
+
+  private Resource createModel(ResourceSet resourceSet, Random random)
+  {
+    Resource resource = new ResourceImpl(URI.createURI("http://www.eclipse.org/emf/test/operationLog/model.nodes"));
+    resourceSet.getResources().add(resource);
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (int i = 0; i < 3; ++i)
+    {
+      EObject root = createNode("root" + i);
+      resource.getContents().add(root);
+      nodes.add(root);
+    }
+    for (int i = 0; i < 40; ++i)
+    {
+      EObject node = createNode("node" + i);
+      getList(nodes.get(random.nextInt(nodes.size())), children).add(node);
+      getList(node, values).add(random.nextInt(10));
+      nodes.add(node);
+    }
+    return resource;
+  }
+
+  private static List<EObject> getAllNodes(Resource resource)
+  {
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (Iterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+    {
+      nodes.add(i.next());
+    }
+    return nodes;
+  }
+
+  private void makeChange(Resource resource, Random random, int index)
+  {
+    List<EObject> nodes = getAllNodes(resource);
+    EObject node = nodes.get(random.nextInt(nodes.size()));
+    EObject other = nodes.get(random.nextInt(nodes.size()));
+    EList<Integer> valueList = getList(node, values);
+    EList<EObject> targetList = getList(node, targets);
+    EList<EObject> childList = getList(node, children);
+    switch (random.nextInt(16))
+    {
+      case 0:
+      {
+        node.eSet(name, "name" + index);
+        break;
+      }
+      case 1:
+      {
+        node.eUnset(name);
+        break;
+      }
+      case 2:
+      {
+        node.eSet(target, random.nextBoolean() ? other : null);
+        break;
+      }
+      case 3:
+      {
+        valueList.add(random.nextInt(valueList.size() + 1), index);
+        break;
+      }
+      case 4:
+      {
+        valueList.addAll(random.nextInt(valueList.size() + 1), Arrays.asList(index, index + 1, index + 2));
+        break;
+      }
+      case 5:
+      {
+        if (!valueList.isEmpty())
+        {
+          valueList.remove(random.nextInt(valueList.size()));
+        }
+        break;
+      }
+      case 6:
+      {
+        if (valueList.size() > 1)
+        {
+          valueList.move(random.nextInt(valueList.size()), random.nextInt(valueList.size()));
+        }
+        break;
+      }
+      case 7:
+      {
+        if (!valueList.isEmpty())
+        {
+          valueList.set(random.nextInt(valueList.size()), index);
+        }
+        break;
+      }
+      case 8:
+      {
+        valueList.clear();
+        break;
+      }
+      case 9:
+      {
+        if (!targetList.contains(other))
+        {
+          targetList.add(other);
+        }
+        break;
+      }
+      case 10:
+      {
+        if (targetList.size() > 1)
+        {
+          targetList.removeAll(new ArrayList<EObject>(targetList.subList(0, random.nextInt(targetList.size()))));
+        }
+        break;
+      }
+      case 11:
+      {
+        // Move a subtree, unless that would make a cycle.
+        //
+        if (!EcoreUtil.isAncestor(other, node))
+        {
+          getList(node, children).add(other);
+        }
+        break;
+      }
+      case 12:
+      {
+        EObject newNode = createNode("new" + index);
+        getList(newNode, values).add(index);
+        childList.add(random.nextInt(childList.size() + 1), newNode);
+        break;
+      }
+      case 13:
+      {
+        if (!childList.isEmpty())
+        {
+          childList.remove(random.nextInt(childList.size()));
+        }
+        break;
+      }
+      case 14:
+      {
+        resource.getContents().add(random.nextInt(resource.getContents().size() + 1), createNode("newRoot" + index));
+        break;
+      }
+      default:
+      {
+        EList<EObject> contents = resource.getContents();
+        if (contents.size() > 1)
+        {
+          contents.move(random.nextInt(contents.size()), random.nextInt(contents.size()));
+        }
+        break;
+      }
+    }
+  }
+
+  private String render(ChangeDescription changeDescription)
+  {
+    StringBuilder result = new StringBuilder();
+    result.append("attach ").append(render(changeDescription.getObjectsToAttach())).append('\n');
+    for (Map.Entry<EObject, EList<FeatureChange>> entry : changeDescription.getObjectChanges())
+    {
+      result.append(render(entry.getKey())).append('\n');
+      for (FeatureChange featureChange : entry.getValue())
+      {
+        result.append("  ").append(featureChange.getFeature().getName());
+        result.append(featureChange.isSet() ? " set " : " unset ");
+        result.append(render(featureChange.getValue()));
+        result.append(" ").append(featureChange.getListChanges().size()).append('\n');
+      }
+    }
+    for (ResourceChange resourceChange : changeDescription.getResourceChanges())
+    {
+      result.append(resourceChange.getResource().getURI()).append(' ').append(render(resourceChange.getValue())).append('\n');
+    }
+    return result.toString();
+  }
+
+  private String render(Object value)
+  {
+    if (value instanceof EObject)
+    {
+      return "#" + ids.get(value);
+    }
+    else if (value instanceof Collection<?>)
+    {
+      List<String> result = new ArrayList<String>();
+      for (Object element : (Collection<?>)value)
+      {
+        result.add(render(element));
+      }
+      return result.toString();
+    }
+    else
+    {
+      return String.valueOf(value);
+    }
+  }
+
+  /**
+   * Records random changes to a random model and returns the rendering of each summary and of the final change description.
+   */
+  private List<String> record(long seed, boolean useOperationLog)
+  {
+    ids.clear();
+    Random random = new Random(seed);
+    ResourceSet resourceSet = new ResourceSetImpl();
+    Resource resource = createModel(resourceSet, random);
+    List<EObject> originalContents = new ArrayList<EObject>(EcoreUtil.copyAll(resource.getContents()));
+
+    List<String> result = new ArrayList<String>();
+    ChangeRecorder changeRecorder = useOperationLog ? new OperationLogChangeRecorder(resourceSet) : new ChangeRecorder(resourceSet);
+    for (int i = 0, count = random.nextInt(100); i < count; ++i)
+    {
+      makeChange(resource, random, i);
+
+      // Summarizing in the middle of the recording must not affect the outcome.
+      //
+      if (random.nextInt(40) == 0)
+      {
+        result.add(render(changeRecorder.summarize()));
+      }
+    }
+    ChangeDescription changeDescription = changeRecorder.endRecording();
+    changeRecorder.dispose();
+    result.add(render(changeDescription));
+
+    changeDescription.apply();
+    assertTrue(EcoreUtil.equals(originalContents, resource.getContents()));
+    return result;
+  }
+
+  @Test
+  public void testSameAsChangeRecorder() throws Exception
+  {
+    for (int seed = 0; seed < 100; ++seed)
+    {
+      assertEquals(record(seed, false), record(seed, true));
+    }
+  }
+
+  @Test
+  public void testResumeRecording() throws Exception
+  {
+    Random random = new Random(3);
+    ResourceSet resourceSet = new ResourceSetImpl();
+    Resource resource = createModel(resourceSet, random);
+    List<EObject> originalContents = new ArrayList<EObject>(EcoreUtil.copyAll(resource.getContents()));
+
+    OperationLogChangeRecorder operationLogChangeRecorder = new OperationLogChangeRecorder(resourceSet);
+    for (int i = 0; i < 50; ++i)
+    {
+      makeChange(resource, random, i);
+    }
+    ChangeDescription changeDescription = operationLogChangeRecorder.endRecording();
+    assertNull(operationLogChangeRecorder.endRecording());
+    operationLogChangeRecorder.dispose();
+
+    operationLogChangeRecorder = new OperationLogChangeRecorder();
+    operationLogChangeRecorder.beginRecording(changeDescription, resourceSet.getResources());
+    for (int i = 50; i < 100; ++i)
+    {
+      makeChange(resource, random, i);
+    }
+    assertSame(changeDescription, operationLogChangeRecorder.endRecording());
+    operationLogChangeRecorder.dispose();
+
+    changeDescription.apply();
+    assertTrue(EcoreUtil.equals(originalContents, resource.getContents()));
+  }
+}
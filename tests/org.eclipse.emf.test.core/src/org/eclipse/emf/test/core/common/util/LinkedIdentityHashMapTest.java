@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package org.eclipse.emf.test.core.common.util;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.LinkedIdentityHashMap;
+import org.junit.Test;
+
+/**
+ * Tests {@link LinkedIdentityHashMap}.
+ */
+public class LinkedIdentityHashMapTest
+{
+  @Test
+  public void testIdentity()
+  {
+    Map<String, String> map = new LinkedIdentityHashMap<String, String>();
+    String key = new String("key");
+    String equalKey = new String("key");
+    map.put(key, "value");
+    assertEquals("value", map.get(key));
+    assertNull(map.get(equalKey));
+    assertFalse(map.containsKey(equalKey));
+    map.put(equalKey, "otherValue");
+    assertEquals(2, map.size());
+    assertEquals("value", map.remove(key));
+    assertEquals("otherValue", map.get(equalKey));
+
+    map.put(null, null);
+    assertTrue(map.containsKey(null));
+    assertTrue(map.containsValue(null));
+    assertEquals(2, map.size());
+    map.remove(null);
+    assertFalse(map.containsKey(null));
+  }
+
+  @Test
+  public void testOrderAndGrowth()
+  {
+    LinkedIdentityHashMap<Object, Integer> map = new LinkedIdentityHashMap<Object, Integer>();
+    Map<Object, Integer> expected = new LinkedHashMap<Object, Integer>();
+    List<Object> keys = new ArrayList<Object>();
+    for (int i = 0; i < 10000; ++i)
+    {
+      Object key = new Object();
+      keys.add(key);
+      map.put(key, i);
+      expected.put(key, i);
+    }
+
+    // Remove every third key and add some more.
+    //
+    for (int i = 0; i < keys.size(); i += 3)
+    {
+      assertEquals(Integer.valueOf(i), map.remove(keys.get(i)));
+      expected.remove(keys.get(i));
+    }
+    for (int i = 0; i < 1000; ++i)
+    {
+      Object key = new Object();
+      map.put(key, -i);
+      expected.put(key, -i);
+    }
+    assertEquals(expected.size(), map.size());
+    assertEquals(new ArrayList<Object>(expected.keySet()), new ArrayList<Object>(map.keySet()));
+    assertEquals(new ArrayList<Integer>(expected.values()), new ArrayList<Integer>(map.values()));
+    assertEquals(expected, map);
+    assertEquals(map, expected);
+    assertEquals(expected.hashCode(), map.hashCode());
+
+    for (Map.Entry<Object, Integer> entry : map.entrySet())
+    {
+      entry.setValue(entry.getValue() + 1);
+    }
+    for (Map.Entry<Object, Integer> entry : expected.entrySet())
+    {
+      assertEquals(Integer.valueOf(entry.getValue() + 1), map.get(entry.getKey()));
+    }
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.keySet().iterator().hasNext());
+  }
+
+  @Test
+  public void testRepeatedRemoval()
+  {
+    // Removing each key as soon as it's added must not fill the table with removed slots.
+    //
+    Map<Object, Object> map = new LinkedIdentityHashMap<Object, Object>();
+    for (int i = 0; i < 100000; ++i)
+    {
+      Object key = new Object();
+      map.put(key, key);
+      assertSame(key, map.remove(key));
+      assertFalse(map.containsKey(new Object()));
+    }
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testIterator()
+  {
+    Map<Object, Object> map = new LinkedIdentityHashMap<Object, Object>(100);
+    List<Object> keys = new ArrayList<Object>();
+    for (int i = 0; i < 100; ++i)
+    {
+      Object key = new Object();
+      keys.add(key);
+      map.put(key, i);
+    }
+
+    int index = 0;
+    for (Iterator<Object> i = map.keySet().iterator(); i.hasNext(); ++index)
+    {
+      assertSame(keys.get(index), i.next());
+      if (index % 2 == 0)
+      {
+        i.remove();
+      }
+    }
+    assertEquals(50, map.size());
+    assertFalse(map.containsKey(keys.get(0)));
+    assertTrue(map.containsKey(keys.get(1)));
+
+    try
+    {
+      for (Object key : map.keySet())
+      {
+        map.remove(key);
+      }
+      fail("Expecting a ConcurrentModificationException");
+    }
+    catch (ConcurrentModificationException exception)
+    {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testDefaultMethods()
+  {
+    Map<String, Integer> map = new LinkedIdentityHashMap<String, Integer>();
+    String key = "key";
+    assertEquals(Integer.valueOf(1), map.computeIfAbsent(key, k -> 1));
+    assertEquals(Integer.valueOf(1), map.computeIfAbsent(key, k -> 2));
+    assertEquals(Integer.valueOf(3), map.merge(key, 2, Integer::sum));
+    assertEquals(Integer.valueOf(4), map.computeIfPresent(key, (k, v) -> v + 1));
+    assertNull(map.computeIfPresent(key, (k, v) -> null));
+    assertFalse(map.containsKey(key));
+    assertNull(map.putIfAbsent(key, 5));
+    assertEquals(Integer.valueOf(5), map.putIfAbsent(key, 6));
+    assertTrue(map.replace(key, 5, 7));
+    assertEquals(Integer.valueOf(7), map.getOrDefault(key, 0));
+    assertEquals(Integer.valueOf(0), map.getOrDefault("other", 0));
+    assertFalse(map.remove(key, 5));
+    assertTrue(map.remove(key, 7));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void testAbstractMap()
+  {
+    // The map doesn't extend a linked hash map, whose inherited methods would see none of its mappings.
+    //
+    Map<String, String> map = new LinkedIdentityHashMap<String, String>();
+    assertTrue(map instanceof AbstractMap<?, ?>);
+    assertFalse(map instanceof LinkedHashMap<?, ?>);
+    map.put("key", "value");
+    map.put("otherKey", "otherValue");
+    assertEquals("{key=value, otherKey=otherValue}", map.toString());
+  }
+
+  @Test
+  public void testCloneAndSerialization() throws Exception
+  {
+    LinkedIdentityHashMap<String, String> map = new LinkedIdentityHashMap<String, String>();
+    for (int i = 0; i < 20; ++i)
+    {
+      map.put("key" + i, "value" + i);
+    }
+
+    @SuppressWarnings("unchecked")
+    LinkedIdentityHashMap<String, String> clone = (LinkedIdentityHashMap<String, String>)map.clone();
+    assertNotSame(map, clone);
+    assertEquals(map, clone);
+    clone.remove(map.keySet().iterator().next());
+    assertEquals(20, map.size());
+    assertEquals(19, clone.size());
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+    objectOutputStream.writeObject(map);
+    objectOutputStream.close();
+    ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(outputStream.toByteArray()));
+    @SuppressWarnings("unchecked")
+    Map<String, String> deserialized = (Map<String, String>)objectInputStream.readObject();
+    assertEquals(20, deserialized.size());
+    assertEquals(new ArrayList<String>(map.values()), new ArrayList<String>(deserialized.values()));
+  }
+}
@@ -10,8 +10,15 @@ package org.eclipse.emf.test.core.common.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.emf.common.util.Pool;
 import org.junit.Test;
 
@@ -41,4 +48,112 @@ public class PoolTest
     }
     assertEquals(0, set.size());
   }
+
+  @Test
+  public void testConcurrentIntern() throws Exception
+  {
+    final Pool<String> pool = new Pool<String>(10);
+    final int threadCount = 16;
+    final int valueCount = 20000;
+    final String[][] results = new String[threadCount][valueCount];
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < threadCount; ++i)
+    {
+      final int threadIndex = i;
+      Thread thread =
+        new Thread()
+        {
+          @Override
+          public void run()
+          {
+            // Each thread interns the same values in a different order, so the threads race to add the same entries.
+            //
+            for (int j = 0; j < valueCount; ++j)
+            {
+              int value = (j * 7 + threadIndex * 1013) % valueCount;
+              results[threadIndex][value] = pool.intern(new String("value" + value));
+            }
+          }
+        };
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+
+    // Every thread must have received the same instance for each value.
+    //
+    for (int j = 0; j < valueCount; ++j)
+    {
+      String value = results[0][j];
+      assertEquals("value" + j, value);
+      for (int i = 1; i < threadCount; ++i)
+      {
+        assertSame(value, results[i][j]);
+      }
+      assertSame(value, pool.get(new String("value" + j)));
+    }
+    assertEquals(valueCount, pool.size());
+
+    Set<String> values = new HashSet<String>();
+    pool.getWriteLock().lock();
+    try
+    {
+      for (String value : pool)
+      {
+        assertTrue(values.add(value));
+      }
+    }
+    finally
+    {
+      pool.getWriteLock().unlock();
+    }
+    assertEquals(valueCount, values.size());
+  }
+
+  @Test
+  public void testIterateWhileHoldingReadLock()
+  {
+    // A pool with an external reference queue doesn't need the write lock to clean up when iterating.
+    //
+    class TestPool extends Pool<String>
+    {
+      TestPool()
+      {
+        super(1031, null, new ReferenceQueue<Object>());
+      }
+
+      int getCountedSize()
+      {
+        return size;
+      }
+    }
+    TestPool pool = new TestPool();
+    Set<String> values = new HashSet<String>();
+    for (int i = 0; i < 3; ++i)
+    {
+      values.add(pool.intern(new String("value" + i)));
+    }
+
+    // The iterator yields the entries added while holding only the read lock, without folding them into the size.
+    //
+    Set<String> iteratedValues = new HashSet<String>();
+    pool.getReadLock().lock();
+    try
+    {
+      for (String value : pool)
+      {
+        assertTrue(iteratedValues.add(value));
+      }
+      assertEquals(0, pool.getCountedSize());
+    }
+    finally
+    {
+      pool.getReadLock().unlock();
+    }
+    assertEquals(values, iteratedValues);
+    assertEquals(3, pool.size());
+  }
 }
@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests the {@link BinaryResourceImpl.BinaryIO.Version#VERSION_1_2 random access} format of {@link BinaryResourceImpl}.
+ */
+public class BinaryResourceSegmentTest
+{
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+  private EReference peer;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("segment");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/segment");
+    ePackage.setNsPrefix("segment");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = ecoreFactory.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    peer = ecoreFactory.createEReference();
+    peer.setName("peer");
+    peer.setEType(nodeClass);
+    peer.setResolveProxies(false);
+    nodeClass.getEStructuralFeatures().add(peer);
+  }
+
+  private EObject createNode(String value, int childCount)
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    node.eSet(name, value);
+    @SuppressWarnings("unchecked")
+    List<EObject> nodes = (List<EObject>)node.eGet(children);
+    for (int i = 0; i < childCount; ++i)
+    {
+      nodes.add(createNode(value + "." + i, 0));
+    }
+    return node;
+  }
+
+  private EObject getChild(EObject node, int index)
+  {
+    return (EObject)((List<?>)node.eGet(children)).get(index);
+  }
+
+  /**
+   * Creates four roots: the first refers to a child of the third via a proxy resolving reference,
+   * and the second refers to the fourth via a non-proxy-resolving reference so those two share a segment.
+   */
+  private Resource createResource(ResourceSet resourceSet, URI uri)
+  {
+    Resource resource = new BinaryResourceImpl(uri);
+    resourceSet.getResources().add(resource);
+    for (int i = 0; i < 4; ++i)
+    {
+      resource.getContents().add(createNode("root" + i, 3));
+    }
+    List<EObject> roots = resource.getContents();
+    getChild(roots.get(0), 1).eSet(target, getChild(roots.get(2), 2));
+    roots.get(1).eSet(peer, roots.get(3));
+    roots.get(3).eSet(target, roots.get(0));
+    return resource;
+  }
+
+  private Map<Object, Object> getSaveOptions()
+  {
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_2);
+    return options;
+  }
+
+  private void assertLoaded(Resource resource)
+  {
+    List<EObject> roots = resource.getContents();
+    assertEquals(4, roots.size());
+    for (int i = 0; i < 4; ++i)
+    {
+      EObject root = roots.get(i);
+      assertFalse(root.eIsProxy());
+      assertEquals("root" + i, root.eGet(name));
+      assertEquals(3, ((List<?>)root.eGet(children)).size());
+      assertEquals("root" + i + ".2", getChild(root, 2).eGet(name));
+    }
+    assertSame(getChild(roots.get(2), 2), getChild(roots.get(0), 1).eGet(target));
+    assertSame(roots.get(3), roots.get(1).eGet(peer));
+    assertSame(roots.get(0), roots.get(3).eGet(target));
+  }
+
+  @Test
+  public void testDemandLoadSegments() throws Exception
+  {
+    File file = File.createTempFile("segments", ".bin");
+    file.deleteOnExit();
+    URI uri = URI.createFileURI(file.getAbsolutePath());
+    createResource(new ResourceSetImpl(), uri).save(getSaveOptions());
+
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    Resource resource = new BinaryResourceImpl(uri);
+    resourceSet.getResources().add(resource);
+    resource.load(Collections.emptyMap());
+
+    // Only the index is loaded, so the roots are proxies until accessed.
+    //
+    @SuppressWarnings("unchecked")
+    List<InternalEObject> roots = (List<InternalEObject>)(List<?>)((InternalEList<?>)resource.getContents()).basicList();
+    assertEquals(4, roots.size());
+    for (InternalEObject root : roots)
+    {
+      assertTrue(root.eIsProxy());
+      assertSame(nodeClass, root.eClass());
+    }
+
+    // Loading the third root loads only its own segment.
+    //
+    EObject root2 = resource.getContents().get(2);
+    assertFalse(root2.eIsProxy());
+    assertTrue(roots.get(0).eIsProxy());
+    assertTrue(roots.get(1).eIsProxy());
+    assertFalse(resource.isModified());
+
+    // Loading the second root also loads the fourth, because it refers to it with a non-proxy-resolving reference.
+    //
+    resource.getContents().get(1);
+    assertFalse(roots.get(3).eIsProxy());
+    assertTrue(roots.get(0).eIsProxy());
+
+    // The cross segment reference is resolved on demand.
+    //
+    assertLoaded(resource);
+    assertFalse(resource.isModified());
+    assertEquals("/0", resource.getURIFragment(resource.getContents().get(0)));
+
+    resource.unload();
+    resource.load(Collections.emptyMap());
+    assertLoaded(resource);
+  }
+
+  @Test
+  public void testManySegments() throws Exception
+  {
+    File file = File.createTempFile("segments", ".bin");
+    file.deleteOnExit();
+    URI uri = URI.createFileURI(file.getAbsolutePath());
+    Resource resource = new BinaryResourceImpl(uri);
+    new ResourceSetImpl().getResources().add(resource);
+    int count = 70000;
+    for (int i = 0; i < count; ++i)
+    {
+      resource.getContents().add(createNode("root" + i, 0));
+    }
+    resource.save(getSaveOptions());
+
+    // There are more segments than the default limit on the number of memory mappings of a process,
+    // so loading must not map each segment separately.
+    //
+    List<EObject> roots = loadResource(uri).getContents();
+    assertEquals(count, roots.size());
+    for (int i = 0; i < count; i += 997)
+    {
+      assertEquals("root" + i, roots.get(i).eGet(name));
+    }
+    assertEquals("root" + (count - 1), roots.get(count - 1).eGet(name));
+  }
+
+  @Test
+  public void testLoadAllSegmentsWithoutResourceSet() throws Exception
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    createResource(new ResourceSetImpl(), URI.createURI("memory:/segments.bin")).save(outputStream, getSaveOptions());
+
+    Resource resource = new BinaryResourceImpl(URI.createURI("memory:/segments.bin"));
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(BinaryResourceImpl.OPTION_INTERNAL_BUFFER_CAPACITY, 100);
+    EPackage.Registry.INSTANCE.put(ePackage.getNsURI(), ePackage);
+    try
+    {
+      resource.load(new ByteArrayInputStream(outputStream.toByteArray()), options);
+    }
+    finally
+    {
+      EPackage.Registry.INSTANCE.remove(ePackage.getNsURI());
+    }
+    for (EObject root : resource.getContents())
+    {
+      assertFalse(root.eIsProxy());
+    }
+    assertLoaded(resource);
+    assertFalse(((EObject)getChild(resource.getContents().get(0), 1).eGet(target, false)).eIsProxy());
+
+    // Saving again with the random access format produces the same serialization.
+    //
+    ByteArrayOutputStream otherOutputStream = new ByteArrayOutputStream();
+    resource.save(otherOutputStream, getSaveOptions());
+    assertTrue(Arrays.equals(outputStream.toByteArray(), otherOutputStream.toByteArray()));
+  }
+
+  private Resource loadResource(URI uri) throws Exception
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    Resource resource = new BinaryResourceImpl(uri);
+    resourceSet.getResources().add(resource);
+    resource.setTrackingModification(true);
+    resource.load(Collections.emptyMap());
+    return resource;
+  }
+
+  @Test
+  public void testIncrementalSave() throws Exception
+  {
+    File file = File.createTempFile("segments", ".bin");
+    file.deleteOnExit();
+    URI uri = URI.createFileURI(file.getAbsolutePath());
+    Map<Object, Object> options = getSaveOptions();
+    options.put(BinaryResourceImpl.OPTION_INCREMENTAL_SAVE, Boolean.TRUE);
+    createResource(new ResourceSetImpl(), uri).save(options);
+    long fullLength = file.length();
+
+    // Change the second root, which shares a segment with the fourth root.
+    //
+    Resource resource = loadResource(uri);
+    @SuppressWarnings("unchecked")
+    List<InternalEObject> roots = (List<InternalEObject>)(List<?>)((InternalEList<?>)resource.getContents()).basicList();
+    resource.getContents().get(1).eSet(name, "changed");
+    assertTrue(resource.isModified());
+    resource.save(options);
+    assertFalse(resource.isModified());
+
+    // Only the changed segment and the index were appended, without loading the other segments.
+    //
+    long length = file.length();
+    assertTrue(length > fullLength);
+    assertTrue(length < 2 * fullLength);
+    assertTrue(roots.get(0).eIsProxy());
+    assertTrue(roots.get(2).eIsProxy());
+
+    // Saving without changes doesn't write anything.
+    //
+    resource.save(options);
+    assertEquals(length, file.length());
+
+    // Adding a child at the end of a list doesn't affect the fragments used by other segments.
+    //
+    EObject root2 = resource.getContents().get(2);
+    @SuppressWarnings("unchecked")
+    List<EObject> root2Children = (List<EObject>)root2.eGet(children);
+    root2Children.add(createNode("root2.3", 0));
+    resource.save(options);
+    assertTrue(file.length() > length);
+    assertTrue(roots.get(0).eIsProxy());
+
+    Resource otherResource = loadResource(uri);
+    List<EObject> otherRoots = otherResource.getContents();
+    assertEquals("changed", otherRoots.get(1).eGet(name));
+    otherRoots.get(1).eSet(name, "root1");
+    assertEquals(4, ((List<?>)otherRoots.get(2).eGet(children)).size());
+    ((List<?>)otherRoots.get(2).eGet(children)).remove(3);
+    assertLoaded(otherResource);
+
+    // Removing the first child of the third root changes the fragment of the child referenced by the first root,
+    // so the whole file is rewritten.
+    // The reference must be resolved before the change, because the proxy's fragment is only valid for the saved state.
+    //
+    EObject referencedChild = (EObject)getChild(resource.getContents().get(0), 1).eGet(target);
+    assertSame(root2Children.get(2), referencedChild);
+    length = file.length();
+    root2Children.remove(0);
+    resource.save(options);
+    assertTrue(file.length() < length);
+    for (InternalEObject root : roots)
+    {
+      assertFalse(root.eIsProxy());
+    }
+
+    otherResource = loadResource(uri);
+    otherRoots = otherResource.getContents();
+    assertEquals(3, ((List<?>)otherRoots.get(2).eGet(children)).size());
+    assertSame(getChild(otherRoots.get(2), 1), getChild(otherRoots.get(0), 1).eGet(target));
+    assertEquals("root2.2", getChild(otherRoots.get(2), 1).eGet(name));
+  }
+}
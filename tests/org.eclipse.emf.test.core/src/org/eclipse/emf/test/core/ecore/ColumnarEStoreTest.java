@@ -0,0 +1,378 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.eclipse.emf.test.core.NodeModel.getList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.ColumnarEStoreImpl;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.impl.EFactoryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.test.core.NodeModel;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests the objects of a {@link ColumnarEStoreImpl}.
+ */
+public class ColumnarEStoreTest
+{
+  /**
+   * A store that exposes its handle counts.
+   */
+  private static class TestColumnarEStoreImpl extends ColumnarEStoreImpl
+  {
+    int getObjectCount()
+    {
+      return objectCount;
+    }
+
+    int getFreeHandleCount()
+    {
+      return freeHandleCount;
+    }
+  }
+
+  private TestColumnarEStoreImpl store;
+  private NodeModel nodeModel;
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EAttribute label;
+  private EAttribute size;
+  private EAttribute weight;
+  private EAttribute enabled;
+  private EAttribute count;
+  private EAttribute tags;
+  private EReference children;
+  private EReference parent;
+  private EReference target;
+  private EReference targets;
+  private EReference content;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    store = new TestColumnarEStoreImpl();
+
+    nodeModel = new NodeModel("columnar");
+    ePackage = nodeModel.ePackage;
+    ePackage.setEFactoryInstance
+      (new EFactoryImpl()
+       {
+         @Override
+         public EObject create(EClass eClass)
+         {
+           return store.create(eClass);
+         }
+       });
+
+    nodeClass = nodeModel.nodeClass;
+    name = nodeModel.name;
+    label = nodeModel.createAttribute("label", EcorePackage.Literals.ESTRING);
+    label.setDefaultValueLiteral("none");
+    size = nodeModel.createAttribute("size", EcorePackage.Literals.EINT);
+    weight = nodeModel.createAttribute("weight", EcorePackage.Literals.EDOUBLE);
+    enabled = nodeModel.createAttribute("enabled", EcorePackage.Literals.EBOOLEAN);
+    count = nodeModel.createAttribute("count", EcorePackage.Literals.ELONG);
+    count.setUnsettable(true);
+    tags = nodeModel.createAttribute("tags", EcorePackage.Literals.ESTRING);
+    tags.setUpperBound(-1);
+
+    children = nodeModel.createReference("children", true);
+    children.setContainment(true);
+    parent = nodeModel.createReference("parent", false);
+    parent.setEOpposite(children);
+    children.setEOpposite(parent);
+    target = nodeModel.createReference("target", false);
+    targets = nodeModel.createReference("targets", true);
+    content = nodeModel.createReference("content", false);
+    content.setContainment(true);
+  }
+
+  private EObject createTree(String treeName, int childCount)
+  {
+    EObject root = nodeModel.createNode(treeName);
+    EObject previousChild = null;
+    for (int i = 0; i < childCount; ++i)
+    {
+      EObject child = nodeModel.createNode(treeName + "." + i);
+      child.eSet(size, i);
+      @SuppressWarnings("unchecked")
+      EList<String> tagList = (EList<String>)child.eGet(tags);
+      tagList.add("tag" + i);
+      getList(root, children).add(child);
+      if (previousChild != null)
+      {
+        previousChild.eSet(target, child);
+      }
+      previousChild = child;
+    }
+    return root;
+  }
+
+  @Test
+  public void testAttributes()
+  {
+    EObject node = nodeModel.createNode("node");
+    assertSame(store, ((InternalEObject)node).eStore());
+
+    assertEquals("node", node.eGet(name));
+    assertEquals("none", node.eGet(label));
+    assertEquals(0, node.eGet(size));
+    assertEquals(0.0, node.eGet(weight));
+    assertEquals(Boolean.FALSE, node.eGet(enabled));
+    assertFalse(node.eIsSet(size));
+    assertFalse(node.eIsSet(count));
+
+    node.eSet(size, 42);
+    node.eSet(weight, 1.5);
+    node.eSet(enabled, true);
+    node.eSet(count, 0L);
+    assertEquals(42, node.eGet(size));
+    assertEquals(1.5, node.eGet(weight));
+    assertEquals(Boolean.TRUE, node.eGet(enabled));
+    assertEquals(0L, node.eGet(count));
+    assertTrue(node.eIsSet(size));
+    assertTrue(node.eIsSet(count));
+
+    // A non-unsettable feature set to its default isn't set, unlike an unsettable one.
+    //
+    node.eSet(size, 0);
+    assertFalse(node.eIsSet(size));
+    node.eUnset(count);
+    assertFalse(node.eIsSet(count));
+
+    // Null is distinguished from the default.
+    //
+    node.eSet(label, null);
+    assertNull(node.eGet(label));
+    assertTrue(node.eIsSet(label));
+    node.eUnset(label);
+    assertEquals("none", node.eGet(label));
+
+    @SuppressWarnings("unchecked")
+    EList<String> tagList = (EList<String>)node.eGet(tags);
+    tagList.addAll(Arrays.asList("a", "b", "c"));
+    tagList.move(0, 2);
+    tagList.remove("a");
+    assertEquals(Arrays.asList("c", "b"), tagList);
+    assertTrue(node.eIsSet(tags));
+    tagList.clear();
+    assertFalse(node.eIsSet(tags));
+  }
+
+  @Test
+  public void testReferences()
+  {
+    EObject node = nodeModel.createNode("node");
+    EObject other = nodeModel.createNode("other");
+    EObject foreign = new DynamicEObjectImpl(nodeClass);
+
+    node.eSet(target, other);
+    assertSame(other, node.eGet(target));
+    node.eSet(target, null);
+    assertNull(node.eGet(target));
+    assertFalse(node.eIsSet(target));
+
+    EList<EObject> targetList = getList(node, targets);
+    targetList.add(other);
+    targetList.add(node);
+    targetList.add(foreign);
+    assertEquals(Arrays.asList(other, node, foreign), targetList);
+    assertEquals(2, targetList.indexOf(foreign));
+    assertFalse(targetList.contains(new DynamicEObjectImpl(nodeClass)));
+    targetList.move(0, 2);
+    assertEquals(Arrays.asList(foreign, other, node), targetList);
+  }
+
+  @Test
+  public void testContainment()
+  {
+    EObject root = nodeModel.createNode("root");
+    EObject otherRoot = nodeModel.createNode("otherRoot");
+    EObject child = nodeModel.createNode("child");
+
+    getList(root, children).add(child);
+    assertSame(root, child.eContainer());
+    assertSame(root, child.eGet(parent));
+    assertSame(children, child.eContainmentFeature());
+
+    // Moving the child to another container removes it from the previous one.
+    //
+    getList(otherRoot, children).add(child);
+    assertSame(otherRoot, child.eContainer());
+    assertTrue(getList(root, children).isEmpty());
+    assertEquals(1, getList(otherRoot, children).size());
+
+    // Setting the container reference moves it back.
+    //
+    child.eSet(parent, root);
+    assertSame(root, child.eContainer());
+    assertTrue(getList(otherRoot, children).isEmpty());
+
+    // A containment reference without an opposite.
+    //
+    otherRoot.eSet(content, child);
+    assertSame(otherRoot, child.eContainer());
+    assertSame(content, child.eContainmentFeature());
+    assertTrue(getList(root, children).isEmpty());
+
+    EcoreUtil.remove(child);
+    assertNull(child.eContainer());
+    assertNull(otherRoot.eGet(content));
+
+    Resource resource = new XMIResourceImpl();
+    resource.getContents().add(root);
+    getList(root, children).add(child);
+    assertSame(resource, child.eResource());
+  }
+
+  @Test
+  public void testSaveAndLoad() throws Exception
+  {
+    EObject root = nodeModel.createNode("root");
+    root.eSet(size, 3);
+    root.eSet(weight, 2.25);
+    for (int i = 0; i < 100; ++i)
+    {
+      EObject child = nodeModel.createNode("child" + i);
+      child.eSet(size, i);
+      getList(root, children).add(child);
+      getList(root, targets).add(child);
+    }
+
+    XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("memory:/columnar.xmi"));
+    resource.getContents().add(root);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+
+    EPackage.Registry.INSTANCE.put(ePackage.getNsURI(), ePackage);
+    try
+    {
+      XMIResourceImpl loadedResource = new XMIResourceImpl(URI.createURI("memory:/columnar.xmi"));
+      loadedResource.load(new ByteArrayInputStream(outputStream.toByteArray()), null);
+      EObject loadedRoot = loadedResource.getContents().get(0);
+      assertSame(store, ((InternalEObject)loadedRoot).eStore());
+      assertTrue(EcoreUtil.equals(root, loadedRoot));
+      EList<EObject> loadedChildren = getList(loadedRoot, children);
+      assertEquals(loadedChildren, getList(loadedRoot, targets));
+      assertSame(loadedRoot, loadedChildren.get(99).eContainer());
+    }
+    finally
+    {
+      EPackage.Registry.INSTANCE.remove(ePackage.getNsURI());
+    }
+  }
+
+  @Test
+  public void testGarbageCollection()
+  {
+    EObject root = createTree("root", 10);
+    EObject foreign = new DynamicEObjectImpl(nodeClass);
+    getList(root, targets).add(foreign);
+
+    // Trees that are discarded, and a foreign object that's no longer referenced, are held only weakly.
+    //
+    List<WeakReference<EObject>> references = new ArrayList<WeakReference<EObject>>();
+    for (int i = 0; i < 10; ++i)
+    {
+      EObject tree = createTree("tree" + i, 10);
+      references.add(new WeakReference<EObject>(tree));
+      EList<EObject> treeChildren = getList(tree, children);
+      references.add(new WeakReference<EObject>(treeChildren.get(9)));
+    }
+    getList(root, targets).remove(foreign);
+    references.add(new WeakReference<EObject>(foreign));
+    foreign = null;
+
+    // Each allocation frees the handles of the objects collected so far,
+    // and the children of a collected container become collectable once they're detached from it.
+    //
+    int discardedCount = 10 * 11 + 1;
+    for (int i = 0; i < 100 && store.getFreeHandleCount() < discardedCount; ++i)
+    {
+      System.gc();
+      nodeModel.createNode("probe");
+    }
+    for (WeakReference<EObject> reference : references)
+    {
+      assertNull(reference.get());
+    }
+
+    // New objects reuse the freed handles and rows, which no longer have values.
+    //
+    int objectCount = store.getObjectCount();
+    List<EObject> trees = new ArrayList<EObject>();
+    for (int i = 0; i < 10; ++i)
+    {
+      EObject tree = nodeModel.createNode("new" + i);
+      trees.add(tree);
+      for (int j = 0; j < 10; ++j)
+      {
+        getList(tree, children).add(EcoreUtil.create(nodeClass));
+      }
+    }
+    assertEquals(objectCount, store.getObjectCount());
+    for (EObject tree : trees)
+    {
+      assertTrue(getList(tree, targets).isEmpty());
+      EList<EObject> treeChildren = getList(tree, children);
+      for (EObject child : treeChildren)
+      {
+        assertSame(tree, child.eContainer());
+        assertNull(child.eGet(name));
+        assertFalse(child.eIsSet(size));
+        assertFalse(child.eIsSet(tags));
+        assertNull(child.eGet(target));
+      }
+    }
+
+    // The retained tree is intact.
+    //
+    assertEquals("root", root.eGet(name));
+    assertTrue(getList(root, targets).isEmpty());
+    EList<EObject> rootChildren = getList(root, children);
+    assertEquals(10, rootChildren.size());
+    for (int i = 0; i < 10; ++i)
+    {
+      EObject child = rootChildren.get(i);
+      assertSame(root, child.eContainer());
+      assertEquals("root." + i, child.eGet(name));
+      assertEquals(i, child.eGet(size));
+      assertEquals(Arrays.asList("tag" + i), child.eGet(tags));
+      assertSame(i == 9 ? null : rootChildren.get(i + 1), child.eGet(target));
+    }
+  }
+}
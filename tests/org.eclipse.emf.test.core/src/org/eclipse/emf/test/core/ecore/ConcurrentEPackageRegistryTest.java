@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.ConcurrentEPackageRegistryImpl;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link ConcurrentEPackageRegistryImpl}.
+ */
+public class ConcurrentEPackageRegistryTest
+{
+  private static final String NS_URI = "http://www.eclipse.org/emf/test/registry";
+
+  /**
+   * A descriptor that counts how often it's asked for its package and factory.
+   */
+  private static class CountingDescriptor implements EPackage.Descriptor
+  {
+    final AtomicInteger ePackageCount = new AtomicInteger();
+    final AtomicInteger eFactoryCount = new AtomicInteger();
+
+    public EPackage getEPackage()
+    {
+      ePackageCount.incrementAndGet();
+      try
+      {
+        // Give the other threads a chance to ask for the package too.
+        //
+        Thread.sleep(50);
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+      }
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setNsURI(NS_URI);
+      return ePackage;
+    }
+
+    public EFactory getEFactory()
+    {
+      eFactoryCount.incrementAndGet();
+      return EcoreFactory.eINSTANCE.createEFactory();
+    }
+  }
+
+  @Test
+  public void testDescriptorResolvedConcurrently() throws Exception
+  {
+    final ConcurrentEPackageRegistryImpl registry = new ConcurrentEPackageRegistryImpl();
+    CountingDescriptor descriptor = new CountingDescriptor();
+    registry.put(NS_URI, descriptor);
+
+    int threadCount = 8;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try
+    {
+      List<Callable<EPackage>> tasks = new ArrayList<Callable<EPackage>>();
+      for (int i = 0; i < threadCount; ++i)
+      {
+        tasks.add
+          (new Callable<EPackage>()
+           {
+             public EPackage call() throws Exception
+             {
+               return registry.getEPackage(NS_URI);
+             }
+           });
+      }
+      List<Future<EPackage>> futures = executorService.invokeAll(tasks);
+      EPackage ePackage = futures.get(0).get();
+      for (Future<EPackage> future : futures)
+      {
+        assertSame(ePackage, future.get());
+      }
+      assertTrue(descriptor.ePackageCount.get() >= 1);
+
+      // The descriptor is replaced by the first package resolved, which every thread gets.
+      //
+      assertSame(ePackage, registry.get(NS_URI));
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * A descriptor whose package's initialization, like that of a generated package, looks up another package in the registry.
+   */
+  private static class DependentDescriptor implements EPackage.Descriptor
+  {
+    private static final ThreadLocal<Boolean> INITIALIZING = new ThreadLocal<Boolean>();
+
+    final EPackage.Registry registry;
+    final String nsURI;
+    final String dependencyNsURI;
+    final CountDownLatch latch;
+
+    DependentDescriptor(EPackage.Registry registry, String nsURI, String dependencyNsURI, CountDownLatch latch)
+    {
+      this.registry = registry;
+      this.nsURI = nsURI;
+      this.dependencyNsURI = dependencyNsURI;
+      this.latch = latch;
+    }
+
+    public EPackage getEPackage()
+    {
+      EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+      ePackage.setNsURI(nsURI);
+      if (INITIALIZING.get() == null)
+      {
+        INITIALIZING.set(Boolean.TRUE);
+        try
+        {
+          // Wait until the other thread is initializing the other package too.
+          //
+          latch.countDown();
+          latch.await(10, TimeUnit.SECONDS);
+          assertEquals(dependencyNsURI, registry.getEPackage(dependencyNsURI).getNsURI());
+        }
+        catch (InterruptedException exception)
+        {
+          Thread.currentThread().interrupt();
+        }
+        finally
+        {
+          INITIALIZING.remove();
+        }
+      }
+      return ePackage;
+    }
+
+    public EFactory getEFactory()
+    {
+      return EcoreFactory.eINSTANCE.createEFactory();
+    }
+  }
+
+  @Test
+  public void testMutuallyDependentDescriptors() throws Exception
+  {
+    // Resolving two packages that depend on each other in two threads at once must not deadlock.
+    //
+    final ConcurrentEPackageRegistryImpl registry = new ConcurrentEPackageRegistryImpl();
+    final String otherNsURI = NS_URI + "/other";
+    CountDownLatch latch = new CountDownLatch(2);
+    registry.put(NS_URI, new DependentDescriptor(registry, NS_URI, otherNsURI, latch));
+    registry.put(otherNsURI, new DependentDescriptor(registry, otherNsURI, NS_URI, latch));
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try
+    {
+      List<Callable<EPackage>> tasks = new ArrayList<Callable<EPackage>>();
+      for (final String nsURI : new String [] { NS_URI, otherNsURI })
+      {
+        tasks.add
+          (new Callable<EPackage>()
+           {
+             public EPackage call() throws Exception
+             {
+               return registry.getEPackage(nsURI);
+             }
+           });
+      }
+      List<Future<EPackage>> futures = executorService.invokeAll(tasks, 30, TimeUnit.SECONDS);
+      assertSame(registry.get(NS_URI), futures.get(0).get());
+      assertSame(registry.get(otherNsURI), futures.get(1).get());
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testDescriptorFactory() throws Exception
+  {
+    ConcurrentEPackageRegistryImpl registry = new ConcurrentEPackageRegistryImpl();
+    CountingDescriptor descriptor = new CountingDescriptor();
+    registry.put(NS_URI, descriptor);
+
+    EFactory eFactory = registry.getEFactory(NS_URI);
+    assertSame(eFactory, registry.getEFactory(NS_URI));
+    assertEquals(1, descriptor.eFactoryCount.get());
+    assertEquals(0, descriptor.ePackageCount.get());
+
+    // Once the descriptor is no longer registered, its factory is forgotten.
+    //
+    registry.remove(NS_URI);
+    registry.put(NS_URI, descriptor);
+    assertNotSame(eFactory, registry.getEFactory(NS_URI));
+    assertEquals(2, descriptor.eFactoryCount.get());
+    registry.put(NS_URI, new CountingDescriptor());
+    registry.put(NS_URI, descriptor);
+    registry.getEFactory(NS_URI);
+    assertEquals(3, descriptor.eFactoryCount.get());
+  }
+
+  @Test
+  public void testDelegation() throws Exception
+  {
+    ConcurrentEPackageRegistryImpl delegateRegistry = new ConcurrentEPackageRegistryImpl();
+    delegateRegistry.put(EcorePackage.eNS_URI, EcorePackage.eINSTANCE);
+    ConcurrentEPackageRegistryImpl registry = new ConcurrentEPackageRegistryImpl(delegateRegistry);
+
+    assertTrue(registry.containsKey(EcorePackage.eNS_URI));
+    assertTrue(registry.isEmpty());
+    assertSame(EcorePackage.eINSTANCE, registry.getEPackage(EcorePackage.eNS_URI));
+    assertSame(EcoreFactory.eINSTANCE, registry.getEFactory(EcorePackage.eNS_URI));
+    assertNull(registry.getEPackage(NS_URI));
+    assertFalse(registry.containsKey(null));
+    assertNull(registry.get(null));
+    assertNull(registry.getEPackage(null));
+  }
+
+  @Test
+  public void testNullKeyAndValue() throws Exception
+  {
+    // Like a HashMap based registry, this registry supports a null key and null values.
+    //
+    ConcurrentEPackageRegistryImpl registry = new ConcurrentEPackageRegistryImpl();
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    assertNull(registry.put(null, ePackage));
+    assertTrue(registry.containsKey(null));
+    assertSame(ePackage, registry.get(null));
+    assertSame(ePackage, registry.getEPackage(null));
+
+    assertNull(registry.put(NS_URI, null));
+    assertTrue(registry.containsKey(NS_URI));
+    assertTrue(registry.containsValue(null));
+    assertNull(registry.get(NS_URI));
+    assertNull(registry.getEPackage(NS_URI));
+    assertEquals(2, registry.size());
+
+    Map<String, Object> expected = new HashMap<String, Object>();
+    expected.put(null, ePackage);
+    expected.put(NS_URI, null);
+    assertEquals(expected, registry);
+    assertEquals(expected.keySet(), registry.keySet());
+
+    assertSame(ePackage, registry.remove(null));
+    assertFalse(registry.containsKey(null));
+    assertNull(registry.remove(NS_URI));
+    assertTrue(registry.isEmpty());
+  }
+}
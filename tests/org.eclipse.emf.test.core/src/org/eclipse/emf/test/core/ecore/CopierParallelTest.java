@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.eclipse.emf.test.core.NodeModel.getList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.test.core.NodeModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link EcoreUtil.Copier#copyAll(Collection, ForkJoinPool)} and {@link EcoreUtil.Copier#copyReferences(ForkJoinPool)}.
+ */
+public class CopierParallelTest
+{
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference parent;
+  private EReference targets;
+  private EReference target;
+  private EReference related;
+  private EReference relatedBy;
+  private EReference friend;
+
+  private ForkJoinPool forkJoinPool;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    NodeModel nodeModel = new NodeModel("copier");
+    nodeClass = nodeModel.nodeClass;
+    name = nodeModel.name;
+
+    children = nodeModel.createReference("children", true);
+    children.setContainment(true);
+    parent = nodeModel.createReference("parent", false);
+    children.setEOpposite(parent);
+    parent.setEOpposite(children);
+
+    targets = nodeModel.createReference("targets", true);
+    target = nodeModel.createReference("target", false);
+
+    related = nodeModel.createReference("related", true);
+    relatedBy = nodeModel.createReference("relatedBy", true);
+    related.setEOpposite(relatedBy);
+    relatedBy.setEOpposite(related);
+
+    friend = nodeModel.createReference("friend", false);
+    friend.setEOpposite(friend);
+
+    forkJoinPool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    forkJoinPool.shutdown();
+  }
+
+  private List<EObject> createTrees(Random random, int rootCount, List<EObject> allNodes)
+  {
+    List<EObject> roots = new ArrayList<EObject>();
+    for (int i = 0; i < rootCount; ++i)
+    {
+      EObject root = EcoreUtil.create(nodeClass);
+      root.eSet(name, "root" + i);
+      roots.add(root);
+      allNodes.add(root);
+      List<EObject> nodes = new ArrayList<EObject>();
+      nodes.add(root);
+      for (int j = 0, count = random.nextInt(200); j < count; ++j)
+      {
+        EObject node = EcoreUtil.create(nodeClass);
+        node.eSet(name, "node" + i + "." + j);
+        getList(nodes.get(random.nextInt(nodes.size())), children).add(node);
+        nodes.add(node);
+        allNodes.add(node);
+      }
+    }
+    return roots;
+  }
+
+  private void createReferences(Random random, List<EObject> allNodes)
+  {
+    for (EObject node : allNodes)
+    {
+      for (int i = random.nextInt(4); i > 0; --i)
+      {
+        EObject other = allNodes.get(random.nextInt(allNodes.size()));
+        if (!getList(node, targets).contains(other))
+        {
+          getList(node, targets).add(other);
+        }
+      }
+      for (int i = random.nextInt(3); i > 0; --i)
+      {
+        EObject other = allNodes.get(random.nextInt(allNodes.size()));
+        if (!getList(node, related).contains(other))
+        {
+          getList(node, related).add(other);
+        }
+      }
+      if (random.nextBoolean())
+      {
+        node.eSet(target, allNodes.get(random.nextInt(allNodes.size())));
+      }
+      if (random.nextInt(4) == 0)
+      {
+        node.eSet(friend, allNodes.get(random.nextInt(allNodes.size())));
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsSequential() throws Exception
+  {
+    Random random = new Random(521642);
+    List<EObject> allNodes = new ArrayList<EObject>();
+    List<EObject> roots = createTrees(random, 100, allNodes);
+
+    // Include references to objects that aren't copied, which are used as is for unidirectional references and omitted otherwise.
+    //
+    List<EObject> otherNodes = new ArrayList<EObject>();
+    createTrees(random, 5, otherNodes);
+    List<EObject> referencedNodes = new ArrayList<EObject>(allNodes);
+    referencedNodes.addAll(otherNodes);
+    createReferences(random, referencedNodes);
+
+    EcoreUtil.Copier sequentialCopier = new EcoreUtil.Copier();
+    sequentialCopier.copyAll(roots);
+    sequentialCopier.copyReferences();
+
+    EcoreUtil.Copier parallelCopier = new EcoreUtil.Copier();
+    Collection<EObject> parallelCopies = parallelCopier.copyAll(roots, forkJoinPool);
+    parallelCopier.copyReferences(forkJoinPool);
+
+    assertEquals(roots.size(), parallelCopies.size());
+    assertEquals(new ArrayList<EObject>(sequentialCopier.keySet()), new ArrayList<EObject>(parallelCopier.keySet()));
+
+    // The copies must correspond and the references of each copy must be in exactly the same order as those of the sequential copy.
+    //
+    Map<EObject, EObject> originals = new IdentityHashMap<EObject, EObject>();
+    for (Map.Entry<EObject, EObject> entry : sequentialCopier.entrySet())
+    {
+      originals.put(entry.getValue(), entry.getKey());
+    }
+    int index = 0;
+    for (EObject parallelCopy : parallelCopies)
+    {
+      assertCorresponding(originals, parallelCopier, sequentialCopier.get(roots.get(index++)), parallelCopy);
+    }
+    for (Map.Entry<EObject, EObject> entry : parallelCopier.entrySet())
+    {
+      EObject sequentialCopy = sequentialCopier.get(entry.getKey());
+      EObject parallelCopy = entry.getValue();
+      assertNotSame(sequentialCopy, parallelCopy);
+      assertEquals(sequentialCopy.eGet(name), parallelCopy.eGet(name));
+      for (EReference eReference : new EReference [] { children, targets, related, relatedBy })
+      {
+        List<EObject> sequentialValues = getList(sequentialCopy, eReference);
+        List<EObject> parallelValues = getList(parallelCopy, eReference);
+        assertEquals(sequentialValues.size(), parallelValues.size());
+        for (int i = 0; i < sequentialValues.size(); ++i)
+        {
+          assertCorresponding(originals, parallelCopier, sequentialValues.get(i), parallelValues.get(i));
+        }
+      }
+      for (EReference eReference : new EReference [] { parent, target, friend })
+      {
+        assertCorresponding(originals, parallelCopier, (EObject)sequentialCopy.eGet(eReference), (EObject)parallelCopy.eGet(eReference));
+      }
+    }
+  }
+
+  private static void assertCorresponding(Map<EObject, EObject> originals, EcoreUtil.Copier parallelCopier, EObject sequentialValue, EObject parallelValue)
+  {
+    EObject original = originals.get(sequentialValue);
+    if (original == null)
+    {
+      // A reference to an object that isn't copied is the same object.
+      //
+      assertSame(sequentialValue, parallelValue);
+    }
+    else
+    {
+      assertSame(parallelCopier.get(original), parallelValue);
+    }
+  }
+
+  @Test
+  public void testStaticCopyAll() throws Exception
+  {
+    Random random = new Random(17);
+    List<EObject> allNodes = new ArrayList<EObject>();
+    List<EObject> roots = createTrees(random, 10, allNodes);
+    createReferences(random, allNodes);
+    roots.add(null);
+
+    Collection<EObject> copies = EcoreUtil.copyAll(roots, forkJoinPool);
+    assertEquals(10, copies.size());
+    assertTrue(EcoreUtil.equals(roots.subList(0, 10), new ArrayList<EObject>(copies)));
+    for (EObject copy : copies)
+    {
+      for (Iterator<EObject> i = EcoreUtil.getAllProperContents(copy, false); i.hasNext(); )
+      {
+        List<EObject> targetEObjects = getList(i.next(), targets);
+        for (EObject targetEObject : targetEObjects)
+        {
+          assertFalse(allNodes.contains(targetEObject));
+        }
+      }
+    }
+  }
+}
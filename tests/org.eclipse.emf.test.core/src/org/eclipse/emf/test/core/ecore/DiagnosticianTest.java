@@ -8,18 +8,25 @@
 package org.eclipse.emf.test.core.ecore;
 
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.BasicMonitor;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.DiagnosticChain;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.impl.EClassImpl;
 import org.eclipse.emf.ecore.util.Diagnostician;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -277,6 +284,152 @@ public class DiagnosticianTest
     Assert.assertEquals("Unsatisified validate count expectation", 4, diagnostician.validateCount);
   }
 
+  /**
+   * This tests that concurrent validation avoids infinite recursion and infinite iteration on a circular containment.
+   */
+  @Test
+  public void testCircularityConcurrently()
+  {
+    EObject rootNode = createNode();
+
+    EObject childNode1 = createNode();
+    addChild(childNode1, rootNode);
+    addChild(rootNode, childNode1);
+
+    EObject childNode2 = createNode();
+    addChild(rootNode, childNode2);
+
+    ForkJoinPool forkJoinPool = new ForkJoinPool(1);
+    try
+    {
+      iterativeDiagnostician.validate(rootNode, iterativeDiagnostician.createDefaultContext(), forkJoinPool, null);
+      Assert.assertEquals("Unsatisified validate count expectation", 4, iterativeDiagnostician.validateCount);
+    }
+    finally
+    {
+      forkJoinPool.shutdown();
+    }
+  }
+
+  /**
+   * Creates a tree with items that each have a required name, leaving the name of every seventh item unset.
+   */
+  private static EObject createItemTree(int count)
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("items");
+    ePackage.setNsPrefix("items");
+    ePackage.setNsURI("items");
+
+    EClass itemClass = EcoreFactory.eINSTANCE.createEClass();
+    itemClass.setName("Item");
+    ePackage.getEClassifiers().add(itemClass);
+
+    EAttribute name = EcoreFactory.eINSTANCE.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    name.setLowerBound(1);
+    itemClass.getEStructuralFeatures().add(name);
+
+    EReference items = EcoreFactory.eINSTANCE.createEReference();
+    items.setName("items");
+    items.setEType(itemClass);
+    items.setContainment(true);
+    items.setUpperBound(-1);
+    itemClass.getEStructuralFeatures().add(items);
+
+    List<EObject> allItems = new ArrayList<EObject>();
+    for (int i = 0; i < count; ++i)
+    {
+      EObject item = EcoreUtil.create(itemClass);
+      if (i % 7 != 3)
+      {
+        item.eSet(name, "item" + i);
+      }
+      if (i > 0)
+      {
+        @SuppressWarnings("unchecked")
+        List<EObject> children = (List<EObject>)allItems.get((i - 1) / 4).eGet(items);
+        children.add(item);
+      }
+      allItems.add(item);
+    }
+    return allItems.get(0);
+  }
+
+  /**
+   * This tests that concurrent validation produces the same diagnostics, in the same order, as iterative validation.
+   */
+  @Test
+  public void testValidateConcurrently()
+  {
+    EObject rootItem = createItemTree(5000);
+    Diagnostic expectedDiagnostic = Diagnostician.INSTANCE.validate(rootItem);
+    Assert.assertEquals(Diagnostic.ERROR, expectedDiagnostic.getSeverity());
+
+    ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+    try
+    {
+      for (int i = 0; i < 3; ++i)
+      {
+        Diagnostic diagnostic = Diagnostician.INSTANCE.validate(rootItem, Collections.emptyMap(), forkJoinPool, new BasicMonitor());
+        Assert.assertEquals(expectedDiagnostic.getSeverity(), diagnostic.getSeverity());
+        List<Diagnostic> expectedChildren = expectedDiagnostic.getChildren();
+        List<Diagnostic> children = diagnostic.getChildren();
+        Assert.assertEquals(expectedChildren.size(), children.size());
+        for (int j = 0; j < children.size(); ++j)
+        {
+          Assert.assertEquals(expectedChildren.get(j).getMessage(), children.get(j).getMessage());
+          Assert.assertSame(expectedChildren.get(j).getData().get(0), children.get(j).getData().get(0));
+        }
+      }
+
+      Assert.assertFalse(Diagnostician.INSTANCE.validate(rootItem, null, Diagnostician.INSTANCE.createDefaultContext(), forkJoinPool, null));
+      Assert.assertTrue(Diagnostician.INSTANCE.validate(createNode(), null, Diagnostician.INSTANCE.createDefaultContext(), forkJoinPool, null));
+    }
+    finally
+    {
+      forkJoinPool.shutdown();
+    }
+  }
+
+  /**
+   * This tests that canceling the monitor stops concurrent validation.
+   */
+  @Test
+  public void testValidateConcurrentlyCanceled()
+  {
+    EObject rootItem = createItemTree(5000);
+    final BasicMonitor monitor = new BasicMonitor();
+    final AtomicInteger validateCount = new AtomicInteger();
+    Diagnostician diagnostician =
+      new Diagnostician()
+      {
+        @Override
+        public boolean validate(EClass eClass, EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context)
+        {
+          if (validateCount.incrementAndGet() == 100)
+          {
+            monitor.setCanceled(true);
+          }
+          return super.validate(eClass, eObject, diagnostics, context);
+        }
+      };
+
+    ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+    try
+    {
+      Diagnostic diagnostic = diagnostician.validate(rootItem, Collections.emptyMap(), forkJoinPool, monitor);
+      Assert.assertEquals(Diagnostic.CANCEL, diagnostic.getSeverity());
+      Assert.assertTrue(diagnostic.getChildren().contains(Diagnostic.CANCEL_INSTANCE));
+      Assert.assertTrue(validateCount.get() < 5000);
+    }
+    finally
+    {
+      forkJoinPool.shutdown();
+    }
+  }
+
   @Test
   public void testExceptionHandlingRecordedNPE()
   {
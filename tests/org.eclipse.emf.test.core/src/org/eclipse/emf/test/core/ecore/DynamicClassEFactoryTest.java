@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.DynamicClassEFactoryImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link DynamicClassEFactoryImpl}.
+ */
+public class DynamicClassEFactoryTest
+{
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private List<EAttribute> primitiveAttributes;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("dynamicClass");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/dynamicClass");
+    ePackage.setEFactoryInstance(new DynamicClassEFactoryImpl());
+
+    nodeClass = EcoreFactory.eINSTANCE.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = createAttribute("name", EcorePackage.Literals.ESTRING, null);
+
+    children = EcoreFactory.eINSTANCE.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    primitiveAttributes = new ArrayList<EAttribute>();
+    primitiveAttributes.add(createAttribute("boolean", EcorePackage.Literals.EBOOLEAN, "true"));
+    primitiveAttributes.add(createAttribute("byte", EcorePackage.Literals.EBYTE, "-3"));
+    primitiveAttributes.add(createAttribute("char", EcorePackage.Literals.ECHAR, "x"));
+    primitiveAttributes.add(createAttribute("short", EcorePackage.Literals.ESHORT, null));
+    primitiveAttributes.add(createAttribute("int", EcorePackage.Literals.EINT, "42"));
+    primitiveAttributes.add(createAttribute("long", EcorePackage.Literals.ELONG, "-7"));
+    primitiveAttributes.add(createAttribute("float", EcorePackage.Literals.EFLOAT, "1.5"));
+    primitiveAttributes.add(createAttribute("double", EcorePackage.Literals.EDOUBLE, "NaN"));
+  }
+
+  private EAttribute createAttribute(String attributeName, EClassifier eType, String defaultValueLiteral)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(attributeName);
+    eAttribute.setEType(eType);
+    eAttribute.setDefaultValueLiteral(defaultValueLiteral);
+    nodeClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  @Test
+  public void testGeneratedClass() throws Exception
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    Class<?> generatedClass = node.getClass();
+    assertEquals("dynamicclass.impl.NodeImpl", generatedClass.getName());
+    assertSame(generatedClass, EcoreUtil.create(nodeClass).getClass());
+    assertSame(Object.class, generatedClass.getDeclaredField("name").getType());
+    assertSame(Object.class, generatedClass.getDeclaredField("children").getType());
+    for (EAttribute eAttribute : primitiveAttributes)
+    {
+      assertSame(eAttribute.getEType().getInstanceClass(), generatedClass.getDeclaredField(eAttribute.getName()).getType());
+    }
+
+    // An unsettable attribute must distinguish being set to its default from being unset.
+    //
+    EAttribute unsettable = createAttribute("unsettable", EcorePackage.Literals.EINT, null);
+    unsettable.setUnsettable(true);
+    assertSame(Object.class, ((DynamicClassEFactoryImpl)ePackage.getEFactoryInstance()).getGeneratedClass(nodeClass).getDeclaredField("unsettable").getType());
+  }
+
+  @Test
+  public void testValues() throws Exception
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    Object[] values = new Object [] { Boolean.FALSE, (byte)5, 'y', (short)-9, Integer.MAX_VALUE, Long.MIN_VALUE, -0.0F, 2.25 };
+    for (int i = 0; i < values.length; ++i)
+    {
+      EAttribute eAttribute = primitiveAttributes.get(i);
+      assertEquals(eAttribute.getDefaultValue(), node.eGet(eAttribute));
+      assertFalse(node.eIsSet(eAttribute));
+
+      node.eSet(eAttribute, values[i]);
+      assertEquals(values[i], node.eGet(eAttribute));
+      assertTrue(node.eIsSet(eAttribute));
+
+      // Setting the default value is the same as unsetting.
+      //
+      node.eSet(eAttribute, eAttribute.getDefaultValue());
+      assertEquals(eAttribute.getDefaultValue(), node.eGet(eAttribute));
+      assertFalse(node.eIsSet(eAttribute));
+
+      node.eSet(eAttribute, values[i]);
+      node.eUnset(eAttribute);
+      assertEquals(eAttribute.getDefaultValue(), node.eGet(eAttribute));
+      assertFalse(node.eIsSet(eAttribute));
+
+      node.eSet(eAttribute, values[i]);
+      node.eSet(eAttribute, null);
+      assertEquals(eAttribute.getDefaultValue(), node.eGet(eAttribute));
+      node.eSet(eAttribute, values[i]);
+    }
+
+    node.eSet(name, "root");
+    EObject child = EcoreUtil.create(nodeClass);
+    @SuppressWarnings("unchecked") List<EObject> nodeChildren = (List<EObject>)node.eGet(children);
+    nodeChildren.add(child);
+    assertSame(node, child.eContainer());
+    assertEquals("root", node.eGet(name));
+
+    // A copy has the same values.
+    //
+    EObject copy = EcoreUtil.copy(node);
+    assertSame(node.getClass(), copy.getClass());
+    assertTrue(EcoreUtil.equals(node, copy));
+    for (int i = 0; i < values.length; ++i)
+    {
+      assertEquals(values[i], copy.eGet(primitiveAttributes.get(i)));
+    }
+  }
+
+  @Test
+  public void testNotifications() throws Exception
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    final List<Notification> notifications = new ArrayList<Notification>();
+    node.eAdapters().add
+      (new AdapterImpl()
+       {
+         @Override
+         public void notifyChanged(Notification notification)
+         {
+           notifications.add(notification);
+         }
+       });
+
+    EAttribute intAttribute = primitiveAttributes.get(4);
+    node.eSet(intAttribute, 1000);
+    node.eUnset(intAttribute);
+    assertEquals(2, notifications.size());
+    assertEquals(42, notifications.get(0).getOldIntValue());
+    assertEquals(1000, notifications.get(0).getNewIntValue());
+    assertEquals(1000, notifications.get(1).getOldIntValue());
+    assertEquals(42, notifications.get(1).getNewIntValue());
+  }
+
+  @Test
+  public void testPrimitiveAccessors() throws Exception
+  {
+    DynamicClassEFactoryImpl.DynamicClassEObjectImpl node = (DynamicClassEFactoryImpl.DynamicClassEObjectImpl)EcoreUtil.create(nodeClass);
+    EAttribute booleanAttribute = primitiveAttributes.get(0);
+    EAttribute charAttribute = primitiveAttributes.get(2);
+    EAttribute intAttribute = primitiveAttributes.get(4);
+    EAttribute floatAttribute = primitiveAttributes.get(6);
+    EAttribute doubleAttribute = primitiveAttributes.get(7);
+    assertEquals(1, node.dynamicGetPrimitive(nodeClass.getFeatureID(booleanAttribute)));
+    assertEquals('x', node.dynamicGetPrimitive(nodeClass.getFeatureID(charAttribute)));
+    assertEquals(42, node.dynamicGetPrimitive(nodeClass.getFeatureID(intAttribute)));
+    assertEquals(Float.floatToRawIntBits(1.5F), node.dynamicGetPrimitive(nodeClass.getFeatureID(floatAttribute)));
+
+    node.eSet(intAttribute, -5);
+    assertEquals(-5, node.dynamicGetPrimitive(nodeClass.getFeatureID(intAttribute)));
+    node.dynamicSetPrimitive(nodeClass.getFeatureID(floatAttribute), Float.floatToRawIntBits(-2.5F));
+    assertEquals(-2.5F, node.eGet(floatAttribute));
+    assertTrue(node.eIsSet(floatAttribute));
+
+    // The typed setting delegates agree with the boxed access of the settings.
+    //
+    assertEquals(-5, node.dynamicGet(nodeClass.getFeatureID(intAttribute)));
+    assertEquals(-2.5F, node.dynamicGet(nodeClass.getFeatureID(floatAttribute)));
+    assertEquals(null, node.dynamicGet(nodeClass.getFeatureID(doubleAttribute)));
+    node.eSet(doubleAttribute, Double.longBitsToDouble(0x7FF8000000000001L));
+    assertFalse(node.eIsSet(doubleAttribute));
+
+    // Notifications have the values of the primitive type.
+    //
+    final List<Notification> notifications = new ArrayList<Notification>();
+    node.eAdapters().add
+      (new AdapterImpl()
+       {
+         @Override
+         public void notifyChanged(Notification notification)
+         {
+           notifications.add(notification);
+         }
+       });
+    node.eSet(booleanAttribute, Boolean.FALSE);
+    node.eSet(floatAttribute, null);
+    assertEquals(2, notifications.size());
+    assertTrue(notifications.get(0).getOldBooleanValue());
+    assertFalse(notifications.get(0).getNewBooleanValue());
+    assertEquals(-2.5F, notifications.get(1).getOldFloatValue(), 0.0F);
+    assertEquals(1.5F, notifications.get(1).getNewFloatValue(), 0.0F);
+
+    try
+    {
+      node.dynamicGetPrimitive(nodeClass.getFeatureID(name));
+      fail("Expecting IllegalArgumentException");
+    }
+    catch (IllegalArgumentException exception)
+    {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testChangedClass() throws Exception
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    node.eSet(name, "node");
+    Class<?> generatedClass = node.getClass();
+
+    // Existing instances hold the values of new features in their settings and new instances have a new class.
+    //
+    EAttribute description = createAttribute("description", EcorePackage.Literals.ESTRING, null);
+    assertEquals(null, node.eGet(description));
+    node.eSet(description, "description");
+    assertEquals("description", node.eGet(description));
+    assertEquals("node", node.eGet(name));
+    node.eUnset(description);
+    assertFalse(node.eIsSet(description));
+
+    EObject otherNode = EcoreUtil.create(nodeClass);
+    assertNotSame(generatedClass, otherNode.getClass());
+    otherNode.eSet(description, "otherDescription");
+    assertEquals("otherDescription", otherNode.eGet(description));
+    assertSame(Object.class, otherNode.getClass().getDeclaredField("description").getType());
+  }
+}
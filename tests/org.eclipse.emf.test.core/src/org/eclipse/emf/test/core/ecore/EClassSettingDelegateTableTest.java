@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.NotificationChain;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.impl.EClassImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Test;
+
+
+/**
+ * Tests the setting delegate table of {@link EClassImpl} used to dispatch reflective access to dynamic objects.
+ */
+public class EClassSettingDelegateTableTest
+{
+  private final EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+
+  private EClass createEClass()
+  {
+    EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+    ePackage.getEClassifiers().add(eClass);
+    return eClass;
+  }
+
+  private static EAttribute createAttribute(EClass eClass, String name)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(name);
+    eAttribute.setEType(EcorePackage.Literals.ESTRING);
+    eClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  @Test
+  public void testTableFollowsFeatures()
+  {
+    EClass baseClass = createEClass();
+    EAttribute baseName = createAttribute(baseClass, "baseName");
+    EClass eClass = createEClass();
+    eClass.getESuperTypes().add(baseClass);
+    EAttribute name = createAttribute(eClass, "name");
+
+    EObject eObject = EcoreUtil.create(eClass);
+    eObject.eSet(baseName, "base");
+    eObject.eSet(name, "name");
+    assertEquals("base", eObject.eGet(baseName));
+    assertEquals("name", eObject.eGet(name));
+
+    EClassImpl eClassImpl = (EClassImpl)eClass;
+    EStructuralFeature.Internal.SettingDelegate[] settingDelegates = eClassImpl.getEAllStructuralFeatureSettingDelegates();
+    assertEquals(2, settingDelegates.length);
+    assertSame(((EStructuralFeature.Internal)name).getSettingDelegate(), settingDelegates[eClass.getFeatureID(name)]);
+    assertSame(settingDelegates, eClassImpl.getEAllStructuralFeatureSettingDelegates());
+
+    // Adding a feature to the super class rebuilds the table of the subclass.
+    //
+    EAttribute baseDescription = createAttribute(baseClass, "baseDescription");
+    settingDelegates = eClassImpl.getEAllStructuralFeatureSettingDelegates();
+    assertEquals(3, settingDelegates.length);
+    assertSame(((EStructuralFeature.Internal)baseDescription).getSettingDelegate(), settingDelegates[eClass.getFeatureID(baseDescription)]);
+
+    EObject otherEObject = EcoreUtil.create(eClass);
+    otherEObject.eSet(baseDescription, "description");
+    otherEObject.eSet(name, "otherName");
+    assertEquals("description", otherEObject.eGet(baseDescription));
+    assertEquals("otherName", otherEObject.eGet(name));
+  }
+
+  @Test
+  public void testReplacedSettingDelegate()
+  {
+    EClass baseClass = createEClass();
+    EAttribute baseName = createAttribute(baseClass, "baseName");
+    EClass eClass = createEClass();
+    eClass.getESuperTypes().add(baseClass);
+    EObject eObject = EcoreUtil.create(eClass);
+    assertEquals(null, eObject.eGet(baseName));
+
+    final EStructuralFeature.Internal.SettingDelegate oldSettingDelegate = ((EStructuralFeature.Internal)baseName).getSettingDelegate();
+    EStructuralFeature.Internal.SettingDelegate newSettingDelegate =
+      new EStructuralFeature.Internal.SettingDelegate()
+      {
+        public EStructuralFeature.Setting dynamicSetting(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int dynamicFeatureID)
+        {
+          return oldSettingDelegate.dynamicSetting(owner, settings, dynamicFeatureID);
+        }
+
+        public Object dynamicGet(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int dynamicFeatureID, boolean resolve, boolean coreType)
+        {
+          return "computed";
+        }
+
+        public void dynamicSet(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int dynamicFeatureID, Object newValue)
+        {
+          fail("Not changeable");
+        }
+
+        public boolean dynamicIsSet(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int dynamicFeatureID)
+        {
+          return true;
+        }
+
+        public void dynamicUnset(InternalEObject owner, EStructuralFeature.Internal.DynamicValueHolder settings, int dynamicFeatureID)
+        {
+          fail("Not changeable");
+        }
+
+        public NotificationChain dynamicInverseAdd
+          (InternalEObject owner,
+           EStructuralFeature.Internal.DynamicValueHolder settings,
+           int dynamicFeatureID,
+           InternalEObject otherEnd,
+           NotificationChain notifications)
+        {
+          return notifications;
+        }
+
+        public NotificationChain dynamicInverseRemove
+          (InternalEObject owner,
+           EStructuralFeature.Internal.DynamicValueHolder settings,
+           int dynamicFeatureID,
+           InternalEObject otherEnd,
+           NotificationChain notifications)
+        {
+          return notifications;
+        }
+      };
+
+    // Replacing the setting delegate of a feature rebuilds the tables of the classes that have the feature.
+    //
+    // The other cached feature lists remain.
+    //
+    EStructuralFeature.Internal.SettingDelegate[] oldSettingDelegates = ((EClassImpl)eClass).getEAllStructuralFeatureSettingDelegates();
+    EList<EStructuralFeature> eAllStructuralFeatures = eClass.getEAllStructuralFeatures();
+    EList<EAttribute> eAllAttributes = baseClass.getEAllAttributes();
+    ((EStructuralFeature.Internal)baseName).setSettingDelegate(newSettingDelegate);
+    assertNotSame(oldSettingDelegates, ((EClassImpl)eClass).getEAllStructuralFeatureSettingDelegates());
+    assertSame(eAllStructuralFeatures, eClass.getEAllStructuralFeatures());
+    assertSame(eAllAttributes, baseClass.getEAllAttributes());
+    assertEquals("computed", eObject.eGet(baseName));
+    assertEquals("computed", EcoreUtil.create(baseClass).eGet(baseName));
+  }
+
+  @Test
+  public void testUnchangeableFeature()
+  {
+    EClass eClass = createEClass();
+    EAttribute name = createAttribute(eClass, "name");
+    name.setChangeable(false);
+    EObject eObject = EcoreUtil.create(eClass);
+    try
+    {
+      eObject.eSet(name, "name");
+      fail("Expecting an exception");
+    }
+    catch (IllegalArgumentException exception)
+    {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testSpecializedSettingDelegateLookup()
+  {
+    EClass eClass = createEClass();
+    EAttribute name = createAttribute(eClass, "name");
+
+    // An object that specializes the setting delegate lookup is accessed through that lookup, also by feature ID.
+    //
+    final List<EStructuralFeature> lookups = new ArrayList<EStructuralFeature>();
+    InternalEObject eObject =
+      new DynamicEObjectImpl(eClass)
+      {
+        @Override
+        protected EStructuralFeature.Internal.SettingDelegate eSettingDelegate(EStructuralFeature eFeature)
+        {
+          lookups.add(eFeature);
+          return super.eSettingDelegate(eFeature);
+        }
+      };
+    int featureID = eClass.getFeatureID(name);
+    eObject.eSet(featureID, "name");
+    assertEquals("name", eObject.eGet(featureID, true, true));
+    assertEquals(Arrays.asList(name, name), lookups);
+  }
+
+  @Test
+  public void testInvalidFeatureID()
+  {
+    // An invalid feature ID fails as it does for any other object, rather than indexing beyond the table.
+    //
+    EClass eClass = createEClass();
+    createAttribute(eClass, "name");
+    InternalEObject eObject = (InternalEObject)EcoreUtil.create(eClass);
+    Throwable throwable = null;
+    try
+    {
+      eObject.eGet(eClass.getFeatureCount(), true, true);
+    }
+    catch (Throwable exception)
+    {
+      throwable = exception;
+    }
+    assertTrue(String.valueOf(throwable), throwable instanceof NullPointerException || throwable instanceof AssertionError);
+  }
+}
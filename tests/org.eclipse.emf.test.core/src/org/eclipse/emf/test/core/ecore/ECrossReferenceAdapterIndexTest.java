@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.ECrossReferenceAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link ECrossReferenceAdapter#useCompactIndex() compact} and {@link ECrossReferenceAdapter#index(Resource, java.util.concurrent.Executor) concurrently built}
+ * indices of an {@link ECrossReferenceAdapter}.
+ */
+public class ECrossReferenceAdapterIndexTest
+{
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+  private EReference targets;
+  private ExecutorService executorService;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("index");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/index");
+    ePackage.setNsPrefix("index");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = ecoreFactory.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    targets = ecoreFactory.createEReference();
+    targets.setName("targets");
+    targets.setEType(nodeClass);
+    targets.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(targets);
+
+    executorService = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    executorService.shutdownNow();
+  }
+
+  private static class CompactCrossReferenceAdapter extends ECrossReferenceAdapter
+  {
+    @Override
+    protected boolean useCompactIndex()
+    {
+      return true;
+    }
+  }
+
+  /**
+   * An adapter that only indexes the {@link #target} reference.
+   */
+  private class TargetCrossReferenceAdapter extends ECrossReferenceAdapter
+  {
+    @Override
+    protected InverseCrossReferencer createInverseCrossReferencer()
+    {
+      return
+        new InverseCrossReferencer()
+        {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected void handleCrossReference(EObject eObject)
+          {
+            EObject targetNode = (EObject)eObject.eGet(target, false);
+            if (targetNode != null)
+            {
+              add((InternalEObject)eObject, target, targetNode);
+            }
+          }
+        };
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<EObject> getList(EObject eObject, EReference eReference)
+  {
+    return (List<EObject>)eObject.eGet(eReference);
+  }
+
+  private EObject createNode(String value)
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    node.eSet(name, value);
+    return node;
+  }
+
+  /**
+   * Creates a tree of nodes with pseudo-random references among them.
+   */
+  private List<EObject> createNodes(Resource resource, int count)
+  {
+    Random random = new Random(count);
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (int i = 0; i < count; ++i)
+    {
+      EObject node = createNode("node" + i);
+      if (i < 3)
+      {
+        resource.getContents().add(node);
+      }
+      else
+      {
+        getList(nodes.get(random.nextInt(i)), children).add(node);
+      }
+      nodes.add(node);
+    }
+    for (EObject node : nodes)
+    {
+      node.eSet(target, nodes.get(random.nextInt(10)));
+      List<EObject> nodeTargets = getList(node, targets);
+      for (int i = random.nextInt(4); i > 0; --i)
+      {
+        EObject targetNode = nodes.get(random.nextInt(count));
+        if (!nodeTargets.contains(targetNode))
+        {
+          nodeTargets.add(targetNode);
+        }
+      }
+    }
+    return nodes;
+  }
+
+  private void assertSameInverseReferences(ECrossReferenceAdapter expectedAdapter, ECrossReferenceAdapter adapter, List<EObject> nodes)
+  {
+    for (EObject node : nodes)
+    {
+      List<EStructuralFeature.Setting> expectedSettings = new ArrayList<EStructuralFeature.Setting>(expectedAdapter.getNonNavigableInverseReferences(node, false));
+      List<EStructuralFeature.Setting> settings = new ArrayList<EStructuralFeature.Setting>(adapter.getNonNavigableInverseReferences(node, false));
+      assertEquals(expectedSettings.size(), settings.size());
+      for (int i = 0; i < settings.size(); ++i)
+      {
+        assertSame(expectedSettings.get(i).getEObject(), settings.get(i).getEObject());
+        assertSame(expectedSettings.get(i).getEStructuralFeature(), settings.get(i).getEStructuralFeature());
+      }
+    }
+  }
+
+  @Test
+  public void testCompactIndex() throws Exception
+  {
+    Resource resource = new ResourceImpl(URI.createURI("memory:/compact.xmi"));
+    EObject referencedNode = createNode("referenced");
+    resource.getContents().add(referencedNode);
+    ECrossReferenceAdapter adapter = new CompactCrossReferenceAdapter();
+    resource.eAdapters().add(adapter);
+
+    // Grow the settings beyond the size at which duplicates are detected via a table.
+    //
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (int i = 0; i < 300; ++i)
+    {
+      EObject node = createNode("node" + i);
+      getList(referencedNode, children).add(node);
+      node.eSet(target, referencedNode);
+      getList(node, targets).add(referencedNode);
+      nodes.add(node);
+    }
+
+    Collection<EStructuralFeature.Setting> settings = adapter.getNonNavigableInverseReferences(referencedNode);
+    assertEquals(600, settings.size());
+    EObject node = nodes.get(150);
+    assertTrue(settings.contains(((InternalEObject)node).eSetting(target)));
+    assertEquals(300, adapter.getInverseReferences(referencedNode, target, false).size());
+    assertEquals(300, adapter.getInverseReferences(referencedNode, targets, false).size());
+
+    // Settings are created on demand and refer to the live values.
+    //
+    for (EStructuralFeature.Setting setting : settings)
+    {
+      assertTrue(nodes.contains(setting.getEObject()));
+      if (setting.getEStructuralFeature() == target)
+      {
+        assertSame(referencedNode, setting.get(false));
+      }
+    }
+
+    // Removing references removes settings, while the remaining ones are still found.
+    //
+    for (int i = 0; i < 280; ++i)
+    {
+      nodes.get(i).eUnset(target);
+    }
+    assertEquals(320, settings.size());
+    assertFalse(settings.contains(((InternalEObject)nodes.get(10)).eSetting(target)));
+    assertTrue(settings.contains(((InternalEObject)nodes.get(290)).eSetting(target)));
+    assertTrue(settings.contains(((InternalEObject)nodes.get(10)).eSetting(targets)));
+
+    for (int i = 0; i < 300; ++i)
+    {
+      getList(nodes.get(i), targets).clear();
+    }
+    assertEquals(20, settings.size());
+    for (int i = 280; i < 300; ++i)
+    {
+      nodes.get(i).eUnset(target);
+    }
+    assertTrue(adapter.getNonNavigableInverseReferences(referencedNode).isEmpty());
+  }
+
+  @Test
+  public void testIndexConcurrently() throws Exception
+  {
+    Resource resource = new ResourceImpl(URI.createURI("memory:/index.xmi"));
+    List<EObject> nodes = createNodes(resource, 5000);
+    assertTrue(resource.isLoaded());
+
+    ECrossReferenceAdapter adapter = new CompactCrossReferenceAdapter();
+    adapter.index(resource, executorService);
+    assertTrue(resource.eAdapters().contains(adapter));
+    for (EObject node : nodes)
+    {
+      assertTrue(node.eAdapters().contains(adapter));
+    }
+
+    ECrossReferenceAdapter expectedAdapter = new ECrossReferenceAdapter();
+    resource.eAdapters().add(expectedAdapter);
+    assertSameInverseReferences(expectedAdapter, adapter, nodes);
+
+    // The index is maintained incrementally after it's built.
+    //
+    EObject node = createNode("new");
+    getList(nodes.get(0), children).add(node);
+    node.eSet(target, nodes.get(1));
+    getList(nodes.get(2), targets).add(node);
+    nodes.add(node);
+    assertSameInverseReferences(expectedAdapter, adapter, nodes);
+  }
+
+  @Test
+  public void testIndexResolvesProxies() throws Exception
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    Resource otherResource = new ResourceImpl(URI.createURI("memory:/other.xmi"));
+    resourceSet.getResources().add(otherResource);
+    EObject otherNode = createNode("other");
+    otherResource.getContents().add(otherNode);
+
+    Resource resource = new ResourceImpl(URI.createURI("memory:/proxies.xmi"));
+    resourceSet.getResources().add(resource);
+    List<EObject> nodes = createNodes(resource, 2000);
+    InternalEObject proxy = (InternalEObject)createNode(null);
+    proxy.eSetProxyURI(EcoreUtil.getURI(otherNode));
+    nodes.get(1500).eSet(target, proxy);
+
+    ECrossReferenceAdapter adapter = new ECrossReferenceAdapter();
+    adapter.index(resource, null);
+    assertSame(otherNode, nodes.get(1500).eGet(target, false));
+    assertEquals(1, adapter.getNonNavigableInverseReferences(otherNode, false).size());
+
+    ECrossReferenceAdapter expectedAdapter = new ECrossReferenceAdapter();
+    resource.eAdapters().add(expectedAdapter);
+    assertSameInverseReferences(expectedAdapter, adapter, nodes);
+  }
+
+  @Test
+  public void testIndexWithSpecializedInverseCrossReferencer() throws Exception
+  {
+    Resource resource = new ResourceImpl(URI.createURI("memory:/specialized.xmi"));
+    List<EObject> nodes = createNodes(resource, 3000);
+
+    ECrossReferenceAdapter adapter = new TargetCrossReferenceAdapter();
+    adapter.index(resource, executorService);
+    for (EObject node : nodes)
+    {
+      assertTrue(adapter.getInverseReferences(node, targets, false).isEmpty());
+    }
+
+    ECrossReferenceAdapter expectedAdapter = new TargetCrossReferenceAdapter();
+    resource.eAdapters().add(expectedAdapter);
+    assertSameInverseReferences(expectedAdapter, adapter, nodes);
+  }
+}
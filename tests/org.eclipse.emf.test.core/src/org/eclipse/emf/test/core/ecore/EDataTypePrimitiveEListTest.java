@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EDataTypeDoubleEList;
+import org.eclipse.emf.ecore.util.EDataTypeEList;
+import org.eclipse.emf.ecore.util.EDataTypeIntEList;
+import org.eclipse.emf.ecore.util.EDataTypeLongEList;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests the primitive-backed lists of many-valued attributes, e.g., {@link EDataTypeIntEList}.
+ */
+public class EDataTypePrimitiveEListTest
+{
+  private EClass sampleClass;
+  private EAttribute ints;
+  private EAttribute uniqueDoubles;
+  private EAttribute unsettableLongs;
+  private EAttribute integerObjects;
+  private EAttribute boxedInts;
+
+  private EAttribute createAttribute(String name, EDataType eDataType, boolean isUnique, boolean isUnsettable)
+  {
+    EAttribute eAttribute = createBoxedAttribute(name, eDataType, isUnique, isUnsettable);
+    EcoreUtil.setAnnotation(eAttribute, EcoreUtil.GEN_MODEL_ANNOTATION_URI, "primitiveList", "true");
+    return eAttribute;
+  }
+
+  private EAttribute createBoxedAttribute(String name, EDataType eDataType, boolean isUnique, boolean isUnsettable)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(name);
+    eAttribute.setEType(eDataType);
+    eAttribute.setUpperBound(-1);
+    eAttribute.setUnique(isUnique);
+    eAttribute.setUnsettable(isUnsettable);
+    sampleClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("primitive");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/primitive");
+    ePackage.setNsPrefix("primitive");
+
+    sampleClass = EcoreFactory.eINSTANCE.createEClass();
+    sampleClass.setName("Sample");
+    ePackage.getEClassifiers().add(sampleClass);
+
+    ints = createAttribute("ints", EcorePackage.Literals.EINT, false, false);
+    uniqueDoubles = createAttribute("uniqueDoubles", EcorePackage.Literals.EDOUBLE, true, false);
+    unsettableLongs = createAttribute("unsettableLongs", EcorePackage.Literals.ELONG, false, true);
+    integerObjects = createAttribute("integerObjects", EcorePackage.Literals.EINTEGER_OBJECT, false, false);
+    boxedInts = createBoxedAttribute("boxedInts", EcorePackage.Literals.EINT, false, false);
+  }
+
+  @Test
+  public void testListTypes()
+  {
+    EObject sample = EcoreUtil.create(sampleClass);
+    assertTrue(sample.eGet(ints) instanceof EDataTypeIntEList);
+    assertTrue(sample.eGet(uniqueDoubles) instanceof EDataTypeDoubleEList.Unique);
+    assertTrue(sample.eGet(unsettableLongs) instanceof EDataTypeLongEList.Unsettable);
+
+    // Wrapper types can hold null, so they keep using a list of objects.
+    //
+    assertTrue(sample.eGet(integerObjects) instanceof EDataTypeEList<?>);
+
+    // Without the annotation, primitive types also keep using a list of objects.
+    //
+    Object boxedIntsValue = sample.eGet(boxedInts);
+    assertTrue(boxedIntsValue instanceof EDataTypeEList<?>);
+    assertFalse(boxedIntsValue instanceof EDataTypeIntEList);
+  }
+
+  @Test
+  public void testIntList()
+  {
+    EObject sample = EcoreUtil.create(sampleClass);
+    EDataTypeIntEList list = (EDataTypeIntEList)sample.eGet(ints);
+
+    for (int i = 0; i < 20; ++i)
+    {
+      list.addInt(i % 5);
+    }
+    assertEquals(20, list.size());
+    assertEquals(3, list.getInt(8));
+    assertEquals(Integer.valueOf(3), list.get(8));
+    assertEquals(1, list.indexOfInt(1));
+    assertEquals(16, list.lastIndexOf(1));
+    assertTrue(list.contains(4));
+    assertFalse(list.contains(5));
+    assertFalse(list.contains("4"));
+
+    list.move(0, 19);
+    assertEquals(4, list.getInt(0));
+    assertEquals(0, list.getInt(1));
+    assertEquals(4, list.removeInt(0));
+    list.add(0, 7);
+    assertEquals(7, list.setInt(0, 9));
+
+    List<Integer> expected = new ArrayList<Integer>();
+    expected.add(9);
+    for (int i = 0; i < 19; ++i)
+    {
+      expected.add(i % 5);
+    }
+    assertEquals(expected, list);
+    assertEquals(expected.hashCode(), list.hashCode());
+    assertEquals(expected.toString(), list.toString());
+    assertArrayEquals(expected.toArray(), list.toArray());
+
+    try
+    {
+      list.add(null);
+      fail("Expecting IllegalArgumentException");
+    }
+    catch (IllegalArgumentException exception)
+    {
+      // Expected.
+    }
+
+    try
+    {
+      list.getInt(20);
+      fail("Expecting IndexOutOfBoundsException");
+    }
+    catch (IndexOutOfBoundsException exception)
+    {
+      // Expected.
+    }
+
+    list.clear();
+    assertTrue(list.isEmpty());
+    assertFalse(sample.eIsSet(ints));
+  }
+
+  @Test
+  public void testUniqueAndUnsettable()
+  {
+    EObject sample = EcoreUtil.create(sampleClass);
+    EDataTypeDoubleEList doubles = (EDataTypeDoubleEList)sample.eGet(uniqueDoubles);
+    assertTrue(doubles.addDouble(1.5));
+    assertTrue(doubles.addDouble(Double.NaN));
+    assertFalse(doubles.addDouble(1.5));
+    assertFalse(doubles.add(Double.NaN));
+    assertTrue(doubles.containsDouble(Double.NaN));
+    assertEquals(2, doubles.size());
+
+    // Zero and negative zero are distinct values, as for Double.equals.
+    //
+    doubles.addDouble(0, 0.0);
+    doubles.addDouble(1, -0.0);
+    assertEquals(Arrays.asList(0.0, -0.0, 1.5, Double.NaN), doubles);
+    try
+    {
+      doubles.addDouble(1, Double.NaN);
+      fail("Expecting IllegalArgumentException");
+    }
+    catch (IllegalArgumentException exception)
+    {
+      // Expected.
+    }
+    assertEquals(1.5, doubles.setDouble(2, 2.5), 0.0);
+    assertEquals(0.0, doubles.removeDouble(0), 0.0);
+    assertArrayEquals(new double [] { -0.0, 2.5, Double.NaN }, doubles.toDoubleArray(), 0.0);
+
+    EDataTypeLongEList longs = (EDataTypeLongEList)sample.eGet(unsettableLongs);
+    assertFalse(sample.eIsSet(unsettableLongs));
+    longs.addLong(Long.MAX_VALUE);
+    assertTrue(sample.eIsSet(unsettableLongs));
+    longs.clear();
+    assertTrue(sample.eIsSet(unsettableLongs));
+    sample.eUnset(unsettableLongs);
+    assertFalse(sample.eIsSet(unsettableLongs));
+  }
+
+  @Test
+  public void testNotification()
+  {
+    EObject sample = EcoreUtil.create(sampleClass);
+    final List<Notification> notifications = new ArrayList<Notification>();
+    sample.eAdapters().add
+      (new AdapterImpl()
+       {
+         @Override
+         public void notifyChanged(Notification notification)
+         {
+           notifications.add(notification);
+         }
+       });
+
+    EDataTypeIntEList list = (EDataTypeIntEList)sample.eGet(ints);
+    list.addInt(1);
+    list.addInt(0, 2);
+    list.setInt(1, 3);
+    list.removeInt(0);
+
+    assertEquals(4, notifications.size());
+    assertEquals(Notification.ADD, notifications.get(0).getEventType());
+    assertEquals(1, notifications.get(0).getNewValue());
+    assertEquals(Notification.ADD, notifications.get(1).getEventType());
+    assertEquals(0, notifications.get(1).getPosition());
+    assertEquals(Notification.SET, notifications.get(2).getEventType());
+    assertEquals(1, notifications.get(2).getOldValue());
+    assertEquals(3, notifications.get(2).getNewValue());
+    assertEquals(Notification.REMOVE, notifications.get(3).getEventType());
+    assertEquals(2, notifications.get(3).getOldValue());
+    assertEquals(Arrays.asList(3), list);
+  }
+
+  @Test
+  public void testCopy()
+  {
+    EObject sample = EcoreUtil.create(sampleClass);
+    @SuppressWarnings("unchecked")
+    EList<Integer> list = (EList<Integer>)sample.eGet(ints);
+    list.addAll(Arrays.asList(5, 4, 5));
+    EObject copy = EcoreUtil.copy(sample);
+    assertEquals(list, copy.eGet(ints));
+    assertArrayEquals(new int [] { 5, 4, 5 }, ((EDataTypeIntEList)copy.eGet(ints)).toIntArray());
+    assertTrue(EcoreUtil.equals(sample, copy));
+  }
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link EcoreUtil.IdentityCopier},
+ * and that {@link EcoreUtil.Copier} and {@link EcoreUtil.EqualityHelper} keep the API of the maps they extend.
+ */
+public class IdentityCopierTest
+{
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+    ePackage.setName("identity");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/identity");
+
+    nodeClass = EcoreFactory.eINSTANCE.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = EcoreFactory.eINSTANCE.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = EcoreFactory.eINSTANCE.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setUpperBound(-1);
+    children.setContainment(true);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = EcoreFactory.eINSTANCE.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+  }
+
+  /**
+   * Creates a tree of the given number of nodes in which each node references the node before it.
+   */
+  private EObject createTree(String prefix, int size)
+  {
+    EObject root = EcoreUtil.create(nodeClass);
+    root.eSet(name, prefix);
+    @SuppressWarnings("unchecked")
+    List<EObject> nodes = (List<EObject>)root.eGet(children);
+    EObject previous = root;
+    for (int i = 1; i < size; ++i)
+    {
+      EObject node = EcoreUtil.create(nodeClass);
+      node.eSet(name, prefix + i);
+      node.eSet(target, previous);
+      nodes.add(node);
+      previous = node;
+    }
+    return root;
+  }
+
+  private List<EObject> createTrees(int count, int size)
+  {
+    List<EObject> result = new ArrayList<EObject>();
+    for (int i = 0; i < count; ++i)
+    {
+      result.add(createTree("tree" + i + ".", size));
+    }
+    return result;
+  }
+
+  @Test
+  public void testCopierIsLinkedHashMap()
+  {
+    // A subclass of the copier can still rely on the linked hash map calling removeEldestEntry.
+    //
+    final List<EObject> evicted = new ArrayList<EObject>();
+    EcoreUtil.Copier copier =
+      new EcoreUtil.Copier()
+      {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<EObject, EObject> eldest)
+        {
+          if (size() > 3)
+          {
+            evicted.add(eldest.getKey());
+            return true;
+          }
+          return false;
+        }
+      };
+    assertTrue(copier instanceof LinkedHashMap<?, ?>);
+
+    EObject root = createTree("root", 5);
+    copier.copy(root);
+    assertEquals(3, copier.size());
+    assertEquals(2, evicted.size());
+    assertSame(root, evicted.get(0));
+
+    // The mappings that remain are those of the last objects copied, in the order in which they were copied.
+    //
+    List<EObject> nodes = new ArrayList<EObject>(root.eContents());
+    assertEquals(nodes.subList(1, 4), new ArrayList<EObject>(copier.keySet()));
+
+    EcoreUtil.Copier presizedCopier = new EcoreUtil.Copier(true, true, 1000);
+    assertTrue(presizedCopier.isEmpty());
+    presizedCopier.copy(root);
+    assertEquals(5, presizedCopier.size());
+  }
+
+  @Test
+  public void testEqualityHelperIsHashMap()
+  {
+    EcoreUtil.EqualityHelper equalityHelper = new EcoreUtil.EqualityHelper(100);
+    assertTrue(equalityHelper instanceof HashMap<?, ?>);
+    EObject tree = createTree("tree", 5);
+    assertTrue(equalityHelper.equals(tree, EcoreUtil.copy(tree)));
+    assertEquals(10, equalityHelper.size());
+  }
+
+  @Test
+  public void testIdentityCopier()
+  {
+    List<EObject> trees = createTrees(3, 10);
+    EcoreUtil.IdentityCopier identityCopier = new EcoreUtil.IdentityCopier(true, true, 30);
+    Collection<EObject> copies = identityCopier.copyAll(trees);
+    identityCopier.copyReferences();
+    assertTrue(EcoreUtil.equals(trees, new ArrayList<EObject>(copies)));
+    assertEquals(30, identityCopier.size());
+
+    // The mappings are in copy order and are the same as those of the copier.
+    //
+    EcoreUtil.Copier copier = new EcoreUtil.Copier();
+    copier.copyAll(trees);
+    assertEquals(new ArrayList<EObject>(copier.keySet()), new ArrayList<EObject>(identityCopier.keySet()));
+    for (Map.Entry<EObject, EObject> entry : identityCopier.entrySet())
+    {
+      assertSame(entry.getValue(), identityCopier.get(entry.getKey()));
+      assertTrue(identityCopier.containsValue(entry.getValue()));
+      assertNotSame(entry.getKey(), entry.getValue());
+    }
+
+    // The clone has its own mappings.
+    //
+    @SuppressWarnings("unchecked")
+    Map<EObject, EObject> clone = (Map<EObject, EObject>)identityCopier.clone();
+    assertEquals(identityCopier, clone);
+    EObject first = trees.get(0);
+    assertNotNull(clone.remove(first));
+    assertFalse(clone.containsKey(first));
+    assertTrue(identityCopier.containsKey(first));
+    assertEquals(29, clone.size());
+
+    identityCopier.clear();
+    assertTrue(identityCopier.isEmpty());
+    assertNull(identityCopier.get(first));
+  }
+
+  @Test
+  public void testIdentityCopierConcurrently()
+  {
+    List<EObject> trees = createTrees(20, 100);
+    ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+    try
+    {
+      EcoreUtil.IdentityCopier identityCopier = new EcoreUtil.IdentityCopier();
+      Collection<EObject> copies = identityCopier.copyAll(trees, forkJoinPool);
+      identityCopier.copyReferences(forkJoinPool);
+      assertEquals(2000, identityCopier.size());
+      assertTrue(EcoreUtil.equals(trees, new ArrayList<EObject>(copies)));
+    }
+    finally
+    {
+      forkJoinPool.shutdown();
+    }
+  }
+}
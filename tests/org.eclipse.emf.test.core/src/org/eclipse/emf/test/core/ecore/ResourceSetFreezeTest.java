@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EClassImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link ResourceSetImpl#freeze()}.
+ */
+public class ResourceSetFreezeTest
+{
+  private static final int RESOURCE_COUNT = 5;
+
+  private static final int CHILD_COUNT = 50;
+
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference next;
+  private File directory;
+  private List<URI> uris;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("freeze");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/freeze");
+    ePackage.setNsPrefix("freeze");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    next = ecoreFactory.createEReference();
+    next.setName("next");
+    next.setEType(nodeClass);
+    next.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+    nodeClass.getEStructuralFeatures().add(next);
+
+    directory = File.createTempFile("freeze", "");
+    assertTrue(directory.delete());
+    assertTrue(directory.mkdirs());
+
+    // Create a ring of resources, with each child referring to the corresponding child in the next resource.
+    //
+    ResourceSet resourceSet = createResourceSet();
+    uris = new ArrayList<URI>();
+    List<EObject> roots = new ArrayList<EObject>();
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      URI uri = URI.createFileURI(new File(directory, "node" + i + ".xmi").getAbsolutePath());
+      uris.add(uri);
+      Resource resource = resourceSet.createResource(uri);
+      EObject root = EcoreUtil.create(nodeClass);
+      root.eSet(name, "root" + i);
+      for (int j = 0; j < CHILD_COUNT; ++j)
+      {
+        EObject child = EcoreUtil.create(nodeClass);
+        child.eSet(name, "child" + i + "." + j);
+        getList(root, children).add(child);
+      }
+      resource.getContents().add(root);
+      roots.add(root);
+    }
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      List<EObject> nodes = getList(roots.get(i), children);
+      List<EObject> nextNodes = getList(roots.get((i + 1) % RESOURCE_COUNT), children);
+      for (int j = 0; j < CHILD_COUNT; ++j)
+      {
+        getList(nodes.get(j), next).add(nextNodes.get(j));
+      }
+    }
+    for (Resource resource : resourceSet.getResources())
+    {
+      resource.save(null);
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    for (File file : directory.listFiles())
+    {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  private ResourceSetImpl createResourceSet()
+  {
+    ResourceSetImpl resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    return resourceSet;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<EObject> getList(EObject eObject, EReference eReference)
+  {
+    return (List<EObject>)eObject.eGet(eReference);
+  }
+
+  @Test
+  public void testFreeze() throws Exception
+  {
+    ResourceSetImpl resourceSet = createResourceSet();
+    resourceSet.getResource(uris.get(0), true);
+    assertFalse(resourceSet.isFrozen());
+    assertFalse(((EClassImpl)nodeClass).isFrozen());
+
+    resourceSet.freeze();
+    assertTrue(resourceSet.isFrozen());
+
+    // The package isn't in the resource set, so it isn't frozen.
+    //
+    assertFalse(((EClassImpl)nodeClass).isFrozen());
+
+    // Resolving the proxies has loaded all the resources.
+    //
+    assertEquals(RESOURCE_COUNT, resourceSet.getResources().size());
+    for (Resource resource : resourceSet.getResources())
+    {
+      for (TreeIterator<EObject> i = resource.getAllContents(); i.hasNext(); )
+      {
+        EObject eObject = i.next();
+        for (EObject nextNode : getBasicList(eObject, next))
+        {
+          assertFalse(nextNode.eIsProxy());
+        }
+      }
+    }
+
+    // A frozen resource set only finds the resources it already contains.
+    //
+    URI missingURI = URI.createFileURI(new File(directory, "missing.xmi").getAbsolutePath());
+    assertNull(resourceSet.getResource(missingURI, true));
+    assertSame(resourceSet.getResources().get(1), resourceSet.getResource(uris.get(1), true));
+    assertEquals(RESOURCE_COUNT, resourceSet.getResources().size());
+  }
+
+  @Test
+  public void testFreezeContainedPackage() throws Exception
+  {
+    ResourceSetImpl resourceSet = createResourceSet();
+    Resource ecoreResource = resourceSet.createResource(URI.createURI("freeze.xmi"));
+    ecoreResource.getContents().add(ePackage);
+    resourceSet.getResource(uris.get(0), true);
+
+    // A package contained by the resource set is frozen with it.
+    //
+    resourceSet.freeze();
+    assertTrue(((EClassImpl)nodeClass).isFrozen());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<EObject> getBasicList(EObject eObject, EReference eReference)
+  {
+    return ((InternalEList<EObject>)eObject.eGet(eReference, false)).basicList();
+  }
+
+  @Test
+  public void testConcurrentTraversal() throws Exception
+  {
+    final ResourceSetImpl resourceSet = createResourceSet();
+    for (URI uri : uris)
+    {
+      resourceSet.getResource(uri, true);
+    }
+    resourceSet.freeze();
+
+    int threadCount = 4;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try
+    {
+      List<Callable<List<String>>> tasks = new ArrayList<Callable<List<String>>>();
+      for (int i = 0; i < threadCount * 4; ++i)
+      {
+        tasks.add
+          (new Callable<List<String>>()
+           {
+             public List<String> call() throws Exception
+             {
+               // Visit the objects in the same way as a reflective client that knows nothing of the model.
+               //
+               List<String> result = new ArrayList<String>();
+               for (Resource resource : resourceSet.getResources())
+               {
+                 for (TreeIterator<EObject> j = resource.getAllContents(); j.hasNext(); )
+                 {
+                   EObject eObject = j.next();
+                   EClass eClass = eObject.eClass();
+                   result.add((String)eObject.eGet(eClass.getEStructuralFeature("name")));
+                   for (EObject nextNode : getList(eObject, (EReference)eClass.getEStructuralFeature("next")))
+                   {
+                     result.add(EcoreUtil.getURI(nextNode).toString());
+                     result.add((String)nextNode.eGet(name));
+                   }
+                 }
+               }
+               return result;
+             }
+           });
+      }
+
+      List<Future<List<String>>> futures = executorService.invokeAll(tasks);
+      List<String> expected = futures.get(0).get();
+      assertEquals(RESOURCE_COUNT * (1 + CHILD_COUNT * 3), expected.size());
+      for (Future<List<String>> future : futures)
+      {
+        assertEquals(expected, future.get());
+      }
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+  }
+}
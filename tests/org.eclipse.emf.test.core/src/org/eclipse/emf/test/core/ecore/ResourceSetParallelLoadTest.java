@@ -0,0 +1,260 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.core.ecore;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link ResourceSetImpl#getResources(java.util.Collection, java.util.concurrent.Executor)}.
+ */
+public class ResourceSetParallelLoadTest
+{
+  private static final int RESOURCE_COUNT = 20;
+
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference next;
+  private File directory;
+  private List<URI> uris;
+  private ExecutorService executorService;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("parallel");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/parallel");
+    ePackage.setNsPrefix("parallel");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    next = ecoreFactory.createEReference();
+    next.setName("next");
+    next.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(next);
+
+    directory = File.createTempFile("parallel", "");
+    assertTrue(directory.delete());
+    assertTrue(directory.mkdirs());
+
+    // Create a ring of resources, each referring to the next one.
+    //
+    ResourceSet resourceSet = createResourceSet();
+    uris = new ArrayList<URI>();
+    List<EObject> nodes = new ArrayList<EObject>();
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      URI uri = URI.createFileURI(new File(directory, "node" + i + ".xmi").getAbsolutePath());
+      uris.add(uri);
+      Resource resource = resourceSet.createResource(uri);
+      EObject node = EcoreUtil.create(nodeClass);
+      node.eSet(name, "node" + i);
+      resource.getContents().add(node);
+      nodes.add(node);
+    }
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      nodes.get(i).eSet(next, nodes.get((i + 1) % RESOURCE_COUNT));
+    }
+    for (Resource resource : resourceSet.getResources())
+    {
+      resource.save(null);
+    }
+
+    executorService = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    executorService.shutdownNow();
+    for (File file : directory.listFiles())
+    {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  private ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    return resourceSet;
+  }
+
+  @Test
+  public void testLoadResources() throws Exception
+  {
+    ResourceSetImpl resourceSet = (ResourceSetImpl)createResourceSet();
+    final List<Notification> notifications = new ArrayList<Notification>();
+    resourceSet.eAdapters().add
+      (new AdapterImpl()
+       {
+         @Override
+         public void notifyChanged(Notification notification)
+         {
+           notifications.add(notification);
+         }
+       });
+
+    // One resource is already present, but not loaded.
+    //
+    Resource existingResource = resourceSet.createResource(uris.get(0));
+    notifications.clear();
+
+    List<Resource> resources = resourceSet.getResources(uris, executorService);
+    assertEquals(RESOURCE_COUNT, resources.size());
+    assertEquals(RESOURCE_COUNT, resourceSet.getResources().size());
+    assertSame(existingResource, resources.get(0));
+
+    // The new resources are added to the resource set with a single notification.
+    //
+    assertEquals(1, notifications.size());
+    assertEquals(Notification.ADD_MANY, notifications.get(0).getEventType());
+
+    for (int i = 0; i < RESOURCE_COUNT; ++i)
+    {
+      Resource resource = resources.get(i);
+      assertTrue(resource.isLoaded());
+      assertSame(resourceSet, resource.getResourceSet());
+      assertEquals(uris.get(i), resource.getURI());
+      EObject node = resource.getContents().get(0);
+      assertEquals("node" + i, node.eGet(name));
+
+      // The references between the resources are already resolved.
+      //
+      EObject nextNode = (EObject)node.eGet(next, false);
+      assertFalse(nextNode.eIsProxy());
+      assertSame(resources.get((i + 1) % RESOURCE_COUNT), nextNode.eResource());
+    }
+
+    // Asking again returns the same resources without loading anything.
+    //
+    notifications.clear();
+    assertEquals(resources, resourceSet.getResources(uris, executorService));
+    assertTrue(notifications.isEmpty());
+  }
+
+  @Test
+  public void testLoadResourcesWithPackageDescriptor() throws Exception
+  {
+    ResourceSetImpl resourceSet = (ResourceSetImpl)createResourceSet();
+    final List<Thread> resolvingThreads = new ArrayList<Thread>();
+    resourceSet.getPackageRegistry().put
+      (ePackage.getNsURI(),
+       new EPackage.Descriptor()
+       {
+         public EPackage getEPackage()
+         {
+           resolvingThreads.add(Thread.currentThread());
+           return ePackage;
+         }
+
+         public EFactory getEFactory()
+         {
+           return ePackage.getEFactoryInstance();
+         }
+       });
+
+    // The descriptor is resolved by the calling thread, before the loads start.
+    //
+    List<Resource> resources = resourceSet.getResources(uris, executorService);
+    assertEquals(1, resolvingThreads.size());
+    assertSame(Thread.currentThread(), resolvingThreads.get(0));
+    assertSame(ePackage, resourceSet.getPackageRegistry().get(ePackage.getNsURI()));
+    assertSame(nodeClass, resources.get(0).getContents().get(0).eClass());
+  }
+
+  @Test
+  public void testLoadResourcesOnCallingThread() throws Exception
+  {
+    ResourceSetImpl resourceSet = (ResourceSetImpl)createResourceSet();
+    List<Resource> resources = resourceSet.getResources(uris.subList(0, 2), null);
+    assertEquals(2, resourceSet.getResources().size());
+    EObject node = resources.get(0).getContents().get(0);
+    assertSame(resources.get(1).getContents().get(0), node.eGet(next, false));
+
+    // The reference out of the batch remains a proxy.
+    //
+    EObject nextNode = (EObject)resources.get(1).getContents().get(0).eGet(next, false);
+    assertTrue(nextNode.eIsProxy());
+    assertEquals(uris.get(2), ((InternalEObject)nextNode).eProxyURI().trimFragment());
+  }
+
+  @Test
+  public void testLoadResourcesWithFailure() throws Exception
+  {
+    ResourceSetImpl resourceSet = (ResourceSetImpl)createResourceSet();
+    List<URI> batch = new ArrayList<URI>(uris);
+    URI missingURI = URI.createFileURI(new File(directory, "missing.xmi").getAbsolutePath());
+    batch.add(missingURI);
+    try
+    {
+      resourceSet.getResources(batch, executorService);
+      fail("Expecting an exception");
+    }
+    catch (WrappedException exception)
+    {
+      assertTrue(exception instanceof Resource.Diagnostic);
+    }
+
+    // All the resources are still added to the resource set.
+    //
+    assertEquals(RESOURCE_COUNT + 1, resourceSet.getResources().size());
+    Resource missingResource = resourceSet.getResource(missingURI, false);
+    assertNotNull(missingResource);
+    assertFalse(missingResource.getErrors().isEmpty());
+    assertTrue(resourceSet.getResource(uris.get(0), false).isLoaded());
+  }
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+
+
+/**
+ * The models measured by the benchmarks.
+ * A model is a function of only its size and the {@link #SEED seed},
+ * so a given size yields the same model in every run and in every release,
+ * which makes the results comparable.
+ * <p>
+ * The {@link #createTree(int) dynamic model} is a tree of {@link #nodeClass nodes},
+ * each with a few attribute values, a random number of children, and non-containment references to random other nodes.
+ * The {@link #createGeneratedModel(int) generated model} is an Ecore model, i.e., instances of the generated Ecore implementation classes,
+ * with classes that have attributes, references, and super types.
+ * </p>
+ */
+public class BenchmarkModel
+{
+  /**
+   * The seed for the random numbers used to build the models.
+   */
+  public static final long SEED = 20260101L;
+
+  public final EPackage ePackage;
+
+  public final EClass nodeClass;
+
+  public final EAttribute name;
+
+  public final EAttribute value;
+
+  public final EAttribute weight;
+
+  public final EReference children;
+
+  public final EReference references;
+
+  public final EReference target;
+
+  public BenchmarkModel()
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("benchmark");
+    ePackage.setNsPrefix("benchmark");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/performance/benchmark");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = createAttribute("name", EcorePackage.Literals.ESTRING);
+    value = createAttribute("value", EcorePackage.Literals.EINT);
+    weight = createAttribute("weight", EcorePackage.Literals.EDOUBLE);
+    children = createReference("children", true);
+    references = createReference("references", false);
+    references.setUpperBound(-1);
+    target = createReference("target", false);
+  }
+
+  private EAttribute createAttribute(String attributeName, EDataType eDataType)
+  {
+    EAttribute eAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+    eAttribute.setName(attributeName);
+    eAttribute.setEType(eDataType);
+    nodeClass.getEStructuralFeatures().add(eAttribute);
+    return eAttribute;
+  }
+
+  private EReference createReference(String referenceName, boolean isContainment)
+  {
+    EReference eReference = EcoreFactory.eINSTANCE.createEReference();
+    eReference.setName(referenceName);
+    eReference.setEType(nodeClass);
+    eReference.setContainment(isContainment);
+    if (isContainment)
+    {
+      eReference.setUpperBound(-1);
+    }
+    nodeClass.getEStructuralFeatures().add(eReference);
+    return eReference;
+  }
+
+  /**
+   * Creates a new resource set in which the {@link #ePackage package} is registered and in which all resources are XMI resources.
+   */
+  public ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("*", new XMIResourceFactoryImpl());
+    return resourceSet;
+  }
+
+  /**
+   * Creates a tree of the given number of nodes and returns its root.
+   */
+  public EObject createTree(int size)
+  {
+    Random random = new Random(SEED);
+    List<EObject> nodes = new ArrayList<EObject>(size);
+    for (int i = 0; i < size; ++i)
+    {
+      EObject node = EcoreUtil.create(nodeClass);
+      node.eSet(name, "node" + i);
+      node.eSet(value, random.nextInt());
+      node.eSet(weight, random.nextDouble());
+      if (i != 0)
+      {
+        // A random earlier node as the parent yields a tree of logarithmic depth.
+        //
+        getList(nodes.get(random.nextInt(i)), children).add(node);
+      }
+      nodes.add(node);
+    }
+
+    for (EObject node : nodes)
+    {
+      EList<EObject> referenceList = getList(node, references);
+      for (int i = 0, count = random.nextInt(4); i < count; ++i)
+      {
+        referenceList.add(nodes.get(random.nextInt(size)));
+      }
+      node.eSet(target, nodes.get(random.nextInt(size)));
+    }
+
+    return nodes.get(0);
+  }
+
+  /**
+   * Creates an Ecore model with roughly the given number of objects,
+   * i.e., with a tenth as many classes each with a few features.
+   */
+  public static EPackage createGeneratedModel(int size)
+  {
+    Random random = new Random(SEED);
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    EDataType[] eDataTypes =
+      {
+        EcorePackage.Literals.ESTRING,
+        EcorePackage.Literals.EINT,
+        EcorePackage.Literals.EBOOLEAN,
+        EcorePackage.Literals.EDOUBLE,
+        EcorePackage.Literals.EDATE
+      };
+
+    EPackage ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("generated");
+    ePackage.setNsPrefix("generated");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/performance/generated");
+
+    int classCount = Math.max(1, size / 10);
+    EList<EClassifier> eClassifiers = ePackage.getEClassifiers();
+    for (int i = 0; i < classCount; ++i)
+    {
+      EClass eClass = ecoreFactory.createEClass();
+      eClass.setName("Class" + i);
+      eClassifiers.add(eClass);
+    }
+
+    for (int i = 0; i < classCount; ++i)
+    {
+      EClass eClass = (EClass)eClassifiers.get(i);
+      if (i != 0 && random.nextBoolean())
+      {
+        eClass.getESuperTypes().add((EClass)eClassifiers.get(random.nextInt(i)));
+      }
+      for (int j = 0; j < 6; ++j)
+      {
+        EAttribute eAttribute = ecoreFactory.createEAttribute();
+        eAttribute.setName("attribute" + i + "_" + j);
+        eAttribute.setEType(eDataTypes[random.nextInt(eDataTypes.length)]);
+        eClass.getEStructuralFeatures().add(eAttribute);
+      }
+      for (int j = 0; j < 2; ++j)
+      {
+        EReference eReference = ecoreFactory.createEReference();
+        eReference.setName("reference" + i + "_" + j);
+        eReference.setEType(eClassifiers.get(random.nextInt(classCount)));
+        eReference.setUpperBound(random.nextBoolean() ? 1 : -1);
+        eClass.getEStructuralFeatures().add(eReference);
+      }
+    }
+
+    return ePackage;
+  }
+
+  /**
+   * Returns a URI for a resource of the benchmark.
+   */
+  public static URI createURI(String fileExtension)
+  {
+    return URI.createURI("memory:/benchmark." + fileExtension);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static EList<EObject> getList(EObject eObject, EReference eReference)
+  {
+    return (EList<EObject>)eObject.eGet(eReference);
+  }
+}
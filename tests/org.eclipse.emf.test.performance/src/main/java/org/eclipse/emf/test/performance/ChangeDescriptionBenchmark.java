@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.change.util.BinaryChangeDescriptionIO;
+import org.eclipse.emf.ecore.change.util.ChangeRecorder;
+import org.eclipse.emf.ecore.change.util.OperationLogChangeRecorder;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures saving and loading a change description recorded for random changes to a tree of 10,000 nodes
+ * as XMI and with {@link BinaryChangeDescriptionIO}, to and from memory.
+ * Both load against a resource set that holds the changed model;
+ * the binary format resolves the references to the model while loading,
+ * whereas XMI leaves them as proxies to be resolved when the changes are applied.
+ * <p>
+ * It also measures recording the changes with a {@link ChangeRecorder} and with an {@link OperationLogChangeRecorder},
+ * i.e., attaching the recorder to the model, making the changes, ending the recording, and applying the changes to restore the model.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChangeDescriptionBenchmark
+{
+  private static final int MODEL_SIZE = 10000;
+
+  @Param({ "100", "1000", "10000" })
+  public int changes;
+
+  private BenchmarkModel model;
+
+  private ResourceSet resourceSet;
+
+  private List<EObject> nodes;
+
+  private ChangeDescription changeDescription;
+
+  private byte[] xmiBytes;
+
+  private byte[] binaryBytes;
+
+  @Setup
+  public void setUp() throws IOException
+  {
+    model = new BenchmarkModel();
+    resourceSet = model.createResourceSet();
+    Resource resource = resourceSet.createResource(BenchmarkModel.createURI("xmi"));
+    EObject root = model.createTree(MODEL_SIZE);
+    resource.getContents().add(root);
+    nodes = new ArrayList<EObject>(MODEL_SIZE);
+    nodes.add(root);
+    for (Iterator<EObject> i = EcoreUtil.getAllContents(root, true); i.hasNext(); )
+    {
+      nodes.add(i.next());
+    }
+
+    ChangeRecorder changeRecorder = new ChangeRecorder(resourceSet);
+    makeChanges();
+    changeDescription = changeRecorder.endRecording();
+    changeRecorder.dispose();
+
+    // Put the change description in a resource of a separate resource set so that the model's resource set is unaffected.
+    //
+    createXMIResource(model.createResourceSet()).getContents().add(changeDescription);
+
+    xmiBytes = xmiSave();
+    binaryBytes = binarySave();
+  }
+
+  private void makeChanges()
+  {
+    Random random = new Random(BenchmarkModel.SEED);
+    List<EObject> nodes = new ArrayList<EObject>(this.nodes);
+
+    for (int i = 0; i < changes; ++i)
+    {
+      EObject node = nodes.get(random.nextInt(nodes.size()));
+      switch (random.nextInt(4))
+      {
+        case 0:
+        {
+          node.eSet(model.value, random.nextInt());
+          break;
+        }
+        case 1:
+        {
+          node.eSet(model.target, nodes.get(random.nextInt(nodes.size())));
+          break;
+        }
+        case 2:
+        {
+          EList<EObject> referenceList = BenchmarkModel.getList(node, model.references);
+          referenceList.add(nodes.get(random.nextInt(nodes.size())));
+          break;
+        }
+        default:
+        {
+          EObject newNode = EcoreUtil.create(model.nodeClass);
+          newNode.eSet(model.name, "new" + i);
+          BenchmarkModel.getList(node, model.children).add(newNode);
+          nodes.add(newNode);
+          break;
+        }
+      }
+    }
+  }
+
+  private static Resource createXMIResource(ResourceSet resourceSet)
+  {
+    Resource resource = new XMIResourceImpl(BenchmarkModel.createURI("change"));
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  @Benchmark
+  public byte[] xmiSave() throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    changeDescription.eResource().save(outputStream, null);
+    return outputStream.toByteArray();
+  }
+
+  @Benchmark
+  public Resource xmiLoad() throws IOException
+  {
+    Resource resource = new XMIResourceImpl(BenchmarkModel.createURI("change"));
+    resourceSet.getResources().add(resource);
+    try
+    {
+      resource.load(new ByteArrayInputStream(xmiBytes), null);
+      return resource;
+    }
+    finally
+    {
+      resourceSet.getResources().remove(resource);
+    }
+  }
+
+  @Benchmark
+  public byte[] binarySave() throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    BinaryChangeDescriptionIO.save(changeDescription, outputStream, null);
+    return outputStream.toByteArray();
+  }
+
+  @Benchmark
+  public ChangeDescription binaryLoad() throws IOException
+  {
+    return BinaryChangeDescriptionIO.load(new ByteArrayInputStream(binaryBytes), resourceSet, null);
+  }
+
+  @Benchmark
+  public ChangeDescription changeRecorder()
+  {
+    return record(new ChangeRecorder(resourceSet));
+  }
+
+  @Benchmark
+  public ChangeDescription operationLogChangeRecorder()
+  {
+    return record(new OperationLogChangeRecorder(resourceSet));
+  }
+
+  private ChangeDescription record(ChangeRecorder changeRecorder)
+  {
+    makeChanges();
+    ChangeDescription changeDescription = changeRecorder.endRecording();
+    changeRecorder.dispose();
+    changeDescription.apply();
+    return changeDescription;
+  }
+}
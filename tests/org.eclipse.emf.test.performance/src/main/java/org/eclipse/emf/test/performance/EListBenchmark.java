@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures {@link EList#add(Object) add} and {@link EList#contains(Object) contains}
+ * for a plain {@link BasicEList}, for a non-containment reference list, which enforces uniqueness,
+ * and for a containment list, which also maintains the containers.
+ * The sizes are smaller than those of the models because adding to a unique list takes quadratic time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EListBenchmark
+{
+  @Param({ "100", "1000", "10000" })
+  public int size;
+
+  private BenchmarkModel model;
+
+  private EObject[] nodes;
+
+  private EObject[] probes;
+
+  private EObject owner;
+
+  private EList<EObject> containmentList;
+
+  @Setup
+  public void setUp()
+  {
+    model = new BenchmarkModel();
+    nodes = new EObject [size];
+    for (int i = 0; i < size; ++i)
+    {
+      nodes[i] = EcoreUtil.create(model.nodeClass);
+    }
+
+    owner = EcoreUtil.create(model.nodeClass);
+    EList<EObject> references = BenchmarkModel.getList(owner, model.references);
+    for (EObject node : nodes)
+    {
+      references.add(node);
+    }
+
+    // A fixed number of lookups, so that the cost per lookup grows with the size for a linear search.
+    //
+    Random random = new Random(BenchmarkModel.SEED);
+    probes = new EObject [100];
+    for (int i = 0; i < probes.length; ++i)
+    {
+      probes[i] = nodes[random.nextInt(size)];
+    }
+  }
+
+  @Benchmark
+  public EList<EObject> basicAdd()
+  {
+    EList<EObject> list = new BasicEList<EObject>();
+    for (EObject node : nodes)
+    {
+      list.add(node);
+    }
+    return list;
+  }
+
+  @Benchmark
+  public EList<EObject> referenceAdd()
+  {
+    EObject eObject = EcoreUtil.create(model.nodeClass);
+    EList<EObject> list = BenchmarkModel.getList(eObject, model.references);
+    for (EObject node : nodes)
+    {
+      list.add(node);
+    }
+    return list;
+  }
+
+  @Benchmark
+  public EList<EObject> containmentAdd()
+  {
+    EObject eObject = EcoreUtil.create(model.nodeClass);
+    EList<EObject> list = BenchmarkModel.getList(eObject, model.children);
+    for (EObject node : nodes)
+    {
+      list.add(node);
+    }
+    containmentList = list;
+    return list;
+  }
+
+  /**
+   * Removes the nodes from their container so that the next {@link #containmentAdd()} doesn't also measure their removal.
+   */
+  @TearDown(Level.Invocation)
+  public void clearContainment()
+  {
+    if (containmentList != null)
+    {
+      containmentList.clear();
+      containmentList = null;
+    }
+  }
+
+  @Benchmark
+  public int referenceContains()
+  {
+    EList<EObject> list = BenchmarkModel.getList(owner, model.references);
+    int result = 0;
+    for (EObject probe : probes)
+    {
+      if (list.contains(probe))
+      {
+        ++result;
+      }
+    }
+    return result;
+  }
+}
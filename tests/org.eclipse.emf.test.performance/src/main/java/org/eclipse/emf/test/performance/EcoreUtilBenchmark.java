@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.Diagnostician;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures {@link EcoreUtil#copy(EObject) copying}, {@link EcoreUtil.CrossReferencer cross referencing},
+ * and {@link Diagnostician validating} a dynamic model and a generated model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EcoreUtilBenchmark
+{
+  @Param({ "1000", "10000", "100000" })
+  public int size;
+
+  private EObject dynamicRoot;
+
+  private EPackage generatedRoot;
+
+  @Setup
+  public void setUp()
+  {
+    dynamicRoot = new BenchmarkModel().createTree(size);
+    generatedRoot = BenchmarkModel.createGeneratedModel(size);
+  }
+
+  @Benchmark
+  public EObject dynamicCopy()
+  {
+    return EcoreUtil.copy(dynamicRoot);
+  }
+
+  @Benchmark
+  public EObject generatedCopy()
+  {
+    return EcoreUtil.copy(generatedRoot);
+  }
+
+  @Benchmark
+  public Map<EObject, Collection<EStructuralFeature.Setting>> dynamicCrossReferencer()
+  {
+    return EcoreUtil.CrossReferencer.find(Collections.singleton(dynamicRoot));
+  }
+
+  @Benchmark
+  public Map<EObject, Collection<EStructuralFeature.Setting>> generatedCrossReferencer()
+  {
+    return EcoreUtil.CrossReferencer.find(Collections.singleton(generatedRoot));
+  }
+
+  @Benchmark
+  public Diagnostic dynamicValidate()
+  {
+    return Diagnostician.INSTANCE.validate(dynamicRoot);
+  }
+
+  @Benchmark
+  public Diagnostic generatedValidate()
+  {
+    return Diagnostician.INSTANCE.validate(generatedRoot);
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures saving a binary resource of 100,000 nodes in the {@link BinaryResourceImpl.BinaryIO.Version#VERSION_1_2 random access} format to a file
+ * after changing an attribute of one node,
+ * rewriting the whole file versus {@link BinaryResourceImpl#OPTION_INCREMENTAL_SAVE appending} only the changed segment.
+ * The nodes are divided among the given number of roots, each of which is a separate segment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class IncrementalSaveBenchmark
+{
+  private static final int MODEL_SIZE = 100000;
+
+  @Param({ "100", "1000" })
+  public int roots;
+
+  private BenchmarkModel model;
+
+  private File file;
+
+  private Resource resource;
+
+  private Random random;
+
+  private Map<Object, Object> fullSaveOptions;
+
+  private Map<Object, Object> incrementalSaveOptions;
+
+  @Setup
+  public void setUp() throws IOException
+  {
+    model = new BenchmarkModel();
+    file = File.createTempFile("benchmark", ".bin");
+    resource = new BinaryResourceImpl(URI.createFileURI(file.getAbsolutePath()));
+    model.createResourceSet().getResources().add(resource);
+    resource.setTrackingModification(true);
+    for (int i = 0; i < roots; ++i)
+    {
+      resource.getContents().add(model.createTree(MODEL_SIZE / roots));
+    }
+    random = new Random(BenchmarkModel.SEED);
+
+    fullSaveOptions = new HashMap<Object, Object>();
+    fullSaveOptions.put(BinaryResourceImpl.OPTION_VERSION, BinaryResourceImpl.BinaryIO.Version.VERSION_1_2);
+    incrementalSaveOptions = new HashMap<Object, Object>(fullSaveOptions);
+    incrementalSaveOptions.put(BinaryResourceImpl.OPTION_INCREMENTAL_SAVE, Boolean.TRUE);
+    resource.save(incrementalSaveOptions);
+  }
+
+  @TearDown
+  public void tearDown()
+  {
+    file.delete();
+  }
+
+  private void makeChange()
+  {
+    List<EObject> contents = resource.getContents();
+    contents.get(random.nextInt(contents.size())).eSet(model.value, random.nextInt());
+  }
+
+  @Benchmark
+  public Resource fullSave() throws IOException
+  {
+    makeChange();
+    resource.save(fullSaveOptions);
+    return resource;
+  }
+
+  @Benchmark
+  public Resource incrementalSave() throws IOException
+  {
+    makeChange();
+    resource.save(incrementalSaveOptions);
+    return resource;
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.util.InterningSet;
+import org.eclipse.emf.common.util.Pool;
+import org.eclipse.emf.common.util.URI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures pool misses, i.e., interning values that aren't yet in the pool, from the given number of threads at once.
+ * Each thread interns a batch of distinct strings shaped like platform resource URIs,
+ * either in a {@link Pool} or in the {@link BaselinePool copy} of the pool as it was before additions were striped.
+ * {@link URI#createURI(String)} is measured in the same way, because each miss adds an entry to the URI pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolBenchmark
+{
+  private static final int BATCH_SIZE = 10000;
+
+  @Param({ "1", "2", "4", "8", "16", "32", "64" })
+  public int threads;
+
+  private ExecutorService executorService;
+
+  private final AtomicLong counter = new AtomicLong();
+
+  /**
+   * The pool in which {@link PoolBenchmark#intern(PoolState) strings are interned}.
+   */
+  @State(Scope.Benchmark)
+  public static class PoolState
+  {
+    @Param({ "current", "baseline" })
+    public String pool;
+
+    private InterningSet<String> interningSet;
+
+    @Setup
+    public void setUp()
+    {
+      interningSet = "baseline".equals(pool) ? new BaselinePool<String>() : new Pool<String>();
+    }
+  }
+
+  @Setup
+  public void setUp()
+  {
+    executorService = Executors.newFixedThreadPool(threads);
+  }
+
+  @TearDown
+  public void tearDown()
+  {
+    executorService.shutdown();
+  }
+
+  /**
+   * Runs the task on each thread and waits for all of them to finish.
+   */
+  private int run(Callable<Integer> task) throws Exception
+  {
+    List<Future<Integer>> futures = new ArrayList<Future<Integer>>(threads);
+    for (int i = 0; i < threads; ++i)
+    {
+      futures.add(executorService.submit(task));
+    }
+    int result = 0;
+    for (Future<Integer> future : futures)
+    {
+      result += future.get();
+    }
+    return result;
+  }
+
+  private String createString(long i)
+  {
+    return "platform:/resource/project" + (i % 10) + "/folder" + (i % 100) + "/model" + i + ".xmi";
+  }
+
+  @Benchmark
+  public int intern(PoolState poolState) throws Exception
+  {
+    final InterningSet<String> interningSet = poolState.interningSet;
+    return
+      run
+        (new Callable<Integer>()
+         {
+           public Integer call()
+           {
+             long start = counter.getAndAdd(BATCH_SIZE);
+             int result = 0;
+             for (long i = start, end = start + BATCH_SIZE; i < end; ++i)
+             {
+               result += interningSet.intern(createString(i)).length();
+             }
+             return result;
+           }
+         });
+  }
+
+  @Benchmark
+  public int createURI() throws Exception
+  {
+    return
+      run
+        (new Callable<Integer>()
+         {
+           public Integer call()
+           {
+             long start = counter.getAndAdd(BATCH_SIZE);
+             int result = 0;
+             for (long i = start, end = start + BATCH_SIZE; i < end; ++i)
+             {
+               result += URI.createURI(createString(i)).segmentCount();
+             }
+             return result;
+           }
+         });
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures the reflective {@link EObject#eGet(EStructuralFeature) eGet} and {@link EObject#eSet(EStructuralFeature, Object) eSet}
+ * on every object of a dynamic model and on every named element of a generated model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectiveAccessBenchmark
+{
+  @Param({ "1000", "10000", "100000" })
+  public int size;
+
+  private BenchmarkModel model;
+
+  private EObject[] dynamicObjects;
+
+  private EObject[] generatedObjects;
+
+  private static EObject[] toArray(TreeIterator<EObject> iterator, EClass eClass)
+  {
+    List<EObject> result = new ArrayList<EObject>();
+    while (iterator.hasNext())
+    {
+      EObject eObject = iterator.next();
+      if (eClass.isInstance(eObject))
+      {
+        result.add(eObject);
+      }
+    }
+    return result.toArray(new EObject [result.size()]);
+  }
+
+  @Setup
+  public void setUp()
+  {
+    model = new BenchmarkModel();
+    EObject root = model.createTree(size);
+    dynamicObjects = toArray(root.eAllContents(), model.nodeClass);
+
+    EPackage ePackage = BenchmarkModel.createGeneratedModel(size);
+    generatedObjects = toArray(ePackage.eAllContents(), EcorePackage.Literals.ENAMED_ELEMENT);
+  }
+
+  @Benchmark
+  public void dynamicGet(Blackhole blackhole)
+  {
+    for (EObject eObject : dynamicObjects)
+    {
+      blackhole.consume(eObject.eGet(model.name));
+      blackhole.consume(eObject.eGet(model.value));
+      blackhole.consume(eObject.eGet(model.target));
+      blackhole.consume(eObject.eGet(model.children));
+    }
+  }
+
+  @Benchmark
+  public void dynamicSet()
+  {
+    for (EObject eObject : dynamicObjects)
+    {
+      eObject.eSet(model.value, eObject.eGet(model.value));
+      eObject.eSet(model.target, eObject.eGet(model.target));
+    }
+  }
+
+  @Benchmark
+  public void generatedGet(Blackhole blackhole)
+  {
+    for (EObject eObject : generatedObjects)
+    {
+      blackhole.consume(eObject.eGet(EcorePackage.Literals.ENAMED_ELEMENT__NAME));
+      blackhole.consume(eObject.eGet(EcorePackage.Literals.EMODEL_ELEMENT__EANNOTATIONS));
+    }
+  }
+
+  @Benchmark
+  public void generatedSet()
+  {
+    for (EObject eObject : generatedObjects)
+    {
+      eObject.eSet(EcorePackage.Literals.ENAMED_ELEMENT__NAME, eObject.eGet(EcorePackage.Literals.ENAMED_ELEMENT__NAME));
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures loading and saving a dynamic model as XMI and in the binary format,
+ * to and from memory so that no file system time is measured.
+ * The binary format saves a referenced object where it's first referenced,
+ * so the random references of the model make for deep recursion that needs a large stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class ResourceBenchmark
+{
+  @Param({ "1000", "10000", "100000" })
+  public int size;
+
+  private BenchmarkModel model;
+
+  private Resource xmiResource;
+
+  private Resource binaryResource;
+
+  private byte[] xmiBytes;
+
+  private byte[] binaryBytes;
+
+  @Setup
+  public void setUp() throws IOException
+  {
+    model = new BenchmarkModel();
+    ResourceSet resourceSet = model.createResourceSet();
+    EObject root = model.createTree(size);
+
+    xmiResource = createXMIResource(resourceSet);
+    xmiResource.getContents().add(root);
+    xmiBytes = save(xmiResource);
+
+    binaryResource = createBinaryResource(resourceSet);
+    binaryResource.getContents().add(load(createXMIResource(model.createResourceSet()), xmiBytes).getContents().get(0));
+    binaryBytes = save(binaryResource);
+  }
+
+  private static Resource createXMIResource(ResourceSet resourceSet)
+  {
+    Resource resource = new XMIResourceImpl(BenchmarkModel.createURI("xmi"));
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  private static Resource createBinaryResource(ResourceSet resourceSet)
+  {
+    Resource resource = new BinaryResourceImpl(BenchmarkModel.createURI("bin"));
+    resourceSet.getResources().add(resource);
+    return resource;
+  }
+
+  private static byte[] save(Resource resource) throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    return outputStream.toByteArray();
+  }
+
+  private static Resource load(Resource resource, byte[] bytes) throws IOException
+  {
+    resource.load(new ByteArrayInputStream(bytes), null);
+    return resource;
+  }
+
+  @Benchmark
+  public byte[] xmiSave() throws IOException
+  {
+    return save(xmiResource);
+  }
+
+  @Benchmark
+  public Resource xmiLoad() throws IOException
+  {
+    return load(createXMIResource(model.createResourceSet()), xmiBytes);
+  }
+
+  @Benchmark
+  public byte[] binarySave() throws IOException
+  {
+    return save(binaryResource);
+  }
+
+  @Benchmark
+  public Resource binaryLoad() throws IOException
+  {
+    return load(createBinaryResource(model.createResourceSet()), binaryBytes);
+  }
+}
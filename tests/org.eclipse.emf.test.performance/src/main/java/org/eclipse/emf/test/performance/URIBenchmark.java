@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.performance;
+
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures {@link URI#createURI(String)} and {@link URI#resolve(URI)} over a batch of distinct URIs,
+ * so that larger batches also measure the effect of the URI pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class URIBenchmark
+{
+  @Param({ "1000", "10000", "100000" })
+  public int size;
+
+  private String[] strings;
+
+  private URI[] relativeURIs;
+
+  private URI baseURI;
+
+  @Setup
+  public void setUp()
+  {
+    Random random = new Random(BenchmarkModel.SEED);
+    strings = new String [size];
+    relativeURIs = new URI [size];
+    for (int i = 0; i < size; ++i)
+    {
+      String path = "folder" + random.nextInt(100) + "/model" + i + ".xmi";
+      strings[i] = "platform:/resource/project" + random.nextInt(10) + "/" + path + "#//@contents." + random.nextInt(10);
+      relativeURIs[i] = URI.createURI("../" + path);
+    }
+    baseURI = URI.createURI("platform:/resource/project/models/base.xmi");
+  }
+
+  @Benchmark
+  public void createURI(Blackhole blackhole)
+  {
+    for (String string : strings)
+    {
+      blackhole.consume(URI.createURI(string));
+    }
+  }
+
+  @Benchmark
+  public void resolve(Blackhole blackhole)
+  {
+    for (URI relativeURI : relativeURIs)
+    {
+      blackhole.consume(relativeURI.resolve(baseURI));
+    }
+  }
+
+  @Benchmark
+  public void deresolve(Blackhole blackhole)
+  {
+    for (URI relativeURI : relativeURIs)
+    {
+      blackhole.consume(relativeURI.resolve(baseURI).deresolve(baseURI));
+    }
+  }
+}
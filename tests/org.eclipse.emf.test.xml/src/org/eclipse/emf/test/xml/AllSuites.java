@@ -26,6 +26,12 @@ import org.eclipse.emf.test.xml.xmi.QNameTest;
 import org.eclipse.emf.test.xml.xmi.URIHandlerTest;
 import org.eclipse.emf.test.xml.xmi.UnloadXMIResourceTest;
 import org.eclipse.emf.test.xml.xmi.XMIExtendedMetadataTest;
+import org.eclipse.emf.test.xml.xmi.XMIResourceByteParserTest;
+import org.eclipse.emf.test.xml.xmi.XMIResourceParallelLoadTest;
+import org.eclipse.emf.test.xml.xmi.XMLParserPoolTest;
+import org.eclipse.emf.test.xml.xmi.XMIResourceIncrementalLoadTest;
+import org.eclipse.emf.test.xml.xmi.XMIResourceIncrementalSaveTest;
+import org.eclipse.emf.test.xml.xmi.XMIResourceStreamingSaveTest;
 import org.eclipse.emf.test.xml.xmi.XMIResourceURIFragmentsTest;
 import org.eclipse.emf.test.xml.xsd.XSDFeatureTypeTest;
 import org.eclipse.emf.test.xml.xsdecore.Ecore2XSDTest;
@@ -61,6 +67,12 @@ import org.junit.runners.Suite;
     UnloadXMIResourceTest.class,
     URIHandlerTest.class,
     XMIExtendedMetadataTest.class,
+    XMIResourceByteParserTest.class,
+    XMIResourceParallelLoadTest.class,
+    XMLParserPoolTest.class,
+    XMIResourceIncrementalLoadTest.class,
+    XMIResourceIncrementalSaveTest.class,
+    XMIResourceStreamingSaveTest.class,
     XMIResourceURIFragmentsTest.class,
 
     XSDFeatureTypeTest.class,
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMIException;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLByteParser;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link XMLResource#OPTION_USE_BYTE_PARSER} by comparing what it loads with what the SAX parser loads.
+ */
+public class XMIResourceByteParserTest
+{
+  private EPackage basePackage;
+  private EPackage extensionPackage;
+  private EClass nodeClass;
+  private EClass specialNodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    basePackage = ecoreFactory.createEPackage();
+    basePackage.setName("base");
+    basePackage.setNsURI("http://www.eclipse.org/emf/test/byteParser/base");
+    basePackage.setNsPrefix("base");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    basePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = ecoreFactory.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    extensionPackage = ecoreFactory.createEPackage();
+    extensionPackage.setName("extension");
+    extensionPackage.setNsURI("http://www.eclipse.org/emf/test/byteParser/extension");
+    extensionPackage.setNsPrefix("extension");
+
+    specialNodeClass = ecoreFactory.createEClass();
+    specialNodeClass.setName("SpecialNode");
+    specialNodeClass.getESuperTypes().add(nodeClass);
+    extensionPackage.getEClassifiers().add(specialNodeClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<EObject> getChildren(EObject node)
+  {
+    return (List<EObject>)node.eGet(children);
+  }
+
+  private ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(basePackage.getNsURI(), basePackage);
+    resourceSet.getPackageRegistry().put(extensionPackage.getNsURI(), extensionPackage);
+    return resourceSet;
+  }
+
+  private byte[] save(Resource resource, Map<?, ?> options) throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, options);
+    return outputStream.toByteArray();
+  }
+
+  private Resource load(byte[] bytes, Map<?, ?> options) throws IOException
+  {
+    Resource resource = new XMIResourceImpl(URI.createURI("memory:/byteParser.xmi"));
+    createResourceSet().getResources().add(resource);
+    resource.load(new ByteArrayInputStream(bytes), options);
+    return resource;
+  }
+
+  private void assertSameLoad(byte[] bytes, Map<Object, Object> options) throws IOException
+  {
+    Resource expectedResource = load(bytes, options);
+    Map<Object, Object> byteParserOptions = new HashMap<Object, Object>(options);
+    byteParserOptions.put(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE);
+    Resource resource = load(bytes, byteParserOptions);
+    assertTrue(resource.getErrors().isEmpty());
+    assertEquals(expectedResource.getContents().size(), resource.getContents().size());
+    assertTrue(EcoreUtil.equals(expectedResource.getContents(), resource.getContents()));
+    assertEquals(((XMLResource)expectedResource).getEncoding(), ((XMLResource)resource).getEncoding());
+  }
+
+  @Test
+  public void testSavedModel() throws Exception
+  {
+    Resource resource = new XMIResourceImpl(URI.createURI("memory:/byteParser.xmi"));
+    createResourceSet().getResources().add(resource);
+    EObject root = EcoreUtil.create(nodeClass);
+    root.eSet(name, "<root> & \"quoted\" 'names'\twith\r\nline ends, \u00e9t\u00e9, \u4e2d\u6587, and \uD83D\uDE00");
+    resource.getContents().add(root);
+    EObject previous = root;
+    for (int i = 0; i < 100; ++i)
+    {
+      EObject child = EcoreUtil.create(i % 10 == 0 ? specialNodeClass : nodeClass);
+      child.eSet(name, "child " + i);
+      child.eSet(target, previous);
+      getChildren(previous).add(child);
+      previous = child;
+    }
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    byte[] bytes = save(resource, null);
+    assertSameLoad(bytes, options);
+
+    Resource loadedResource = load(bytes, Collections.singletonMap(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE));
+    assertTrue(EcoreUtil.equals(resource.getContents(), loadedResource.getContents()));
+
+    // A parser pool implies a namespace aware parser.
+    //
+    options.put(XMLResource.OPTION_USE_PARSER_POOL, new XMLParserPoolImpl());
+    assertSameLoad(bytes, options);
+    options.put(XMLResource.OPTION_USE_DEPRECATED_METHODS, Boolean.FALSE);
+    assertSameLoad(bytes, options);
+
+    Map<Object, Object> saveOptions = new HashMap<Object, Object>();
+    saveOptions.put(XMLResource.OPTION_ENCODING, "ISO-8859-1");
+    resource.getContents().add(EcoreUtil.create(nodeClass));
+    ((EObject)resource.getContents().get(1)).eSet(name, "caf\u00e9");
+    assertSameLoad(save(resource, saveOptions), new HashMap<Object, Object>());
+
+    // A document in UTF-16 is loaded by the SAX parser.
+    //
+    saveOptions.put(XMLResource.OPTION_ENCODING, "UTF-16");
+    bytes = save(resource, saveOptions);
+    assertFalse(new XMLByteParser(ByteBuffer.wrap(bytes), false).isSupported());
+    assertSameLoad(bytes, new HashMap<Object, Object>());
+  }
+
+  @Test
+  public void testEcoreModel() throws Exception
+  {
+    Resource resource = new XMIResourceImpl(URI.createURI("memory:/byteParser.ecore"));
+    resource.getContents().add(EcoreUtil.copy(EcorePackage.eINSTANCE));
+    byte[] bytes = save(resource, null);
+
+    Resource expectedResource = new XMIResourceImpl(resource.getURI());
+    expectedResource.load(new ByteArrayInputStream(bytes), null);
+    Resource loadedResource = new XMIResourceImpl(resource.getURI());
+    loadedResource.load(new ByteArrayInputStream(bytes), Collections.singletonMap(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE));
+    assertTrue(EcoreUtil.equals(expectedResource.getContents(), loadedResource.getContents()));
+    assertTrue(EcoreUtil.equals(resource.getContents(), loadedResource.getContents()));
+  }
+
+  @Test
+  public void testMarkup() throws Exception
+  {
+    String document =
+      "\uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n" +
+      "<!-- A comment before the root -->\r\n" +
+      "<?processing instruction?>\r\n" +
+      "<base:Node xmi:version='2.0' xmlns:xmi='http://www.omg.org/XMI' xmlns:base='" + basePackage.getNsURI() + "' name = 'r&#x6f;&#111;t&#10;&#x1F600;'>\r\n" +
+      "  <!-- A comment -->\r\n" +
+      "  <children>\r\n" +
+      "    <name><![CDATA[<cdata> & text]]> &amp; more</name>\r\n" +
+      "  </children>\r\n" +
+      "  <children xmlns:ext='" + extensionPackage.getNsURI() + "' xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance' xsi:type='ext:SpecialNode' name=\"multiple\r\nline\tname\"/>\r\n" +
+      "</base:Node>\r\n" +
+      "<!-- A comment after the root -->";
+    byte[] bytes = document.getBytes("UTF-8");
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    assertSameLoad(bytes, options);
+    options.put(XMLResource.OPTION_USE_LEXICAL_HANDLER, Boolean.TRUE);
+    assertSameLoad(bytes, options);
+    options.put(XMLResource.OPTION_USE_PARSER_POOL, new XMLParserPoolImpl());
+    assertSameLoad(bytes, options);
+
+    Resource resource = load(bytes, Collections.singletonMap(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE));
+    EObject root = resource.getContents().get(0);
+    assertEquals("root\n\uD83D\uDE00", root.eGet(name));
+    assertEquals("<cdata> & text & more", getChildren(root).get(0).eGet(name));
+    assertEquals(specialNodeClass, getChildren(root).get(1).eClass());
+    assertEquals("multiple line name", getChildren(root).get(1).eGet(name));
+  }
+
+  @Test
+  public void testMalformedDocument() throws Exception
+  {
+    String[] documents =
+      {
+        "<base:Node xmlns:base='" + basePackage.getNsURI() + "'>\n<children>\n</base:Node>",
+        "<base:Node xmlns:base='" + basePackage.getNsURI() + "' name='&unknown;'/>",
+        "<base:Node xmlns:base='" + basePackage.getNsURI() + "' name='a' name='b'/>",
+        "<base:Node xmlns:base='" + basePackage.getNsURI() + "'/><base:Node/>",
+        "<base:Node xmlns:base='" + basePackage.getNsURI() + "' name='unterminated/>",
+      };
+    for (String document : documents)
+    {
+      try
+      {
+        load(document.getBytes("UTF-8"), Collections.singletonMap(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE));
+        fail("Expecting an IOException for " + document);
+      }
+      catch (IOException exception)
+      {
+        // Expected.
+      }
+    }
+
+    Resource resource = new XMIResourceImpl(URI.createURI("memory:/byteParser.xmi"));
+    createResourceSet().getResources().add(resource);
+    try
+    {
+      resource.load(new ByteArrayInputStream(documents[0].getBytes("UTF-8")), Collections.singletonMap(XMLResource.OPTION_USE_BYTE_PARSER, Boolean.TRUE));
+      fail("Expecting an IOException");
+    }
+    catch (IOException exception)
+    {
+      XMIException xmiException = (XMIException)resource.getErrors().get(0);
+      assertEquals(3, xmiException.getLine());
+    }
+  }
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLLoad;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link XMIResourceImpl#loadIncrementally(java.io.InputStream, java.util.Map, int)}.
+ */
+public class XMIResourceIncrementalLoadTest
+{
+  private static final URI RESOURCE_URI = URI.createURI("memory:/incremental.xmi");
+
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("incremental");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/incremental");
+    ePackage.setNsPrefix("incremental");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = ecoreFactory.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    EPackage.Registry.INSTANCE.put(ePackage.getNsURI(), ePackage);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    EPackage.Registry.INSTANCE.remove(ePackage.getNsURI());
+  }
+
+  private EObject createNode(String value, int childCount)
+  {
+    EObject node = EcoreUtil.create(nodeClass);
+    node.eSet(name, value);
+    @SuppressWarnings("unchecked")
+    List<EObject> nodes = (List<EObject>)node.eGet(children);
+    for (int i = 0; i < childCount; ++i)
+    {
+      nodes.add(createNode(value + "." + i, 0));
+    }
+    return node;
+  }
+
+  private EObject getChild(EObject node, int index)
+  {
+    return (EObject)((List<?>)node.eGet(children)).get(index);
+  }
+
+  private byte[] save(XMIResourceImpl resource) throws Exception
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    return outputStream.toByteArray();
+  }
+
+  @Test
+  public void testLoadRootsIncrementally() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(RESOURCE_URI);
+    for (int i = 0; i < 5; ++i)
+    {
+      EObject root = createNode("root" + i, 2);
+      resource.getContents().add(root);
+      resource.setID(root, "r" + i);
+    }
+    for (int i = 0; i < 5; ++i)
+    {
+      resource.getContents().get(i).eSet(target, resource.getContents().get((i + 1) % 5));
+    }
+    getChild(resource.getContents().get(2), 0).eSet(target, resource.getContents().get(2));
+    byte[] bytes = save(resource);
+
+    XMIResourceImpl incrementalResource = new XMIResourceImpl(RESOURCE_URI);
+    Iterator<EObject> iterator = incrementalResource.loadIncrementally(new ByteArrayInputStream(bytes), null, 0);
+    assertTrue(incrementalResource.isLoaded());
+    assertFalse(incrementalResource.isLoading());
+
+    List<EObject> roots = new ArrayList<EObject>();
+    while (iterator.hasNext())
+    {
+      EObject root = iterator.next();
+      int index = roots.size();
+      roots.add(root);
+
+      // The object is completely loaded and still in the resource, which holds nothing else.
+      //
+      assertEquals("root" + index, root.eGet(name));
+      assertEquals(2, ((List<?>)root.eGet(children)).size());
+      assertEquals("root" + index + ".1", getChild(root, 1).eGet(name));
+      assertSame(incrementalResource, root.eResource());
+      assertEquals(1, incrementalResource.getContents().size());
+      assertEquals("r" + index, incrementalResource.getID(root));
+
+      // References to the following root, or to the already released first root, are proxies.
+      //
+      InternalEObject next = (InternalEObject)root.eGet(target, false);
+      assertTrue(next.eIsProxy());
+      assertEquals(RESOURCE_URI.appendFragment("r" + (index + 1) % 5), next.eProxyURI());
+    }
+    assertEquals(5, roots.size());
+
+    // A backward reference within the same tree is resolved.
+    //
+    assertSame(roots.get(2), getChild(roots.get(2), 0).eGet(target, false));
+
+    // All the objects have been released.
+    //
+    assertTrue(incrementalResource.getContents().isEmpty());
+    for (EObject root : roots)
+    {
+      assertNull(root.eResource());
+    }
+    assertNull(incrementalResource.getEObject("r4"));
+    assertTrue(incrementalResource.getErrors().isEmpty());
+    assertFalse(incrementalResource.isModified());
+  }
+
+  @Test
+  public void testLoadChildrenIncrementally() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(RESOURCE_URI);
+    EObject root = createNode("root", 4);
+    resource.getContents().add(root);
+    EObject child0 = getChild(root, 0);
+    child0.eSet(children, createNode("child", 2).eGet(children));
+    getChild(child0, 0).eSet(target, getChild(child0, 1));
+    getChild(root, 1).eSet(target, child0);
+    getChild(root, 2).eSet(target, getChild(root, 3));
+    root.eSet(target, getChild(root, 3));
+    byte[] bytes = save(resource);
+
+    XMIResourceImpl incrementalResource = new XMIResourceImpl(RESOURCE_URI);
+    Iterator<EObject> iterator = incrementalResource.loadIncrementally(new ByteArrayInputStream(bytes), null, 1);
+    List<EObject> nodes = new ArrayList<EObject>();
+    while (iterator.hasNext())
+    {
+      EObject node = iterator.next();
+      assertEquals("root." + nodes.size(), node.eGet(name));
+      EObject container = node.eContainer();
+      assertEquals("root", container.eGet(name));
+      assertEquals(1, ((List<?>)container.eGet(children)).size());
+      nodes.add(node);
+    }
+    assertEquals(4, nodes.size());
+
+    // A forward reference within the same tree is resolved.
+    //
+    EObject loadedChild0 = nodes.get(0);
+    assertSame(getChild(loadedChild0, 1), getChild(loadedChild0, 0).eGet(target, false));
+
+    // Path references outside the tree are proxies, because released objects no longer occupy their positions.
+    //
+    InternalEObject proxy = (InternalEObject)nodes.get(1).eGet(target, false);
+    assertTrue(proxy.eIsProxy());
+    assertEquals(RESOURCE_URI.appendFragment("//@children.0"), proxy.eProxyURI());
+    proxy = (InternalEObject)nodes.get(2).eGet(target, false);
+    assertTrue(proxy.eIsProxy());
+    assertEquals(RESOURCE_URI.appendFragment("//@children.3"), proxy.eProxyURI());
+
+    // The root remains, without its released children, and its reference, which comes at the end of the document, is a proxy.
+    //
+    assertEquals(1, incrementalResource.getContents().size());
+    EObject loadedRoot = incrementalResource.getContents().get(0);
+    assertTrue(((List<?>)loadedRoot.eGet(children)).isEmpty());
+    assertTrue(((EObject)loadedRoot.eGet(target, false)).eIsProxy());
+    assertTrue(incrementalResource.getErrors().isEmpty());
+  }
+
+  @Test
+  public void testLoadIncrementallyWithSpecializedXMLLoad() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(RESOURCE_URI);
+    resource.getContents().add(createNode("root", 2));
+    byte[] bytes = save(resource);
+
+    // A resource whose XML load isn't an XMLLoadImpl can't load incrementally, but still loads normally.
+    //
+    XMIResourceImpl specializedResource =
+      new XMIResourceImpl(RESOURCE_URI)
+      {
+        @Override
+        protected XMLLoad createXMLLoad(Map<?, ?> options)
+        {
+          final XMLLoad xmlLoad = super.createXMLLoad(options);
+          return
+            (XMLLoad)Proxy.newProxyInstance
+              (XMLLoad.class.getClassLoader(),
+               new Class<?> [] { XMLLoad.class },
+               new InvocationHandler()
+               {
+                 public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+                 {
+                   return method.invoke(xmlLoad, args);
+                 }
+               });
+        }
+      };
+    try
+    {
+      specializedResource.loadIncrementally(new ByteArrayInputStream(bytes), null, 0);
+      fail("Expecting UnsupportedOperationException");
+    }
+    catch (UnsupportedOperationException exception)
+    {
+      // Expected.
+    }
+    assertFalse(specializedResource.isLoaded());
+    assertTrue(specializedResource.getContents().isEmpty());
+
+    specializedResource.load(new ByteArrayInputStream(bytes), null);
+    assertTrue(EcoreUtil.equals(resource.getContents(), specializedResource.getContents()));
+  }
+}
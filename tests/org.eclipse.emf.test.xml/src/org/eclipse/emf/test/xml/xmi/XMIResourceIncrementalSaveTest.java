@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLSave;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link XMIResourceImpl#saveIncrementally(java.io.OutputStream, java.util.Map, Iterator)}.
+ */
+public class XMIResourceIncrementalSaveTest
+{
+  private static final URI RESOURCE_URI = URI.createURI("memory:/incremental.xmi");
+
+  private EPackage ePackage;
+  private EClass nodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    ePackage = ecoreFactory.createEPackage();
+    ePackage.setName("incremental");
+    ePackage.setNsURI("http://www.eclipse.org/emf/test/incremental");
+    ePackage.setNsPrefix("incremental");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    ePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    name.setID(true);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = ecoreFactory.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    EPackage.Registry.INSTANCE.put(ePackage.getNsURI(), ePackage);
+  }
+
+  @After
+  public void tearDown() throws Exception
+  {
+    EPackage.Registry.INSTANCE.remove(ePackage.getNsURI());
+  }
+
+  private EObject getChild(EObject node, int index)
+  {
+    return (EObject)((List<?>)node.eGet(children)).get(index);
+  }
+
+  /**
+   * Creates each root on demand, with a child that references its sibling, and with a reference to the previous root,
+   * and records the roots it has created.
+   */
+  private class NodeProducer implements Iterator<EObject>
+  {
+    private final int count;
+    private final List<EObject> produced = new ArrayList<EObject>();
+
+    NodeProducer(int count)
+    {
+      this.count = count;
+    }
+
+    public boolean hasNext()
+    {
+      return produced.size() < count;
+    }
+
+    public EObject next()
+    {
+      if (!hasNext())
+      {
+        throw new NoSuchElementException();
+      }
+
+      int index = produced.size();
+
+      // The previously produced root has been written and removed from the resource.
+      //
+      if (index > 0)
+      {
+        assertNull(produced.get(index - 1).eResource());
+      }
+
+      EObject root = EcoreUtil.create(nodeClass);
+      root.eSet(name, "root" + index);
+      @SuppressWarnings("unchecked")
+      List<EObject> nodes = (List<EObject>)root.eGet(children);
+      for (int i = 0; i < 2; ++i)
+      {
+        EObject child = EcoreUtil.create(nodeClass);
+        nodes.add(child);
+      }
+      nodes.get(0).eSet(target, nodes.get(1));
+      if (index > 0)
+      {
+        root.eSet(target, produced.get(index - 1));
+      }
+      produced.add(root);
+      return root;
+    }
+
+    public void remove()
+    {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Test
+  public void testSaveIncrementally() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(RESOURCE_URI);
+    NodeProducer producer = new NodeProducer(4);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.saveIncrementally(outputStream, null, producer);
+
+    assertEquals(4, producer.produced.size());
+    assertTrue(resource.getContents().isEmpty());
+    for (EObject root : producer.produced)
+    {
+      assertNull(root.eResource());
+    }
+    assertTrue(resource.getErrors().isEmpty());
+    assertFalse(resource.isModified());
+
+    XMIResourceImpl loadedResource = new XMIResourceImpl(RESOURCE_URI);
+    loadedResource.load(new ByteArrayInputStream(outputStream.toByteArray()), null);
+    assertTrue(loadedResource.getErrors().isEmpty());
+    assertEquals(4, loadedResource.getContents().size());
+    for (int i = 0; i < 4; ++i)
+    {
+      EObject root = loadedResource.getContents().get(i);
+      assertEquals("root" + i, root.eGet(name));
+      assertEquals(2, ((List<?>)root.eGet(children)).size());
+
+      // The path reference within each tree denotes the sibling in that same tree.
+      //
+      assertSame(getChild(root, 1), getChild(root, 0).eGet(target));
+
+      // The reference to the previous root, which had already been written, is saved by ID.
+      //
+      assertSame(i == 0 ? null : loadedResource.getContents().get(i - 1), root.eGet(target));
+    }
+  }
+
+  @Test
+  public void testSaveIncrementallyEmpty() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(RESOURCE_URI);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.saveIncrementally(outputStream, null, new NodeProducer(0));
+
+    XMIResourceImpl loadedResource = new XMIResourceImpl(RESOURCE_URI);
+    loadedResource.load(new ByteArrayInputStream(outputStream.toByteArray()), null);
+    assertTrue(loadedResource.getErrors().isEmpty());
+    assertTrue(loadedResource.getContents().isEmpty());
+  }
+
+  @Test
+  public void testSaveAndLoadIncrementally() throws Exception
+  {
+    XMIResourceImpl resource = new XMIResourceImpl(RESOURCE_URI);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.saveIncrementally(outputStream, null, new NodeProducer(3));
+
+    XMIResourceImpl incrementalResource = new XMIResourceImpl(RESOURCE_URI);
+    Iterator<EObject> iterator = incrementalResource.loadIncrementally(new ByteArrayInputStream(outputStream.toByteArray()), null, 0);
+    int count = 0;
+    while (iterator.hasNext())
+    {
+      EObject root = iterator.next();
+      assertEquals("root" + count++, root.eGet(name));
+      assertSame(getChild(root, 1), getChild(root, 0).eGet(target));
+    }
+    assertEquals(3, count);
+    assertTrue(incrementalResource.getErrors().isEmpty());
+  }
+
+  @Test
+  public void testSaveIncrementallyWithSpecializedXMLSave() throws Exception
+  {
+    // A resource whose XML save isn't an XMLSaveImpl can't save incrementally.
+    //
+    XMIResourceImpl resource =
+      new XMIResourceImpl(RESOURCE_URI)
+      {
+        @Override
+        protected XMLSave createXMLSave(Map<?, ?> options)
+        {
+          final XMLSave xmlSave = super.createXMLSave(options);
+          return
+            (XMLSave)Proxy.newProxyInstance
+              (XMLSave.class.getClassLoader(),
+               new Class<?> [] { XMLSave.class },
+               new InvocationHandler()
+               {
+                 public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+                 {
+                   return method.invoke(xmlSave, args);
+                 }
+               });
+        }
+      };
+    NodeProducer producer = new NodeProducer(2);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try
+    {
+      resource.saveIncrementally(outputStream, null, producer);
+      fail("Expecting UnsupportedOperationException");
+    }
+    catch (UnsupportedOperationException exception)
+    {
+      // Expected.
+    }
+    assertTrue(producer.produced.isEmpty());
+    assertTrue(resource.getContents().isEmpty());
+    assertEquals(0, outputStream.size());
+  }
+}
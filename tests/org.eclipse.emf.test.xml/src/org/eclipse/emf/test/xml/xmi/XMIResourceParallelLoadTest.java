@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.UnresolvedReferenceException;
+import org.eclipse.emf.ecore.xmi.XMLLoad;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMILoadImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link XMLResource#OPTION_PARALLEL_LOAD} by comparing what it loads with what a sequential load loads.
+ */
+public class XMIResourceParallelLoadTest
+{
+  /**
+   * A resource that records whether it was loaded in parts, rather than sequentially.
+   */
+  private static class TrackingResource extends XMIResourceImpl
+  {
+    boolean isLoadedInParallel;
+
+    TrackingResource(URI uri)
+    {
+      super(uri);
+    }
+
+    @Override
+    protected XMLLoad createXMLLoad(Map<?, ?> options)
+    {
+      return
+        new XMILoadImpl(createXMLHelper())
+        {
+          @Override
+          protected void loadInParallel(ByteBuffer buffer, int parallelism, Executor executor) throws IOException
+          {
+            isLoadedInParallel = true;
+            super.loadInParallel(buffer, parallelism, executor);
+          }
+
+          @Override
+          public void load(XMLResource resource, ByteBuffer buffer, Map<?, ?> options) throws IOException
+          {
+            isLoadedInParallel = false;
+            super.load(resource, buffer, options);
+          }
+        };
+    }
+  }
+
+  private EPackage basePackage;
+  private EPackage extensionPackage;
+  private EClass nodeClass;
+  private EClass specialNodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+  private EReference references;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    basePackage = ecoreFactory.createEPackage();
+    basePackage.setName("base");
+    basePackage.setNsURI("http://www.eclipse.org/emf/test/parallelLoad/base");
+    basePackage.setNsPrefix("base");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    basePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = ecoreFactory.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    references = ecoreFactory.createEReference();
+    references.setName("references");
+    references.setEType(nodeClass);
+    references.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(references);
+
+    extensionPackage = ecoreFactory.createEPackage();
+    extensionPackage.setName("extension");
+    extensionPackage.setNsURI("http://www.eclipse.org/emf/test/parallelLoad/extension");
+    extensionPackage.setNsPrefix("extension");
+
+    specialNodeClass = ecoreFactory.createEClass();
+    specialNodeClass.setName("SpecialNode");
+    specialNodeClass.getESuperTypes().add(nodeClass);
+    extensionPackage.getEClassifiers().add(specialNodeClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<EObject> getChildren(EObject node)
+  {
+    return (List<EObject>)node.eGet(children);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<EObject> getReferences(EObject node)
+  {
+    return (List<EObject>)node.eGet(references);
+  }
+
+  private ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(basePackage.getNsURI(), basePackage);
+    resourceSet.getPackageRegistry().put(extensionPackage.getNsURI(), extensionPackage);
+    resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put
+      ("xmi",
+       new ResourceFactoryImpl()
+       {
+         @Override
+         public Resource createResource(URI uri)
+         {
+           return new TrackingResource(uri);
+         }
+       });
+    return resourceSet;
+  }
+
+  /**
+   * Creates a root with many children, each with grandchildren that reference objects in other subtrees, before and after them.
+   */
+  private EObject createTree(String rootName, int childCount)
+  {
+    EObject root = EcoreUtil.create(nodeClass);
+    root.eSet(name, rootName);
+    EObject previous = root;
+    for (int i = 0; i < childCount; ++i)
+    {
+      EObject child = EcoreUtil.create(i % 7 == 0 ? specialNodeClass : nodeClass);
+      child.eSet(name, rootName + i);
+      getChildren(root).add(child);
+      for (int j = 0; j < 5; ++j)
+      {
+        EObject grandchild = EcoreUtil.create(nodeClass);
+        grandchild.eSet(name, rootName + i + "." + j);
+        grandchild.eSet(target, previous);
+        getChildren(child).add(grandchild);
+        previous = grandchild;
+      }
+      getReferences(previous).add(root);
+    }
+    root.eSet(target, previous);
+    getReferences(root).add(previous);
+    getReferences(root).add(getChildren(root).get(0));
+    getReferences(getChildren(root).get(0)).add(previous);
+    return root;
+  }
+
+  private byte[] save(Resource resource) throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    return outputStream.toByteArray();
+  }
+
+  private TrackingResource load(byte[] bytes, Map<?, ?> options) throws IOException
+  {
+    TrackingResource resource = (TrackingResource)createResourceSet().createResource(URI.createURI("memory:/parallelLoad.xmi"));
+    resource.load(new ByteArrayInputStream(bytes), options);
+    return resource;
+  }
+
+  private void assertSameLoad(byte[] bytes, Object parallelism, boolean isLoadedInParallel) throws IOException
+  {
+    Resource expectedResource = load(bytes, null);
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_PARALLEL_LOAD, parallelism);
+    TrackingResource resource = load(bytes, options);
+    assertEquals(isLoadedInParallel, resource.isLoadedInParallel);
+    assertTrue(resource.getErrors().isEmpty());
+    assertTrue(EcoreUtil.equals(expectedResource.getContents(), resource.getContents()));
+    assertEquals(((XMLResource)expectedResource).getEncoding(), resource.getEncoding());
+
+    for (TreeIterator<EObject> i = expectedResource.getAllContents(), j = resource.getAllContents(); i.hasNext(); )
+    {
+      EObject expectedEObject = i.next();
+      EObject eObject = j.next();
+      assertEquals(expectedResource.getURIFragment(expectedEObject), resource.getURIFragment(eObject));
+      assertEquals(resource, eObject.eResource());
+      assertEquals(eObject, resource.getEObject(resource.getURIFragment(eObject)));
+    }
+  }
+
+  @Test
+  public void testSingleRoot() throws Exception
+  {
+    Resource resource = createResourceSet().createResource(URI.createURI("memory:/parallelLoad.xmi"));
+    resource.getContents().add(createTree("a", 100));
+    byte[] bytes = save(resource);
+
+    assertSameLoad(bytes, 4, true);
+    assertSameLoad(bytes, 2, true);
+    assertSameLoad(bytes, 1, false);
+    assertSameLoad(bytes, Boolean.TRUE, Runtime.getRuntime().availableProcessors() > 1);
+    assertTrue(EcoreUtil.equals(resource.getContents(), load(bytes, null).getContents()));
+  }
+
+  @Test
+  public void testExecutor() throws Exception
+  {
+    Resource resource = createResourceSet().createResource(URI.createURI("memory:/parallelLoad.xmi"));
+    resource.getContents().add(createTree("a", 50));
+    byte[] bytes = save(resource);
+
+    ForkJoinPool forkJoinPool = new ForkJoinPool(3);
+    try
+    {
+      assertSameLoad(bytes, forkJoinPool, true);
+    }
+    finally
+    {
+      forkJoinPool.shutdown();
+    }
+
+    // The calling thread loads the parts that the executor doesn't run.
+    //
+    final AtomicInteger executionCount = new AtomicInteger();
+    Executor executor =
+      new Executor()
+      {
+        public void execute(Runnable command)
+        {
+          if (executionCount.incrementAndGet() > 1)
+          {
+            throw new RejectedExecutionException();
+          }
+          new Thread(command).start();
+        }
+      };
+    assertSameLoad(bytes, executor, Runtime.getRuntime().availableProcessors() > 1);
+  }
+
+  @Test
+  public void testManyRoots() throws Exception
+  {
+    XMIResourceImpl resource = (XMIResourceImpl)createResourceSet().createResource(URI.createURI("memory:/parallelLoad.xmi"));
+    for (int i = 0; i < 20; ++i)
+    {
+      EObject root = createTree("root" + i, 5);
+      resource.getContents().add(root);
+      resource.setID(root, "id" + i);
+      if (i > 0)
+      {
+        getReferences(root).add(resource.getContents().get(i - 1));
+        getReferences(resource.getContents().get(i - 1)).add(root);
+      }
+    }
+    byte[] bytes = save(resource);
+
+    assertSameLoad(bytes, 3, true);
+    TrackingResource loadedResource = load(bytes, Collections.singletonMap(XMLResource.OPTION_PARALLEL_LOAD, 3));
+    assertEquals(20, loadedResource.getContents().size());
+    for (int i = 0; i < 20; ++i)
+    {
+      EObject root = loadedResource.getContents().get(i);
+      assertEquals("id" + i, loadedResource.getID(root));
+      assertEquals(root, loadedResource.getEObject("id" + i));
+    }
+  }
+
+  @Test
+  public void testFallback() throws Exception
+  {
+    // A root with a single child.
+    //
+    Resource resource = createResourceSet().createResource(URI.createURI("memory:/parallelLoad.xmi"));
+    resource.getContents().add(createTree("a", 1));
+    assertSameLoad(save(resource), 4, false);
+
+    // An unregistered namespace.
+    //
+    String document =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+      "<base:Node xmlns:base='" + basePackage.getNsURI() + "' xmlns:other='http://www.eclipse.org/emf/test/parallelLoad/other'>\n" +
+      "  <children name='a'/>\n" +
+      "  <children name='b'/>\n" +
+      "</base:Node>";
+    assertSameLoad(document.getBytes("UTF-8"), 4, false);
+  }
+
+  @Test
+  public void testUnresolvedReference() throws Exception
+  {
+    StringBuilder document = new StringBuilder();
+    document.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    document.append("<base:Node xmlns:xmi='http://www.omg.org/XMI' xmi:version='2.0' xmlns:base='").append(basePackage.getNsURI()).append("'\n");
+    document.append("    name='root'>\n");
+    for (int i = 0; i < 20; ++i)
+    {
+      document.append("  <children xmi:id='c").append(i).append("' target='c").append(19 - i).append("'/>\n");
+    }
+    document.append("</base:Node>\n");
+    byte[] bytes = document.toString().getBytes("UTF-8");
+
+    assertSameLoad(bytes, 4, true);
+
+    // The parts are combined, and the reference is reported where it appears in the document.
+    //
+    bytes = document.toString().replace("target='c0'", "target='missing'").getBytes("UTF-8");
+    //
+    TrackingResource resource = (TrackingResource)createResourceSet().createResource(URI.createURI("memory:/parallelLoad.xmi"));
+    try
+    {
+      resource.load(new ByteArrayInputStream(bytes), Collections.singletonMap(XMLResource.OPTION_PARALLEL_LOAD, 4));
+      fail("Expecting an IOException");
+    }
+    catch (IOException exception)
+    {
+      assertTrue(resource.isLoadedInParallel);
+      UnresolvedReferenceException unresolvedReferenceException = (UnresolvedReferenceException)resource.getErrors().get(0);
+      assertEquals("missing", unresolvedReferenceException.getReference());
+      assertEquals(23, unresolvedReferenceException.getLine());
+    }
+  }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link XMLResource#OPTION_STREAM_SAVE}.
+ */
+public class XMIResourceStreamingSaveTest
+{
+  private EPackage basePackage;
+  private EPackage extensionPackage;
+  private EClass nodeClass;
+  private EClass specialNodeClass;
+  private EAttribute name;
+  private EReference children;
+  private EReference target;
+
+  @Before
+  public void setUp() throws Exception
+  {
+    EcoreFactory ecoreFactory = EcoreFactory.eINSTANCE;
+    basePackage = ecoreFactory.createEPackage();
+    basePackage.setName("base");
+    basePackage.setNsURI("http://www.eclipse.org/emf/test/streaming/base");
+    basePackage.setNsPrefix("base");
+
+    nodeClass = ecoreFactory.createEClass();
+    nodeClass.setName("Node");
+    basePackage.getEClassifiers().add(nodeClass);
+
+    name = ecoreFactory.createEAttribute();
+    name.setName("name");
+    name.setEType(EcorePackage.Literals.ESTRING);
+    nodeClass.getEStructuralFeatures().add(name);
+
+    children = ecoreFactory.createEReference();
+    children.setName("children");
+    children.setEType(nodeClass);
+    children.setContainment(true);
+    children.setUpperBound(-1);
+    nodeClass.getEStructuralFeatures().add(children);
+
+    target = ecoreFactory.createEReference();
+    target.setName("target");
+    target.setEType(nodeClass);
+    nodeClass.getEStructuralFeatures().add(target);
+
+    // A subclass in another package is saved with an xsi:type in that package's namespace.
+    //
+    extensionPackage = ecoreFactory.createEPackage();
+    extensionPackage.setName("extension");
+    extensionPackage.setNsURI("http://www.eclipse.org/emf/test/streaming/extension");
+    extensionPackage.setNsPrefix("extension");
+
+    specialNodeClass = ecoreFactory.createEClass();
+    specialNodeClass.setName("SpecialNode");
+    specialNodeClass.getESuperTypes().add(nodeClass);
+    extensionPackage.getEClassifiers().add(specialNodeClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<EObject> getChildren(EObject node)
+  {
+    return (List<EObject>)node.eGet(children);
+  }
+
+  /**
+   * Creates a tree that's large enough to be written in many chunks,
+   * with a special node, if requested, only at the very end.
+   */
+  private EObject createTree(String rootName, boolean withSpecialNode)
+  {
+    EObject root = EcoreUtil.create(nodeClass);
+    root.eSet(name, rootName);
+    EObject previous = root;
+    for (int i = 0; i < 200; ++i)
+    {
+      EObject child = EcoreUtil.create(nodeClass);
+      child.eSet(name, rootName + i);
+      getChildren(root).add(child);
+      for (int j = 0; j < 10; ++j)
+      {
+        EObject grandchild = EcoreUtil.create(nodeClass);
+        grandchild.eSet(name, rootName + i + "." + j);
+        grandchild.eSet(target, previous);
+        getChildren(child).add(grandchild);
+        previous = grandchild;
+      }
+    }
+    if (withSpecialNode)
+    {
+      EObject specialNode = EcoreUtil.create(specialNodeClass);
+      specialNode.eSet(name, "special");
+      specialNode.eSet(target, root);
+      getChildren(previous).add(specialNode);
+    }
+    return root;
+  }
+
+  private ResourceSet createResourceSet()
+  {
+    ResourceSet resourceSet = new ResourceSetImpl();
+    resourceSet.getPackageRegistry().put(basePackage.getNsURI(), basePackage);
+    resourceSet.getPackageRegistry().put(extensionPackage.getNsURI(), extensionPackage);
+    return resourceSet;
+  }
+
+  private String save(Resource resource, Map<?, ?> options) throws IOException
+  {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, options);
+    return new String(outputStream.toByteArray(), "UTF-8");
+  }
+
+  private Resource load(Resource resource, String document) throws IOException
+  {
+    createResourceSet().getResources().add(resource);
+    resource.load(new ByteArrayInputStream(document.getBytes("UTF-8")), null);
+    return resource;
+  }
+
+  @Test
+  public void testSameAsRegularSave() throws Exception
+  {
+    Resource resource = new XMIResourceImpl(URI.createURI("memory:/streaming.xmi"));
+    createResourceSet().getResources().add(resource);
+    resource.getContents().add(createTree("a", true));
+
+    String expected = save(resource, null);
+    String streamed = save(resource, Collections.singletonMap(XMLResource.OPTION_STREAM_SAVE, Boolean.TRUE));
+    assertEquals(expected, streamed);
+
+    // With more than one root, the namespaces are declared on the xmi:XMI element.
+    //
+    resource.getContents().add(createTree("b", false));
+    expected = save(resource, null);
+    streamed = save(resource, Collections.singletonMap(XMLResource.OPTION_STREAM_SAVE, Boolean.TRUE));
+    assertEquals(expected, streamed);
+    assertTrue(streamed.contains("<xmi:XMI xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\""));
+
+    Resource loadedResource = load(new XMIResourceImpl(resource.getURI()), streamed);
+    assertEquals(2, loadedResource.getContents().size());
+    assertTrue(EcoreUtil.equals(resource.getContents(), loadedResource.getContents()));
+  }
+
+  @Test
+  public void testXMLResource() throws Exception
+  {
+    Resource resource = new XMLResourceImpl(URI.createURI("memory:/streaming.xml"));
+    createResourceSet().getResources().add(resource);
+    resource.getContents().add(createTree("a", true));
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_FORMATTED, Boolean.FALSE);
+    String expected = save(resource, options);
+    options.put(XMLResource.OPTION_STREAM_SAVE, Boolean.TRUE);
+    assertEquals(expected, save(resource, options));
+  }
+
+  @Test
+  public void testDeclaredPackages() throws Exception
+  {
+    Resource resource = new XMIResourceImpl(URI.createURI("memory:/streaming.xmi"));
+    createResourceSet().getResources().add(resource);
+    resource.getContents().add(createTree("a", true));
+
+    Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_STREAM_SAVE, Boolean.TRUE);
+    options.put(XMLResource.OPTION_SAVE_NAMESPACE_PACKAGES, Arrays.asList(basePackage, extensionPackage));
+    String streamed = save(resource, options);
+    assertTrue(streamed.contains("xmlns:extension=\"" + extensionPackage.getNsURI() + "\""));
+    assertTrue(streamed.contains("xmlns:xsi="));
+
+    Resource loadedResource = load(new XMIResourceImpl(resource.getURI()), streamed);
+    assertTrue(EcoreUtil.equals(resource.getContents(), loadedResource.getContents()));
+
+    // The special node's namespace is needed only after the start of the document has been written.
+    //
+    options.put(XMLResource.OPTION_SAVE_NAMESPACE_PACKAGES, Collections.singleton(basePackage));
+    try
+    {
+      save(resource, options);
+      fail("Expecting an IOException");
+    }
+    catch (IOException exception)
+    {
+      // Expected.
+    }
+
+    // Without the special node, the base package suffices.
+    //
+    resource.getContents().set(0, createTree("b", false));
+    Resource otherLoadedResource = load(new XMIResourceImpl(resource.getURI()), save(resource, options));
+    assertTrue(EcoreUtil.equals(resource.getContents(), otherLoadedResource.getContents()));
+  }
+}
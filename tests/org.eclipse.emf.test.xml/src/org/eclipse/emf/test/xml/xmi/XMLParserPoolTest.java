@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2026 Eclipse Contributors and others.
+ * All rights reserved.   This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ */
+package org.eclipse.emf.test.xml.xmi;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.parsers.SAXParser;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.junit.Test;
+
+
+/**
+ * Tests {@link XMLParserPoolImpl}.
+ */
+public class XMLParserPoolTest
+{
+  @Test
+  public void testParserCache() throws Exception
+  {
+    XMLParserPoolImpl pool = new XMLParserPoolImpl();
+    Map<String, Boolean> features = new HashMap<String, Boolean>();
+    Map<String, Object> properties = Collections.emptyMap();
+    SAXParser parser = pool.get(features, properties, false);
+    pool.release(parser, features, properties, false);
+    assertEquals(0, pool.getParserHitCount());
+    assertEquals(1, pool.getParserMissCount());
+
+    // Equal configurations share their parsers.
+    //
+    assertSame(parser, pool.get(new HashMap<String, Boolean>(), new HashMap<String, Object>(), false));
+    pool.release(parser, features, properties, false);
+    assertEquals(1, pool.getParserHitCount());
+
+    // Changing the features after releasing the parser doesn't affect the cached configuration.
+    //
+    features.put("http://xml.org/sax/features/namespace-prefixes", Boolean.TRUE);
+    SAXParser otherParser = pool.get(features, properties, false);
+    assertNotSame(parser, otherParser);
+    assertTrue(otherParser.getXMLReader().getFeature("http://xml.org/sax/features/namespace-prefixes"));
+    assertNotSame(parser, pool.get(Collections.<String, Boolean>emptyMap(), properties, true));
+    assertSame(parser, pool.get(Collections.<String, Boolean>emptyMap(), properties, false));
+    assertEquals(2, pool.getParserHitCount());
+    assertEquals(3, pool.getParserMissCount());
+  }
+
+  @Test
+  public void testEviction() throws Exception
+  {
+    XMLParserPoolImpl pool = new XMLParserPoolImpl(1, false);
+    Map<String, Boolean> features = Collections.emptyMap();
+    Map<String, Object> properties = Collections.emptyMap();
+    SAXParser parser = pool.get(features, properties, false);
+    SAXParser inUseParser = pool.get(features, properties, false);
+    pool.release(parser, features, properties, false);
+    SAXParser otherParser = pool.get(features, properties, true);
+    pool.release(otherParser, features, properties, true);
+
+    // A third configuration exceeds the size of the cache, which evicts only the configuration that isn't in use.
+    //
+    Map<String, Boolean> otherFeatures = Collections.singletonMap("http://xml.org/sax/features/namespace-prefixes", Boolean.TRUE);
+    pool.release(pool.get(otherFeatures, properties, false), otherFeatures, properties, false);
+    assertEquals(0, pool.getParserHitCount());
+    assertSame(parser, pool.get(features, properties, false));
+    assertNotSame(otherParser, pool.get(features, properties, true));
+    assertEquals(1, pool.getParserHitCount());
+    pool.release(inUseParser, features, properties, false);
+  }
+
+  @Test
+  public void testConcurrentLoads() throws Exception
+  {
+    Resource resource = new XMIResourceImpl(URI.createURI("memory:/pool.ecore"));
+    resource.getContents().add(EcoreUtil.copy(EcorePackage.eINSTANCE));
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    resource.save(outputStream, null);
+    final byte[] bytes = outputStream.toByteArray();
+
+    XMLParserPoolImpl pool = new XMLParserPoolImpl(true);
+    final Map<Object, Object> options = new HashMap<Object, Object>();
+    options.put(XMLResource.OPTION_USE_PARSER_POOL, pool);
+
+    int threadCount = 4;
+    int loadCount = 10;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try
+    {
+      List<Callable<Resource>> tasks = new ArrayList<Callable<Resource>>();
+      for (int i = 0; i < threadCount * loadCount; ++i)
+      {
+        tasks.add
+          (new Callable<Resource>()
+           {
+             public Resource call() throws Exception
+             {
+               Resource loadedResource = new XMIResourceImpl(URI.createURI("memory:/pool.ecore"));
+               loadedResource.load(new ByteArrayInputStream(bytes), options);
+               return loadedResource;
+             }
+           });
+      }
+      for (Future<Resource> future : executorService.invokeAll(tasks))
+      {
+        assertTrue(EcoreUtil.equals(resource.getContents(), future.get().getContents()));
+      }
+    }
+    finally
+    {
+      executorService.shutdown();
+    }
+
+    // At most one parser and one handler is created for each thread.
+    //
+    assertEquals(threadCount * loadCount, pool.getParserHitCount() + pool.getParserMissCount());
+    assertTrue(pool.getParserMissCount() <= threadCount);
+    assertEquals(threadCount * loadCount, pool.getHandlerHitCount() + pool.getHandlerMissCount());
+    assertTrue(pool.getHandlerMissCount() <= threadCount);
+  }
+}